@@ -9,9 +9,7 @@ import { AmenitiesService } from '../../../../services/amenities';
 import { Hotel } from '../../../../model/hotel';
 import { AgGridAngular } from 'ag-grid-angular';
 import { ColDef } from 'ag-grid-community';
-import { PaymentService } from '../../../../services/payment';
-import { ReservationService } from '../../../../services/reservation';
-import { UsersService } from '../../../../services/users';
+import { DashboardService, DashboardSummary } from '../../../../services/dashboard';
 
 export type ChartOptions = {
   series: ApexAxisChartSeries;
@@ -36,9 +34,7 @@ export class AdminDashboardComponent implements OnInit {
   private hotelsApi = inject(HotelsService);
   private amenitiesApi = inject(AmenitiesService);
   readonly isBrowser = isPlatformBrowser(inject(PLATFORM_ID));
-  private paymentApi = inject(PaymentService);
-  private reservationApi = inject(ReservationService);
-  private userService = inject(UsersService);
+  private dashboardApi = inject(DashboardService);
 
   hotels: Hotel[] = [];
   hotelsLoading = false;
@@ -89,13 +85,7 @@ export class AdminDashboardComponent implements OnInit {
     this.loadHotels();
     this.amenitiesApi.list().subscribe(a => this.amenitiesCount = a.length);
 
-    this.calcIncome();
-    this.calcReservations();
-    this.calcUsers();
-
-    this.loadReservationsByRoomType();
-    this.loadAmenitiesByHotel();
-
+    this.loadSummary();
   }
 
   private loadHotels(attempt = 1) {
@@ -116,73 +106,31 @@ export class AdminDashboardComponent implements OnInit {
     });
   }
 
-  calcIncome() {
+  // KPIs y gráficos en una sola llamada a /dashboard/summary
+  loadSummary() {
     this.incomeLoading = true;
-    this.paymentApi.calculateIncome().subscribe(p => {
-      this.incomeValue = `$${p[0]}`;
-      this.incomeDelta = p[1];
-      this.incomeLoading = false;
-    });
-  }
-
-  calcReservations() {
-    this.reservationApi.count().subscribe(p => {
-      this.reservationValue = p[0];
-      this.reservationDelta = p[1];
-    });
-  }
-
-  calcUsers() {
-    this.userService.summary().subscribe(p => {
-      this.usersValue = p[0];
-      this.usersDelta = p[1];
-    });
-  }
-
-  private loadReservationsByRoomType() {
-    this.reservationApi.countByRoomType().subscribe({
-      next: (map) => {
-        const entries = Object.entries(map).sort((a, b) => b[1] - a[1]);
-
-        const categories = entries.map(([roomType]) => roomType ?? 'N/D');
-        const data = entries.map(([, count]) => count ?? 0);
-
-        this.chartOptions = {
-          ...this.chartOptions,
-          xaxis: { ...this.chartOptions.xaxis, categories },
-          series: [{ name: 'Reservas', data }]
-        };
+    this.dashboardApi.summary().subscribe({
+      next: (summary: DashboardSummary) => {
+        this.incomeValue = `$${summary.income[0]}`;
+        this.incomeDelta = summary.income[1];
+        this.incomeLoading = false;
+
+        this.reservationValue = summary.reservations[0];
+        this.reservationDelta = summary.reservations[1];
+        this.usersValue = summary.users[0];
+        this.usersDelta = summary.users[1];
+
+        this.showReservationsByRoomType(summary.reservations_by_room_type);
+        this.showAmenitiesByHotel(summary.amenities_by_hotel);
       },
-      error: (err: any) => {
-        console.error('Error cargando reservas por tipo', err);
+      error: (err) => {
+        console.error('Error cargando resumen del dashboard', err);
+        this.incomeLoading = false;
         this.chartOptions = {
           ...this.chartOptions,
           xaxis: { ...this.chartOptions.xaxis, categories: ['—'] },
           series: [{ name: 'Reservas', data: [0] }]
         };
-      }
-    });
-  }
-
-  private loadAmenitiesByHotel() {
-    this.hotelsApi.amenitiesSummary().subscribe({
-      next: (map) => {
-        const entries = Object.entries(map).sort((a, b) => b[1] - a[1]);
-
-        const categories = entries.map(([hotelName]) => {
-          if (!hotelName) return 'N/D';
-          return hotelName.replace(/^Runa Sagrada\s*/i, '').trim();
-        });
-        const data = entries.map(([, count]) => count ?? 0);
-
-        this.amenitiesChart = {
-          ...this.amenitiesChart,
-          xaxis: { ...this.amenitiesChart.xaxis, categories },
-          series: [{ name: 'Amenities', data }]
-        };
-      },
-      error: (err) => {
-        console.error('Error cargando amenities por hotel', err);
         this.amenitiesChart = {
           ...this.amenitiesChart,
           xaxis: { ...this.amenitiesChart.xaxis, categories: ['—'] },
@@ -191,4 +139,33 @@ export class AdminDashboardComponent implements OnInit {
       }
     });
   }
+
+  private showReservationsByRoomType(map: Record<string, number>) {
+    const entries = Object.entries(map).sort((a, b) => b[1] - a[1]);
+
+    const categories = entries.map(([roomType]) => roomType ?? 'N/D');
+    const data = entries.map(([, count]) => count ?? 0);
+
+    this.chartOptions = {
+      ...this.chartOptions,
+      xaxis: { ...this.chartOptions.xaxis, categories },
+      series: [{ name: 'Reservas', data }]
+    };
+  }
+
+  private showAmenitiesByHotel(map: Record<string, number>) {
+    const entries = Object.entries(map).sort((a, b) => b[1] - a[1]);
+
+    const categories = entries.map(([hotelName]) => {
+      if (!hotelName) return 'N/D';
+      return hotelName.replace(/^Runa Sagrada\s*/i, '').trim();
+    });
+    const data = entries.map(([, count]) => count ?? 0);
+
+    this.amenitiesChart = {
+      ...this.amenitiesChart,
+      xaxis: { ...this.amenitiesChart.xaxis, categories },
+      series: [{ name: 'Amenities', data }]
+    };
+  }
 }
@@ -15,7 +15,7 @@ import {
 } from 'ng-apexcharts';
 import { AgGridAngular } from 'ag-grid-angular';
 import { ColDef } from 'ag-grid-community';
-import { PaymentService } from '../../../services/payment';
+import { DashboardService, DashboardSummary } from '../../../services/dashboard';
 import { ReservationService } from '../../../services/reservation';
 import { AuthService } from '../../../services/auth';
 import { Hotel } from '../../../model/hotel';
@@ -45,7 +45,7 @@ export type ChartOptions = {
 })
 export class OperatorDashboardComponent implements OnInit {
   readonly isBrowser = isPlatformBrowser(inject(PLATFORM_ID));
-  private paymentApi = inject(PaymentService);
+  private dashboardApi = inject(DashboardService);
   private reservationApi = inject(ReservationService);
   private authService = inject(AuthService);
   private hotelsApi = inject(HotelsService);
@@ -121,36 +121,26 @@ export class OperatorDashboardComponent implements OnInit {
         this.currentHotel = hotel;
 
         // Cargar datos específicos del hotel
-        this.calcIncome();
-        this.calcReservations();
-        this.loadReservationsByRoomType();
+        this.loadSummary();
         this.loadReservationsForHotel();
       },
       error: err => console.error('Error cargando hotel', err)
     });
   }
 
-  calcIncome() {
+  // Ingresos, reservas y gráfico por tipo en una sola llamada a /dashboard/summary
+  loadSummary() {
     this.incomeLoading = true;
-    this.paymentApi.calculateIncomeByHotel(this.currentHotelId!).subscribe(p => {
-      this.incomeValue = `$${p[0]}`;
-      this.incomeDelta = p[1];
-      this.incomeLoading = false;
-      console.log('Income:', p);
-    });
-  }
+    this.dashboardApi.summary(this.currentHotelId!).subscribe({
+      next: (summary: DashboardSummary) => {
+        this.incomeValue = `$${summary.income[0]}`;
+        this.incomeDelta = summary.income[1];
+        this.incomeLoading = false;
 
-  calcReservations() {
-    this.reservationApi.countByHotel(this.currentHotelId!).subscribe(p => {
-      this.reservationValue = p[0];
-      this.reservationDelta = p[1];
-    });
-  }
+        this.reservationValue = summary.reservations[0];
+        this.reservationDelta = summary.reservations[1];
 
-  private loadReservationsByRoomType() {
-    this.reservationApi.countByRoomTypeAndHotel(this.currentHotelId!).subscribe({
-      next: (map) => {
-        const entries = Object.entries(map).sort((a, b) => b[1] - a[1]);
+        const entries = Object.entries(summary.reservations_by_room_type).sort((a, b) => b[1] - a[1]);
 
         const categories = entries.map(([roomType]) => roomType ?? 'N/D');
         const data = entries.map(([, count]) => count ?? 0);
@@ -162,7 +152,8 @@ export class OperatorDashboardComponent implements OnInit {
         };
       },
       error: (err: any) => {
-        console.error('Error cargando reservas por tipo', err);
+        console.error('Error cargando resumen del dashboard', err);
+        this.incomeLoading = false;
         this.chartOptions = {
           ...this.chartOptions,
           xaxis: { ...this.chartOptions.xaxis, categories: ['—'] },
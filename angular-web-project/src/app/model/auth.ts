@@ -1,4 +1,10 @@
 import { User } from './user';
 
 export interface LoginRequest { email: string; password: string; }
-export interface LoginResponse { access_token: string; user: User; }
+export interface LoginResponse {
+  access_token: string;
+  refresh_token: string;
+  token_type?: string;
+  expires_in?: number;
+  user: User;
+}
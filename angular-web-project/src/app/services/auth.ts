@@ -1,7 +1,7 @@
 import { Injectable, inject, PLATFORM_ID } from '@angular/core';
 import { isPlatformBrowser } from '@angular/common';
 import { HttpClient } from '@angular/common/http';
-import { BehaviorSubject, tap } from 'rxjs';
+import { BehaviorSubject, Observable, finalize, shareReplay, tap, throwError } from 'rxjs';
 import { environment } from '../../environments/environment';
 import { LoginRequest, LoginResponse } from '../model/auth';
 import { User } from '../model/user';
@@ -13,6 +13,8 @@ export class AuthService {
   private platformId = inject(PLATFORM_ID);
 
   private currentUserSubject = new BehaviorSubject<User | null>(this.loadUser());
+  // Un solo refresh en vuelo: el refresh token es de un solo uso
+  private refreshing$: Observable<LoginResponse> | null = null;
   currentUser$ = this.currentUserSubject.asObservable();
 
   private loadUser(): User | null {
@@ -25,17 +27,39 @@ export class AuthService {
   private persist(session: LoginResponse) {
     if (isPlatformBrowser(this.platformId)) {
       localStorage.setItem('access_token', session.access_token);
+      localStorage.setItem('refresh_token', session.refresh_token);
       localStorage.setItem('user', JSON.stringify(session.user));
     }
     this.currentUserSubject.next(session.user);
   }
   logout() {
     if (isPlatformBrowser(this.platformId)) {
+      const refresh = localStorage.getItem('refresh_token');
+      if (refresh || localStorage.getItem('access_token')) {
+        // Revoca los tokens en el servidor; la sesión local se limpia aunque falle
+        this.http.post(`${this.base}/auth/logout`, { refresh_token: refresh }).subscribe({ error: () => {} });
+      }
       localStorage.removeItem('access_token');
+      localStorage.removeItem('refresh_token');
       localStorage.removeItem('user');
     }
     this.currentUserSubject.next(null);
   }
+  refresh(): Observable<LoginResponse> {
+    if (!this.refreshing$) {
+      const token = isPlatformBrowser(this.platformId) ? localStorage.getItem('refresh_token') : null;
+      if (!token) {
+        return throwError(() => new Error('no refresh token'));
+      }
+      this.refreshing$ = this.http.post<LoginResponse>(`${this.base}/auth/refresh`, { refresh_token: token })
+        .pipe(
+          tap(res => this.persist(res)),
+          finalize(() => (this.refreshing$ = null)),
+          shareReplay(1)
+        );
+    }
+    return this.refreshing$;
+  }
 
   register(user: User, role?: string) {
     const url = role ? `${this.base}/auth/register?role=${role}` : `${this.base}/auth/register`;
@@ -0,0 +1,64 @@
+import { TestBed } from '@angular/core/testing';
+import { provideHttpClient } from '@angular/common/http';
+import { HttpTestingController, provideHttpClientTesting } from '@angular/common/http/testing';
+
+import { DashboardService, DashboardSummary } from './dashboard';
+import { environment } from '../../environments/environment';
+
+describe('DashboardService', () => {
+  const url = `${environment.apiBaseUrl}/dashboard/summary`;
+
+  // Cuerpo tal como lo manda el back (Jackson en snake_case)
+  const body: DashboardSummary = {
+    hotel_id: 3,
+    users: [12, 50],
+    reservations: [40, -20],
+    reservations_by_room_type: { Suite: 7, Doble: 33 },
+    income: [1500000, 12.5],
+    amenities_by_hotel: { 'Runa Sagrada Cusco': 9 },
+    generated_at: '2026-10-18T08:00:00Z'
+  };
+
+  let service: DashboardService;
+  let http: HttpTestingController;
+
+  beforeEach(() => {
+    TestBed.configureTestingModule({
+      providers: [provideHttpClient(), provideHttpClientTesting()]
+    });
+    service = TestBed.inject(DashboardService);
+    http = TestBed.inject(HttpTestingController);
+  });
+
+  afterEach(() => http.verify());
+
+  it('pide el resumen de todos los hoteles sin hotelId', () => {
+    service.summary().subscribe();
+
+    const req = http.expectOne(r => r.url === url);
+    expect(req.request.method).toBe('GET');
+    expect(req.request.params.has('hotelId')).toBeFalse();
+    req.flush({ ...body, hotel_id: null });
+  });
+
+  it('pasa hotelId como parámetro, también cuando es 0', () => {
+    service.summary(3).subscribe();
+    expect(http.expectOne(r => r.url === url).request.params.get('hotelId')).toBe('3');
+
+    service.summary(0).subscribe();
+    expect(http.expectOne(r => r.url === url).request.params.get('hotelId')).toBe('0');
+  });
+
+  it('entrega los KPIs con los campos del back', () => {
+    let summary: DashboardSummary | undefined;
+    service.summary(3).subscribe(s => (summary = s));
+
+    http.expectOne(r => r.url === url).flush(body);
+
+    expect(summary).toEqual(body);
+    expect(summary!.income).toEqual([1500000, 12.5]);
+    expect(summary!.reservations[1]).toBe(-20);
+    expect(summary!.reservations_by_room_type['Suite']).toBe(7);
+    expect(summary!.amenities_by_hotel['Runa Sagrada Cusco']).toBe(9);
+  });
+});
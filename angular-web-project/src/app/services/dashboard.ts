@@ -0,0 +1,28 @@
+import { Injectable, inject } from '@angular/core';
+import { HttpClient, HttpParams } from '@angular/common/http';
+import { environment } from '../../environments/environment';
+
+// [valor del mes actual, % de variación vs el mes anterior]
+export type MonthDelta = [number, number];
+
+export interface DashboardSummary {
+  hotel_id: number | null;
+  users: MonthDelta;
+  reservations: MonthDelta;
+  reservations_by_room_type: Record<string, number>;
+  income: MonthDelta;
+  amenities_by_hotel: Record<string, number>;
+  generated_at: string;
+}
+
+@Injectable({ providedIn: 'root' })
+export class DashboardService {
+  private http = inject(HttpClient);
+  private base = environment.apiBaseUrl;
+
+  // Una sola llamada con todos los KPIs (el back los calcula en paralelo y los cachea)
+  summary(hotelId?: number) {
+    const params = hotelId != null ? new HttpParams().set('hotelId', hotelId) : undefined;
+    return this.http.get<DashboardSummary>(`${this.base}/dashboard/summary`, { params });
+  }
+}
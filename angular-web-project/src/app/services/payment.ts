@@ -27,7 +27,7 @@ export class PaymentService {
   constructor(private http: HttpClient) { }
 
   getAll(): Observable<Payment[]> {
-    return this.http.get<Payment[]>(this.resource);
+    return this.http.get<Payment[]>(this.resource, { params: { unpaged: true } });
   }
 
   getById(id: number): Observable<Payment> {
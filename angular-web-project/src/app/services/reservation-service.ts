@@ -24,7 +24,7 @@ export class ReservationServiceApi {
 
   // GET /api/reservservice
   list(): Observable<ReservationServiceModel[]> {
-    return this.http.get<ReservationServiceModel[]>(this.resource);
+    return this.http.get<ReservationServiceModel[]>(this.resource, { params: { unpaged: true } });
   }
 
   // GET /api/reservservice/reservation/{id}
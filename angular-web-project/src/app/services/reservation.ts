@@ -7,6 +7,27 @@ import { Reservation } from '../model/reservation';
 
 export type ReservationStatus = 'PENDING' | 'CONFIRMED' | 'CHECKIN' | 'FINISHED';
 
+export interface ReservationSummary {
+  reservation_id: number;
+  hotel_id: number;
+  room_id: number;
+  room_number: string;
+  user_id: number;
+  guest_name: string;
+  check_in: string;
+  check_out: string;
+  status: ReservationStatus;
+}
+
+// Libro del día de recepción (in_house incluye las llegadas de hoy)
+export interface FrontDeskDay {
+  date: string;
+  hotel_id: number | null;
+  arrivals: ReservationSummary[];
+  in_house: ReservationSummary[];
+  departures: ReservationSummary[];
+}
+
 @Injectable({ providedIn: 'root' })
 export class ReservationService {
   private readonly resource = `${environment.apiBaseUrl}/reservations`;
@@ -14,7 +35,7 @@ export class ReservationService {
   constructor(private http: HttpClient) { }
 
   getAll(): Observable<Reservation[]> {
-    return this.http.get<Reservation[]>(this.resource);
+    return this.http.get<Reservation[]>(this.resource, { params: { unpaged: true } });
   }
 
   getByUser(userId: number): Observable<Reservation[]> {
@@ -61,6 +82,11 @@ export class ReservationService {
     return this.http.get<Reservation[]>(`${this.resource}/today`);
   }
 
+  frontDesk(hotelId?: number): Observable<FrontDeskDay> {
+    const query = hotelId != null ? `?hotelId=${hotelId}` : '';
+    return this.http.get<FrontDeskDay>(`${this.resource}/front-desk${query}`);
+  }
+
   activate(reservation_id: number): Observable<Reservation> {
     const status: string = 'CHECKIN';
     return this.http.put<Reservation>(
@@ -40,7 +40,7 @@ export class RoomService {
   constructor(private http: HttpClient) {}
 
   list(params?: { hotelId?: number; roomTypeId?: number }): Observable<Room[]> {
-    let p = new HttpParams();
+    let p = new HttpParams().set('unpaged', true);
     if (params?.hotelId != null) p = p.set('hotelId', params.hotelId);
     if (params?.roomTypeId != null) p = p.set('roomTypeId', params.roomTypeId);
     return this.http.get<Room[]>(this.resource, { params: p });
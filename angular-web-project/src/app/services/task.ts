@@ -8,7 +8,7 @@ export class TaskService {
   private http = inject(HttpClient);
   private base = environment.apiBaseUrl;
 
-  list() { return this.http.get<Task[]>(`${this.base}/task`); }
+  list() { return this.http.get<Task[]>(`${this.base}/task`, { params: { unpaged: true } }); }
   get(id: number) { return this.http.get<Task>(`${this.base}/task/${id}`); }
   create(body: Partial<Task>) { return this.http.post<Task>(`${this.base}/task`, body); }
   update(id: number, body: Partial<Task>) { return this.http.put<Task>(`${this.base}/task/${id}`, body); }
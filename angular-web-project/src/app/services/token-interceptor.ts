@@ -2,11 +2,13 @@ import { HttpInterceptorFn } from '@angular/common/http';
 import { Router } from '@angular/router';
 import { inject, PLATFORM_ID } from '@angular/core';
 import { isPlatformBrowser } from '@angular/common';
-import { catchError, throwError } from 'rxjs';
+import { catchError, switchMap, throwError } from 'rxjs';
+import { AuthService } from './auth';
 
 export const tokenInterceptor: HttpInterceptorFn = (req, next) => {
   const router = inject(Router);
   const platformId = inject(PLATFORM_ID);
+  const auth = inject(AuthService);
   const isBrowser = isPlatformBrowser(platformId);
 
   let t: string | null = null;
@@ -31,18 +33,33 @@ export const tokenInterceptor: HttpInterceptorFn = (req, next) => {
     ? req.clone({ setHeaders: { Authorization: `Bearer ${t}` } })
     : req;
 
+  const endSession = (err: unknown) => {
+    console.warn('Token inválido o expirado. Cerrando sesión.');
+    if (isBrowser) {
+      try {
+        localStorage.removeItem('access_token');
+        localStorage.removeItem('refresh_token');
+      } catch (e) { /* ignore */ }
+    }
+    router.navigateByUrl('/login');
+    return throwError(() => err);
+  };
+
   return next(authReq).pipe(
     catchError(err => {
-      if (err?.status === 401) {
-        console.warn('Token inválido o expirado. Cerrando sesión.');
-        if (isBrowser) {
-          try { localStorage.removeItem('access_token'); } catch (e) { /* ignore */ }
-        }
-
-        router.navigateByUrl('/login');
+      if (err?.status !== 401) {
+        return throwError(() => err);
       }
-
-      return throwError(() => err);
+      // El access token dura poco: se renueva una vez con el refresh token y se reintenta.
+      // Las rutas /auth/ (login, refresh, logout) no se reintentan.
+      const hasRefresh = isBrowser && !!localStorage.getItem('refresh_token');
+      if (!hasRefresh || req.url.includes('/auth/')) {
+        return endSession(err);
+      }
+      return auth.refresh().pipe(
+        catchError(() => endSession(err)),
+        switchMap(res => next(req.clone({ setHeaders: { Authorization: `Bearer ${res.access_token}` } })))
+      );
     })
   );
 };
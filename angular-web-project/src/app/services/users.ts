@@ -9,7 +9,7 @@ export class UsersService {
   private base = environment.apiBaseUrl;
 
   getAll() {
-    return this.http.get<User[]>(`${this.base}/users`);
+    return this.http.get<User[]>(`${this.base}/users`, { params: { unpaged: true } });
   }
 
   getMe() {
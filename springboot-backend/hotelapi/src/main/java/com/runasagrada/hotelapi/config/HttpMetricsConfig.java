@@ -0,0 +1,39 @@
+package com.runasagrada.hotelapi.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * http.server.requests con una etiqueta "handler" = Controlador.método que atendió el
+ * request (p.ej. ReservationController.create), además de uri/method/status. Se arma
+ * al cerrar la observación con lo que Spring MVC ya dejó en el request: no agrega
+ * trabajo al handler. Sin handler (404, estáticos) queda "none".
+ */
+@Configuration
+public class HttpMetricsConfig {
+
+    @Bean
+    DefaultServerRequestObservationConvention handlerTaggingConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return KeyValue.of("handler", method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+        return KeyValue.of("handler", "none");
+    }
+}
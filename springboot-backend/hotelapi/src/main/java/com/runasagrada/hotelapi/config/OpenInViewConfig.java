@@ -0,0 +1,28 @@
+package com.runasagrada.hotelapi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-in-view como el de Spring Boot (que se desactiva al existir este bean),
+ * pero fuera de /api/auth/**. Con open-in-view la petición retiene su conexión
+ * JDBC hasta terminar; en login eso incluye la espera del hash PBKDF2, y una
+ * ráfaga de logins dejaba sin conexiones al resto de la API.
+ */
+@Configuration
+public class OpenInViewConfig implements WebMvcConfigurer {
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns("/api/auth/**");
+    }
+}
@@ -0,0 +1,20 @@
+package com.runasagrada.hotelapi.config;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Id asignado por {@link PooledIdAllocator}: bloques de ids en memoria por tabla,
+ * sin IDENTITY ni DDL por insert. Reemplaza a @GeneratedValue(strategy = IDENTITY).
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RUNTIME)
+@Target({ FIELD, METHOD })
+public @interface PooledId {
+}
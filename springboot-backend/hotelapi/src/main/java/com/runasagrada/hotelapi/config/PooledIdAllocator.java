@@ -0,0 +1,187 @@
+package com.runasagrada.hotelapi.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asignador de ids tipo hi/lo por tabla.
+ *
+ * La tabla id_allocator guarda, por tabla, el siguiente id libre. Cada proceso
+ * reserva bloques de block-size ids con una transacción corta propia (SELECT ...
+ * FOR UPDATE + UPDATE) y luego los entrega desde memoria; así los inserts no
+ * necesitan IDENTITY ni el ALTER TABLE ... RESTART de antes. Tras un reinicio se
+ * sigue desde el valor guardado (los ids no usados del último bloque se pierden).
+ * La primera vez que se ve una tabla se alinea con MAX(id) por si ya tiene filas.
+ *
+ * Las reservas de bloque usan un pool propio y chico: quien pide un id casi siempre
+ * tiene ya tomada una conexión del pool principal (la de su transacción), y si todas
+ * estaban tomadas así nadie podía rellenar su bloque hasta el timeout de Hikari.
+ *
+ * Por qué no el optimizador pooled de Hibernate (@SequenceGenerator con
+ * allocationSize=50 o @TableGenerator):
+ * - reserveRange da un rango contiguo de cualquier tamaño en un viaje, para las cargas
+ *   masivas por JDBC (LoadTestDataGenerator) y los MERGE nativos, que insertan sin
+ *   pasar por Hibernate pero comparten el contador con las entidades.
+ * - @TableGenerator hace su UPDATE en una transacción aislada con otra conexión del
+ *   pool principal: el mismo bloqueo por pool agotado descrito arriba.
+ * - Las tablas venían con IDENTITY y filas; la alineación con MAX(id) evita una
+ *   migración que reinicie una secuencia por tabla.
+ *
+ * La tabla id_allocator la crea Flyway (V1). El comentario de V1 que dice que esta clase
+ * también la crea es anterior a eso; no se corrige porque cambiar V1 cambia su checksum y
+ * validate-on-migrate (perfil durable) rechaza las bases ya creadas.
+ */
+@Slf4j
+@Component
+public class PooledIdAllocator {
+
+    private final DataSource dataSource;
+    private final int blockSize;
+    private final boolean ownsPool;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PooledIdAllocator(DataSource dataSource, @Value("${hotelapi.ids.block-size:50}") int blockSize,
+            @Value("${hotelapi.ids.pool-size:2}") int poolSize, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(allocatorPool(dataSource, poolSize, meterRegistry.getIfAvailable()), blockSize,
+                dataSource instanceof HikariDataSource);
+    }
+
+    public PooledIdAllocator(DataSource dataSource, int blockSize) {
+        this(dataSource, blockSize, false);
+    }
+
+    private PooledIdAllocator(DataSource dataSource, int blockSize, boolean ownsPool) {
+        this.dataSource = dataSource;
+        this.blockSize = blockSize;
+        this.ownsPool = ownsPool;
+    }
+
+    // misma base y credenciales que el pool principal; otro DataSource (p.ej. la base
+    // embebida de un test) se usa tal cual. Con métricas, sale como hikaricp_*{pool="id-allocator"}
+    private static DataSource allocatorPool(DataSource main, int size, MeterRegistry meterRegistry) {
+        if (!(main instanceof HikariDataSource hikari)) {
+            return main;
+        }
+        HikariConfig config = new HikariConfig();
+        hikari.copyStateTo(config);
+        config.setPoolName("id-allocator");
+        config.setMaximumPoolSize(size);
+        config.setMinimumIdle(1);
+        if (meterRegistry != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return new HikariDataSource(config);
+    }
+
+    @PreDestroy
+    void close() {
+        if (ownsPool) {
+            ((HikariDataSource) dataSource).close();
+        }
+    }
+
+    public long next(String table, String idColumn) {
+        Block block = blocks.computeIfAbsent(table, t -> new Block());
+        synchronized (block) {
+            if (block.next >= block.limit) {
+                block.next = reserve(table, idColumn, blockSize, !block.aligned);
+                block.limit = block.next + blockSize;
+                block.aligned = true;
+            }
+            return block.next++;
+        }
+    }
+
+    /**
+     * Reserva un rango contiguo [inicio, inicio + size) para uso directo (p.ej. cargas
+     * masivas por JDBC). Devuelve el inicio del rango.
+     */
+    public long reserveRange(String table, String idColumn, int size) {
+        return reserve(table, idColumn, size, true);
+    }
+
+    private long reserve(String table, String idColumn, int size, boolean alignWithTable) {
+        for (int attempt = 1;; attempt++) {
+            try (Connection con = dataSource.getConnection()) {
+                boolean autoCommit = con.getAutoCommit();
+                con.setAutoCommit(false);
+                try {
+                    long start = reserve(con, table, idColumn, size, alignWithTable);
+                    con.commit();
+                    return start;
+                } catch (SQLException | RuntimeException e) {
+                    con.rollback();
+                    throw e;
+                } finally {
+                    con.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                // otro proceso insertó la fila de la tabla al mismo tiempo: reintentar con UPDATE
+                boolean duplicateKey = e.getSQLState() != null && e.getSQLState().startsWith("23");
+                if (!duplicateKey || attempt >= 3) {
+                    throw new IllegalStateException("Could not reserve ids for " + table, e);
+                }
+            }
+        }
+    }
+
+    private long reserve(Connection con, String table, String idColumn, int size, boolean alignWithTable)
+            throws SQLException {
+        long floor = alignWithTable ? maxId(con, table, idColumn) + 1 : 1;
+        Long stored = null;
+        try (PreparedStatement ps = con.prepareStatement(
+                "select next_value from id_allocator where table_name = ? for update")) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    stored = rs.getLong(1);
+                }
+            }
+        }
+
+        long start = stored == null ? floor : Math.max(stored, floor);
+        String sql = stored == null
+                ? "insert into id_allocator (next_value, table_name) values (?, ?)"
+                : "update id_allocator set next_value = ? where table_name = ?";
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, start + size);
+            ps.setString(2, table);
+            ps.executeUpdate();
+        }
+        log.debug("Reserved ids [{}, {}) for {}", start, start + size, table);
+        return start;
+    }
+
+    private long maxId(Connection con, String table, String idColumn) throws SQLException {
+        try (Statement st = con.createStatement();
+                ResultSet rs = st.executeQuery("select coalesce(max(" + idColumn + "), 0) from " + table)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private static final class Block {
+        long next;
+        long limit;
+        boolean aligned;
+    }
+}
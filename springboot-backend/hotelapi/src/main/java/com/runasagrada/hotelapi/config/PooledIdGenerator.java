@@ -0,0 +1,54 @@
+package com.runasagrada.hotelapi.config;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.EnumSet;
+
+/**
+ * Generador de Hibernate para {@link PooledId}. Lo crea el contenedor de Spring
+ * (Hibernate usa SpringBeanContainer), así recibe el {@link PooledIdAllocator}.
+ * La tabla y la columna del id se toman del persister la primera vez.
+ */
+public class PooledIdGenerator implements BeforeExecutionGenerator, AnnotationBasedGenerator<PooledId> {
+
+    private final PooledIdAllocator allocator;
+    private boolean integerId;
+    private volatile String table;
+    private volatile String idColumn;
+
+    public PooledIdGenerator(PooledIdAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    @Override
+    public void initialize(PooledId annotation, Member member, GeneratorCreationContext context) {
+        Class<?> type = member instanceof Field f ? f.getType() : ((Method) member).getReturnType();
+        this.integerId = type == Integer.class || type == int.class;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+            EventType eventType) {
+        if (table == null) {
+            AbstractEntityPersister persister = (AbstractEntityPersister) session.getEntityPersister(null, owner);
+            idColumn = persister.getIdentifierColumnNames()[0];
+            table = persister.getTableName();
+        }
+        long id = allocator.next(table, idColumn);
+        return integerId ? (Object) Math.toIntExact(id) : (Object) id;
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,40 @@
+package com.runasagrada.hotelapi.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Engancha SqlRequestStats en Hibernate (ver SqlBudgetFilter). Si ya había un
+ * statement_inspector configurado por propiedad, queda encadenado detrás del nuestro.
+ */
+@Configuration
+public class SqlBudgetConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer sqlRequestStatsHooks() {
+        return properties -> {
+            StatementInspector configured = instantiate(properties.get(AvailableSettings.STATEMENT_INSPECTOR));
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlRequestStats.Inspector(configured));
+            // Hibernate acepta un solo listener automático: si ya hay otro, sin tiempos
+            properties.putIfAbsent(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    SqlRequestStats.TimingListener.class.getName());
+        };
+    }
+
+    private static StatementInspector instantiate(Object configured) {
+        if (configured == null || configured instanceof StatementInspector) {
+            return (StatementInspector) configured;
+        }
+        try {
+            Class<?> type = configured instanceof Class<?> c ? c
+                    : ClassUtils.forName(configured.toString().trim(), SqlBudgetConfig.class.getClassLoader());
+            return (StatementInspector) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("Could not create statement inspector " + configured, e);
+        }
+    }
+}
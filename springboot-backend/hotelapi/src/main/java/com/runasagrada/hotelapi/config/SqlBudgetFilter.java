@@ -0,0 +1,129 @@
+package com.runasagrada.hotelapi.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Presupuesto de sentencias SQL por request para los controladores de la API.
+ *
+ * Cuenta lo que pasa por Hibernate durante todo el request (incluida la serialización
+ * con open-in-view) y lo compara con hotelapi.sql-budget.limit.Controlador.método,
+ * o si no existe con hotelapi.sql-budget.limit.Controlador, o con default. Además, una
+ * misma sentencia repetida repeat-threshold veces o más se reporta como posible N+1.
+ *
+ * mode=warn loguea (producción), fail lanza IllegalStateException (perfil test, para
+ * que el test que llamó al endpoint falle), off ni siquiera cuenta. Con DEBUG en este
+ * logger sale una línea por request con sentencias y tiempos.
+ */
+@Slf4j
+@Component
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final String CONTROLLER_PACKAGE = "com.runasagrada.hotelapi.controller";
+    private static final String LIMIT_PREFIX = "hotelapi.sql-budget.limit.";
+
+    enum Mode {
+        OFF, WARN, FAIL
+    }
+
+    private final Environment environment;
+    private final Mode mode;
+    private final int defaultBudget;
+    private final int repeatThreshold;
+    private final Map<String, Integer> budgets = new ConcurrentHashMap<>();
+
+    public SqlBudgetFilter(Environment environment,
+            @Value("${hotelapi.sql-budget.mode:warn}") String mode,
+            @Value("${hotelapi.sql-budget.default:10}") int defaultBudget,
+            @Value("${hotelapi.sql-budget.repeat-threshold:10}") int repeatThreshold) {
+        this.environment = environment;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return mode == Mode.OFF;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+        }
+        check(request, stats, System.nanoTime() - start);
+    }
+
+    private void check(HttpServletRequest request, SqlRequestStats stats, long totalNanos) {
+        String handler = handler(request);
+        if (handler == null) {
+            return; // actuator, estáticos, 404
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("{} {} -> {}: {} statements, {} ms SQL, {} ms total", request.getMethod(),
+                    request.getRequestURI(), handler, stats.statements(), millis(stats.sqlNanos()), millis(totalNanos));
+        }
+        int budget = budgets.computeIfAbsent(handler, this::budgetFor);
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        boolean overBudget = stats.statements() > budget;
+        boolean nPlusOne = repeated != null && repeated.getValue() >= repeatThreshold;
+        if (!overBudget && !nPlusOne) {
+            return;
+        }
+
+        String message = String.format("%s %s -> %s: %d SQL statements (budget %d), %s ms SQL%s",
+                request.getMethod(), request.getRequestURI(), handler, stats.statements(), budget,
+                millis(stats.sqlNanos()),
+                nPlusOne ? "; possible N+1, " + repeated.getValue() + "x: " + abbreviate(repeated.getKey()) : "");
+        if (mode == Mode.FAIL) {
+            throw new IllegalStateException("SQL budget exceeded: " + message);
+        }
+        log.warn("SQL budget exceeded: {}", message);
+    }
+
+    private int budgetFor(String handler) {
+        Integer budget = environment.getProperty(LIMIT_PREFIX + handler, Integer.class);
+        if (budget == null) {
+            budget = environment.getProperty(LIMIT_PREFIX + handler.substring(0, handler.indexOf('.')), Integer.class);
+        }
+        return budget != null ? budget : defaultBudget;
+    }
+
+    private static String handler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method
+                && method.getBeanType().getPackageName().equals(CONTROLLER_PACKAGE)) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return null;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= 200 ? sql : sql.substring(0, 200) + "...";
+    }
+}
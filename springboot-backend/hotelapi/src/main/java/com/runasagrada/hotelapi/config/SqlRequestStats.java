@@ -0,0 +1,124 @@
+package com.runasagrada.hotelapi.config;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Sentencias SQL de Hibernate dentro del request HTTP en curso (lo abre y cierra
+ * SqlBudgetFilter en el hilo del request). Fuera de un request (arranque, jobs,
+ * hilos propios) no hay stats y los ganchos no hacen nada.
+ *
+ * Inspector cuenta y agrupa por "forma" (el SQL con los IN (?, ?, ...) colapsados): la
+ * misma forma muchas veces en un request es el síntoma del N+1. TimingListener suma el
+ * tiempo de ejecución JDBC. JdbcTemplate no pasa por Hibernate y no se cuenta.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(\\s*,\\s*\\?)+\\)");
+
+    private int statements;
+    private long sqlNanos;
+    private long executeStart;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long sqlNanos() {
+        return sqlNanos;
+    }
+
+    // la forma más repetida y cuántas veces salió (null si no hubo sentencias)
+    public Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> top = null;
+        for (Map.Entry<String, Integer> e : shapes.entrySet()) {
+            if (top == null || e.getValue() > top.getValue()) {
+                top = e;
+            }
+        }
+        return top;
+    }
+
+    private void record(String sql) {
+        statements++;
+        String shape = sql.indexOf('(') < 0 ? sql : IN_LIST.matcher(sql).replaceAll("(?)");
+        shapes.merge(shape, 1, Integer::sum);
+    }
+
+    /**
+     * hibernate.session_factory.statement_inspector; delega en el que ya estuviera
+     * configurado (p.ej. el que registra un test).
+     */
+    public static class Inspector implements StatementInspector {
+
+        private final StatementInspector delegate;
+
+        public Inspector(StatementInspector delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            SqlRequestStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.record(sql);
+            }
+            return delegate == null ? sql : delegate.inspect(sql);
+        }
+    }
+
+    /** hibernate.session.events.auto: Hibernate crea uno por sesión con el constructor vacío. */
+    public static class TimingListener implements SessionEventListener {
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            start();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            stop();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            start();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            stop();
+        }
+
+        private static void start() {
+            SqlRequestStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.executeStart = System.nanoTime();
+            }
+        }
+
+        private static void stop() {
+            SqlRequestStats stats = CURRENT.get();
+            if (stats != null && stats.executeStart != 0) {
+                stats.sqlNanos += System.nanoTime() - stats.executeStart;
+                stats.executeStart = 0;
+            }
+        }
+    }
+}
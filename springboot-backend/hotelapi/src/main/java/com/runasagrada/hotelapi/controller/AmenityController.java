@@ -3,10 +3,12 @@ package com.runasagrada.hotelapi.controller;
 import com.runasagrada.hotelapi.model.Amenity;
 import com.runasagrada.hotelapi.model.AmenityType;
 import com.runasagrada.hotelapi.service.AmenityService;
+import com.runasagrada.hotelapi.service.CatalogVersions;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,9 +20,12 @@ public class AmenityController {
     @Autowired
     private AmenityService service;
 
+    @Autowired
+    private CatalogVersions versions;
+
     @GetMapping("/amenities")
-    public List<Amenity> list() {
-        return service.list();
+    public ResponseEntity<List<Amenity>> list(WebRequest request) {
+        return ConditionalGet.respond(request, versions.etag(CatalogVersions.Resource.AMENITIES), service::list);
     }
 
     @PostMapping("/amenities")
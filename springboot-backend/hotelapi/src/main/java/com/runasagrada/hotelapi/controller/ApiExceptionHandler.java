@@ -0,0 +1,22 @@
+package com.runasagrada.hotelapi.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+// Un pool acotado (p.ej. CredentialVerifier) no aceptó la tarea: 503 para que el cliente reintente
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> busy(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+}
@@ -1,15 +1,16 @@
 package com.runasagrada.hotelapi.controller;
 
 import com.runasagrada.hotelapi.model.User;
+import com.runasagrada.hotelapi.service.TokenService;
 import com.runasagrada.hotelapi.service.UserService;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -19,8 +20,9 @@ public class AuthController {
     @Autowired
     private UserService service;
 
-    // "sesiones" en memoria (luego JWT)
-    private final Map<String, Integer> sessions = new ConcurrentHashMap<>();
+    // Tokens firmados: sin estado compartido, cualquier instancia los verifica
+    @Autowired
+    private TokenService tokens;
 
     @PostMapping("/register")
     public User register(@RequestBody User body, @RequestParam(required = false) String role) {
@@ -30,9 +32,35 @@ public class AuthController {
     @PostMapping("/login")
     public Map<String, Object> login(@RequestBody LoginRequest body) {
         User u = service.login(body.getEmail(), body.getPassword());
-        String token = "dev-" + UUID.randomUUID();
-        sessions.put(token, u.getUserId());
-        return Map.of("access_token", token, "user", u);
+        return session(u);
+    }
+
+    // Canjea un refresh token (de un solo uso) por un par nuevo
+    @PostMapping("/refresh")
+    public Map<String, Object> refresh(@RequestBody RefreshRequest body) {
+        TokenService.Claims claims = verify(body.getRefreshToken(), TokenService.REFRESH);
+        if (!tokens.revoke(claims)) // otro canje del mismo token llegó primero
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "revoked token");
+        User u;
+        try {
+            u = service.me(claims.userId()); // roles y estado al día
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "unknown user");
+        }
+        if (Boolean.FALSE.equals(u.getEnabled()))
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "user disabled");
+        return session(u);
+    }
+
+    // Revoca el access token y, si viene, el refresh token; tokens inválidos se ignoran
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String auth,
+            @RequestBody(required = false) RefreshRequest body) {
+        if (auth != null && auth.startsWith("Bearer "))
+            revokeQuietly(auth.substring(7), TokenService.ACCESS);
+        if (body != null && body.getRefreshToken() != null)
+            revokeQuietly(body.getRefreshToken(), TokenService.REFRESH);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/me")
@@ -45,11 +73,32 @@ public class AuthController {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "no token");
         }
-        Integer uid = sessions.get(authHeader.substring(7));
-        if (uid == null) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "invalid token");
+        return verify(authHeader.substring(7), TokenService.ACCESS).userId();
+    }
+
+    private TokenService.Claims verify(String token, String type) {
+        try {
+            return tokens.verify(token, type);
+        } catch (SecurityException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, e.getMessage());
+        }
+    }
+
+    private void revokeQuietly(String token, String type) {
+        try {
+            tokens.revoke(tokens.verify(token, type));
+        } catch (SecurityException ignored) {
+            // ya vencido, revocado o mal formado: nada que revocar
         }
-        return uid;
+    }
+
+    private Map<String, Object> session(User u) {
+        TokenService.TokenPair pair = tokens.issue(u);
+        return Map.of("access_token", pair.accessToken(),
+                "refresh_token", pair.refreshToken(),
+                "token_type", "Bearer",
+                "expires_in", pair.expiresIn(),
+                "user", u);
     }
 
     @Data
@@ -57,4 +106,9 @@ public class AuthController {
         String email;
         String password;
     }
+
+    @Data
+    static class RefreshRequest {
+        String refreshToken;
+    }
 }
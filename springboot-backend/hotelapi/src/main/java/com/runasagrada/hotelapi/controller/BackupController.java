@@ -0,0 +1,21 @@
+package com.runasagrada.hotelapi.controller;
+
+import com.runasagrada.hotelapi.model.BackupDto;
+import com.runasagrada.hotelapi.service.BackupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/backup")
+@CrossOrigin(origins = "http://localhost:4200")
+@RequiredArgsConstructor
+public class BackupController {
+
+    private final BackupService service;
+
+    // POST /api/backup -> backup en caliente a hotelapi.backup.dir; devuelve archivo, tamaño y duración
+    @PostMapping
+    public BackupDto backup() {
+        return service.backup();
+    }
+}
@@ -0,0 +1,23 @@
+package com.runasagrada.hotelapi.controller;
+
+import com.runasagrada.hotelapi.model.CacheRegionStatsDto;
+import com.runasagrada.hotelapi.service.CacheStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "http://localhost:4200")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheStatsService service;
+
+    // GET /api/cache/stats -> hits / misses / evictions por región de la caché de segundo nivel
+    @GetMapping("/stats")
+    public List<CacheRegionStatsDto> stats() {
+        return service.regions();
+    }
+}
@@ -0,0 +1,29 @@
+package com.runasagrada.hotelapi.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * GET condicional para los listados de catálogo: con If-None-Match igual al
+ * ETag actual responde 304 sin llamar al supplier (ni repositorio ni JSON).
+ * no-cache: el navegador guarda la respuesta pero revalida siempre.
+ */
+final class ConditionalGet {
+
+    static final CacheControl CACHE_CONTROL = CacheControl.noCache();
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> respond(WebRequest request, String etag, Supplier<T> body) {
+        String quoted = '"' + etag + '"';
+        if (request.checkNotModified(quoted)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(quoted).cacheControl(CACHE_CONTROL).build();
+        }
+        return ResponseEntity.ok().eTag(quoted).cacheControl(CACHE_CONTROL).body(body.get());
+    }
+}
@@ -0,0 +1,28 @@
+package com.runasagrada.hotelapi.controller;
+
+import com.runasagrada.hotelapi.model.DashboardSummaryDto;
+import com.runasagrada.hotelapi.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "http://localhost:4200")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService service;
+
+    // GET /api/dashboard/summary (admin) o /api/dashboard/summary?hotelId=1 (operador)
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummaryDto> summary(@RequestParam(required = false) Long hotelId) {
+        try {
+            return ResponseEntity.ok(service.summary(hotelId));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
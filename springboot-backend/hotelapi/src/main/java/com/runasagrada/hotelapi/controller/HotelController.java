@@ -2,11 +2,13 @@ package com.runasagrada.hotelapi.controller;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.runasagrada.hotelapi.model.Hotel;
+import com.runasagrada.hotelapi.service.CatalogVersions;
 import com.runasagrada.hotelapi.service.HotelService;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -19,9 +21,14 @@ public class HotelController {
     @Autowired
     private HotelService service;
 
+    @Autowired
+    private CatalogVersions versions;
+
+    // El JSON de cada hotel trae sus amenities: el ETag depende de ambos
     @GetMapping("/hotels")
-    public List<Hotel> list() {
-        return service.list();
+    public ResponseEntity<List<Hotel>> list(WebRequest request) {
+        String etag = versions.etag(CatalogVersions.Resource.HOTELS, CatalogVersions.Resource.AMENITIES);
+        return ConditionalGet.respond(request, etag, service::list);
     }
 
     @GetMapping("/hotels/{id}")
@@ -30,8 +37,9 @@ public class HotelController {
     }
 
     @GetMapping("/hotels/id-name")
-    public ResponseEntity<Map<Long, String>> getHotelsIdName() {
-        return ResponseEntity.ok(service.getHotelsIdName());
+    public ResponseEntity<Map<Long, String>> getHotelsIdName(WebRequest request) {
+        String etag = versions.etag(CatalogVersions.Resource.HOTELS);
+        return ConditionalGet.respond(request, etag, service::getHotelsIdName);
     }
 
     @PostMapping("/hotels")
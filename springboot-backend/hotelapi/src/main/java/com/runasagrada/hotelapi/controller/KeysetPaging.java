@@ -0,0 +1,40 @@
+package com.runasagrada.hotelapi.controller;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Paginación por cursor (keyset) de los listados: ?after=&lt;último id&gt;&limit=N.
+ *
+ * Las consultas ordenan por la PK y piden limit + 1 filas; si sobra una hay
+ * página siguiente y su cursor (el id de la última fila devuelta) va en la
+ * cabecera X-Next-Cursor. El cuerpo sigue siendo un arreglo JSON, así los
+ * clientes que no paginan no cambian de forma (solo de tamaño).
+ */
+final class KeysetPaging {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    private KeysetPaging() {
+    }
+
+    static int pageSize(Integer limit) {
+        if (limit == null)
+            return DEFAULT_LIMIT;
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    static <T> ResponseEntity<List<T>> respond(List<T> rows, int pageSize, Function<T, ?> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return ResponseEntity.ok(rows);
+        }
+        List<T> page = rows.subList(0, pageSize);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR, String.valueOf(cursorOf.apply(page.get(pageSize - 1))))
+                .body(page);
+    }
+}
@@ -7,11 +7,14 @@ import com.runasagrada.hotelapi.model.Reservation;
 import com.runasagrada.hotelapi.service.PaymentService;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
@@ -21,9 +24,23 @@ public class PaymentController {
 	@Autowired
 	private PaymentService service;
 
+	// Paginado por cursor (after/limit, siguiente cursor en X-Next-Cursor);
+	// unpaged=true devuelve la tabla completa como antes
 	@GetMapping("/payments")
-	public List<Payment> list() {
-		return service.list();
+	public ResponseEntity<List<Payment>> list(
+			@RequestParam(required = false) String status,
+			@RequestParam(required = false) Long hotelId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) Integer after,
+			@RequestParam(required = false) Integer limit,
+			@RequestParam(defaultValue = "false") boolean unpaged) {
+		if (unpaged)
+			return ResponseEntity.ok(service.list());
+		int pageSize = KeysetPaging.pageSize(limit);
+		String normalized = status == null ? null : status.trim().toUpperCase(Locale.ROOT);
+		return KeysetPaging.respond(service.findPage(after, normalized, hotelId, from, to, pageSize + 1),
+				pageSize, Payment::getPaymentId);
 	}
 
 	@GetMapping("/payments/{id}")
@@ -119,6 +136,12 @@ public class PaymentController {
 		return service.calculateIncome(hotelId);
 	}
 
+	// Recalcula income_rollup desde la tabla payment (p.ej. tras cargas manuales)
+	@PostMapping("/payments/income/rebuild")
+	public ResponseEntity<Map<String, Integer>> rebuildIncome() {
+		return ResponseEntity.ok(Map.of("rows", service.rebuildIncomeRollup()));
+	}
+
 	@Data
 	public static class PaymentRequest {
 		private Integer reservationId;
@@ -1,22 +1,22 @@
 package com.runasagrada.hotelapi.controller;
 
+import com.runasagrada.hotelapi.model.DayBookDto;
 import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.ReservationDetailDto;
 import com.runasagrada.hotelapi.model.Payment;
 import com.runasagrada.hotelapi.service.PaymentService;
 import com.runasagrada.hotelapi.service.ReservationService;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/reservations")
@@ -27,31 +27,40 @@ public class ReservationController {
     private final ReservationService service;
     private final PaymentService paymentService;
 
+    // Paginado por cursor (after/limit, siguiente cursor en X-Next-Cursor);
+    // unpaged=true devuelve la tabla completa como antes
     @GetMapping
-    public List<Reservation> all(@RequestParam(required = false) Integer userId) {
+    public ResponseEntity<List<ReservationDetailDto>> all(
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) Reservation.Status status,
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean unpaged) {
         if (userId != null)
-            return service.findByUserOrdered(userId);
-        return service.findAll();
+            return ResponseEntity.ok(service.findByUserOrdered(userId));
+        if (unpaged)
+            return ResponseEntity.ok(service.findAll());
+        int pageSize = KeysetPaging.pageSize(limit);
+        return KeysetPaging.respond(service.findPage(after, status, hotelId, from, to, pageSize + 1),
+                pageSize, ReservationDetailDto::getReservationId);
     }
 
     @GetMapping("/user/{userId}")
-    public List<Reservation> allByUser(@PathVariable Integer userId) {
+    public List<ReservationDetailDto> allByUser(@PathVariable Integer userId) {
         return service.findByUserOrdered(userId);
     }
 
     // Get all reservation by hotel
     @GetMapping("/hotel/{hotelId}")
-    public List<ReservationDTO> allByHotel(@PathVariable Long hotelId) {
-        List<Reservation> all = service.findByHotelId(hotelId);
-        List<ReservationDTO> response = new ArrayList<>();
-        for (Reservation res : all) {
-            response.add(ReservationDTO.buildDTO(res));
-        }
-        return response;
+    public List<ReservationDetailDto> allByHotel(@PathVariable Long hotelId) {
+        return service.findByHotelId(hotelId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Reservation> one(@PathVariable Integer id) {
+    public ResponseEntity<ReservationDetailDto> one(@PathVariable Integer id) {
         return service.findById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -103,8 +112,12 @@ public class ReservationController {
         LocalDate checkOut = asDate(body.get("checkOut"));
         Reservation.Status status = asStatus(body.get("status")); // puede venir null
 
-        Reservation created = service.create(userId, hotelId, roomId, checkIn, checkOut, status);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        try {
+            Reservation created = service.create(userId, hotelId, roomId, checkIn, checkOut, status);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @GetMapping("/lumpsum/{id}")
@@ -157,20 +170,23 @@ public class ReservationController {
 
     // GET /api/reservations/current?userId=...
     @GetMapping("/current")
-    public List<Reservation> getCurrent(@RequestParam(required = false) Integer userId) {
+    public List<ReservationDetailDto> getCurrent(@RequestParam(required = false) Integer userId) {
         if (userId != null) {
             return service.findCurrentByUser(userId);
         }
         // si no se pasa userId devolvemos todas las actuales
-        LocalDate today = LocalDate.now();
-        return service.findAll().stream()
-                .filter(r -> r.getCheckOut() != null && !r.getCheckOut().isBefore(today))
-                .collect(Collectors.toList());
+        return service.findCurrent();
+    }
+
+    // GET /api/reservations/front-desk?hotelId=1 -> llegadas, en casa y salidas de hoy
+    @GetMapping("/front-desk")
+    public DayBookDto frontDesk(@RequestParam(required = false) Long hotelId) {
+        return service.frontDesk(hotelId);
     }
 
     // GET /api/reservations/history?userId=...
     @GetMapping("/history")
-    public List<Reservation> getHistory(@RequestParam(required = false) Integer userId) {
+    public List<ReservationDetailDto> getHistory(@RequestParam(required = false) Integer userId) {
         if (userId != null) {
             return service.findByUserOrdered(userId);
         }
@@ -178,7 +194,7 @@ public class ReservationController {
     }
 
     @GetMapping("/today")
-    public List<Reservation> getToday() {
+    public List<ReservationDetailDto> getToday() {
         return service.findForToday();
     }
 
@@ -202,21 +218,10 @@ public class ReservationController {
         return service.countByRoomTypeAndHotel(hotelId);
     }
 
-    @Data
-    @AllArgsConstructor
-    public static class ReservationDTO {
-        private Integer reservationId;
-        private Integer userId;
-        private Long hotelId;
-        private Integer roomId;
-        private LocalDate checkIn;
-        private LocalDate checkOut;
-        private Reservation.Status status;
-
-        public static ReservationDTO buildDTO(Reservation r) {
-            return new ReservationDTO(r.getReservationId(), r.getUser().getUserId(), r.getHotel().getHotelId(),
-                    r.getRoom().getRoomId(), r.getCheckIn(), r.getCheckOut(), r.getStatus());
-        }
+    // Recalcula reservation_counters desde la tabla de reservas
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildSummary() {
+        return ResponseEntity.ok(Map.of("rows", service.rebuildCounters()));
     }
 
 }
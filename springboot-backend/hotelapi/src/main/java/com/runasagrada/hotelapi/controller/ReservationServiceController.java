@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.runasagrada.hotelapi.model.ReservationServiceEntity;
@@ -34,12 +35,29 @@ public class ReservationServiceController {
     @Autowired
     private ReservationServiceService reservationService;
 
+    // Paginado por cursor (after/limit, siguiente cursor en X-Next-Cursor);
+    // unpaged=true devuelve la tabla completa como antes
     @GetMapping
-    public List<ReservationServiceDTO> list() {
-        return reservationService.getAll()
+    public ResponseEntity<List<ReservationServiceDTO>> list(
+            @RequestParam(required = false) ReservationServiceEntity.Status status,
+            @RequestParam(required = false) Integer reservationId,
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged) {
+            return ResponseEntity.ok(reservationService.getAll()
+                    .stream()
+                    .map(ReservationServiceDTO::from)
+                    .collect(Collectors.toList()));
+        }
+        int pageSize = KeysetPaging.pageSize(limit);
+        List<ReservationServiceDTO> rows = reservationService
+                .findPage(after, status, reservationId, hotelId, pageSize + 1)
                 .stream()
                 .map(ReservationServiceDTO::from)
                 .collect(Collectors.toList());
+        return KeysetPaging.respond(rows, pageSize, ReservationServiceDTO::getResServiceId);
     }
 
     @GetMapping("/{id}")
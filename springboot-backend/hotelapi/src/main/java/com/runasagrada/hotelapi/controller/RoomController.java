@@ -1,10 +1,12 @@
 package com.runasagrada.hotelapi.controller;
 
-import com.runasagrada.hotelapi.controller.ReservationController.ReservationDTO;
+import com.runasagrada.hotelapi.model.AvailableRoomDto;
 import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.ReservationDetailDto;
 import com.runasagrada.hotelapi.model.Room;
 import com.runasagrada.hotelapi.model.RoomLock;
 import com.runasagrada.hotelapi.model.User;
+import com.runasagrada.hotelapi.service.RoomAvailabilityChecker;
 import com.runasagrada.hotelapi.service.RoomService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -12,12 +14,12 @@ import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.hibernate.Hibernate;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -28,16 +30,28 @@ import org.springframework.web.bind.annotation.RequestParam;
 public class RoomController {
 
     private final RoomService service;
+    private final RoomAvailabilityChecker availabilityChecker;
 
+    // Paginado por cursor (after/limit, siguiente cursor en X-Next-Cursor);
+    // unpaged=true mantiene el comportamiento anterior (lista completa)
     @GetMapping("/rooms")
-    public List<Room> list(
+    public ResponseEntity<List<Room>> list(
             @RequestParam(required = false) Long hotelId,
-            @RequestParam(required = false) Integer roomTypeId) {
-        if (hotelId != null)
-            return service.findByHotel(hotelId);
-        if (roomTypeId != null)
-            return service.findByType(roomTypeId);
-        return service.findAll();
+            @RequestParam(required = false) Integer roomTypeId,
+            @RequestParam(required = false) Room.ReservationStatus resStatus,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged) {
+            if (hotelId != null)
+                return ResponseEntity.ok(service.findByHotel(hotelId));
+            if (roomTypeId != null)
+                return ResponseEntity.ok(service.findByType(roomTypeId));
+            return ResponseEntity.ok(service.findAll());
+        }
+        int pageSize = KeysetPaging.pageSize(limit);
+        return KeysetPaging.respond(service.findPage(after, hotelId, roomTypeId, resStatus, pageSize + 1),
+                pageSize, Room::getRoomId);
     }
 
     @GetMapping("/rooms/{id}")
@@ -68,13 +82,32 @@ public class RoomController {
     }
 
     @GetMapping("/rooms/reservations/{roomNum}")
-    public ResponseEntity<List<ReservationDTO>> getReservForRoom(@PathVariable String roomNum) {
-        List<Reservation> reservations = service.getReservations(roomNum);
-        List<ReservationDTO> resDto = new ArrayList<>();
-        for (Reservation res : reservations) {
-            resDto.add(ReservationDTO.buildDTO(res));
+    public ResponseEntity<List<ReservationDetailDto>> getReservForRoom(@PathVariable String roomNum) {
+        return ResponseEntity.ok(service.getReservations(roomNum));
+    }
+
+    // GET /api/availability?hotelId=1&roomTypeId=2&checkIn=2025-01-10&checkOut=2025-01-12&guests=2
+    @GetMapping("/availability")
+    public ResponseEntity<List<AvailableRoomDto>> availability(
+            @RequestParam Long hotelId,
+            @RequestParam(required = false) Integer roomTypeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(defaultValue = "1") Integer guests) {
+        if (!checkIn.isBefore(checkOut) || guests < 1) {
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(resDto);
+        return ResponseEntity.ok(service.findAvailable(hotelId, roomTypeId, checkIn, checkOut, guests));
+    }
+
+    // Diagnóstico: índice de disponibilidad en memoria vs tabla room_lock
+    @GetMapping("/rooms/availability/check")
+    public ResponseEntity<Map<String, Object>> checkAvailabilityIndex() {
+        List<String> mismatches = availabilityChecker.check();
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("consistent", mismatches.isEmpty());
+        payload.put("mismatches", mismatches);
+        return ResponseEntity.ok(payload);
     }
 
     @PostMapping("/rooms")
@@ -1,11 +1,13 @@
 package com.runasagrada.hotelapi.controller;
 
 import com.runasagrada.hotelapi.model.RoomType;
+import com.runasagrada.hotelapi.service.CatalogVersions;
 import com.runasagrada.hotelapi.service.RoomTypeService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -17,10 +19,13 @@ import java.util.List;
 public class RoomTypeController {
 
     private final RoomTypeService service;
+    private final CatalogVersions versions;
 
     @GetMapping("/room-types")
-    public List<RoomType> list() {
-        return service.findAll();
+    public ResponseEntity<List<RoomType>> list(WebRequest request) {
+        // cada tipo serializa sus habitaciones (con estados): cambia también con ROOMS
+        String etag = versions.etag(CatalogVersions.Resource.ROOM_TYPES, CatalogVersions.Resource.ROOMS);
+        return ConditionalGet.respond(request, etag, service::findAll);
     }
 
     @GetMapping("/room-types/{id}")
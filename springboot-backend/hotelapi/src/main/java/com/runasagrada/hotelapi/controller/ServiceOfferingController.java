@@ -6,8 +6,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -21,10 +19,13 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.runasagrada.hotelapi.model.Hotel;
 import com.runasagrada.hotelapi.model.ServiceOffering;
 import com.runasagrada.hotelapi.model.ServiceSchedule;
+import com.runasagrada.hotelapi.service.CatalogVersions;
+import com.runasagrada.hotelapi.service.ServiceCatalogIndex;
 import com.runasagrada.hotelapi.service.ServiceOfferingService;
 import com.runasagrada.hotelapi.service.ServiceScheduleService;
 
@@ -44,10 +45,15 @@ public class ServiceOfferingController {
     private ServiceOfferingService serviceOfferingService;
     @Autowired
     private ServiceScheduleService serviceScheduleService;
+    @Autowired
+    private ServiceCatalogIndex catalogIndex;
+    @Autowired
+    private CatalogVersions versions;
 
     @GetMapping("/servoffering")
-    public List<ServiceOffering> getAllServices() {
-        return serviceOfferingService.getAllServiceOfferings();
+    public ResponseEntity<List<ServiceOffering>> getAllServices(WebRequest request) {
+        String etag = versions.etag(CatalogVersions.Resource.SERVICE_OFFERINGS);
+        return ConditionalGet.respond(request, etag, serviceOfferingService::getAllServiceOfferings);
     }
 
     @GetMapping("/servoffering/{id}")
@@ -174,54 +180,34 @@ public class ServiceOfferingController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // Las tres vistas de catálogo salen de ServiceCatalogIndex (listas ya armadas en memoria)
     @GetMapping("/servoffering/gastronomy")
     public Map<String, List<ServiceOffering>> getGastronomyServices() {
-        List<ServiceOffering> allServices = serviceOfferingService.getAllServiceOfferings();
         Map<String, List<ServiceOffering>> payload = new HashMap<>();
-        payload.put("gastronomy", filter(allServices, s -> "Comida".equals(s.getCategory())));
-        payload.put("platosFuertes", filter(allServices,
-                item -> "Comida".equals(item.getCategory()) && "Plato Principal".equals(item.getSubcategory())));
-        payload.put("postres", filter(allServices,
-                item -> "Comida".equals(item.getCategory()) && "Postre".equals(item.getSubcategory())));
-        payload.put("bebidas", filter(allServices,
-                item -> "Comida".equals(item.getCategory()) && "Bebida".equals(item.getSubcategory())));
+        payload.put("gastronomy", catalogIndex.category("Comida"));
+        payload.put("platosFuertes", catalogIndex.subcategory("Comida", "Plato Principal"));
+        payload.put("postres", catalogIndex.subcategory("Comida", "Postre"));
+        payload.put("bebidas", catalogIndex.subcategory("Comida", "Bebida"));
         return payload;
     }
 
     @GetMapping("/servoffering/tours")
     public Map<String, List<ServiceOffering>> getTourServices() {
-        List<ServiceOffering> allServices = serviceOfferingService.getAllServiceOfferings();
         Map<String, List<ServiceOffering>> payload = new HashMap<>();
-        payload.put("tours", filter(allServices, s -> "Tours".equals(s.getCategory())));
-        payload.put("toursCulturales", filter(allServices,
-                item -> "Tours".equals(item.getCategory()) && "Cultural".equals(item.getSubcategory())));
-        payload.put("toursNaturaleza", filter(allServices,
-                item -> "Tours".equals(item.getCategory()) && "Naturaleza".equals(item.getSubcategory())));
-        payload.put("otrosTours", filter(allServices,
-                item -> "Tours".equals(item.getCategory())
-                        && (item.getSubcategory() == null
-                                || (!"Cultural".equals(item.getSubcategory())
-                                        && !"Naturaleza".equals(item.getSubcategory())))));
+        payload.put("tours", catalogIndex.category("Tours"));
+        payload.put("toursCulturales", catalogIndex.subcategory("Tours", "Cultural"));
+        payload.put("toursNaturaleza", catalogIndex.subcategory("Tours", "Naturaleza"));
+        payload.put("otrosTours", catalogIndex.group(ServiceCatalogIndex.OTROS_TOURS));
         return payload;
     }
 
     @GetMapping("/servoffering/amenities")
     public Map<String, List<ServiceOffering>> getAmenityServices() {
-        List<ServiceOffering> allServices = serviceOfferingService.getAllServiceOfferings();
         Map<String, List<ServiceOffering>> payload = new HashMap<>();
-        payload.put("amenities", filter(allServices, s -> "Hotel".equals(s.getCategory())));
-        payload.put("bienestar", filter(allServices,
-                item -> "Hotel".equals(item.getCategory())
-                        && (item.getName().contains("Spa") || item.getName().contains("Gimnasio"))));
-        payload.put("hospedaje", filter(allServices,
-                item -> "Hotel".equals(item.getCategory())
-                        && (item.getName().contains("Suite") || item.getName().contains("Cabañas"))));
-        payload.put("servicios", filter(allServices,
-                item -> "Hotel".equals(item.getCategory())
-                        && !item.getName().contains("Spa")
-                        && !item.getName().contains("Gimnasio")
-                        && !item.getName().contains("Suite")
-                        && !item.getName().contains("Cabañas")));
+        payload.put("amenities", catalogIndex.category("Hotel"));
+        payload.put("bienestar", catalogIndex.group(ServiceCatalogIndex.BIENESTAR));
+        payload.put("hospedaje", catalogIndex.group(ServiceCatalogIndex.HOSPEDAJE));
+        payload.put("servicios", catalogIndex.group(ServiceCatalogIndex.SERVICIOS));
         return payload;
     }
 
@@ -249,10 +235,6 @@ public class ServiceOfferingController {
         return ResponseEntity.noContent().build();
     }
 
-    private List<ServiceOffering> filter(List<ServiceOffering> source, Predicate<ServiceOffering> predicate) {
-        return source.stream().filter(predicate).collect(Collectors.toList());
-    }
-
     private LocalTime calculateEnd(LocalTime startTime, int durationMinutes) {
         int clamped = Math.max(30, Math.min(durationMinutes, 480));
         return startTime.plusMinutes(clamped);
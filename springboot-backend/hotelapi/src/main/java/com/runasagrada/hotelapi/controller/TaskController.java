@@ -7,9 +7,11 @@ import com.runasagrada.hotelapi.model.Task.TaskType;
 import com.runasagrada.hotelapi.service.TaskService;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,9 +22,23 @@ public class TaskController {
 	@Autowired
 	private TaskService service;
 
+	// Paginado por cursor (after/limit, siguiente cursor en X-Next-Cursor);
+	// unpaged=true devuelve la tabla completa como antes
 	@GetMapping("/task")
-	public List<Task> list() {
-		return service.findAll();
+	public ResponseEntity<List<Task>> list(
+			@RequestParam(required = false) TaskStatus status,
+			@RequestParam(required = false) TaskType type,
+			@RequestParam(required = false) Long staffId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) Long after,
+			@RequestParam(required = false) Integer limit,
+			@RequestParam(defaultValue = "false") boolean unpaged) {
+		if (unpaged)
+			return ResponseEntity.ok(service.findAll());
+		int pageSize = KeysetPaging.pageSize(limit);
+		return KeysetPaging.respond(service.findPage(after, status, type, staffId, from, to, pageSize + 1),
+				pageSize, Task::getTaskId);
 	}
 
 	@GetMapping("/task/{id}")
@@ -6,9 +6,11 @@ import com.runasagrada.hotelapi.service.UserService;
 import lombok.Data;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -37,9 +39,22 @@ public class UserController {
     }
 
     // Admin:
+    // Paginado por cursor (after/limit, siguiente cursor en X-Next-Cursor);
+    // unpaged=true devuelve la tabla completa como antes
     @GetMapping("/users")
-    public List<User> all() {
-        return service.findAll();
+    public ResponseEntity<List<User>> all(
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (unpaged)
+            return ResponseEntity.ok(service.findAll());
+        int pageSize = KeysetPaging.pageSize(limit);
+        return KeysetPaging.respond(service.findPage(after, enabled, role, from, to, pageSize + 1),
+                pageSize, User::getUserId);
     }
 
     @GetMapping("/user/id/{userId}")
@@ -1,18 +1,23 @@
 package com.runasagrada.hotelapi.model;
 
+import com.runasagrada.hotelapi.config.PooledId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 @Entity
 @Table(name = "amenities")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "amenity")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Amenity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     @Column(name = "amenity_id")
     private Integer amenityId;
 
@@ -0,0 +1,22 @@
+package com.runasagrada.hotelapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Proyección de habitación + tipo para GET /api/availability (sin cargar entidades)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableRoomDto {
+    private Integer roomId;
+    private String number;
+    private Integer floor;
+    private String themeName;
+    private Integer roomTypeId;
+    private String roomTypeName;
+    private Integer capacity;
+    private BigDecimal basePrice;
+}
@@ -0,0 +1,16 @@
+package com.runasagrada.hotelapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado de un backup: FILE = copia del archivo (BACKUP TO), SCRIPT = volcado SQL de la base en memoria
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackupDto {
+    private String file;
+    private String kind;
+    private long bytes;
+    private long millis;
+}
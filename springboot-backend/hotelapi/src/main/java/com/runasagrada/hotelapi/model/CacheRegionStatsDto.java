@@ -0,0 +1,19 @@
+package com.runasagrada.hotelapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Contadores JCache de una región de la caché de segundo nivel (acumulados desde el arranque)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDto {
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long removals;
+    private long evictions;
+    private double hitRatio;
+}
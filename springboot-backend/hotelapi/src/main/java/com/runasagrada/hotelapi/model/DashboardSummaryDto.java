@@ -0,0 +1,27 @@
+package com.runasagrada.hotelapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Todo lo que pinta el dashboard en una sola respuesta. Los arreglos son
+ * [valor del mes actual, % de variación vs el mes anterior], igual que en los
+ * endpoints /summary individuales. users y amenitiesByHotel son globales
+ * aunque se pida un hotelId.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummaryDto {
+    private Long hotelId;
+    private double[] users;
+    private double[] reservations;
+    private Map<String, Long> reservationsByRoomType;
+    private double[] income;
+    private Map<String, Long> amenitiesByHotel;
+    private Instant generatedAt;
+}
@@ -1,11 +1,17 @@
 package com.runasagrada.hotelapi.model;
 
 import com.runasagrada.hotelapi.repository.*;
-import com.runasagrada.hotelapi.service.ServiceScheduleService;
+import com.runasagrada.hotelapi.service.IncomeRollupService;
+import com.runasagrada.hotelapi.service.ReservationCounterService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -14,6 +20,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+@Slf4j
 @Component
 @Profile("dev")
 @RequiredArgsConstructor
@@ -27,7 +34,7 @@ public class DatabaseInit implements CommandLineRunner {
 
         // Nuevos repositorios para servicios y habitaciones
         private final ServiceOfferingRepository serviceRepository;
-        private final ServiceScheduleService scheduleService;
+        private final ServiceScheduleRepository scheduleRepository;
         private final RoomTypeRepository roomTypeRepository;
         private final RoomRepository roomRepository;
 
@@ -43,27 +50,54 @@ public class DatabaseInit implements CommandLineRunner {
         // Repositorios para PaymentMethod
         private final PaymentMethodRepository paymentMethodRepo;
         private final PaymentRepository paymentRepo;
+        private final IncomeRollupService incomeRollups;
+        private final ReservationCounterService reservationCounters;
+        private final PlatformTransactionManager txManager;
+        private final EntityManager em;
 
         @Override
         public void run(String... args) {
-                // Datos originales: roles, usuarios y hoteles
-                seedBasicData();
-
-                // Nuevos datos: habitaciones y servicios
-                List<Hotel> hotelList = hotels.findAll();
-                seedRoomTypesAndRooms(hotelList);
-                seedServicesForAllHotels(hotelList);
-                seedReservations(hotelList);
-
-                // Datos para Department, StaffMember y Task
-                // Los StaffMember son users con rol OPERATOR asociados a hoteles y
-                // departamentos
-                seedDepartments(hotelList);
-                seedStaffMembers(hotelList);
-                seedTasks();
-
-                // Datos para PaymentMethod y Payment
-                seedPaymentMethodsAndPayments();
+                // Base en archivo (perfil durable) que ya tiene datos: no se vuelve a sembrar
+                if (hotels.count() > 0) {
+                        log.info("Database already has data: skipping seed");
+                        return;
+                }
+                long start = System.nanoTime();
+
+                // Todo el seed en una sola transacción: los saveAll solo encolan los INSERT y
+                // Hibernate los manda en lotes (hibernate.jdbc.batch_size) al hacer flush/commit.
+                // FlushMode COMMIT: las consultas del seed no disparan auto-flush (cada uno revisaba
+                // todas las entidades pendientes); lo recién creado se pasa en listas
+                new TransactionTemplate(txManager).executeWithoutResult(status -> {
+                        em.setFlushMode(FlushModeType.COMMIT);
+
+                        // Datos originales: roles, usuarios y hoteles
+                        seedBasicData();
+                        // único flush intermedio: usuarios y hoteles se vuelven a leer con findAll
+                        em.flush();
+
+                        // Nuevos datos: habitaciones y servicios
+                        List<Hotel> hotelList = hotels.findAll();
+                        List<Room> rooms = seedRoomTypesAndRooms(hotelList);
+                        seedServicesForAllHotels(hotelList);
+                        List<Reservation> reservations = seedReservations(rooms);
+
+                        // Datos para Department, StaffMember y Task
+                        // Los StaffMember son users con rol OPERATOR asociados a hoteles y
+                        // departamentos
+                        List<Department> departments = seedDepartments(hotelList);
+                        List<StaffMember> staffMembers = seedStaffMembers(hotelList, departments);
+                        seedTasks(staffMembers, rooms);
+
+                        // Datos para PaymentMethod y Payment
+                        seedPaymentMethodsAndPayments(reservations);
+                });
+
+                // Reservas y pagos del seed se guardan directo con los repositorios; los
+                // rebuild leen con SQL nativo, por eso van después del commit
+                reservationCounters.rebuild();
+                incomeRollups.rebuild();
+                log.info("Seed finished in {} ms", (System.nanoTime() - start) / 1_000_000);
         }
 
         private void seedBasicData() {
@@ -74,8 +108,13 @@ public class DatabaseInit implements CommandLineRunner {
                 Role clientRole = roleRepo.findByName("CLIENT")
                                 .orElseGet(() -> roleRepo.save(new Role(null, "CLIENT")));
 
+                Set<String> existingEmails = userRepo.findAll().stream()
+                                .map(User::getEmail)
+                                .collect(Collectors.toSet());
+                List<User> newUsers = new ArrayList<>();
+
                 // --- 1 Admin ---
-                userRepo.findByEmail("admin@hotel.com").orElseGet(() -> {
+                if (!existingEmails.contains("admin@hotel.com")) {
                         User u = new User();
                         u.setEmail("admin@hotel.com");
                         u.setPassword("admin123");
@@ -84,13 +123,13 @@ public class DatabaseInit implements CommandLineRunner {
                         u.setNationalId("CC-ADMIN-001");
                         u.setSelectedPet("/images/icons/icono1.png");
                         u.setRoles(Set.of(adminRole));
-                        return userRepo.save(u);
-                });
+                        newUsers.add(u);
+                }
 
                 // --- 15 Operadores ---
                 IntStream.rangeClosed(1, 15).forEach(i -> {
                         String email = "op" + i + "@hotel.com";
-                        userRepo.findByEmail(email).orElseGet(() -> {
+                        if (!existingEmails.contains(email)) {
                                 User u = new User();
                                 u.setEmail(email);
                                 u.setPassword("op123");
@@ -99,14 +138,14 @@ public class DatabaseInit implements CommandLineRunner {
                                 u.setNationalId("OP-" + String.format("%03d", i));
                                 u.setSelectedPet(pickIcon(i));
                                 u.setRoles(Set.of(operatorRole));
-                                return userRepo.save(u);
-                        });
+                                newUsers.add(u);
+                        }
                 });
 
                 // --- 10 Clientes ---
                 IntStream.rangeClosed(1, 10).forEach(i -> {
                         String email = "client" + String.format("%02d", i) + "@demo.com";
-                        userRepo.findByEmail(email).orElseGet(() -> {
+                        if (!existingEmails.contains(email)) {
                                 User u = new User();
                                 u.setEmail(email);
                                 u.setPassword("client123");
@@ -115,9 +154,10 @@ public class DatabaseInit implements CommandLineRunner {
                                 u.setNationalId("CLI-" + String.format("%04d", i));
                                 u.setSelectedPet(pickIcon(i));
                                 u.setRoles(Set.of(clientRole));
-                                return userRepo.save(u);
-                        });
+                                newUsers.add(u);
+                        }
                 });
+                userRepo.saveAll(newUsers);
 
                 // --- Hoteles + amenities ---
                 if (hotels.count() == 0) {
@@ -212,7 +252,7 @@ public class DatabaseInit implements CommandLineRunner {
          * ROOM TYPES & ROOMS
          * ============================================================
          */
-        private void seedRoomTypesAndRooms(List<Hotel> hotelList) {
+        private List<Room> seedRoomTypesAndRooms(List<Hotel> hotelList) {
                 // Crear tipos de habitación si no existen
                 Map<String, RoomType> typesByName = roomTypeRepository.findAll().stream()
                                 .collect(Collectors.toMap(rt -> rt.getName().toLowerCase(Locale.ROOT), rt -> rt,
@@ -243,6 +283,7 @@ public class DatabaseInit implements CommandLineRunner {
                                 1, rtStd, 2, rtDel, 3, rtSuite, 4, rtFam, 5, rtEco);
 
                 // Crear habitaciones si no existen
+                List<Room> rooms = new ArrayList<>();
                 if (roomRepository.count() == 0L && !hotelList.isEmpty()) {
                         int hotelsToUse = Math.min(5, hotelList.size());
                         for (int idx = 0; idx < hotelsToUse; idx++) {
@@ -269,11 +310,13 @@ public class DatabaseInit implements CommandLineRunner {
                                                 r.getImages().add(
                                                                 "https://th.bing.com/th/id/R.6671f22a47fc00ccb37249bf7b7b74ef?rik=8VkhVVuKxibaJw&riu=http%3a%2f%2f1.bp.blogspot.com%2f-AJRd8qwC4RI%2fUnPI66ClGyI%2fAAAAAAAAzsU%2f6mfwCIhN6eQ%2fs1600%2fcasi4.JPG&ehk=c3QsEPM2AY2mfDQpRSFgkONQEThdMuBTWwlcAdaW6yc%3d&risl=&pid=ImgRaw&r=0");
 
-                                                roomRepository.save(r);
+                                                rooms.add(r);
                                         }
                                 }
                         }
+                        roomRepository.saveAll(rooms);
                 }
+                return rooms;
         }
 
         /*
@@ -289,6 +332,7 @@ public class DatabaseInit implements CommandLineRunner {
                 List<ServiceOffering> commonServices = createCommonServices();
 
                 // Servicios específicos por hotel
+                List<ServiceOffering> all = new ArrayList<>();
                 for (int i = 0; i < hotelList.size(); i++) {
                         Hotel hotel = hotelList.get(i);
                         List<ServiceOffering> specificServices = createSpecificServicesForHotel(i + 1);
@@ -297,18 +341,19 @@ public class DatabaseInit implements CommandLineRunner {
                         commonServices.forEach(s -> {
                                 ServiceOffering copy = copyService(s);
                                 copy.setHotel(hotel);
-                                serviceRepository.save(copy);
+                                all.add(copy);
                         });
 
                         specificServices.forEach(s -> {
                                 s.setHotel(hotel);
-                                serviceRepository.save(s);
+                                all.add(s);
                         });
-
-                        createSampleSchedules(specificServices);
                 }
+                serviceRepository.saveAll(all);
 
-                createSampleSchedules(commonServices);
+                // Horarios directo sobre los servicios recién guardados (antes se buscaban por
+                // nombre con un findAll por servicio)
+                createSampleSchedules(all);
         }
 
         private List<ServiceOffering> createCommonServices() {
@@ -1197,26 +1242,18 @@ public class DatabaseInit implements CommandLineRunner {
         }
 
         private void createSampleSchedules(List<ServiceOffering> services) {
-                for (ServiceOffering serviceName : services) {
-                        createScheduleForService(serviceName, LocalTime.of(9, 0));
-                }
-        }
-
-        private void createScheduleForService(ServiceOffering service, LocalTime time) {
-                String serviceName = service.getName();
-                List<ServiceOffering> services = serviceRepository.findAll().stream()
-                                .filter(s -> serviceName.equalsIgnoreCase(s.getName()))
-                                .toList();
-
+                List<ServiceSchedule> schedules = new ArrayList<>();
                 for (ServiceOffering serv : services) {
-                        setScheduleByCategory(serv, time);
+                        schedules.addAll(schedulesByCategory(serv, LocalTime.of(9, 0)));
                 }
+                // repositorio directo: ServiceCatalogIndex se arma una sola vez en ApplicationReadyEvent
+                scheduleRepository.saveAll(schedules);
         }
 
-        private void setScheduleByCategory(ServiceOffering serv, LocalTime time) {
+        private List<ServiceSchedule> schedulesByCategory(ServiceOffering serv, LocalTime time) {
                 int duration = Math.max(30, serv.getDurationMinutes());
 
-                List<ServiceSchedule> schedules = switch (serv.getCategory()) {
+                return switch (serv.getCategory()) {
                         case "Cultural" -> List.of(
                                         buildSchedule(serv, time, EnumSet.of(
                                                         ServiceSchedule.DayWeek.MONDAY,
@@ -1243,8 +1280,6 @@ public class DatabaseInit implements CommandLineRunner {
                         default -> List.of(
                                         buildSchedule(serv, time, EnumSet.of(ServiceSchedule.DayWeek.DAILY), duration));
                 };
-
-                schedules.forEach(scheduleService::save);
         }
 
         private ServiceSchedule buildSchedule(ServiceOffering service,
@@ -1413,19 +1448,19 @@ public class DatabaseInit implements CommandLineRunner {
                 return set;
         }
 
-        private void seedReservations(List<Hotel> hotelList) {
-                if (reservationRepo.count() > 0)
-                        return; // no duplicar
+        private List<Reservation> seedReservations(List<Room> rooms) {
+                List<Reservation> reservations = new ArrayList<>();
+                if (reservationRepo.count() > 0 || rooms.isEmpty())
+                        return reservations; // no duplicar
 
                 List<User> clients = userRepo.findAll().stream()
                                 .filter(u -> u.getRoles().stream().anyMatch(r -> r.getName().equals("CLIENT")))
                                 .toList();
 
-                List<Room> rooms = roomRepository.findAll();
-
                 Random random = new Random();
                 LocalDate base = LocalDate.of(2025, 1, 1);
                 int diasDelAnio = base.lengthOfYear(); // 365 días
+                List<RoomLock> locks = new ArrayList<>();
 
                 // Crear 15 reservas de ejemplo
                 for (int i = 0; i < 15; i++) {
@@ -1442,6 +1477,14 @@ public class DatabaseInit implements CommandLineRunner {
                                 checkOut = LocalDate.of(2025, 12, 31);
                         }
 
+                        // Sin noches o solapada con otra reserva de la misma habitación: se salta
+                        // (la base está vacía, basta revisar los locks de este mismo seed)
+                        LocalDate in = checkIn, out = checkOut;
+                        if (!checkIn.isBefore(checkOut) || locks.stream().anyMatch(l -> l.getRoomId().equals(room.getRoomId())
+                                        && l.getStartDate().isBefore(out) && in.isBefore(l.getEndDate()))) {
+                                continue;
+                        }
+
                         Reservation res = new Reservation();
                         res.setUser(user);
                         res.setHotel(hotel);
@@ -1450,17 +1493,14 @@ public class DatabaseInit implements CommandLineRunner {
                         res.setCheckOut(checkOut);
                         res.setStatus(Reservation.Status.CONFIRMED);
 
-                        Reservation saved = reservationRepo.save(res);
+                        reservations.add(res);
 
-                        // Crear locks por cada día
-                        LocalDate d = checkIn;
-                        while (d.isBefore(checkOut)) {
-                                RoomLock lock = new RoomLock(room.getRoomId(), d, saved);
-                                roomLockRepo.save(lock);
-                                d = d.plusDays(1);
-                        }
+                        // Un lock por reserva: [checkIn, checkOut)
+                        locks.add(new RoomLock(room.getRoomId(), checkIn, checkOut, res));
                 }
-
+                reservationRepo.saveAll(reservations);
+                roomLockRepo.saveAll(locks);
+                return reservations;
         }
 
         private String pickIcon(int i) {
@@ -1472,9 +1512,10 @@ public class DatabaseInit implements CommandLineRunner {
                 };
         }
 
-        private void seedDepartments(List<Hotel> hotelList) {
+        private List<Department> seedDepartments(List<Hotel> hotelList) {
+                List<Department> departments = new ArrayList<>();
                 if (departmentRepo.count() > 0)
-                        return;
+                        return departments;
 
                 String[] departmentNames = {
                                 "Recepción", "Limpieza", "Mantenimiento", "Cocina",
@@ -1486,14 +1527,17 @@ public class DatabaseInit implements CommandLineRunner {
                                 Department dept = new Department();
                                 dept.setHotelId(hotel.getHotelId());
                                 dept.setName(deptName);
-                                departmentRepo.save(dept);
+                                departments.add(dept);
                         }
                 }
+                departmentRepo.saveAll(departments);
+                return departments;
         }
 
-        private void seedStaffMembers(List<Hotel> hotelList) {
+        private List<StaffMember> seedStaffMembers(List<Hotel> hotelList, List<Department> allDepartments) {
+                List<StaffMember> staffMembers = new ArrayList<>();
                 if (staffMemberRepo.count() > 0)
-                        return; // no duplicar
+                        return staffMembers; // no duplicar
 
                 // Obtener todos los users con rol OPERATOR
                 List<User> operators = userRepo.findAll().stream()
@@ -1501,14 +1545,14 @@ public class DatabaseInit implements CommandLineRunner {
                                 .toList();
 
                 if (operators.isEmpty()) {
-                        return;
+                        return staffMembers;
                 }
 
-                List<Department> allDepartments = departmentRepo.findAll();
                 Random random = new Random();
 
                 // Índice para distribuir operadores de manera equitativa
                 int operatorIndex = 0;
+                Set<String> assigned = new HashSet<>(); // userId:hotelId
 
                 for (Hotel hotel : hotelList) {
                         List<Department> hotelDepts = allDepartments.stream()
@@ -1523,29 +1567,27 @@ public class DatabaseInit implements CommandLineRunner {
                                         User user = operators.get(operatorIndex % operators.size());
 
                                         // Verificar que este user no esté ya asignado como staff member en este hotel
-                                        if (!staffMemberRepo.existsByUserIdAndHotelId(user.getUserId(),
-                                                        hotel.getHotelId())) {
+                                        if (assigned.add(user.getUserId() + ":" + hotel.getHotelId())) {
                                                 StaffMember staff = new StaffMember();
                                                 staff.setUserId(user.getUserId());
                                                 staff.setHotelId(hotel.getHotelId());
                                                 staff.setDepartmentId(dept.getDepartmentId());
 
-                                                staffMemberRepo.save(staff);
+                                                staffMembers.add(staff);
                                         }
 
                                         operatorIndex++;
                                 }
                         }
                 }
+                staffMemberRepo.saveAll(staffMembers);
+                return staffMembers;
         }
 
-        private void seedTasks() {
+        private void seedTasks(List<StaffMember> staffMembers, List<Room> rooms) {
                 if (taskRepo.count() > 0)
                         return;
 
-                List<StaffMember> staffMembers = staffMemberRepo.findAll();
-                List<Room> rooms = roomRepository.findAll();
-
                 if (staffMembers.isEmpty() || rooms.isEmpty()) {
                         return;
                 }
@@ -1555,63 +1597,66 @@ public class DatabaseInit implements CommandLineRunner {
         }
 
         private void createSpecificTasks(List<StaffMember> staffMembers, List<Room> rooms) {
+                List<Task> tasks = new ArrayList<>();
                 // DELIVERY tasks - 7 tareas
-                createDeliveryTask(staffMembers.get(0 % staffMembers.size()), rooms.get(0 % rooms.size()),
-                                Task.TaskStatus.PENDING);
-                createDeliveryTask(staffMembers.get(1 % staffMembers.size()), rooms.get(1 % rooms.size()),
-                                Task.TaskStatus.PENDING);
-                createDeliveryTask(staffMembers.get(2 % staffMembers.size()), rooms.get(2 % rooms.size()),
-                                Task.TaskStatus.IN_PROGRESS);
-                createDeliveryTask(staffMembers.get(3 % staffMembers.size()), rooms.get(3 % rooms.size()),
-                                Task.TaskStatus.PENDING);
-                createDeliveryTask(staffMembers.get(4 % staffMembers.size()), rooms.get(4 % rooms.size()),
-                                Task.TaskStatus.DONE);
-                createDeliveryTask(staffMembers.get(5 % staffMembers.size()), rooms.get(5 % rooms.size()),
-                                Task.TaskStatus.PENDING);
-                createDeliveryTask(staffMembers.get(6 % staffMembers.size()), rooms.get(6 % rooms.size()),
-                                Task.TaskStatus.IN_PROGRESS);
+                tasks.add(deliveryTask(staffMembers.get(0 % staffMembers.size()), rooms.get(0 % rooms.size()),
+                                Task.TaskStatus.PENDING));
+                tasks.add(deliveryTask(staffMembers.get(1 % staffMembers.size()), rooms.get(1 % rooms.size()),
+                                Task.TaskStatus.PENDING));
+                tasks.add(deliveryTask(staffMembers.get(2 % staffMembers.size()), rooms.get(2 % rooms.size()),
+                                Task.TaskStatus.IN_PROGRESS));
+                tasks.add(deliveryTask(staffMembers.get(3 % staffMembers.size()), rooms.get(3 % rooms.size()),
+                                Task.TaskStatus.PENDING));
+                tasks.add(deliveryTask(staffMembers.get(4 % staffMembers.size()), rooms.get(4 % rooms.size()),
+                                Task.TaskStatus.DONE));
+                tasks.add(deliveryTask(staffMembers.get(5 % staffMembers.size()), rooms.get(5 % rooms.size()),
+                                Task.TaskStatus.PENDING));
+                tasks.add(deliveryTask(staffMembers.get(6 % staffMembers.size()), rooms.get(6 % rooms.size()),
+                                Task.TaskStatus.IN_PROGRESS));
 
                 // GUIDING tasks - 6 tareas
-                createGuidingTask(staffMembers.get(7 % staffMembers.size()), Task.TaskStatus.PENDING);
-                createGuidingTask(staffMembers.get(8 % staffMembers.size()), Task.TaskStatus.IN_PROGRESS);
-                createGuidingTask(staffMembers.get(9 % staffMembers.size()), Task.TaskStatus.PENDING);
-                createGuidingTask(staffMembers.get(10 % staffMembers.size()), Task.TaskStatus.DONE);
-                createGuidingTask(staffMembers.get(11 % staffMembers.size()), Task.TaskStatus.PENDING);
-                createGuidingTask(staffMembers.get(12 % staffMembers.size()), Task.TaskStatus.CANCELED);
+                tasks.add(guidingTask(staffMembers.get(7 % staffMembers.size()), Task.TaskStatus.PENDING));
+                tasks.add(guidingTask(staffMembers.get(8 % staffMembers.size()), Task.TaskStatus.IN_PROGRESS));
+                tasks.add(guidingTask(staffMembers.get(9 % staffMembers.size()), Task.TaskStatus.PENDING));
+                tasks.add(guidingTask(staffMembers.get(10 % staffMembers.size()), Task.TaskStatus.DONE));
+                tasks.add(guidingTask(staffMembers.get(11 % staffMembers.size()), Task.TaskStatus.PENDING));
+                tasks.add(guidingTask(staffMembers.get(12 % staffMembers.size()), Task.TaskStatus.CANCELED));
 
                 // TO-DO tasks - 7 tareas
-                createToDoTask(staffMembers.get(13 % staffMembers.size()), rooms.get(7 % rooms.size()),
-                                Task.TaskStatus.PENDING);
-                createToDoTask(staffMembers.get(14 % staffMembers.size()), rooms.get(8 % rooms.size()),
-                                Task.TaskStatus.PENDING);
-                createToDoTask(staffMembers.get(0 % staffMembers.size()), rooms.get(9 % rooms.size()),
-                                Task.TaskStatus.IN_PROGRESS);
-                createToDoTask(staffMembers.get(1 % staffMembers.size()), rooms.get(10 % rooms.size()),
-                                Task.TaskStatus.PENDING);
-                createToDoTask(staffMembers.get(2 % staffMembers.size()), rooms.get(11 % rooms.size()),
-                                Task.TaskStatus.DONE);
-                createToDoTask(staffMembers.get(3 % staffMembers.size()), null, Task.TaskStatus.PENDING);
-                createToDoTask(staffMembers.get(4 % staffMembers.size()), null, Task.TaskStatus.IN_PROGRESS);
+                tasks.add(toDoTask(staffMembers.get(13 % staffMembers.size()), rooms.get(7 % rooms.size()),
+                                Task.TaskStatus.PENDING));
+                tasks.add(toDoTask(staffMembers.get(14 % staffMembers.size()), rooms.get(8 % rooms.size()),
+                                Task.TaskStatus.PENDING));
+                tasks.add(toDoTask(staffMembers.get(0 % staffMembers.size()), rooms.get(9 % rooms.size()),
+                                Task.TaskStatus.IN_PROGRESS));
+                tasks.add(toDoTask(staffMembers.get(1 % staffMembers.size()), rooms.get(10 % rooms.size()),
+                                Task.TaskStatus.PENDING));
+                tasks.add(toDoTask(staffMembers.get(2 % staffMembers.size()), rooms.get(11 % rooms.size()),
+                                Task.TaskStatus.DONE));
+                tasks.add(toDoTask(staffMembers.get(3 % staffMembers.size()), null, Task.TaskStatus.PENDING));
+                tasks.add(toDoTask(staffMembers.get(4 % staffMembers.size()), null, Task.TaskStatus.IN_PROGRESS));
+
+                taskRepo.saveAll(tasks);
         }
 
-        private void createDeliveryTask(StaffMember staff, Room room, Task.TaskStatus status) {
+        private Task deliveryTask(StaffMember staff, Room room, Task.TaskStatus status) {
                 Task task = new Task();
                 task.setStaffId(staff.getStaffId());
                 task.setRoomId(room.getRoomId());
                 task.setType(Task.TaskType.DELIVERY);
                 task.setStatus(status);
-                taskRepo.save(task);
+                return task;
         }
 
-        private void createGuidingTask(StaffMember staff, Task.TaskStatus status) {
+        private Task guidingTask(StaffMember staff, Task.TaskStatus status) {
                 Task task = new Task();
                 task.setStaffId(staff.getStaffId());
                 task.setType(Task.TaskType.GUIDING);
                 task.setStatus(status);
-                taskRepo.save(task);
+                return task;
         }
 
-        private void createToDoTask(StaffMember staff, Room room, Task.TaskStatus status) {
+        private Task toDoTask(StaffMember staff, Room room, Task.TaskStatus status) {
                 Task task = new Task();
                 task.setStaffId(staff.getStaffId());
                 if (room != null) {
@@ -1619,12 +1664,12 @@ public class DatabaseInit implements CommandLineRunner {
                 }
                 task.setType(Task.TaskType.TO_DO);
                 task.setStatus(status);
-                taskRepo.save(task);
+                return task;
         }
 
         /**
-         * Create and persist a PaymentMethod for the given user.
-         * Returns the saved entity.
+         * Create a PaymentMethod for the given user.
+         * Not saved here: seedPaymentMethodsAndPayments saves them all together.
          */
         private PaymentMethod createPaymentMethodForUser(User user, String type, String lastfour,
                         String holderName, String billingAddress) {
@@ -1634,10 +1679,10 @@ public class DatabaseInit implements CommandLineRunner {
                 pm.setLastfour(lastfour);
                 pm.setHolderName(holderName);
                 pm.setBillingAddress(billingAddress);
-                return paymentMethodRepo.save(pm);
+                return pm;
         }
 
-        private void seedPaymentMethodsAndPayments() {
+        private void seedPaymentMethodsAndPayments(List<Reservation> seeded) {
                 if (paymentMethodRepo.count() > 0)
                         return; // No duplicar
 
@@ -1670,7 +1715,7 @@ public class DatabaseInit implements CommandLineRunner {
                 pm1.setLastfour("4532");
                 pm1.setHolderName(clients.get(0).getFullName());
                 pm1.setBillingAddress("Calle 123 #45-67, Bogotá");
-                paymentMethodRepo.save(pm1);
+                createdMethods.add(pm1);
 
                 PaymentMethod pm2 = new PaymentMethod();
                 pm2.setUserId(clients.get(1 % clients.size()));
@@ -1678,7 +1723,7 @@ public class DatabaseInit implements CommandLineRunner {
                 pm2.setLastfour("8765");
                 pm2.setHolderName(clients.get(1 % clients.size()).getFullName());
                 pm2.setBillingAddress("Carrera 10 #20-30, Medellín");
-                paymentMethodRepo.save(pm2);
+                createdMethods.add(pm2);
 
                 PaymentMethod pm3 = new PaymentMethod();
                 pm3.setUserId(clients.get(2 % clients.size()));
@@ -1686,10 +1731,11 @@ public class DatabaseInit implements CommandLineRunner {
                 pm3.setLastfour("9012");
                 pm3.setHolderName(clients.get(2 % clients.size()).getFullName());
                 pm3.setBillingAddress("Avenida 5 #12-34, Cali");
-                paymentMethodRepo.save(pm3);
+                createdMethods.add(pm3);
+                paymentMethodRepo.saveAll(createdMethods);
 
                 // Obtener algunas reservaciones
-                List<Reservation> reservations = reservationRepo.findAll().stream()
+                List<Reservation> reservations = seeded.stream()
                                 .limit(10)
                                 .toList();
 
@@ -1772,8 +1818,10 @@ public class DatabaseInit implements CommandLineRunner {
 		if (payment.getTxReference() == null || payment.getTxReference().isBlank()) {
 			payment.setTxReference("Cobro#pending");
 		}
+		// el id sale al persistir; la entidad queda administrada y la referencia final
+		// se escribe en el flush del commit (sin un segundo save)
 		Payment saved = paymentRepo.save(payment);
 		saved.setTxReference("Cobro#" + saved.getPaymentId());
-		return paymentRepo.save(saved);
+		return saved;
 	}
 }
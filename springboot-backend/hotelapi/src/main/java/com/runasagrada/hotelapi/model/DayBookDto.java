@@ -0,0 +1,21 @@
+package com.runasagrada.hotelapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Libro del día de recepción en "date". inHouse = quienes duermen esa noche (incluye las
+// llegadas); departures = checkOut ese día
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DayBookDto {
+    private LocalDate date;
+    private Long hotelId;
+    private List<ReservationSummaryDto> arrivals;
+    private List<ReservationSummaryDto> inHouse;
+    private List<ReservationSummaryDto> departures;
+}
@@ -1,6 +1,9 @@
 package com.runasagrada.hotelapi.model;
 
+import com.runasagrada.hotelapi.config.PooledId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -12,12 +15,14 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Table(name = "departments")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "department")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Department {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@PooledId
 	@Column(name = "department_id")
 	private Long departmentId;
 
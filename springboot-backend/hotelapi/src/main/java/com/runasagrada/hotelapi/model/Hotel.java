@@ -1,6 +1,9 @@
 package com.runasagrada.hotelapi.model;
 
+import com.runasagrada.hotelapi.config.PooledId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -10,12 +13,14 @@ import java.util.Set;
 
 @Entity
 @Table(name = "hotels")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hotel")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Hotel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     @Column(name = "hotel_id")
     private Long hotelId;
 
@@ -42,6 +47,7 @@ public class Hotel {
     private String image;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hotel.amenities")
     @JoinTable(name = "hotel_amenities", joinColumns = @JoinColumn(name = "hotel_id"), inverseJoinColumns = @JoinColumn(name = "amenity_id"))
     private Set<Amenity> amenities = new HashSet<>();
 }
@@ -0,0 +1,39 @@
+package com.runasagrada.hotelapi.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.YearMonth;
+
+/**
+ * Ingresos pagados (status PAID) por hotel y mes, mantenidos de forma
+ * incremental por PaymentServiceImpl. incomeMonth es yyyyMM (p.ej. 202510).
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "income_rollup")
+@IdClass(IncomeRollupId.class)
+public class IncomeRollup {
+
+    @Id
+    @Column(name = "hotel_id")
+    private Long hotelId;
+
+    @Id
+    @Column(name = "income_month")
+    private Integer incomeMonth;
+
+    @Column(name = "paid_total", nullable = false)
+    private double paidTotal;
+
+    @Column(name = "paid_count", nullable = false)
+    private long paidCount;
+
+    public static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+}
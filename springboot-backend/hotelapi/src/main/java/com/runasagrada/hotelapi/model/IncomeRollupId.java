@@ -1,7 +1,6 @@
 package com.runasagrada.hotelapi.model;
 
 import java.io.Serializable;
-import java.time.LocalDate;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -9,7 +8,7 @@ import lombok.AllArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class RoomLockId implements Serializable {
-    private Integer roomId;
-    private LocalDate lockDate;
+public class IncomeRollupId implements Serializable {
+    private Long hotelId;
+    private Integer incomeMonth;
 }
@@ -0,0 +1,597 @@
+package com.runasagrada.hotelapi.model;
+
+import com.runasagrada.hotelapi.config.PooledIdAllocator;
+import com.runasagrada.hotelapi.service.IncomeRollupService;
+import com.runasagrada.hotelapi.service.PasswordHasher;
+import com.runasagrada.hotelapi.service.ReservationCounterService;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Datos sintéticos para pruebas de carga y benchmarks (perfil "loadtest", en lugar de "dev").
+ *
+ * Crea hotels hoteles con rooms-per-hotel habitaciones, users clientes (con un método de
+ * pago cada uno), personal y servicios por hotel, y luego recorre cada habitación en la
+ * ventana [hoy + future-days - days, hoy + future-days) encadenando estancias hasta llegar
+ * a la ocupación objetivo: noches y anticipación con distribuciones realistas, pago,
+ * servicios consumidos y tareas por reserva.
+ *
+ * Todo va por JDBC en lotes, con rangos de ids reservados en {@link PooledIdAllocator}
+ * (así Hibernate sigue asignando después sin chocar). Las reservas se generan en paralelo
+ * por grupos de batch-rooms habitaciones, cada grupo en su propia transacción.
+ * Determinista: cada habitación usa su propio generador derivado de seed, así que el
+ * contenido no depende de threads (los ids sí, según el orden en que terminan los grupos).
+ * Con datos ya cargados (perfil durable) no hace nada.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+public class LoadTestDataGenerator implements CommandLineRunner {
+
+    private static final int JDBC_BATCH = 1000;
+    private static final int ROOMS_PER_FLOOR = 20;
+
+    // probabilidad de 1..7 noches; el resto (LONG_STAY) se reparte parejo entre 8 y 14
+    private static final double[] STAY_WEIGHTS = { 0.22, 0.26, 0.18, 0.12, 0.08, 0.05, 0.05 };
+    private static final double LONG_STAY = 0.04;
+    private static final double MEAN_STAY = meanStay();
+
+    private static final String[] ROOM_TYPES = { "Estándar Regional", "Deluxe Cultural", "Suite Ancestral",
+            "Familiar Colombiana", "Eco Boutique" };
+    private static final int[] ROOM_TYPE_CAPACITY = { 2, 3, 4, 6, 3 };
+    private static final double[] ROOM_TYPE_PRICE = { 120000, 180000, 280000, 220000, 200000 };
+
+    private static final String[] DEPARTMENTS = { "Recepción", "Limpieza", "Cocina" };
+
+    // nombre, categoría, subcategoría, precio, minutos
+    private static final Object[][] SERVICES = {
+            { "Desayuno a la habitación", "Gastronomía", "Desayuno", 35000.0, 45 },
+            { "Cena temática", "Gastronomía", "Cena", 90000.0, 120 },
+            { "Tour de ciudad", "Tours", "Ciudad", 120000.0, 240 },
+            { "Masaje relajante", "Bienestar", "Spa", 150000.0, 60 },
+            { "Clase de cocina", "Cultural", "Taller", 80000.0, 120 },
+            { "Traslado aeropuerto", "Transporte", "Traslado", 60000.0, 60 },
+            { "Cata de café", "Gastronomía", "Bebidas", 50000.0, 90 },
+            { "Caminata guiada", "Tours", "Naturaleza", 70000.0, 180 } };
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final PooledIdAllocator ids;
+    private final PasswordHasher hasher;
+    private final ReservationCounterService reservationCounters;
+    private final IncomeRollupService incomeRollups;
+
+    private final int hotels;
+    private final int roomsPerHotel;
+    private final int users;
+    private final int staffPerHotel;
+    private final int servicesPerHotel;
+    private final double occupancy;
+    private final int days;
+    private final int futureDays;
+    private final double servicesPerReservation;
+    private final double paymentRatio;
+    private final double tasksPerReservation;
+    private final long seed;
+    private final int threads;
+    private final int batchRooms;
+
+    public LoadTestDataGenerator(JdbcTemplate jdbc, PlatformTransactionManager txManager, PooledIdAllocator ids,
+            PasswordHasher hasher, ReservationCounterService reservationCounters,
+            IncomeRollupService incomeRollups,
+            @Value("${hotelapi.loadtest.hotels:50}") int hotels,
+            @Value("${hotelapi.loadtest.rooms-per-hotel:128}") int roomsPerHotel,
+            @Value("${hotelapi.loadtest.users:200000}") int users,
+            @Value("${hotelapi.loadtest.staff-per-hotel:10}") int staffPerHotel,
+            @Value("${hotelapi.loadtest.services-per-hotel:8}") int servicesPerHotel,
+            @Value("${hotelapi.loadtest.occupancy:0.7}") double occupancy,
+            @Value("${hotelapi.loadtest.days:730}") int days,
+            @Value("${hotelapi.loadtest.future-days:90}") int futureDays,
+            @Value("${hotelapi.loadtest.services-per-reservation:0.5}") double servicesPerReservation,
+            @Value("${hotelapi.loadtest.payment-ratio:0.9}") double paymentRatio,
+            @Value("${hotelapi.loadtest.tasks-per-reservation:0.3}") double tasksPerReservation,
+            @Value("${hotelapi.loadtest.seed:42}") long seed,
+            @Value("${hotelapi.loadtest.threads:0}") int threads,
+            @Value("${hotelapi.loadtest.batch-rooms:32}") int batchRooms) {
+        if (occupancy <= 0 || occupancy >= 1) {
+            throw new IllegalArgumentException("hotelapi.loadtest.occupancy must be between 0 and 1");
+        }
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.ids = ids;
+        this.hasher = hasher;
+        this.reservationCounters = reservationCounters;
+        this.incomeRollups = incomeRollups;
+        this.hotels = Math.max(1, hotels);
+        this.roomsPerHotel = Math.max(1, roomsPerHotel);
+        this.users = Math.max(1, users);
+        this.staffPerHotel = Math.max(1, staffPerHotel);
+        this.servicesPerHotel = Math.max(1, servicesPerHotel);
+        this.occupancy = occupancy;
+        this.days = Math.max(1, days);
+        this.futureDays = Math.max(0, futureDays);
+        this.servicesPerReservation = servicesPerReservation;
+        this.paymentRatio = paymentRatio;
+        this.tasksPerReservation = tasksPerReservation;
+        this.seed = seed;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchRooms = Math.max(1, batchRooms);
+    }
+
+    // Índices en memoria de lo ya insertado; posiciones paralelas a los arreglos de ids
+    private record Base(long[] hotelIds, int[] roomIds, int[] roomHotel, double[] roomPrice,
+            int[] clientIds, int[] paymentMethodIds, long[][] staffIds,
+            long[][] serviceIds, long[][] scheduleIds, double[][] servicePrices) {
+    }
+
+    private static final class Totals {
+        long reservations;
+        long nights;
+        long payments;
+        long services;
+        long tasks;
+
+        void add(Totals other) {
+            reservations += other.reservations;
+            nights += other.nights;
+            payments += other.payments;
+            services += other.services;
+            tasks += other.tasks;
+        }
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (jdbc.queryForObject("select count(*) from hotels", Long.class) > 0) {
+            log.info("Database already has data: skipping load test data");
+            return;
+        }
+        long start = System.nanoTime();
+        Base base = seedBase();
+        long baseMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Load test base data: {} hotels, {} rooms, {} clients in {} ms",
+                hotels, base.roomIds().length, users, baseMillis);
+
+        Totals totals = generateReservations(base);
+
+        // las reservas y pagos entraron por JDBC: contadores y rollups se arman de cero
+        reservationCounters.rebuild();
+        incomeRollups.rebuild();
+
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Load test data ready in {} ms: {} reservations ({} % occupancy), {} payments, "
+                + "{} reservation services, {} tasks ({} reservations/s)",
+                millis, totals.reservations,
+                String.format("%.1f", 100.0 * totals.nights / ((double) base.roomIds().length * days)),
+                totals.payments, totals.services, totals.tasks, totals.reservations * 1000 / millis);
+    }
+
+    /*
+     * ============================================================
+     * DATOS BASE: roles, hoteles, habitaciones, usuarios, personal, servicios
+     * ============================================================
+     */
+    private Base seedBase() {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        OffsetDateTime now = OffsetDateTime.now();
+
+        String[] roleNames = { "ADMIN", "OPERATOR", "CLIENT" };
+        long roleStart = ids.reserveRange("role", "role_id", roleNames.length);
+        insert("insert into role (role_id, name) values (?, ?)",
+                rows(roleNames.length, i -> new Object[] { roleStart + i, roleNames[i] }));
+
+        long hotelStart = ids.reserveRange("hotels", "hotel_id", hotels);
+        long[] hotelIds = new long[hotels];
+        List<Object[]> hotelRows = new ArrayList<>();
+        for (int h = 0; h < hotels; h++) {
+            hotelIds[h] = hotelStart + h;
+            // coordenadas dentro de Colombia
+            hotelRows.add(new Object[] { hotelIds[h], "Runa Sagrada Carga " + (h + 1),
+                    String.format("%.5f", 1.0 + rnd.nextDouble() * 10),
+                    String.format("%.5f", -77.0 + rnd.nextDouble() * 5),
+                    "Hotel sintético para pruebas de carga", "15:00", "12:00" });
+        }
+        insert("insert into hotels (hotel_id, name, latitude, longitude, description, check_in_after, "
+                + "check_out_before) values (?, ?, ?, ?, ?, ?, ?)", hotelRows);
+
+        long typeStart = ids.reserveRange("room_types", "room_type_id", ROOM_TYPES.length);
+        insert("insert into room_types (room_type_id, name, capacity, base_price, description) "
+                + "values (?, ?, ?, ?, ?)",
+                rows(ROOM_TYPES.length, t -> new Object[] { typeStart + t, ROOM_TYPES[t], ROOM_TYPE_CAPACITY[t],
+                        ROOM_TYPE_PRICE[t], "Tipo de habitación para pruebas de carga" }));
+
+        // un tipo por piso, como en DatabaseInit
+        int roomCount = hotels * roomsPerHotel;
+        long roomStart = ids.reserveRange("rooms", "room_id", roomCount);
+        int[] roomIds = new int[roomCount];
+        int[] roomHotel = new int[roomCount];
+        double[] roomPrice = new double[roomCount];
+        List<Object[]> roomRows = new ArrayList<>(roomCount);
+        for (int r = 0; r < roomCount; r++) {
+            int h = r / roomsPerHotel;
+            int i = r % roomsPerHotel;
+            int floor = i / ROOMS_PER_FLOOR + 1;
+            int type = (floor - 1) % ROOM_TYPES.length;
+            roomIds[r] = Math.toIntExact(roomStart + r);
+            roomHotel[r] = h;
+            roomPrice[r] = ROOM_TYPE_PRICE[type];
+            roomRows.add(new Object[] { roomIds[r], hotelIds[h], typeStart + type,
+                    String.format("%d-%02d", floor, i % ROOMS_PER_FLOOR + 1), floor, "AVAILABLE", "CLEAN" });
+        }
+        insert("insert into rooms (room_id, hotel_id, room_type_id, number, floor, res_status, cle_status) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", roomRows);
+
+        // usuarios: 1 admin, luego operadores (staff-per-hotel por hotel) y por último clientes.
+        // Un solo hash para todos (contraseña "load123"): hashear cada uno tardaría horas
+        int operators = hotels * staffPerHotel;
+        int userCount = 1 + operators + users;
+        long userStart = ids.reserveRange("users", "user_id", userCount);
+        String password = hasher.hash("load123");
+        List<Object[]> userRows = new ArrayList<>(userCount);
+        List<Object[]> userRoleRows = new ArrayList<>(userCount);
+        for (int u = 0; u < userCount; u++) {
+            long userId = userStart + u;
+            String email;
+            long roleId;
+            if (u == 0) {
+                email = "admin@hotel.com";
+                roleId = roleStart;
+            } else if (u <= operators) {
+                email = String.format("op%05d@hotel.com", u);
+                roleId = roleStart + 1;
+            } else {
+                email = String.format("load%07d@demo.com", u - operators);
+                roleId = roleStart + 2;
+            }
+            userRows.add(new Object[] { userId, email, password, "Usuario Carga " + u,
+                    String.format("3%09d", u), String.format("LT-%07d", u),
+                    "/images/icons/icono" + (u % 3 + 1) + ".png",
+                    now.minusDays(days + rnd.nextInt(365)), true });
+            userRoleRows.add(new Object[] { userId, roleId });
+        }
+        insert("insert into users (user_id, email, password, full_name, phone, national_id, selected_pet, "
+                + "created_at, enabled) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", userRows);
+        insert("insert into user_roles (user_id, role_id) values (?, ?)", userRoleRows);
+
+        int[] clientIds = new int[users];
+        for (int c = 0; c < users; c++) {
+            clientIds[c] = Math.toIntExact(userStart + 1 + operators + c);
+        }
+        long methodStart = ids.reserveRange("payment_method", "payment_method_id", users);
+        int[] paymentMethodIds = new int[users];
+        List<Object[]> methodRows = new ArrayList<>(users);
+        for (int c = 0; c < users; c++) {
+            paymentMethodIds[c] = Math.toIntExact(methodStart + c);
+            methodRows.add(new Object[] { paymentMethodIds[c], clientIds[c], "TARJETA",
+                    String.format("%04d", c % 10000), "Usuario Carga " + (1 + operators + c),
+                    "Calle 123 #45-67, Bogotá", true });
+        }
+        insert("insert into payment_method (payment_method_id, user_id, type, lastfour, holder_name, "
+                + "billing_address, active) values (?, ?, ?, ?, ?, ?, ?)", methodRows);
+
+        long deptStart = ids.reserveRange("departments", "department_id", hotels * DEPARTMENTS.length);
+        insert("insert into departments (department_id, hotel_id, name) values (?, ?, ?)",
+                rows(hotels * DEPARTMENTS.length, d -> new Object[] { deptStart + d,
+                        hotelIds[d / DEPARTMENTS.length], DEPARTMENTS[d % DEPARTMENTS.length] }));
+
+        long staffStart = ids.reserveRange("staff_members", "staff_id", operators);
+        long[][] staffIds = new long[hotels][staffPerHotel];
+        List<Object[]> staffRows = new ArrayList<>(operators);
+        for (int s = 0; s < operators; s++) {
+            int h = s / staffPerHotel;
+            staffIds[h][s % staffPerHotel] = staffStart + s;
+            staffRows.add(new Object[] { staffStart + s, userStart + 1 + s, hotelIds[h],
+                    deptStart + (long) h * DEPARTMENTS.length + s % DEPARTMENTS.length });
+        }
+        insert("insert into staff_members (staff_id, user_id, hotel_id, department_id) values (?, ?, ?, ?)",
+                staffRows);
+
+        // servicios: el catálogo se repite en cada hotel; un horario diario por servicio
+        int serviceCount = hotels * servicesPerHotel;
+        long serviceStart = ids.reserveRange("service_offerings", "service_offering_id", serviceCount);
+        long scheduleStart = ids.reserveRange("service_schedules", "service_schedule_id", serviceCount);
+        long[][] serviceIds = new long[hotels][servicesPerHotel];
+        long[][] scheduleIds = new long[hotels][servicesPerHotel];
+        double[][] servicePrices = new double[hotels][servicesPerHotel];
+        List<Object[]> serviceRows = new ArrayList<>(serviceCount);
+        List<Object[]> scheduleRows = new ArrayList<>(serviceCount);
+        List<Object[]> dayRows = new ArrayList<>(serviceCount);
+        for (int s = 0; s < serviceCount; s++) {
+            int h = s / servicesPerHotel;
+            int k = s % servicesPerHotel;
+            Object[] def = SERVICES[k % SERVICES.length];
+            String name = k < SERVICES.length ? (String) def[0] : def[0] + " " + (k / SERVICES.length + 1);
+            int minutes = (Integer) def[4];
+            serviceIds[h][k] = serviceStart + s;
+            scheduleIds[h][k] = scheduleStart + s;
+            servicePrices[h][k] = (Double) def[3];
+            serviceRows.add(new Object[] { serviceIds[h][k], name, def[1], def[2],
+                    "Servicio sintético para pruebas de carga", def[3], minutes, 10, 4.6, -74.1, hotelIds[h] });
+            LocalTime startTime = LocalTime.of(9, 0);
+            scheduleRows.add(new Object[] { scheduleIds[h][k], serviceIds[h][k], startTime,
+                    startTime.plusMinutes(minutes), true });
+            dayRows.add(new Object[] { scheduleIds[h][k], "DAILY" });
+        }
+        insert("insert into service_offerings (service_offering_id, name, category, subcategory, description, "
+                + "base_price, duration_minutes, max_participants, latitude, longitude, hotel_id) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", serviceRows);
+        insert("insert into service_schedules (service_schedule_id, service_service_offering_id, start_time, "
+                + "end_time, is_active) values (?, ?, ?, ?, ?)", scheduleRows);
+        insert("insert into service_schedule_days (service_schedule_id, day_of_week) values (?, ?)", dayRows);
+
+        return new Base(hotelIds, roomIds, roomHotel, roomPrice, clientIds, paymentMethodIds, staffIds,
+                serviceIds, scheduleIds, servicePrices);
+    }
+
+    /*
+     * ============================================================
+     * RESERVAS: en paralelo por grupos de habitaciones
+     * ============================================================
+     */
+    private Totals generateReservations(Base base) throws InterruptedException {
+        LocalDate today = LocalDate.now();
+        LocalDate to = today.plusDays(futureDays);
+        LocalDate from = to.minusDays(days);
+        int roomCount = base.roomIds().length;
+        int groups = (roomCount + batchRooms - 1) / batchRooms;
+
+        AtomicInteger seq = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "loadtest-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger done = new AtomicInteger();
+        try {
+            List<Future<Totals>> futures = new ArrayList<>(groups);
+            for (int first = 0; first < roomCount; first += batchRooms) {
+                int fromRoom = first;
+                int toRoom = Math.min(roomCount, first + batchRooms);
+                futures.add(executor.submit(() -> {
+                    Totals t = generateGroup(base, fromRoom, toRoom, from, to, today);
+                    int finished = done.incrementAndGet();
+                    // progreso cada ~10 %
+                    if (finished * 10 / groups != (finished - 1) * 10 / groups) {
+                        log.info("Load test reservations: {}/{} room groups", finished, groups);
+                    }
+                    return t;
+                }));
+            }
+            Totals totals = new Totals();
+            for (Future<Totals> f : futures) {
+                try {
+                    totals.add(f.get());
+                } catch (ExecutionException e) {
+                    futures.forEach(other -> other.cancel(true));
+                    throw new IllegalStateException("Load test data generation failed", e.getCause());
+                }
+            }
+            return totals;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Totals generateGroup(Base base, int fromRoom, int toRoom, LocalDate from, LocalDate to,
+            LocalDate today) {
+        LocalDateTime now = LocalDateTime.now();
+        double meanGap = MEAN_STAY * (1 - occupancy) / occupancy;
+
+        // Las filas llevan el id propio en [0] vacío y las referencias dentro del grupo como
+        // posición en su lista; se traducen cuando se conoce el tamaño y se reservan los rangos
+        List<Object[]> reservations = new ArrayList<>();
+        List<Object[]> payments = new ArrayList<>();
+        List<Object[]> services = new ArrayList<>();
+        List<Object[]> tasks = new ArrayList<>();
+        Totals totals = new Totals();
+
+        for (int room = fromRoom; room < toRoom; room++) {
+            SplittableRandom rnd = new SplittableRandom(seed * 1_000_003L + room);
+            int h = base.roomHotel()[room];
+            LocalDate checkIn = from.plusDays(gap(rnd, meanGap));
+            while (true) {
+                int nights = stayLength(rnd);
+                LocalDate checkOut = checkIn.plusDays(nights);
+                if (checkOut.isAfter(to))
+                    break;
+
+                int client = rnd.nextInt(base.clientIds().length);
+                LocalDateTime createdAt = checkIn.minusDays(leadDays(rnd))
+                        .atTime(8 + rnd.nextInt(14), rnd.nextInt(60), rnd.nextInt(60));
+                if (createdAt.isAfter(now)) {
+                    createdAt = now.minusMinutes(1 + rnd.nextInt(600));
+                }
+                boolean past = !checkOut.isAfter(today);
+                boolean inHouse = !past && !checkIn.isAfter(today);
+                String status = past ? "FINISHED"
+                        : inHouse ? "CHECKIN" : rnd.nextDouble() < 0.15 ? "PENDING" : "CONFIRMED";
+
+                int res = reservations.size();
+                reservations.add(new Object[] { null, base.clientIds()[client], base.hotelIds()[h],
+                        base.roomIds()[room], checkIn, checkOut, status, Timestamp.valueOf(createdAt) });
+                totals.nights += nights;
+
+                if (!status.equals("PENDING") && rnd.nextDouble() < paymentRatio) {
+                    double p = rnd.nextDouble();
+                    String paymentStatus = past || inHouse
+                            ? (p < 0.95 ? "PAID" : p < 0.98 ? "REFUNDED" : "FAILED")
+                            : (p < 0.7 ? "PAID" : "PENDING");
+                    LocalDateTime paidAt = createdAt.plusMinutes(1 + rnd.nextInt(24 * 60));
+                    payments.add(new Object[] { null, res, base.paymentMethodIds()[client],
+                            Timestamp.valueOf(paidAt.isAfter(now) ? now : paidAt),
+                            nights * base.roomPrice()[room], paymentStatus, null });
+                }
+
+                int firstService = -1;
+                // servicios distintos (consecutivos desde uno al azar): una línea por servicio y
+                // horario, como exige uq_res_service_line
+                int nServices = Math.min(poisson(rnd, servicesPerReservation), servicesPerHotel);
+                int firstK = rnd.nextInt(servicesPerHotel);
+                for (int j = 0; j < nServices; j++) {
+                    int k = (firstK + j) % servicesPerHotel;
+                    double p = rnd.nextDouble();
+                    String serviceStatus = past ? (p < 0.95 ? "DELIVERED" : "CANCELED")
+                            : inHouse ? (p < 0.5 ? "DELIVERED" : "ORDERED") : "ORDERED";
+                    if (firstService < 0)
+                        firstService = services.size();
+                    services.add(new Object[] { null, res, base.serviceIds()[h][k], base.scheduleIds()[h][k],
+                            1 + rnd.nextInt(3), base.servicePrices()[h][k], serviceStatus });
+                }
+
+                LocalDateTime taskAt = checkIn.atTime(10, 0);
+                for (int n = poisson(rnd, tasksPerReservation), j = 0; j < n; j++) {
+                    long staff = base.staffIds()[h][rnd.nextInt(staffPerHotel)];
+                    double p = rnd.nextDouble();
+                    String taskStatus = past ? (p < 0.95 ? "DONE" : "CANCELED")
+                            : inHouse ? (p < 0.5 ? "IN_PROGRESS" : "PENDING") : "PENDING";
+                    // la primera tarea entrega el primer servicio pedido; las demás, aseo o guía
+                    String type = j == 0 && firstService >= 0 ? "DELIVERY"
+                            : rnd.nextDouble() < 0.7 ? "TO_DO" : "GUIDING";
+                    tasks.add(new Object[] { null, staff, type.equals("GUIDING") ? null : base.roomIds()[room],
+                            type.equals("DELIVERY") ? firstService : null, type, taskStatus,
+                            taskAt.isAfter(now) ? now : taskAt });
+                }
+
+                checkIn = checkOut.plusDays(gap(rnd, meanGap));
+            }
+        }
+        if (reservations.isEmpty())
+            return totals;
+
+        long resStart = ids.reserveRange("reservation", "reservation_id", reservations.size());
+        long lockStart = ids.reserveRange("room_lock_intervals", "lock_id", reservations.size());
+        long paymentStart = payments.isEmpty() ? 0 : ids.reserveRange("payment", "payment_id", payments.size());
+        long serviceStart = services.isEmpty() ? 0
+                : ids.reserveRange("reservation_services", "res_service_id", services.size());
+        long taskStart = tasks.isEmpty() ? 0 : ids.reserveRange("tasks", "task_id", tasks.size());
+
+        // un lock [checkIn, checkOut) por reserva
+        List<Object[]> locks = new ArrayList<>(reservations.size());
+        for (int i = 0; i < reservations.size(); i++) {
+            Object[] row = reservations.get(i);
+            row[0] = Math.toIntExact(resStart + i);
+            locks.add(new Object[] { lockStart + i, row[3], row[4], row[5], row[0] });
+        }
+        for (int i = 0; i < payments.size(); i++) {
+            Object[] row = payments.get(i);
+            row[0] = Math.toIntExact(paymentStart + i);
+            row[1] = Math.toIntExact(resStart + (Integer) row[1]);
+            row[6] = "Cobro#" + row[0];
+        }
+        for (int i = 0; i < services.size(); i++) {
+            Object[] row = services.get(i);
+            row[0] = serviceStart + i;
+            row[1] = Math.toIntExact(resStart + (Integer) row[1]);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            Object[] row = tasks.get(i);
+            row[0] = taskStart + i;
+            if (row[3] != null)
+                row[3] = serviceStart + (Integer) row[3];
+        }
+
+        tx.executeWithoutResult(status -> {
+            insert("insert into reservation (reservation_id, user_id, hotel_id, room_id, check_in, check_out, "
+                    + "status, created_at) values (?, ?, ?, ?, ?, ?, ?, ?)", reservations);
+            insert("insert into room_lock_intervals (lock_id, room_id, start_date, end_date, reservation_id) "
+                    + "values (?, ?, ?, ?, ?)", locks);
+            insert("insert into payment (payment_id, reservation_id, payment_method_id, created_at, amount, "
+                    + "status, tx_reference) values (?, ?, ?, ?, ?, ?, ?)", payments);
+            insert("insert into reservation_services (res_service_id, reservation_id, service_id, schedule_id, "
+                    + "qty, unit_price, status) values (?, ?, ?, ?, ?, ?, ?)", services);
+            insert("insert into tasks (task_id, staff_id, room_id, res_service_id, type, status, created_at) "
+                    + "values (?, ?, ?, ?, ?, ?, ?)", tasks);
+        });
+
+        totals.reservations = reservations.size();
+        totals.payments = payments.size();
+        totals.services = services.size();
+        totals.tasks = tasks.size();
+        return totals;
+    }
+
+    /*
+     * ============================================================
+     * DISTRIBUCIONES
+     * ============================================================
+     */
+    private static int stayLength(SplittableRandom rnd) {
+        double p = rnd.nextDouble();
+        for (int i = 0; i < STAY_WEIGHTS.length; i++) {
+            p -= STAY_WEIGHTS[i];
+            if (p < 0)
+                return i + 1;
+        }
+        return 8 + rnd.nextInt(7);
+    }
+
+    private static double meanStay() {
+        double mean = LONG_STAY * 11; // promedio de 8..14
+        for (int i = 0; i < STAY_WEIGHTS.length; i++) {
+            mean += STAY_WEIGHTS[i] * (i + 1);
+        }
+        return mean;
+    }
+
+    // Noches libres entre dos estancias: exponencial con la media que deja la ocupación objetivo
+    private static int gap(SplittableRandom rnd, double mean) {
+        return (int) Math.round(-Math.log(1 - rnd.nextDouble()) * mean);
+    }
+
+    // Días entre la creación y el check-in: 15 % de último minuto, el resto exponencial
+    // (media ~35 días) con tope de 330
+    private static int leadDays(SplittableRandom rnd) {
+        if (rnd.nextDouble() < 0.15)
+            return rnd.nextInt(3);
+        return Math.min(330, (int) (-Math.log(1 - rnd.nextDouble()) * 35));
+    }
+
+    private static int poisson(SplittableRandom rnd, double mean) {
+        if (mean <= 0)
+            return 0;
+        double limit = Math.exp(-mean);
+        double product = rnd.nextDouble();
+        int n = 0;
+        while (product > limit) {
+            product *= rnd.nextDouble();
+            n++;
+        }
+        return n;
+    }
+
+    private static List<Object[]> rows(int count, IntFunction<Object[]> row) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(row.apply(i));
+        }
+        return rows;
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += JDBC_BATCH) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + JDBC_BATCH)));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.runasagrada.hotelapi.model;
 
+import com.runasagrada.hotelapi.config.PooledId;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
@@ -16,7 +17,7 @@ import java.time.Instant;
 public class Payment {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@PooledId
 	private Integer paymentId;
 
 	@ManyToOne
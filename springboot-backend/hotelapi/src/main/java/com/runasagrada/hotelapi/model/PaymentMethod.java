@@ -1,5 +1,6 @@
 package com.runasagrada.hotelapi.model;
 
+import com.runasagrada.hotelapi.config.PooledId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,7 +15,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class PaymentMethod {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     @JsonProperty("method_id") 
     private Integer paymentMethodId;
 
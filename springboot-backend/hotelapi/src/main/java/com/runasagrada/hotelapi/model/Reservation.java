@@ -1,5 +1,6 @@
 package com.runasagrada.hotelapi.model;
 
+import com.runasagrada.hotelapi.config.PooledId;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,22 +19,24 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Integer reservationId;
 
+    // create() asigna proxies (getReferenceById); con SNAKE_CASE el nombre a ignorar
+    // es "hibernate_lazy_initializer"
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
-    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "reservations" })
+    @JsonIgnoreProperties({ "hibernateLazyInitializer", "hibernate_lazy_initializer", "handler", "reservations" })
     private User user;
 
     @ManyToOne
     @JoinColumn(name = "hotel_id", nullable = false)
-    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "reservations" })
+    @JsonIgnoreProperties({ "hibernateLazyInitializer", "hibernate_lazy_initializer", "handler", "reservations" })
     private Hotel hotel;
 
     @ManyToOne
     @JoinColumn(name = "room_id", nullable = false)
-    @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler", "reservations" })
+    @JsonIgnoreProperties({ "hibernateLazyInitializer", "hibernate_lazy_initializer", "handler", "reservations" })
     private Room room;
 
     private LocalDate checkIn;
@@ -0,0 +1,40 @@
+package com.runasagrada.hotelapi.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Cantidad de reservas por hotel, mes de creación (yyyyMM, 0 si no tiene
+ * createdAt), tipo de habitación y estado. La mantiene ReservationServiceImpl
+ * en cada alta, cambio y baja; los KPIs del dashboard se leen de aquí.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "reservation_counters")
+@IdClass(ReservationCounterId.class)
+public class ReservationCounter {
+
+    @Id
+    @Column(name = "hotel_id")
+    private Long hotelId;
+
+    @Id
+    @Column(name = "created_month")
+    private Integer createdMonth;
+
+    @Id
+    @Column(name = "room_type_id")
+    private Integer roomTypeId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private Reservation.Status status;
+
+    @Column(name = "reservations", nullable = false)
+    private long reservations;
+}
@@ -0,0 +1,16 @@
+package com.runasagrada.hotelapi.model;
+
+import java.io.Serializable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationCounterId implements Serializable {
+    private Long hotelId;
+    private Integer createdMonth;
+    private Integer roomTypeId;
+    private Reservation.Status status;
+}
@@ -0,0 +1,91 @@
+package com.runasagrada.hotelapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Reserva para los listados de lectura, armada con una sola consulta
+ * (constructor JPQL sobre reservation + users + hotels + rooms + room_type).
+ *
+ * Mantiene la forma del JSON que ya consume el front (ids planos y user/hotel/room
+ * anidados), pero solo con las columnas que se muestran: sin roles, amenities
+ * ni imágenes.
+ */
+@Data
+@NoArgsConstructor
+public class ReservationDetailDto {
+    private Integer reservationId;
+    private Integer userId;
+    private Long hotelId;
+    private Integer roomId;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    private Reservation.Status status;
+    private Timestamp createdAt;
+    private GuestRef user;
+    private HotelRef hotel;
+    private RoomRef room;
+
+    // Orden de parámetros = SELECT de ReservationRepository.DETAIL_SELECT
+    public ReservationDetailDto(Integer reservationId, LocalDate checkIn, LocalDate checkOut,
+            Reservation.Status status, Timestamp createdAt,
+            Integer userId, String fullName, String email, String phone, String nationalId,
+            Long hotelId, String hotelName,
+            Integer roomId, String roomNumber, Integer floor, Integer roomTypeId, String roomTypeName) {
+        this.reservationId = reservationId;
+        this.userId = userId;
+        this.hotelId = hotelId;
+        this.roomId = roomId;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.user = new GuestRef(userId, fullName, email, phone, nationalId);
+        this.hotel = new HotelRef(hotelId, hotelName);
+        this.room = new RoomRef(roomId, roomNumber, floor, hotelId, roomTypeId,
+                new RoomTypeRef(roomTypeId, roomTypeName));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GuestRef {
+        private Integer userId;
+        private String fullName;
+        private String email;
+        private String phone;
+        private String nationalId;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HotelRef {
+        private Long hotelId;
+        private String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomRef {
+        private Integer roomId;
+        private String number;
+        private Integer floor;
+        private Long hotelId;
+        private Integer roomTypeId;
+        private RoomTypeRef roomType;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomTypeRef {
+        private Integer roomTypeId;
+        private String name;
+    }
+}
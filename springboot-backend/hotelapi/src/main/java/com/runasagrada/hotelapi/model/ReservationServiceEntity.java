@@ -1,5 +1,6 @@
 package com.runasagrada.hotelapi.model;
 
+import com.runasagrada.hotelapi.config.PooledId;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,20 +13,23 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "reservation_services")
+@Table(name = "reservation_services", uniqueConstraints = {
+        // nulls not distinct en la migración V2: sin horario también es una sola línea
+        @UniqueConstraint(name = "uq_res_service_line", columnNames = { "reservation_id", "service_id",
+                "schedule_id" })
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,7 +42,7 @@ public class ReservationServiceEntity {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     @Column(name = "res_service_id")
     private Long id;
 
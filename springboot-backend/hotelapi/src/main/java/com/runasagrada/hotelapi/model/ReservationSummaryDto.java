@@ -0,0 +1,36 @@
+package com.runasagrada.hotelapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Vista liviana de una reserva para recepción (llegadas / en casa / salidas)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSummaryDto {
+    private Integer reservationId;
+    private Long hotelId;
+    private Integer roomId;
+    private String roomNumber;
+    private Integer userId;
+    private String guestName;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    private Reservation.Status status;
+
+    public static ReservationSummaryDto from(Reservation r) {
+        return new ReservationSummaryDto(
+                r.getReservationId(),
+                r.getHotel() != null ? r.getHotel().getHotelId() : null,
+                r.getRoom() != null ? r.getRoom().getRoomId() : null,
+                r.getRoom() != null ? r.getRoom().getNumber() : null,
+                r.getUser() != null ? r.getUser().getUserId() : null,
+                r.getUser() != null ? r.getUser().getFullName() : null,
+                r.getCheckIn(),
+                r.getCheckOut(),
+                r.getStatus());
+    }
+}
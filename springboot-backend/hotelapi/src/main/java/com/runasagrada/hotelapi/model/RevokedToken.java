@@ -0,0 +1,31 @@
+package com.runasagrada.hotelapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Token revocado (logout o refresh ya usado), por jti. Solo hace falta hasta
+ * que el token vence: TokenRevocationList borra las filas vencidas, así la
+ * tabla queda del tamaño de los tokens vivos revocados.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
@@ -1,25 +1,44 @@
 package com.runasagrada.hotelapi.model;
 
+import com.runasagrada.hotelapi.config.PooledId;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
 import java.time.LocalDate;
 
+/**
+ * Bloqueo de una habitación para un rango de noches [startDate, endDate).
+ * Una fila por reserva (no una por noche); la exclusión entre rangos la
+ * garantiza ReservationServiceImpl bloqueando la fila de la habitación.
+ */
 @Entity
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-@IdClass(RoomLockId.class)
+@Table(name = "room_lock_intervals")
 public class RoomLock {
 
     @Id
+    @PooledId
+    @Column(name = "lock_id")
+    private Long lockId;
+
+    @Column(name = "room_id", nullable = false)
     private Integer roomId;
 
-    @Id
-    private LocalDate lockDate;
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate; // exclusivo (día del check-out)
 
     @ManyToOne
     @JoinColumn(name = "reservation_id")
     private Reservation reservation;
+
+    public RoomLock(Integer roomId, LocalDate startDate, LocalDate endDate, Reservation reservation) {
+        this.roomId = roomId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.reservation = reservation;
+    }
 }
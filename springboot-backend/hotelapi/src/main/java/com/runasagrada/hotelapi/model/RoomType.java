@@ -1,6 +1,9 @@
 package com.runasagrada.hotelapi.model;
 
+import com.runasagrada.hotelapi.config.PooledId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import java.math.BigDecimal;
 import java.util.LinkedHashSet;
@@ -12,13 +15,15 @@ import java.util.Set;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString(exclude = "rooms")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "room_type")
 @Table(name = "room_types", uniqueConstraints = {
         @UniqueConstraint(name = "uk_roomtype_name", columnNames = "name")
 })
 public class RoomType {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     @Column(name = "room_type_id")
     @EqualsAndHashCode.Include
     private Integer roomTypeId;
@@ -1,5 +1,6 @@
 package com.runasagrada.hotelapi.model;
 
+import com.runasagrada.hotelapi.config.PooledId;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,7 +18,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 @AllArgsConstructor
 public class StaffMember {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@PooledId
 	@Column(name = "staff_id")
 	private Long staffId;
 
@@ -1,5 +1,6 @@
 package com.runasagrada.hotelapi.model;
 
+import com.runasagrada.hotelapi.config.PooledId;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,7 +17,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 @AllArgsConstructor
 public class Task {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@PooledId
 	@Column(name = "task_id")
 	private Long taskId;
 
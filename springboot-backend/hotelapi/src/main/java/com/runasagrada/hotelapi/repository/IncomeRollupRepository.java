@@ -0,0 +1,52 @@
+package com.runasagrada.hotelapi.repository;
+
+import com.runasagrada.hotelapi.model.IncomeRollup;
+import com.runasagrada.hotelapi.model.IncomeRollupId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface IncomeRollupRepository extends JpaRepository<IncomeRollup, IncomeRollupId> {
+
+    // Suma (o resta, con valores negativos) en una sola sentencia; crea la fila si no existe.
+    // HINT_NATIVE_SPACES: sin la tabla afectada, Hibernate vacía toda la caché de segundo nivel
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "income_rollup"))
+    @Query(value = "merge into income_rollup r "
+            + "using (values (cast(:hotelId as bigint), cast(:month as int), cast(:amount as double precision), "
+            + "cast(:count as bigint))) s (hotel_id, income_month, amount, cnt) "
+            + "on r.hotel_id = s.hotel_id and r.income_month = s.income_month "
+            + "when matched then update set paid_total = r.paid_total + s.amount, paid_count = r.paid_count + s.cnt "
+            + "when not matched then insert (hotel_id, income_month, paid_total, paid_count) "
+            + "values (s.hotel_id, s.income_month, s.amount, s.cnt)", nativeQuery = true)
+    void increment(@Param("hotelId") Long hotelId, @Param("month") int month,
+            @Param("amount") double amount, @Param("count") long count);
+
+    @Query("select coalesce(sum(r.paidTotal), 0) from IncomeRollup r where r.incomeMonth = :month")
+    double sumForMonth(@Param("month") int month);
+
+    @Query("select coalesce(sum(r.paidTotal), 0) from IncomeRollup r "
+            + "where r.hotelId = :hotelId and r.incomeMonth = :month")
+    double sumForHotelAndMonth(@Param("hotelId") Long hotelId, @Param("month") int month);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "income_rollup"))
+    @Query(value = "delete from income_rollup", nativeQuery = true)
+    void deleteAllRows();
+
+    // Recalcula todo desde payment; mismo criterio que antes: trim(lower(status)) = 'paid'
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "income_rollup"))
+    @Query(value = "insert into income_rollup (hotel_id, income_month, paid_total, paid_count) "
+            + "select r.hotel_id, extract(year from p.created_at) * 100 + extract(month from p.created_at), "
+            + "sum(p.amount), count(*) "
+            + "from payment p join reservation r on r.reservation_id = p.reservation_id "
+            + "where lower(trim(p.status)) = 'paid' and p.created_at is not null "
+            + "group by r.hotel_id, extract(year from p.created_at) * 100 + extract(month from p.created_at)",
+            nativeQuery = true)
+    int rebuildFromPayments();
+}
@@ -11,7 +11,8 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface PaymentMethodRepository extends JpaRepository<PaymentMethod, Integer> {
-	List<PaymentMethod> findByUserId_UserId(Integer userId);
+	@Query("SELECT p FROM PaymentMethod p WHERE p.userId.userId = :userId")
+	List<PaymentMethod> findByUserId_UserId(@Param("userId") Integer userId);
 
 
 	 @Query("SELECT p FROM PaymentMethod p WHERE p.userId.userId = :userId AND p.active = true")
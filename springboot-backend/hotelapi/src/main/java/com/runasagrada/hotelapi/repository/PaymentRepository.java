@@ -2,16 +2,34 @@ package com.runasagrada.hotelapi.repository;
 
 import com.runasagrada.hotelapi.model.Payment;
 
+import java.sql.Timestamp;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
-	List<Payment> findByReservationId_ReservationId(Integer reservationId);
+	// Filtro sobre la FK: el derivado hacía left join y H2 recorría toda la tabla payment
+	@Query("SELECT p FROM Payment p WHERE p.reservationId.reservationId = :reservationId")
+	List<Payment> findByReservationId_ReservationId(@Param("reservationId") Integer reservationId);
 
-	List<Payment> findByPaymentMethodId_PaymentMethodId(Integer paymentMethodId);
+	@Query("SELECT p FROM Payment p WHERE p.paymentMethodId.paymentMethodId = :paymentMethodId")
+	List<Payment> findByPaymentMethodId_PaymentMethodId(@Param("paymentMethodId") Integer paymentMethodId);
 
 	List<Payment> findByStatus(String status);
 
-	void deleteByReservationId_ReservationId(Integer reservationId);
+	// Listado paginado por cursor; from/to sobre createdAt en [from, to)
+	@Query("""
+			SELECT p FROM Payment p
+			WHERE p.paymentId > :after
+			  AND (:status IS NULL OR p.status = :status)
+			  AND (:hotelId IS NULL OR p.reservationId.hotel.hotelId = :hotelId)
+			  AND (:from IS NULL OR p.createdAt >= :from)
+			  AND (:to IS NULL OR p.createdAt < :to)
+			ORDER BY p.paymentId
+			""")
+	List<Payment> findPage(@Param("after") Integer after, @Param("status") String status,
+			@Param("hotelId") Long hotelId, @Param("from") Timestamp from, @Param("to") Timestamp to, Limit limit);
 }
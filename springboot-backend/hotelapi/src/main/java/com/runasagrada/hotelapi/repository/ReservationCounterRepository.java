@@ -0,0 +1,103 @@
+package com.runasagrada.hotelapi.repository;
+
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.ReservationCounter;
+import com.runasagrada.hotelapi.model.ReservationCounterId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ReservationCounterRepository extends JpaRepository<ReservationCounter, ReservationCounterId> {
+
+    // El tipo de habitación se resuelve en el propio MERGE (no hace falta cargar la Room).
+    // HINT_NATIVE_SPACES: sin la tabla afectada, Hibernate vacía toda la caché de segundo nivel
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reservation_counters"))
+    @Query(value = "merge into reservation_counters c "
+            + "using (select cast(:hotelId as bigint) as hotel_id, cast(:month as int) as created_month, "
+            + "rm.room_type_id, cast(:status as varchar(20)) as status, cast(:delta as bigint) as delta "
+            + "from rooms rm where rm.room_id = :roomId) s "
+            + "on c.hotel_id = s.hotel_id and c.created_month = s.created_month "
+            + "and c.room_type_id = s.room_type_id and c.status = s.status "
+            + "when matched then update set reservations = c.reservations + s.delta "
+            + "when not matched then insert (hotel_id, created_month, room_type_id, status, reservations) "
+            + "values (s.hotel_id, s.created_month, s.room_type_id, s.status, s.delta)", nativeQuery = true)
+    void incrementForRoom(@Param("hotelId") Long hotelId, @Param("month") int month,
+            @Param("roomId") Integer roomId, @Param("status") String status, @Param("delta") long delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reservation_counters"))
+    @Query(value = "merge into reservation_counters c "
+            + "using (values (cast(:hotelId as bigint), cast(:month as int), cast(:roomTypeId as int), "
+            + "cast(:status as varchar(20)), cast(:delta as bigint))) "
+            + "s (hotel_id, created_month, room_type_id, status, delta) "
+            + "on c.hotel_id = s.hotel_id and c.created_month = s.created_month "
+            + "and c.room_type_id = s.room_type_id and c.status = s.status "
+            + "when matched then update set reservations = c.reservations + s.delta "
+            + "when not matched then insert (hotel_id, created_month, room_type_id, status, reservations) "
+            + "values (s.hotel_id, s.created_month, s.room_type_id, s.status, s.delta)", nativeQuery = true)
+    void incrementForRoomType(@Param("hotelId") Long hotelId, @Param("month") int month,
+            @Param("roomTypeId") Integer roomTypeId, @Param("status") String status, @Param("delta") long delta);
+
+    @Query("select coalesce(sum(c.reservations), 0) from ReservationCounter c "
+            + "where c.status = :status and c.createdMonth = :month")
+    long sumByStatusAndMonth(@Param("status") Reservation.Status status, @Param("month") int month);
+
+    @Query("select coalesce(sum(c.reservations), 0) from ReservationCounter c "
+            + "where c.hotelId = :hotelId and c.status = :status and c.createdMonth = :month")
+    long sumByHotelStatusAndMonth(@Param("hotelId") Long hotelId, @Param("status") Reservation.Status status,
+            @Param("month") int month);
+
+    @Query("""
+            SELECT rt.name AS roomTypeName, SUM(c.reservations) AS cnt
+            FROM ReservationCounter c JOIN RoomType rt ON rt.roomTypeId = c.roomTypeId
+            GROUP BY rt.name
+            HAVING SUM(c.reservations) > 0
+            """)
+    List<Object[]> sumByRoomType();
+
+    @Query("""
+            SELECT rt.name AS roomTypeName, SUM(c.reservations) AS cnt
+            FROM ReservationCounter c JOIN RoomType rt ON rt.roomTypeId = c.roomTypeId
+            WHERE c.hotelId = :hotelId
+            GROUP BY rt.name
+            HAVING SUM(c.reservations) > 0
+            """)
+    List<Object[]> sumByRoomTypeAndHotel(@Param("hotelId") Long hotelId);
+
+    // Reservas de una habitación agrupadas como en los contadores: [hotelId, month, status, count]
+    @Query("""
+            SELECT r.hotel.hotelId,
+                   COALESCE(EXTRACT(YEAR FROM r.createdAt) * 100 + EXTRACT(MONTH FROM r.createdAt), 0),
+                   r.status, COUNT(r)
+            FROM Reservation r
+            WHERE r.room.roomId = :roomId
+            GROUP BY r.hotel.hotelId,
+                   COALESCE(EXTRACT(YEAR FROM r.createdAt) * 100 + EXTRACT(MONTH FROM r.createdAt), 0),
+                   r.status
+            """)
+    List<Object[]> groupReservationsOfRoom(@Param("roomId") Integer roomId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reservation_counters"))
+    @Query(value = "delete from reservation_counters", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reservation_counters"))
+    @Query(value = "insert into reservation_counters (hotel_id, created_month, room_type_id, status, reservations) "
+            + "select r.hotel_id, "
+            + "coalesce(extract(year from r.created_at) * 100 + extract(month from r.created_at), 0), "
+            + "rm.room_type_id, r.status, count(*) "
+            + "from reservation r join rooms rm on rm.room_id = r.room_id "
+            + "group by r.hotel_id, "
+            + "coalesce(extract(year from r.created_at) * 100 + extract(month from r.created_at), 0), "
+            + "rm.room_type_id, r.status", nativeQuery = true)
+    int rebuildFromReservations();
+}
@@ -1,22 +1,35 @@
 package com.runasagrada.hotelapi.repository;
 
 import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.ReservationDetailDto;
+import com.runasagrada.hotelapi.model.ReservationSummaryDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Optional;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Integer> {
-    List<Reservation> findByUserUserId(Integer userId);
+    // Filtros sobre la FK (r.user.userId -> reservation.user_id): el método derivado hacía
+    // left join a users y filtraba ahí, y H2 recorría toda la tabla reservation
+    @Query("select r from Reservation r where r.user.userId = :userId")
+    List<Reservation> findByUserUserId(@Param("userId") Integer userId);
 
-    List<Reservation> findByUserUserIdOrderByCheckInDesc(Integer userId);
+    @Query("select r from Reservation r where r.user.userId = :userId order by r.checkIn desc")
+    List<Reservation> findByUserUserIdOrderByCheckInDesc(@Param("userId") Integer userId);
 
-    List<Reservation> findByRoomRoomId(Integer roomId);
+    @Query("select r from Reservation r where r.room.roomId = :roomId")
+    List<Reservation> findByRoomRoomId(@Param("roomId") Integer roomId);
 
-    List<Reservation> findByHotelHotelId(Long hotelId);
+    @Query("select r from Reservation r where r.hotel.hotelId = :hotelId")
+    List<Reservation> findByHotelHotelId(@Param("hotelId") Long hotelId);
 
-    boolean existsByUserUserId(Integer userId);
+    @Query("select count(r) > 0 from Reservation r where r.user.userId = :userId")
+    boolean existsByUserUserId(@Param("userId") Integer userId);
 
     long countByStatusAndCreatedAtBetween(Reservation.Status status, Timestamp start, Timestamp end);
 
@@ -38,4 +51,85 @@ public interface ReservationRepository extends JpaRepository<Reservation, Intege
             GROUP BY r.room.roomType.name
             """)
     List<Object[]> countByRoomTypeAndHotel(Long hotelId);
+
+
+    // Todo lo que toca "day" (llegadas, en casa y salidas) sin cargar entidades
+    @Query("""
+            SELECT new com.runasagrada.hotelapi.model.ReservationSummaryDto(
+                   r.reservationId, r.hotel.hotelId, r.room.roomId, r.room.number,
+                   r.user.userId, r.user.fullName, r.checkIn, r.checkOut, r.status)
+            FROM Reservation r
+            WHERE r.checkOut >= :day AND r.checkIn <= :day
+            """)
+    List<ReservationSummaryDto> findSummariesTouching(@Param("day") LocalDate day);
+
+    // La misma vista para una reserva (libro del día tras el commit de un alta)
+    @Query("""
+            SELECT new com.runasagrada.hotelapi.model.ReservationSummaryDto(
+                   r.reservationId, r.hotel.hotelId, r.room.roomId, r.room.number,
+                   r.user.userId, r.user.fullName, r.checkIn, r.checkOut, r.status)
+            FROM Reservation r
+            WHERE r.reservationId = :id
+            """)
+    Optional<ReservationSummaryDto> findSummaryById(@Param("id") Integer id);
+
+    // Lecturas para la API: una sola consulta con las columnas de ReservationDetailDto,
+    // sin cargar las entidades (ni roles, amenities o imágenes)
+    String DETAIL_SELECT = """
+            SELECT new com.runasagrada.hotelapi.model.ReservationDetailDto(
+                   r.reservationId, r.checkIn, r.checkOut, r.status, r.createdAt,
+                   u.userId, u.fullName, u.email, u.phone, u.nationalId,
+                   h.hotelId, h.name,
+                   rm.roomId, rm.number, rm.floor, rt.roomTypeId, rt.name)
+            FROM Reservation r
+            JOIN r.user u
+            JOIN r.hotel h
+            JOIN r.room rm
+            JOIN rm.roomType rt
+            """;
+
+    // Listado paginado por cursor (id > after); from/to filtran estancias que se solapan con [from, to)
+    @Query(DETAIL_SELECT + """
+            WHERE r.reservationId > :after
+              AND (:status IS NULL OR r.status = :status)
+              AND (:hotelId IS NULL OR h.hotelId = :hotelId)
+              AND (:from IS NULL OR r.checkOut > :from)
+              AND (:to IS NULL OR r.checkIn < :to)
+            ORDER BY r.reservationId
+            """)
+    List<ReservationDetailDto> findPage(@Param("after") Integer after, @Param("status") Reservation.Status status,
+            @Param("hotelId") Long hotelId, @Param("from") LocalDate from, @Param("to") LocalDate to, Limit limit);
+
+    @Query(DETAIL_SELECT + "ORDER BY r.reservationId")
+    List<ReservationDetailDto> findAllDetails();
+
+    @Query(DETAIL_SELECT + "WHERE r.reservationId = :id")
+    Optional<ReservationDetailDto> findDetailById(@Param("id") Integer id);
+
+    @Query(DETAIL_SELECT + "WHERE u.userId = :userId ORDER BY r.checkIn DESC")
+    List<ReservationDetailDto> findDetailsByUser(@Param("userId") Integer userId);
+
+    @Query(DETAIL_SELECT + "WHERE h.hotelId = :hotelId ORDER BY r.reservationId")
+    List<ReservationDetailDto> findDetailsByHotel(@Param("hotelId") Long hotelId);
+
+    // Actuales = todavía no salieron (checkOut >= day); userId null = todos
+    @Query(DETAIL_SELECT + """
+            WHERE r.checkOut >= :day
+              AND (:userId IS NULL OR u.userId = :userId)
+            ORDER BY r.checkIn DESC, r.reservationId
+            """)
+    List<ReservationDetailDto> findCurrentDetails(@Param("day") LocalDate day, @Param("userId") Integer userId);
+
+    // En casa el día "day": checkIn <= day < checkOut (usa idx_reservation_check_out)
+    @Query(DETAIL_SELECT + "WHERE r.checkOut > :day AND r.checkIn <= :day ORDER BY r.reservationId")
+    List<ReservationDetailDto> findDetailsActiveOn(@Param("day") LocalDate day);
+
+    // Reservas con bloqueo sobre la habitación con ese número
+    @Query(DETAIL_SELECT + """
+            WHERE r.reservationId IN (
+                SELECT rl.reservation.reservationId FROM RoomLock rl, Room lr
+                WHERE lr.roomId = rl.roomId AND lr.number = :number)
+            ORDER BY r.reservationId
+            """)
+    List<ReservationDetailDto> findDetailsByRoomNumber(@Param("number") String number);
 }
@@ -1,16 +1,85 @@
 package com.runasagrada.hotelapi.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.runasagrada.hotelapi.model.ReservationServiceEntity;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ReservationServiceRepository extends JpaRepository<ReservationServiceEntity, Long> {
 
     List<ReservationServiceEntity> findByReservationReservationId(Long id);
 
     void deleteByReservationReservationId(Integer reservationId);
+
+    // Línea de una reserva para un servicio y horario (scheduleId null = sin horario); usa uq_res_service_line.
+    // rating va en el mismo SELECT: el OneToOne mappedBy no se puede dejar lazy y serían dos
+    @Query("""
+            SELECT rs FROM ReservationServiceEntity rs LEFT JOIN FETCH rs.rating
+            WHERE rs.reservation.reservationId = :reservationId
+              AND rs.service.id = :serviceId
+              AND ((:scheduleId IS NULL AND rs.schedule IS NULL) OR rs.schedule.id = :scheduleId)
+            """)
+    Optional<ReservationServiceEntity> findLine(@Param("reservationId") Integer reservationId,
+            @Param("serviceId") Long serviceId, @Param("scheduleId") Long scheduleId);
+
+    // Alta o suma de la línea (reserva, servicio, horario) en una sola sentencia: si ya existe
+    // suma qty y toma precio y estado nuevos (si vienen); si no, la inserta con id. La
+    // restricción única hace que dos altas simultáneas no dejen filas repetidas.
+    // clearAutomatically: una copia de la línea en el contexto de persistencia quedaría vieja
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reservation_services"))
+    @Query(value = "merge into reservation_services c "
+            + "using (values (cast(:id as bigint), cast(:reservationId as int), cast(:serviceId as bigint), "
+            + "cast(:scheduleId as bigint), cast(:qty as int), cast(:unitPrice as float(53)), "
+            + "cast(:status as varchar(20)))) "
+            + "s (res_service_id, reservation_id, service_id, schedule_id, qty, unit_price, status) "
+            + "on c.reservation_id = s.reservation_id and c.service_id = s.service_id "
+            + "and c.schedule_id is not distinct from s.schedule_id "
+            + "when matched then update set qty = c.qty + s.qty, "
+            + "unit_price = coalesce(s.unit_price, c.unit_price), status = coalesce(s.status, c.status) "
+            + "when not matched then insert (res_service_id, reservation_id, service_id, schedule_id, qty, "
+            + "unit_price, status) "
+            + "values (s.res_service_id, s.reservation_id, s.service_id, s.schedule_id, s.qty, s.unit_price, "
+            + "coalesce(s.status, 'ORDERED'))", nativeQuery = true)
+    int upsertLine(@Param("id") Long id, @Param("reservationId") Integer reservationId,
+            @Param("serviceId") Long serviceId, @Param("scheduleId") Long scheduleId, @Param("qty") int qty,
+            @Param("unitPrice") Double unitPrice, @Param("status") String status);
+
+    // Borrado en una sola sentencia: deleteById carga antes la línea, su calificación y sus tareas
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reservation_services"))
+    @Query(value = "delete from reservation_services where res_service_id = :id", nativeQuery = true)
+    int deleteLine(@Param("id") Long id);
+
+    // Tabla completa (?unpaged=true); rating en el mismo SELECT, si no es una consulta por fila
+    @Query("SELECT rs FROM ReservationServiceEntity rs LEFT JOIN FETCH rs.rating")
+    List<ReservationServiceEntity> findAllWithRating();
+
+    // Listado paginado por cursor; rating con JOIN FETCH por lo mismo que findLine
+    @Query("""
+            SELECT rs FROM ReservationServiceEntity rs LEFT JOIN FETCH rs.rating
+            WHERE rs.id > :after
+              AND (:status IS NULL OR rs.status = :status)
+              AND (:reservationId IS NULL OR rs.reservation.reservationId = :reservationId)
+              AND (:hotelId IS NULL OR rs.reservation.hotel.hotelId = :hotelId)
+            ORDER BY rs.id
+            """)
+    List<ReservationServiceEntity> findPage(@Param("after") Long after,
+            @Param("status") ReservationServiceEntity.Status status, @Param("reservationId") Integer reservationId,
+            @Param("hotelId") Long hotelId, Limit limit);
 }
@@ -0,0 +1,33 @@
+package com.runasagrada.hotelapi.repository;
+
+import com.runasagrada.hotelapi.model.RevokedToken;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Revocaciones nuevas (de esta u otra instancia): usa idx_revoked_tokens_revoked_at
+    List<RevokedToken> findByRevokedAtGreaterThanEqual(Instant since);
+
+    // INSERT sin merge: si el jti ya estaba, la PK lo rechaza (DataIntegrityViolationException)
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "revoked_tokens"))
+    @Query(value = "insert into revoked_tokens (jti, expires_at, revoked_at) values (:jti, :expiresAt, :revokedAt)",
+            nativeQuery = true)
+    int insert(@Param("jti") String jti, @Param("expiresAt") Instant expiresAt, @Param("revokedAt") Instant revokedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,9 +1,14 @@
 package com.runasagrada.hotelapi.repository;
 
 import com.runasagrada.hotelapi.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Integer> {
+    // Se llama en cada registro/login: resultado en la caché de consultas de Hibernate
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(String name);
 }
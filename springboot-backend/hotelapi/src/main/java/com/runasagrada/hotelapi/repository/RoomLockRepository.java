@@ -2,20 +2,33 @@ package com.runasagrada.hotelapi.repository;
 
 import com.runasagrada.hotelapi.model.Reservation;
 import com.runasagrada.hotelapi.model.RoomLock;
-import com.runasagrada.hotelapi.model.RoomLockId;
 import java.time.LocalDate;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface RoomLockRepository extends JpaRepository<RoomLock, RoomLockId> {
+public interface RoomLockRepository extends JpaRepository<RoomLock, Long> {
 
-    boolean existsByRoomIdAndLockDate(Integer roomId, LocalDate date);
+    // Solapamiento de intervalos [start, end): usa idx_room_lock_range
+    @Query("select min(rl.startDate) from RoomLock rl "
+            + "where rl.roomId = :roomId and rl.startDate < :checkOut and rl.endDate > :checkIn")
+    LocalDate findFirstOverlap(@Param("roomId") Integer roomId,
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut);
 
-    void deleteByReservationReservationId(Integer reservationId);
+    // Filtro sobre la FK (idx_room_lock_reservation); el derivado hacía left join a reservation
+    @Query("select rl from RoomLock rl where rl.reservation.reservationId = :reservationId")
+    List<RoomLock> findByReservationId(@Param("reservationId") Integer reservationId);
 
-    @Query("SELECT rl FROM RoomLock rl WHERE rl.roomId = :roomId AND rl.lockDate >= :lockDate ORDER BY rl.lockDate ASC")
+    // Borra entidad por entidad (como el delete derivado) para que no queden locks gestionados
+    // apuntando a una reserva que se borra en la misma transacción
+    default void deleteByReservationReservationId(Integer reservationId) {
+        deleteAll(findByReservationId(reservationId));
+    }
+
+    // Locks que siguen vigentes desde lockDate (el que está en curso primero)
+    @Query("SELECT rl FROM RoomLock rl WHERE rl.roomId = :roomId AND rl.endDate > :lockDate ORDER BY rl.startDate ASC")
     List<RoomLock> findNextLocksForRoom(@Param("roomId") Integer roomId,
             @Param("lockDate") LocalDate lockDate);
 
@@ -23,4 +36,11 @@ public interface RoomLockRepository extends JpaRepository<RoomLock, RoomLockId>
     List<Reservation> findReservationsByRoomId(@Param("roomId") Integer roomId);
 
     void deleteByRoomId(Integer roomId);
+
+    // Filas (roomId, startDate, endDate) para el índice de disponibilidad en memoria
+    @Query("select rl.roomId, rl.startDate, rl.endDate from RoomLock rl")
+    List<Object[]> findAllIntervals();
+
+    @Query("select rl.roomId, rl.startDate, rl.endDate from RoomLock rl where rl.reservation.reservationId = :reservationId")
+    List<Object[]> findIntervalsByReservation(@Param("reservationId") Integer reservationId);
 }
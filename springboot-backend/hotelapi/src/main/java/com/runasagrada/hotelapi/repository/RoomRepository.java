@@ -1,6 +1,8 @@
 package com.runasagrada.hotelapi.repository;
 
+import com.runasagrada.hotelapi.model.AvailableRoomDto;
 import com.runasagrada.hotelapi.model.Room;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -26,4 +28,29 @@ public interface RoomRepository extends JpaRepository<Room, Integer> {
     List<Room> findByHotelIdAndTypeId(@Param("hotelId") Long hotelId,
             @Param("typeId") Long roomTypeId);
 
+    // SELECT ... FOR UPDATE sobre la habitación: serializa las reservas concurrentes del mismo cuarto
+    @Query(value = "select room_id from rooms where room_id = :roomId for update", nativeQuery = true)
+    Integer lockRoom(@Param("roomId") Integer roomId);
+
+    // Candidatas para disponibilidad: filtro por hotel/tipo/capacidad, ordenadas por precio
+    @Query("select new com.runasagrada.hotelapi.model.AvailableRoomDto("
+            + "r.roomId, r.number, r.floor, r.themeName, rt.roomTypeId, rt.name, rt.capacity, rt.basePrice) "
+            + "from Room r join r.roomType rt "
+            + "where r.hotel.hotelId = :hotelId "
+            + "and (:roomTypeId is null or rt.roomTypeId = :roomTypeId) "
+            + "and rt.capacity >= :guests "
+            + "order by rt.basePrice asc, r.number asc")
+    List<AvailableRoomDto> findAvailabilityCandidates(@Param("hotelId") Long hotelId,
+            @Param("roomTypeId") Integer roomTypeId,
+            @Param("guests") Integer guests);
+
+    // Listado paginado por cursor
+    @Query("select r from Room r where r.roomId > :after "
+            + "and (:hotelId is null or r.hotel.hotelId = :hotelId) "
+            + "and (:roomTypeId is null or r.roomType.roomTypeId = :roomTypeId) "
+            + "and (:resStatus is null or r.resStatus = :resStatus) "
+            + "order by r.roomId")
+    List<Room> findPage(@Param("after") Integer after, @Param("hotelId") Long hotelId,
+            @Param("roomTypeId") Integer roomTypeId, @Param("resStatus") Room.ReservationStatus resStatus,
+            Limit limit);
 }
@@ -3,6 +3,7 @@ package com.runasagrada.hotelapi.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.runasagrada.hotelapi.model.ServiceOffering;
@@ -10,4 +11,8 @@ import com.runasagrada.hotelapi.model.ServiceOffering;
 @Repository
 public interface ServiceOfferingRepository extends JpaRepository<ServiceOffering, Long> {
     List<ServiceOffering> findByHotel_HotelId(Long hotelId);
+
+    // Para ServiceCatalogIndex: hotel e imágenes en la misma consulta (el JSON usa ambos)
+    @Query("select distinct s from ServiceOffering s join fetch s.hotel left join fetch s.imageUrls order by s.id")
+    List<ServiceOffering> findAllForCatalog();
 }
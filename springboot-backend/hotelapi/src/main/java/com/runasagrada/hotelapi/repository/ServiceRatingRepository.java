@@ -1,10 +1,33 @@
 package com.runasagrada.hotelapi.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.runasagrada.hotelapi.model.ServiceRating;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ServiceRatingRepository extends JpaRepository<ServiceRating, Long> {
+
+    // Al juntar dos líneas de servicio queda una sola calificación (res_service_id es único):
+    // la de la línea que queda, o si no tenía, la de la que se borra (igual que la migración V2)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "service_ratings"))
+    @Query(value = "delete from service_ratings where res_service_id = :from "
+            + "and exists (select 1 from service_ratings k where k.res_service_id = :to)", nativeQuery = true)
+    int deleteIfTargetRated(@Param("from") Long from, @Param("to") Long to);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "service_ratings"))
+    @Query(value = "update service_ratings set res_service_id = :to where res_service_id = :from", nativeQuery = true)
+    int moveToReservationService(@Param("from") Long from, @Param("to") Long to);
 }
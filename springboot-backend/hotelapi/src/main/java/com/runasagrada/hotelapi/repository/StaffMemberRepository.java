@@ -22,6 +22,8 @@ public interface StaffMemberRepository extends JpaRepository<StaffMember, Long>
 	@Query("SELECT s FROM StaffMember s JOIN s.user u JOIN u.roles r WHERE r.name = :role")
 	List<StaffMember> findByUserRole(@Param("role") String role);
 
-	@Query("SELECT s FROM StaffMember s JOIN s.department d WHERE LOWER(d.name) IN :names")
+	// Subconsulta sobre departments (pocas filas) y luego idx_staff_department
+	@Query("SELECT s FROM StaffMember s WHERE s.departmentId IN "
+			+ "(SELECT d.departmentId FROM Department d WHERE LOWER(d.name) IN :names)")
 	List<StaffMember> findByDepartmentNames(@Param("names") List<String> names);
 }
\ No newline at end of file
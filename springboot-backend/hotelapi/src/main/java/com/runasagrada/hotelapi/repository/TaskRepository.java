@@ -3,8 +3,17 @@ package com.runasagrada.hotelapi.repository;
 import com.runasagrada.hotelapi.model.Task;
 import com.runasagrada.hotelapi.model.Task.TaskStatus;
 import com.runasagrada.hotelapi.model.Task.TaskType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -18,4 +27,25 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
 	List<Task> findByStaffIdAndStatus(Long staffId, TaskStatus status);
 
+	// Listado paginado por cursor; from/to sobre createdAt en [from, to)
+	@Query("""
+			SELECT t FROM Task t
+			WHERE t.taskId > :after
+			  AND (:status IS NULL OR t.status = :status)
+			  AND (:type IS NULL OR t.type = :type)
+			  AND (:staffId IS NULL OR t.staffId = :staffId)
+			  AND (:from IS NULL OR t.createdAt >= :from)
+			  AND (:to IS NULL OR t.createdAt < :to)
+			ORDER BY t.taskId
+			""")
+	List<Task> findPage(@Param("after") Long after, @Param("status") TaskStatus status, @Param("type") TaskType type,
+			@Param("staffId") Long staffId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+			Limit limit);
+
+	// Pasa las tareas de una línea de servicio a otra (al juntar líneas repetidas)
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+	@Query(value = "update tasks set res_service_id = :to where res_service_id = :from", nativeQuery = true)
+	int moveToReservationService(@Param("from") Long from, @Param("to") Long to);
 }
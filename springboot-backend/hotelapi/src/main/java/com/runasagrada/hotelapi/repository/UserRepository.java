@@ -1,10 +1,13 @@
 package com.runasagrada.hotelapi.repository;
 
 import com.runasagrada.hotelapi.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
@@ -22,4 +25,17 @@ public interface UserRepository extends JpaRepository<User, Integer> {
                   AND u.createdAt BETWEEN :start AND :end
             """)
     long countByCreatedAtBetween(Instant start, Instant end);
+
+    // Listado paginado por cursor; role filtra por nombre de rol, from/to sobre createdAt
+    @Query("""
+                SELECT u FROM User u
+                WHERE u.userId > :after
+                  AND (:enabled IS NULL OR u.enabled = :enabled)
+                  AND (:role IS NULL OR EXISTS (SELECT 1 FROM u.roles r WHERE r.name = :role))
+                  AND (:from IS NULL OR u.createdAt >= :from)
+                  AND (:to IS NULL OR u.createdAt < :to)
+                ORDER BY u.userId
+            """)
+    List<User> findPage(@Param("after") Integer after, @Param("enabled") Boolean enabled,
+            @Param("role") String role, @Param("from") Instant from, @Param("to") Instant to, Limit limit);
 }
@@ -23,7 +23,7 @@ public class AmenityServiceImpl implements AmenityService {
     private HotelRepository hotels;
 
     @Autowired
-    private ServiceHelper helper;
+    private CatalogVersions catalogVersions;
 
     @Override
     @Transactional(readOnly = true)
@@ -39,7 +39,7 @@ public class AmenityServiceImpl implements AmenityService {
             throw new IllegalArgumentException("Amenity type is required");
         if (amenities.existsByName(a.getName()))
             throw new IllegalArgumentException("Amenity already exists");
-        helper.resyncIdentity("amenities", "amenity_id");
+        catalogVersions.bump(CatalogVersions.Resource.AMENITIES);
         return amenities.save(a);
     }
 
@@ -52,6 +52,7 @@ public class AmenityServiceImpl implements AmenityService {
             db.setImage(partial.getImage());
         if (partial.getType() != null)
             db.setType(partial.getType());
+        catalogVersions.bump(CatalogVersions.Resource.AMENITIES);
         return amenities.save(db);
     }
 
@@ -65,6 +66,7 @@ public class AmenityServiceImpl implements AmenityService {
         }
         hotels.saveAll(withAmenity);
         amenities.delete(a);
-        helper.resyncIdentity("amenities", "amenity_id");
+        // el ETag de /hotels incluye AMENITIES: cubre también los hoteles desasociados
+        catalogVersions.bump(CatalogVersions.Resource.AMENITIES);
     }
 }
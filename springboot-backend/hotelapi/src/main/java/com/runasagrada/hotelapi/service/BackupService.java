@@ -0,0 +1,102 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.BackupDto;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Backup en caliente de la base H2, sin parar la aplicación.
+ *
+ * Base en archivo (perfil durable): BACKUP TO copia el MVStore a un zip mientras se
+ * sigue escribiendo. Base en memoria: no hay archivo que copiar, así que se vuelca
+ * con SCRIPT TO (SQL comprimido, se restaura con RUNSCRIPT FROM).
+ * Deja solo los últimos backup.keep archivos en backup.dir.
+ */
+@Slf4j
+@Service
+public class BackupService {
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final String PREFIX = "hotel-";
+
+    private final JdbcTemplate jdbc;
+    private final Path dir;
+    private final int keep;
+
+    public BackupService(JdbcTemplate jdbc,
+            @Value("${hotelapi.backup.dir:./backups}") String dir,
+            @Value("${hotelapi.backup.keep:7}") int keep) {
+        this.jdbc = jdbc;
+        this.dir = Path.of(dir).toAbsolutePath().normalize();
+        this.keep = Math.max(1, keep);
+    }
+
+    // "-" (por defecto) desactiva el backup programado
+    @Scheduled(cron = "${hotelapi.backup.cron:-}")
+    void scheduledBackup() {
+        try {
+            backup();
+        } catch (RuntimeException e) {
+            log.error("Scheduled backup failed", e);
+        }
+    }
+
+    // synchronized: dos backups a la vez solo duplican el trabajo de E/S
+    public synchronized BackupDto backup() {
+        long start = System.nanoTime();
+        // DATABASE_PATH() es null para jdbc:h2:mem
+        boolean fileDatabase = jdbc.queryForObject("select database_path()", String.class) != null;
+        String extension = fileDatabase ? ".zip" : ".sql.gz";
+        Path target = dir.resolve(PREFIX + STAMP.format(LocalDateTime.now()) + extension);
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create backup directory " + dir, e);
+        }
+
+        String literal = "'" + target.toString().replace("'", "''") + "'";
+        jdbc.execute(fileDatabase ? "backup to " + literal : "script to " + literal + " compression gzip");
+
+        long bytes;
+        try {
+            bytes = Files.size(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Backup written to {} ({} bytes, {} ms)", target, bytes, millis);
+        prune(extension);
+        return new BackupDto(target.toString(), fileDatabase ? "FILE" : "SCRIPT", bytes, millis);
+    }
+
+    private void prune(String extension) {
+        try (Stream<Path> files = Files.list(dir)) {
+            // el nombre lleva la fecha: orden alfabético = cronológico
+            List<Path> old = files
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIX)
+                            && p.getFileName().toString().endsWith(extension))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .skip(keep)
+                    .toList();
+            for (Path p : old) {
+                Files.deleteIfExists(p);
+            }
+        } catch (IOException e) {
+            log.warn("Could not prune old backups in {}", dir, e);
+        }
+    }
+}
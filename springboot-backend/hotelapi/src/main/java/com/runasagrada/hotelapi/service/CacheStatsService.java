@@ -0,0 +1,52 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.CacheRegionStatsDto;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Lee las estadísticas JCache (CacheStatisticsMXBean) de las regiones de la caché
+ * de segundo nivel. Ehcache las registra en el MBeanServer de la plataforma porque
+ * ehcache.xml activa enable-statistics; así no hace falta tocar el CacheManager
+ * que creó Hibernate.
+ */
+@Slf4j
+@Service
+public class CacheStatsService {
+
+    private static final String STATISTICS_PATTERN = "javax.cache:type=CacheStatistics,*";
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    public List<CacheRegionStatsDto> regions() {
+        List<CacheRegionStatsDto> out = new ArrayList<>();
+        try {
+            for (ObjectName name : server.queryNames(new ObjectName(STATISTICS_PATTERN), null)) {
+                long hits = (Long) server.getAttribute(name, "CacheHits");
+                long misses = (Long) server.getAttribute(name, "CacheMisses");
+                long gets = hits + misses;
+                out.add(new CacheRegionStatsDto(
+                        name.getKeyProperty("Cache"),
+                        hits,
+                        misses,
+                        (Long) server.getAttribute(name, "CachePuts"),
+                        (Long) server.getAttribute(name, "CacheRemovals"),
+                        (Long) server.getAttribute(name, "CacheEvictions"),
+                        gets == 0 ? 0 : (double) hits / gets));
+            }
+        } catch (JMException e) {
+            log.warn("Could not read cache statistics: {}", e.getMessage());
+        }
+        out.sort(Comparator.comparing(CacheRegionStatsDto::getRegion));
+        return out;
+    }
+}
@@ -0,0 +1,61 @@
+package com.runasagrada.hotelapi.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versión en memoria de cada recurso de catálogo, para los ETag de los GET.
+ * Los servicios llaman a bump() en cada escritura; el contador sube después
+ * del commit, así un ETag nuevo nunca describe datos que todavía no se ven.
+ *
+ * El ETag lleva también la marca de arranque: la base es en memoria y se
+ * vuelve a sembrar, un ETag de la ejecución anterior no puede coincidir.
+ */
+@Service
+public class CatalogVersions {
+
+    public enum Resource {
+        HOTELS,
+        AMENITIES,
+        ROOM_TYPES,
+        ROOMS,
+        SERVICE_OFFERINGS
+    }
+
+    private final String boot = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Resource, AtomicLong> versions = new EnumMap<>(Resource.class);
+
+    public CatalogVersions() {
+        for (Resource r : Resource.values()) {
+            versions.put(r, new AtomicLong());
+        }
+    }
+
+    public void bump(Resource resource) {
+        AtomicLong version = versions.get(resource);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    // ETag fuerte para una respuesta que depende de estos recursos (sin comillas)
+    public String etag(Resource... resources) {
+        StringBuilder sb = new StringBuilder(boot);
+        for (Resource r : resources) {
+            sb.append('-').append(versions.get(r).get());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,102 @@
+package com.runasagrada.hotelapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool propio para el hashing de contraseñas (login, registro, cambio de
+ * clave). Pocos hilos y cola acotada: una ráfaga de logins espera acá o se
+ * rechaza, en vez de ocupar los hilos de Tomcat y frenar el resto de la API.
+ *
+ * Cola llena o más de verify-timeout esperando => RejectedExecutionException
+ * (ApiExceptionHandler responde 503 con Retry-After). Una tarea cuyo llamador ya
+ * se rindió se cancela y no se ejecuta al salir de la cola.
+ */
+@Slf4j
+@Service
+public class CredentialVerifier {
+
+    private final PasswordHasher hasher;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+    // Para que un email inexistente tarde lo mismo que una clave incorrecta
+    private final String dummyHash;
+
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+
+    public CredentialVerifier(PasswordHasher hasher,
+            @Value("${hotelapi.auth.hash-threads:0}") int threads,
+            @Value("${hotelapi.auth.hash-queue:32}") int queueCapacity,
+            @Value("${hotelapi.auth.verify-timeout:2s}") Duration timeout) {
+        this.hasher = hasher;
+        this.timeoutNanos = timeout.toNanos();
+        // 0 = la mitad de los núcleos: el hashing nunca se queda con toda la CPU
+        if (threads <= 0)
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "credentials-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.dummyHash = hasher.hash("dummy-password");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // stored == null (usuario inexistente) se compara contra un hash de relleno
+    public Verification verify(String raw, String stored) {
+        return run(() -> {
+            boolean ok = hasher.matches(raw, stored == null ? dummyHash : stored) && stored != null;
+            String upgraded = ok && hasher.needsRehash(stored) ? hasher.hash(raw) : null;
+            return new Verification(ok, upgraded);
+        });
+    }
+
+    public String hash(String raw) {
+        return run(() -> hasher.hash(raw));
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Credential pool saturated ({} queued): rejecting", executor.getQueue().size());
+            throw new RejectedExecutionException("credential verification busy");
+        }
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false); // si sigue en cola, no se ejecuta
+            throw new RejectedExecutionException("credential verification timed out");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.DashboardSummaryDto;
+
+public interface DashboardService {
+    // hotelId null = todos los hoteles
+    DashboardSummaryDto summary(Long hotelId);
+}
@@ -0,0 +1,148 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.DashboardSummaryDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Resumen del dashboard calculado en paralelo y guardado como snapshot por hotel.
+ *
+ * - Mientras el snapshot tenga menos de {@code ttl} se devuelve tal cual.
+ * - Entre ttl y ttl + maxStale se devuelve el viejo y se recalcula en segundo plano.
+ * - Sin snapshot (o más viejo que eso) la petición espera el cálculo.
+ * En todos los casos hay como mucho un cálculo en curso por clave: los que
+ * llegan mientras tanto se enganchan al mismo CompletableFuture.
+ * Un hotelId que no existe lanza NoSuchElementException sin crear snapshot, así
+ * que el mapa queda acotado por la cantidad de hoteles.
+ */
+@Slf4j
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final long ALL_HOTELS = -1L;
+
+    private final UserService users;
+    private final ReservationService reservations;
+    private final PaymentService payments;
+    private final HotelService hotels;
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+    private final ExecutorService executor;
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public DashboardServiceImpl(UserService users, ReservationService reservations, PaymentService payments,
+            HotelService hotels,
+            @Value("${hotelapi.dashboard.ttl:30s}") Duration ttl,
+            @Value("${hotelapi.dashboard.max-stale:5m}") Duration maxStale,
+            @Value("${hotelapi.dashboard.threads:4}") int threads) {
+        this.users = users;
+        this.reservations = reservations;
+        this.payments = payments;
+        this.hotels = hotels;
+        this.ttlNanos = ttl.toNanos();
+        this.maxStaleNanos = maxStale.toNanos();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "dashboard-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public DashboardSummaryDto summary(Long hotelId) {
+        Long key = hotelId == null ? ALL_HOTELS : hotelId;
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            if (hotelId != null)
+                hotels.get(hotelId); // lanza NoSuchElementException si no existe
+            snapshot = snapshots.computeIfAbsent(key, k -> new Snapshot());
+        }
+        DashboardSummaryDto current = snapshot.value;
+        long age = System.nanoTime() - snapshot.computedAt;
+
+        if (current != null && age < ttlNanos) {
+            return current;
+        }
+        if (current != null && age < ttlNanos + maxStaleNanos) {
+            snapshot.refresh(() -> compute(hotelId)); // stale-while-revalidate
+            return current;
+        }
+        try {
+            return snapshot.refresh(() -> compute(hotelId)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw e;
+        }
+    }
+
+    // Las cinco consultas en paralelo; cada servicio abre su propia transacción
+    private CompletableFuture<DashboardSummaryDto> compute(Long hotelId) {
+        CompletableFuture<double[]> usersF = CompletableFuture.supplyAsync(users::usersSummary, executor);
+        CompletableFuture<double[]> reservationsF = CompletableFuture.supplyAsync(
+                () -> hotelId == null ? reservations.count() : reservations.countByHotel(hotelId), executor);
+        CompletableFuture<Map<String, Long>> byRoomTypeF = CompletableFuture.supplyAsync(
+                () -> hotelId == null ? reservations.countByRoomType()
+                        : reservations.countByRoomTypeAndHotel(hotelId),
+                executor);
+        CompletableFuture<double[]> incomeF = CompletableFuture.supplyAsync(
+                () -> hotelId == null ? payments.calculateIncome() : payments.calculateIncome(hotelId), executor);
+        CompletableFuture<Map<String, Long>> amenitiesF = CompletableFuture.supplyAsync(
+                hotels::amenitiesCountByHotel, executor);
+
+        return CompletableFuture.allOf(usersF, reservationsF, byRoomTypeF, incomeF, amenitiesF)
+                .thenApply(done -> new DashboardSummaryDto(hotelId, usersF.join(), reservationsF.join(),
+                        byRoomTypeF.join(), incomeF.join(), amenitiesF.join(), Instant.now()));
+    }
+
+    private static final class Snapshot {
+        volatile DashboardSummaryDto value;
+        volatile long computedAt;
+        private CompletableFuture<DashboardSummaryDto> inFlight; // guardado por this
+
+        synchronized CompletableFuture<DashboardSummaryDto> refresh(
+                Supplier<CompletableFuture<DashboardSummaryDto>> computation) {
+            CompletableFuture<DashboardSummaryDto> f = inFlight;
+            if (f == null) {
+                CompletableFuture<DashboardSummaryDto> started = computation.get();
+                inFlight = started;
+                // si ya terminó, whenComplete corre completed() acá mismo y deja inFlight en null
+                started.whenComplete((v, e) -> completed(started, v, e));
+                f = started;
+            }
+            return f;
+        }
+
+        private synchronized void completed(CompletableFuture<DashboardSummaryDto> f, DashboardSummaryDto v,
+                Throwable e) {
+            if (e == null) {
+                value = v;
+                computedAt = System.nanoTime();
+            } else {
+                log.warn("Dashboard summary refresh failed", e);
+            }
+            if (inFlight == f)
+                inFlight = null;
+        }
+    }
+}
@@ -21,9 +21,6 @@ public class DepartmentServiceImpl implements DepartmentService {
 	@Autowired
 	private HotelRepository hotels;
 
-	@Autowired
-	private ServiceHelper helper;
-
 	@Override
 	@Transactional(readOnly = true)
 	public List<Department> findAll() {
@@ -41,7 +38,6 @@ public class DepartmentServiceImpl implements DepartmentService {
 		validate(department);
 		if (department.getDepartmentId() != null)
 			department.setDepartmentId(null);
-		helper.resyncIdentity("departments", "department_id");
 		return departments.save(department);
 	}
 
@@ -62,7 +58,6 @@ public class DepartmentServiceImpl implements DepartmentService {
 	public void delete(Long id) {
 		Department db = findById(id);
 		departments.delete(db);
-		helper.resyncIdentity("departments", "department_id");
 	}
 
 	@Override
@@ -0,0 +1,105 @@
+package com.runasagrada.hotelapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Contadores de dominio para /actuator/prometheus. Los meters se registran una vez al
+ * arrancar y cada evento es un increment() sobre un campo, sin buscar en el registry.
+ * Reservas, pagos y asignaciones se cuentan en afterCommit (un rollback no suma); los
+ * conflictos de bloqueo se cuentan al detectarlos, justamente porque hacen rollback.
+ */
+@Service
+public class DomainMetrics {
+
+    // status de Payment es texto libre: lo que no esté aquí va como OTHER para acotar las series
+    private static final List<String> PAYMENT_STATUSES = List.of("PAID", "PENDING", "FAILED", "REFUNDED", "CANCELED");
+
+    private final Counter bookingsCreated;
+    private final Counter indexConflicts;
+    private final Counter databaseConflicts;
+    private final Map<String, Counter> paymentsByStatus = new HashMap<>();
+    private final Counter otherPayments;
+    private final Counter autoAssignments;
+    private final Counter manualAssignments;
+    private final Counter reassignments;
+
+    public DomainMetrics(MeterRegistry registry) {
+        bookingsCreated = Counter.builder("hotelapi.bookings")
+                .description("Reservas creadas (confirmadas en BD)")
+                .register(registry);
+        indexConflicts = lockConflicts(registry, "index");
+        databaseConflicts = lockConflicts(registry, "database");
+        for (String status : PAYMENT_STATUSES) {
+            paymentsByStatus.put(status, payments(registry, status));
+        }
+        otherPayments = payments(registry, "OTHER");
+        autoAssignments = assignments(registry, "auto");
+        manualAssignments = assignments(registry, "manual");
+        reassignments = assignments(registry, "reassign");
+    }
+
+    private static Counter lockConflicts(MeterRegistry registry, String source) {
+        return Counter.builder("hotelapi.bookings.lock.conflicts")
+                .description("Reservas rechazadas por noches ya tomadas (index = índice en memoria, database = solapamiento en BD)")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    private static Counter payments(MeterRegistry registry, String status) {
+        return Counter.builder("hotelapi.payments")
+                .description("Pagos registrados o pasados a cada estado")
+                .tag("status", status)
+                .register(registry);
+    }
+
+    private static Counter assignments(MeterRegistry registry, String mode) {
+        return Counter.builder("hotelapi.tasks.assigned")
+                .description("Tareas asignadas a personal (auto = elegido por departamento, manual = vino en el request)")
+                .tag("mode", mode)
+                .register(registry);
+    }
+
+    public void bookingCreated() {
+        afterCommit(bookingsCreated);
+    }
+
+    public void lockConflict(boolean fromIndex) {
+        (fromIndex ? indexConflicts : databaseConflicts).increment();
+    }
+
+    public void payment(String status) {
+        Counter counter = status == null ? null : paymentsByStatus.get(status.toUpperCase(Locale.ROOT));
+        afterCommit(counter != null ? counter : otherPayments);
+    }
+
+    public void taskAssigned(boolean automatic) {
+        afterCommit(automatic ? autoAssignments : manualAssignments);
+    }
+
+    public void taskReassigned() {
+        afterCommit(reassignments);
+    }
+
+    private static void afterCommit(Counter counter) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.increment();
+                }
+            });
+        } else {
+            counter.increment();
+        }
+    }
+}
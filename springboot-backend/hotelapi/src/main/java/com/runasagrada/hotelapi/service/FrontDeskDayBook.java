@@ -0,0 +1,149 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.DayBookDto;
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.ReservationSummaryDto;
+import com.runasagrada.hotelapi.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.hibernate.Hibernate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Libro del día de recepción en memoria: las reservas que tocan hoy
+ * (checkIn <= hoy <= checkOut), de las que salen llegadas, huéspedes en casa y
+ * salidas por hotel.
+ *
+ * Se reconstruye al arrancar y a medianoche (hora local) con una consulta
+ * indexada; entre medias ReservationServiceImpl lo actualiza después de cada
+ * commit. rebuild y los cambios se serializan en el monitor de la clase, así
+ * un commit que llega durante el rebuild se aplica sobre el mapa nuevo. Si entra
+ * o sale del libro se decide al aplicar, contra el día vigente en ese momento:
+ * un cambio registrado antes de medianoche que se confirma después del rebuild
+ * cuenta para el día nuevo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FrontDeskDayBook {
+
+    private static final Comparator<ReservationSummaryDto> BY_ROOM = Comparator
+            .comparing(ReservationSummaryDto::getRoomNumber, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final ReservationRepository reservationRepo;
+
+    private volatile LocalDate day = LocalDate.MIN;
+    private Map<Integer, ReservationSummaryDto> touchingDay = new HashMap<>(); // guardado por this
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${hotelapi.daybook.rebuild-cron:0 0 0 * * *}")
+    public void rebuild() {
+        rebuild(LocalDate.now());
+    }
+
+    public synchronized void rebuild(LocalDate date) {
+        long start = System.nanoTime();
+        Map<Integer, ReservationSummaryDto> fresh = new HashMap<>();
+        for (ReservationSummaryDto r : reservationRepo.findSummariesTouching(date)) {
+            fresh.put(r.getReservationId(), r);
+        }
+        touchingDay = fresh;
+        day = date;
+        log.info("Front desk day book rebuilt for {}: {} reservations in {} ms",
+                date, fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // hotelId null = todos los hoteles
+    public DayBookDto view(Long hotelId) {
+        LocalDate today = LocalDate.now();
+        List<ReservationSummaryDto> arrivals = new ArrayList<>();
+        List<ReservationSummaryDto> inHouse = new ArrayList<>();
+        List<ReservationSummaryDto> departures = new ArrayList<>();
+        synchronized (this) {
+            if (!today.equals(day)) {
+                rebuild(today); // el cron todavía no corrió (o se saltó)
+            }
+            for (ReservationSummaryDto r : touchingDay.values()) {
+                if (hotelId != null && !hotelId.equals(r.getHotelId()))
+                    continue;
+                boolean finished = r.getStatus() == Reservation.Status.FINISHED;
+                if (today.equals(r.getCheckOut())) {
+                    departures.add(r);
+                } else if (!finished) {
+                    inHouse.add(r);
+                    if (today.equals(r.getCheckIn()))
+                        arrivals.add(r);
+                }
+            }
+        }
+        arrivals.sort(BY_ROOM);
+        inHouse.sort(BY_ROOM);
+        departures.sort(BY_ROOM);
+        return new DayBookDto(today, hotelId, arrivals, inHouse, departures);
+    }
+
+    // Alta o cambio de una reserva: entra, se actualiza o sale del libro tras el commit
+    public void record(Reservation r) {
+        LocalDate current = day;
+        Integer id = r.getReservationId();
+        // hoy o mañana (el commit puede caer después del rebuild de medianoche)
+        if (!touches(r.getCheckIn(), r.getCheckOut(), current)
+                && !touches(r.getCheckIn(), r.getCheckOut(), current.plusDays(1))) {
+            afterCommit(() -> remove(id));
+        } else if (Hibernate.isInitialized(r.getRoom()) && Hibernate.isInitialized(r.getUser())) {
+            // habitación y huésped ya cargados (update): el resumen no cuesta consultas
+            ReservationSummaryDto summary = ReservationSummaryDto.from(r);
+            afterCommit(() -> apply(summary));
+        } else {
+            // proxies (create): leerlos aquí serían dos SELECT más en la transacción de escritura;
+            // se lee la proyección una vez confirmada la reserva
+            afterCommit(() -> reservationRepo.findSummaryById(id).ifPresentOrElse(this::apply, () -> remove(id)));
+        }
+    }
+
+    public void forget(Integer reservationId) {
+        afterCommit(() -> remove(reservationId));
+    }
+
+    private synchronized void apply(ReservationSummaryDto summary) {
+        if (touches(summary.getCheckIn(), summary.getCheckOut(), day))
+            touchingDay.put(summary.getReservationId(), summary);
+        else
+            touchingDay.remove(summary.getReservationId());
+    }
+
+    private synchronized void remove(Integer reservationId) {
+        touchingDay.remove(reservationId);
+    }
+
+    private static boolean touches(LocalDate checkIn, LocalDate checkOut, LocalDate date) {
+        return checkIn != null && checkOut != null && !checkIn.isAfter(date) && !checkOut.isBefore(date);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+}
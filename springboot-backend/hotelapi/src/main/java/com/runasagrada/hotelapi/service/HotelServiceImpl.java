@@ -21,8 +21,9 @@ public class HotelServiceImpl implements HotelService {
 
     @Autowired
     private AmenityRepository amenities;
+
     @Autowired
-    private ServiceHelper helper;
+    private CatalogVersions catalogVersions;
 
     @Override
     @Transactional(readOnly = true)
@@ -43,7 +44,7 @@ public class HotelServiceImpl implements HotelService {
             h.setHotelId(null);
         if (amenityIds != null)
             h.setAmenities(resolve(amenityIds));
-        helper.resyncIdentity("hotels", "hotel_id");
+        catalogVersions.bump(CatalogVersions.Resource.HOTELS);
         return hotels.save(h);
     }
 
@@ -73,6 +74,7 @@ public class HotelServiceImpl implements HotelService {
             db.setAmenities(resolve(amenityIds));
 
         validate(db);
+        catalogVersions.bump(CatalogVersions.Resource.HOTELS);
         return hotels.save(db);
     }
 
@@ -81,7 +83,7 @@ public class HotelServiceImpl implements HotelService {
         Hotel db = get(id);
         db.getAmenities().clear();
         hotels.delete(db);
-        helper.resyncIdentity("hotels", "hotel_id");
+        catalogVersions.bump(CatalogVersions.Resource.HOTELS);
     }
 
     private void validate(Hotel h) {
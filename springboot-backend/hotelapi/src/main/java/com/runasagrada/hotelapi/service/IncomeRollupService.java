@@ -0,0 +1,94 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.IncomeRollup;
+import com.runasagrada.hotelapi.model.Payment;
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.repository.IncomeRollupRepository;
+import com.runasagrada.hotelapi.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.Objects;
+
+/**
+ * Mantiene la tabla income_rollup (hotel, mes, total pagado, cantidad).
+ *
+ * PaymentServiceImpl llama a {@link #entryOf} antes y después de cada cambio y
+ * aplica la diferencia con un MERGE en la misma transacción, así que los
+ * ingresos del dashboard se leen con una consulta por mes en vez de recorrer
+ * todos los pagos. {@link #rebuild()} recalcula la tabla desde cero.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class IncomeRollupService {
+
+    private final IncomeRollupRepository rollups;
+    private final PaymentRepository payments;
+
+    // Aporte de un pago al rollup; null si no cuenta (no está PAID, sin fecha o sin hotel)
+    public record Entry(Long hotelId, int incomeMonth, double amount) {
+    }
+
+    public Entry entryOf(Payment p) {
+        if (p == null || p.getStatus() == null || p.getCreatedAt() == null)
+            return null;
+        if (!p.getStatus().trim().equalsIgnoreCase("paid"))
+            return null;
+        Reservation reservation = p.getReservationId();
+        if (reservation == null || reservation.getHotel() == null || reservation.getHotel().getHotelId() == null)
+            return null;
+        YearMonth month = YearMonth.from(p.getCreatedAt().toLocalDateTime());
+        return new Entry(reservation.getHotel().getHotelId(), IncomeRollup.monthKey(month), p.getAmount());
+    }
+
+    public void add(Entry entry) {
+        if (entry != null)
+            rollups.increment(entry.hotelId(), entry.incomeMonth(), entry.amount(), 1);
+    }
+
+    public void subtract(Entry entry) {
+        if (entry != null)
+            rollups.increment(entry.hotelId(), entry.incomeMonth(), -entry.amount(), -1);
+    }
+
+    public void replace(Entry before, Entry after) {
+        if (Objects.equals(before, after))
+            return;
+        subtract(before);
+        add(after);
+    }
+
+    // La reserva cambió de hotel: sus pagos pasan a contar para el nuevo
+    public void moveReservation(Integer reservationId, Long fromHotelId, Long toHotelId) {
+        if (reservationId == null || Objects.equals(fromHotelId, toHotelId))
+            return;
+        for (Payment p : payments.findByReservationId_ReservationId(reservationId)) {
+            Entry after = entryOf(p);
+            if (after == null)
+                continue;
+            if (fromHotelId != null)
+                subtract(new Entry(fromHotelId, after.incomeMonth(), after.amount()));
+            add(after);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public double incomeFor(Long hotelId, YearMonth month) {
+        int key = IncomeRollup.monthKey(month);
+        return hotelId == null ? rollups.sumForMonth(key) : rollups.sumForHotelAndMonth(hotelId, key);
+    }
+
+    public int rebuild() {
+        long start = System.nanoTime();
+        rollups.deleteAllRows();
+        int rows = rollups.rebuildFromPayments();
+        log.info("Income rollup rebuilt: {} rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+}
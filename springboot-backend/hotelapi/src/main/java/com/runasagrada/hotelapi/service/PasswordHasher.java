@@ -0,0 +1,94 @@
+package com.runasagrada.hotelapi.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2-HMAC-SHA256 con sal aleatoria. El hash guardado lleva sus propios
+ * parámetros: "pbkdf2-sha256$iteraciones$sal$hash" (base64), así subir
+ * hotelapi.auth.pbkdf2-iterations no invalida los hashes existentes.
+ *
+ * Las filas viejas en texto plano siguen validando (comparación en tiempo
+ * constante) y needsRehash las marca para reemplazarlas en el próximo login.
+ *
+ * Es CPU pura y lenta a propósito: se llama desde CredentialVerifier, nunca
+ * directo en un hilo de Tomcat.
+ */
+@Service
+public class PasswordHasher {
+
+    public static final String PREFIX = "pbkdf2-sha256$";
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    public PasswordHasher(@Value("${hotelapi.auth.pbkdf2-iterations:310000}") int iterations) {
+        if (iterations < 10_000)
+            throw new IllegalArgumentException("hotelapi.auth.pbkdf2-iterations must be >= 10000");
+        this.iterations = iterations;
+    }
+
+    public String hash(String raw) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(raw, salt, iterations);
+        Base64.Encoder b64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + '$' + b64.encodeToString(salt) + '$' + b64.encodeToString(hash);
+    }
+
+    public boolean matches(String raw, String stored) {
+        if (raw == null || stored == null)
+            return false;
+        if (!stored.startsWith(PREFIX)) {
+            // fila previa al hashing: texto plano
+            return MessageDigest.isEqual(raw.getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3)
+            return false;
+        try {
+            int storedIterations = Integer.parseInt(parts[0]);
+            byte[] salt = Base64.getDecoder().decode(parts[1]);
+            byte[] expected = Base64.getDecoder().decode(parts[2]);
+            return MessageDigest.isEqual(expected, derive(raw, salt, storedIterations));
+        } catch (IllegalArgumentException e) {
+            return false; // hash corrupto
+        }
+    }
+
+    // Texto plano o menos iteraciones que las configuradas
+    public boolean needsRehash(String stored) {
+        if (stored == null || !stored.startsWith(PREFIX))
+            return true;
+        int end = stored.indexOf('$', PREFIX.length());
+        try {
+            return end < 0 || Integer.parseInt(stored.substring(PREFIX.length(), end)) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static byte[] derive(String raw, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(raw.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
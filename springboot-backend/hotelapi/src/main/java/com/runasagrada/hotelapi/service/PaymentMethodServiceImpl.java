@@ -22,9 +22,6 @@ public class PaymentMethodServiceImpl implements PaymentMethodService {
 	@Autowired
 	private UserRepository users;
 
-	@Autowired
-	private ServiceHelper helper;
-
 	@Override
 	@Transactional(readOnly = true)
 	public List<PaymentMethod> list() {
@@ -58,7 +55,6 @@ public class PaymentMethodServiceImpl implements PaymentMethodService {
 				.orElseThrow(() -> new NoSuchElementException("User not found"));
 		pm.setUserId(user);
 
-		helper.resyncIdentity("payment_method", "method_id");
 		return paymentMethods.save(pm);
 	}
 
@@ -2,11 +2,15 @@ package com.runasagrada.hotelapi.service;
 
 import com.runasagrada.hotelapi.model.Payment;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface PaymentService {
 	List<Payment> list();
 
+	// Página por cursor: id > after, filtros opcionales (null = sin filtro)
+	List<Payment> findPage(Integer after, String status, Long hotelId, LocalDate from, LocalDate to, int limit);
+
 	Payment getById(Integer id);
 
 	List<Payment> getByReservationId(Integer reservationId);
@@ -25,5 +29,7 @@ public interface PaymentService {
 
 	double[] calculateIncome(Long hotelId);
 
+	int rebuildIncomeRollup();
+
 	void deleteByReservationId(Integer reservationId);
 }
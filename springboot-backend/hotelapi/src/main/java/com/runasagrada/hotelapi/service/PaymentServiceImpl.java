@@ -7,11 +7,13 @@ import com.runasagrada.hotelapi.repository.PaymentMethodRepository;
 import com.runasagrada.hotelapi.repository.PaymentRepository;
 import com.runasagrada.hotelapi.repository.ReservationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -30,7 +32,10 @@ public class PaymentServiceImpl implements PaymentService {
 	private PaymentMethodRepository paymentMethods;
 
 	@Autowired
-	private ServiceHelper helper;
+	private IncomeRollupService incomeRollups;
+
+	@Autowired
+	private DomainMetrics metrics;
 
 	@Override
 	@Transactional(readOnly = true)
@@ -38,6 +43,18 @@ public class PaymentServiceImpl implements PaymentService {
 		return payments.findAll(Sort.by(Sort.Direction.ASC, "paymentId"));
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public List<Payment> findPage(Integer after, String status, Long hotelId, LocalDate from, LocalDate to,
+			int limit) {
+		return payments.findPage(after == null ? 0 : after, status, hotelId, startOf(from), startOf(to),
+				Limit.of(limit));
+	}
+
+	private static Timestamp startOf(LocalDate day) {
+		return day == null ? null : Timestamp.valueOf(day.atStartOfDay());
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public Payment getById(Integer id) {
@@ -88,13 +105,14 @@ public class PaymentServiceImpl implements PaymentService {
 			payment.setTxReference("pendiente");
 		}
 
-		helper.resyncIdentity("payment", "payment_id");
 		Payment saved = payments.save(payment);
 		if (saved.getTxReference() == null || saved.getTxReference().isBlank()
 				|| "pendiente".equalsIgnoreCase(saved.getTxReference())) {
 			saved.setTxReference("Cobro#" + saved.getPaymentId());
 			saved = payments.save(saved);
 		}
+		incomeRollups.add(incomeRollups.entryOf(saved));
+		metrics.payment(saved.getStatus());
 		return saved;
 	}
 
@@ -102,11 +120,15 @@ public class PaymentServiceImpl implements PaymentService {
 	public Payment update(Integer id, Payment partial) {
 		Payment db = payments.findById(id)
 				.orElseThrow(() -> new NoSuchElementException("Payment not found"));
+		IncomeRollupService.Entry before = incomeRollups.entryOf(db);
 
 		if (partial.getAmount() > 0)
 			db.setAmount(partial.getAmount());
-		if (partial.getStatus() != null && !partial.getStatus().isBlank())
+		if (partial.getStatus() != null && !partial.getStatus().isBlank()
+				&& !partial.getStatus().equals(db.getStatus())) {
 			db.setStatus(partial.getStatus());
+			metrics.payment(partial.getStatus());
+		}
 		if (partial.getTxReference() != null && !partial.getTxReference().isBlank())
 			db.setTxReference(partial.getTxReference());
 
@@ -117,15 +139,17 @@ public class PaymentServiceImpl implements PaymentService {
 			db.setPaymentMethodId(paymentMethod);
 		}
 
-		return payments.save(db);
+		Payment saved = payments.save(db);
+		incomeRollups.replace(before, incomeRollups.entryOf(saved));
+		return saved;
 	}
 
 	@Override
 	public void delete(Integer id) {
 		Payment payment = payments.findById(id)
 				.orElseThrow(() -> new NoSuchElementException("Payment not found"));
+		incomeRollups.subtract(incomeRollups.entryOf(payment));
 		payments.delete(payment);
-		helper.resyncIdentity("payment", "payment_id");
 	}
 
 	@Override
@@ -137,88 +161,24 @@ public class PaymentServiceImpl implements PaymentService {
 		if (toDelete.isEmpty()) {
 			return;
 		}
+		toDelete.forEach(p -> incomeRollups.subtract(incomeRollups.entryOf(p)));
 		payments.deleteAll(toDelete);
-		helper.resyncIdentity("payment", "payment_id");
 	}
 
+	// Servido desde income_rollup: dos lecturas por clave, sin recorrer payments
+	// Sin hotel suma todos los hoteles: los pagos de reservas sin hotel no cuentan (antes sí)
 	@Override
+	@Transactional(readOnly = true)
 	public double[] calculateIncome() {
-		List<Payment> payments = this.payments.findAll();
-
-		LocalDateTime now = LocalDateTime.now();
-		YearMonth currentMonth = YearMonth.from(now);
-		YearMonth previousMonth = currentMonth.minusMonths(1);
-
-		double currentIncome = 0.0;
-		double previousIncome = 0.0;
-
-		for (Payment p : payments) {
-			if (p == null || p.getStatus() == null || p.getCreatedAt() == null)
-				continue;
-			String status = p.getStatus().trim().toLowerCase();
-
-			if (!status.equals("paid"))
-				continue;
-
-			LocalDateTime created = p.getCreatedAt().toLocalDateTime();
-			YearMonth paymentMonth = YearMonth.from(created);
-
-			if (paymentMonth.equals(currentMonth)) {
-				currentIncome += p.getAmount();
-			} else if (paymentMonth.equals(previousMonth)) {
-				previousIncome += p.getAmount();
-			}
-		}
-
-		double delta = 0.0;
-		if (previousIncome > 0) {
-			delta = ((currentIncome - previousIncome) / previousIncome) * 100.0;
-		} else if (currentIncome > 0) {
-			delta = 100.0;
-		}
-
-		delta = Math.round(delta * 10.0) / 10.0;
-
-		return new double[] { currentIncome, delta };
+		return calculateIncome(null);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public double[] calculateIncome(Long hotelId) {
-		List<Payment> payments = this.payments.findAll();
-
-		LocalDateTime now = LocalDateTime.now();
-		YearMonth currentMonth = YearMonth.from(now);
-		YearMonth previousMonth = currentMonth.minusMonths(1);
-
-		double currentIncome = 0.0;
-		double previousIncome = 0.0;
-
-		for (Payment p : payments) {
-			if (p == null || p.getStatus() == null || p.getCreatedAt() == null || p.getReservationId() == null
-					|| p.getReservationId().getHotel() == null)
-				continue;
-			// If hotelId provided, filter payments by reservation.hotel.hotelId
-			if (hotelId != null) {
-				Long payHotelId = p.getReservationId().getHotel().getHotelId();
-				if (payHotelId == null || !hotelId.equals(payHotelId)) {
-					continue;
-				}
-			}
-
-			String status = p.getStatus().trim().toLowerCase();
-
-			if (!status.equals("paid"))
-				continue;
-
-			LocalDateTime created = p.getCreatedAt().toLocalDateTime();
-			YearMonth paymentMonth = YearMonth.from(created);
-
-			if (paymentMonth.equals(currentMonth)) {
-				currentIncome += p.getAmount();
-			} else if (paymentMonth.equals(previousMonth)) {
-				previousIncome += p.getAmount();
-			}
-		}
+		YearMonth currentMonth = YearMonth.now();
+		double currentIncome = incomeRollups.incomeFor(hotelId, currentMonth);
+		double previousIncome = incomeRollups.incomeFor(hotelId, currentMonth.minusMonths(1));
 
 		double delta = 0.0;
 		if (previousIncome > 0) {
@@ -232,4 +192,9 @@ public class PaymentServiceImpl implements PaymentService {
 		return new double[] { currentIncome, delta };
 	}
 
+	@Override
+	public int rebuildIncomeRollup() {
+		return incomeRollups.rebuild();
+	}
+
 }
@@ -0,0 +1,102 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.repository.ReservationCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Mantiene reservation_counters (hotel, mes de creación, tipo de habitación, estado).
+ *
+ * Igual que IncomeRollupService: ReservationServiceImpl toma {@link #entryOf}
+ * antes y después de cada cambio y aplica la diferencia con un MERGE dentro de
+ * la misma transacción. Los resúmenes del dashboard leen estas filas en vez de
+ * hacer COUNT/GROUP BY sobre toda la tabla de reservas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ReservationCounterService {
+
+    private final ReservationCounterRepository counters;
+
+    // Clave de la reserva en los contadores; null si le falta hotel, habitación o estado
+    public record Entry(Long hotelId, int createdMonth, Integer roomId, Reservation.Status status) {
+    }
+
+    public Entry entryOf(Reservation r) {
+        if (r == null || r.getHotel() == null || r.getRoom() == null || r.getStatus() == null)
+            return null;
+        int month = r.getCreatedAt() == null ? 0 : monthKey(YearMonth.from(r.getCreatedAt().toLocalDateTime()));
+        return new Entry(r.getHotel().getHotelId(), month, r.getRoom().getRoomId(), r.getStatus());
+    }
+
+    public void add(Entry entry) {
+        apply(entry, 1);
+    }
+
+    public void subtract(Entry entry) {
+        apply(entry, -1);
+    }
+
+    public void replace(Entry before, Entry after) {
+        if (Objects.equals(before, after))
+            return;
+        subtract(before);
+        add(after);
+    }
+
+    // Cambió el tipo de una habitación: sus reservas pasan a contar para el nuevo tipo
+    public void moveRoom(Integer roomId, Integer fromRoomTypeId, Integer toRoomTypeId) {
+        if (Objects.equals(fromRoomTypeId, toRoomTypeId))
+            return;
+        for (Object[] row : counters.groupReservationsOfRoom(roomId)) {
+            Long hotelId = (Long) row[0];
+            int month = ((Number) row[1]).intValue();
+            String status = ((Reservation.Status) row[2]).name();
+            long n = ((Number) row[3]).longValue();
+            if (fromRoomTypeId != null)
+                counters.incrementForRoomType(hotelId, month, fromRoomTypeId, status, -n);
+            counters.incrementForRoomType(hotelId, month, toRoomTypeId, status, n);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long countFor(Long hotelId, Reservation.Status status, YearMonth month) {
+        int key = monthKey(month);
+        return hotelId == null ? counters.sumByStatusAndMonth(status, key)
+                : counters.sumByHotelStatusAndMonth(hotelId, status, key);
+    }
+
+    // [nombre del tipo, cantidad]
+    @Transactional(readOnly = true)
+    public List<Object[]> countByRoomType(Long hotelId) {
+        return hotelId == null ? counters.sumByRoomType() : counters.sumByRoomTypeAndHotel(hotelId);
+    }
+
+    public int rebuild() {
+        long start = System.nanoTime();
+        counters.deleteAllRows();
+        int rows = counters.rebuildFromReservations();
+        log.info("Reservation counters rebuilt: {} rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    private void apply(Entry entry, long delta) {
+        if (entry != null)
+            counters.incrementForRoom(entry.hotelId(), entry.createdMonth(), entry.roomId(), entry.status().name(),
+                    delta);
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+}
@@ -1,6 +1,8 @@
 package com.runasagrada.hotelapi.service;
 
+import com.runasagrada.hotelapi.model.DayBookDto;
 import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.ReservationDetailDto;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -8,15 +10,20 @@ import java.util.Optional;
 import java.util.Map;
 
 public interface ReservationService {
-        List<Reservation> findAll();
+        // Lecturas: proyección ReservationDetailDto en una sola consulta
+        List<ReservationDetailDto> findAll();
 
-        List<Reservation> findByHotelId(Long hotelId);
+        // Página por cursor: id > after, filtros opcionales (null = sin filtro)
+        List<ReservationDetailDto> findPage(Integer after, Reservation.Status status, Long hotelId,
+                        LocalDate from, LocalDate to, int limit);
 
-        Optional<Reservation> findById(Integer id);
+        List<ReservationDetailDto> findByHotelId(Long hotelId);
 
-        List<Reservation> findByUser(Integer userId);
+        Optional<ReservationDetailDto> findById(Integer id);
 
-        List<Reservation> findByUserOrdered(Integer userId);
+        List<ReservationDetailDto> findByUser(Integer userId);
+
+        List<ReservationDetailDto> findByUserOrdered(Integer userId);
 
         // Crear con status opcional (si es null, se usa default)
         Reservation create(Integer userId, Long hotelId, Integer roomId,
@@ -29,11 +36,17 @@ public interface ReservationService {
 
         void delete(Integer id);
 
-        List<Reservation> findCurrentByUser(Integer userId);
+        List<ReservationDetailDto> findCurrentByUser(Integer userId);
+
+        List<ReservationDetailDto> findHistoryByUser(Integer userId);
 
-        List<Reservation> findHistoryByUser(Integer userId);
+        List<ReservationDetailDto> findForToday();
 
-        List<Reservation> findForToday();
+        // Reservas que todavía no salieron (checkOut >= hoy)
+        List<ReservationDetailDto> findCurrent();
+
+        // Llegadas / en casa / salidas de hoy; hotelId null = todos
+        DayBookDto frontDesk(Long hotelId);
 
         Reservation activate(Integer id, String status);
 
@@ -50,4 +63,6 @@ public interface ReservationService {
         double[] countByHotel(Long hotelId);
 
         Map<String, Long> countByRoomTypeAndHotel(Long hotelId);
+
+        int rebuildCounters();
 }
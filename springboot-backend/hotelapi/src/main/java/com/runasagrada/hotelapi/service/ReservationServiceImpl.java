@@ -1,7 +1,9 @@
 package com.runasagrada.hotelapi.service;
 
+import com.runasagrada.hotelapi.model.DayBookDto;
 import com.runasagrada.hotelapi.model.Hotel;
 import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.ReservationDetailDto;
 import com.runasagrada.hotelapi.model.Room;
 import com.runasagrada.hotelapi.model.RoomLock;
 import com.runasagrada.hotelapi.model.User;
@@ -16,12 +18,12 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.sql.Timestamp;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -46,6 +48,16 @@ public class ReservationServiceImpl implements ReservationService {
     private RoomRepository roomRepo;
     @Autowired
     private RoomLockRepository lockRepo;
+    @Autowired
+    private RoomAvailabilityIndex availability;
+    @Autowired
+    private IncomeRollupService incomeRollups;
+    @Autowired
+    private ReservationCounterService counters;
+    @Autowired
+    private FrontDeskDayBook dayBook;
+    @Autowired
+    private DomainMetrics metrics;
 
     @Override
     public Reservation create(Integer userId, Long hotelId, Integer roomId,
@@ -55,25 +67,29 @@ public class ReservationServiceImpl implements ReservationService {
             throw new IllegalArgumentException("userId, hotelId, roomId, checkIn y checkOut son obligatorios");
         }
 
-        User user = userRepo.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
-        Hotel hotel = hotelRepo.findById(hotelId)
-                .orElseThrow(() -> new EntityNotFoundException("Hotel not found: " + hotelId));
-        Room room = roomRepo.findById(roomId)
-                .orElseThrow(() -> new EntityNotFoundException("Room not found: " + roomId));
-
+        // Referencias (proxies) en vez de cargar User/Hotel/Room: la FK valida la existencia
         Reservation res = new Reservation();
-        res.setUser(user);
-        res.setHotel(hotel);
-        res.setRoom(room);
+        res.setUser(userRepo.getReferenceById(userId));
+        res.setHotel(hotelRepo.getReferenceById(hotelId));
+        res.setRoom(roomRepo.getReferenceById(roomId));
         res.setCheckIn(checkIn);
         res.setCheckOut(checkOut);
 
         // default status si no vino (alineado con el front que inicia en PENDING)
         res.setStatus(status != null ? status : Reservation.Status.PENDING);
 
-        Reservation saved = reservationRepo.save(res);
+        // el id sale de @PooledId, así que save() no inserta: el flush hace que la FK falle aquí
+        Reservation saved;
+        try {
+            saved = reservationRepo.saveAndFlush(res);
+        } catch (DataIntegrityViolationException e) {
+            throw new EntityNotFoundException("User, hotel or room not found: userId=" + userId
+                    + ", hotelId=" + hotelId + ", roomId=" + roomId);
+        }
         createLocks(saved);
+        counters.add(counters.entryOf(saved));
+        dayBook.record(saved);
+        metrics.bookingCreated();
         return saved;
     }
 
@@ -84,9 +100,10 @@ public class ReservationServiceImpl implements ReservationService {
 
         Reservation res = reservationRepo.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Reservation not found: " + id));
+        ReservationCounterService.Entry before = counters.entryOf(res);
 
         // 1) eliminar locks viejos
-        lockRepo.deleteByReservationReservationId(id);
+        releaseLocks(id);
 
         // 2) re-asignar relaciones si llegaron nuevas
         if (userId != null && (res.getUser() == null || !userId.equals(res.getUser().getUserId()))) {
@@ -97,7 +114,9 @@ public class ReservationServiceImpl implements ReservationService {
         if (hotelId != null && (res.getHotel() == null || !hotelId.equals(res.getHotel().getHotelId()))) {
             Hotel hotel = hotelRepo.findById(hotelId)
                     .orElseThrow(() -> new EntityNotFoundException("Hotel not found: " + hotelId));
+            Long previousHotelId = res.getHotel() != null ? res.getHotel().getHotelId() : null;
             res.setHotel(hotel);
+            incomeRollups.moveReservation(id, previousHotelId, hotelId);
         }
         if (roomId != null && (res.getRoom() == null || !roomId.equals(res.getRoom().getRoomId()))) {
             Room room = roomRepo.findById(roomId)
@@ -118,6 +137,8 @@ public class ReservationServiceImpl implements ReservationService {
         // 5) guardar y recrear locks
         Reservation saved = reservationRepo.save(res);
         createLocks(saved);
+        counters.replace(before, counters.entryOf(saved));
+        dayBook.record(saved);
         return saved;
     }
 
@@ -127,113 +148,146 @@ public class ReservationServiceImpl implements ReservationService {
         Reservation res = reservationRepo.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Reservation not found: " + id));
         reservationServiceRepo.deleteByReservationReservationId(id);
-        lockRepo.deleteByReservationReservationId(id);
+        releaseLocks(id);
+        counters.subtract(counters.entryOf(res));
         reservationRepo.delete(res);
+        dayBook.forget(id);
     }
 
     private void createLocks(Reservation reservation) {
-        LocalDate d = reservation.getCheckIn();
-        LocalDate endExclusive = reservation.getCheckOut(); // check-out exclusivo
-
-        while (!d.isAfter(endExclusive.minusDays(1))) {
-            Integer roomId = reservation.getRoom().getRoomId();
-            if (lockRepo.existsByRoomIdAndLockDate(roomId, d)) {
-                throw new IllegalStateException("Room not available on " + d);
-            }
-            lockRepo.save(new RoomLock(roomId, d, reservation));
-            d = d.plusDays(1);
+        Integer roomId = reservation.getRoom().getRoomId();
+        LocalDate checkIn = reservation.getCheckIn();
+        LocalDate checkOut = reservation.getCheckOut(); // check-out exclusivo
+
+        // el índice en memoria reserva el rango (todas las noches o ninguna) ...
+        availability.reserveInTransaction(roomId, checkIn, checkOut).ifPresent(conflict -> {
+            metrics.lockConflict(true);
+            throw new IllegalStateException("Room not available on " + conflict);
+        });
+        // ... y en BD: fila de la habitación bloqueada hasta el commit + una consulta de solapamiento
+        if (roomRepo.lockRoom(roomId) == null) {
+            throw new EntityNotFoundException("Room not found: " + roomId);
         }
+        LocalDate taken = lockRepo.findFirstOverlap(roomId, checkIn, checkOut);
+        if (taken != null) {
+            metrics.lockConflict(false);
+            throw new IllegalStateException("Room not available on " + (taken.isBefore(checkIn) ? checkIn : taken));
+        }
+
+        // un solo intervalo [checkIn, checkOut) por reserva
+        lockRepo.save(new RoomLock(roomId, checkIn, checkOut, reservation));
+    }
+
+    private void releaseLocks(Integer reservationId) {
+        for (Object[] row : lockRepo.findIntervalsByReservation(reservationId)) {
+            availability.releaseInTransaction((Integer) row[0], (LocalDate) row[1], (LocalDate) row[2]);
+        }
+        lockRepo.deleteByReservationReservationId(reservationId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Reservation> findAll() {
-        return reservationRepo.findAll();
+    public List<ReservationDetailDto> findAll() {
+        return reservationRepo.findAllDetails();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<Reservation> findById(Integer id) {
-        return reservationRepo.findById(id);
+    public List<ReservationDetailDto> findPage(Integer after, Reservation.Status status, Long hotelId,
+            LocalDate from, LocalDate to, int limit) {
+        return reservationRepo.findPage(after == null ? 0 : after, status, hotelId, from, to, Limit.of(limit));
     }
 
     @Override
-    public List<Reservation> findByHotelId(Long hotelId) {
-        return reservationRepo.findByHotelHotelId(hotelId);
+    @Transactional(readOnly = true)
+    public Optional<ReservationDetailDto> findById(Integer id) {
+        return reservationRepo.findDetailById(id);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Reservation> findByUser(Integer userId) {
-        return findByUserOrdered(userId);
+    public List<ReservationDetailDto> findByHotelId(Long hotelId) {
+        return reservationRepo.findDetailsByHotel(hotelId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Reservation> findByUserOrdered(Integer userId) {
-        return reservationRepo.findByUserUserIdOrderByCheckInDesc(userId);
+    public List<ReservationDetailDto> findByUser(Integer userId) {
+        return findByUserOrdered(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Reservation> findCurrentByUser(Integer userId) {
-        List<Reservation> all = findByUser(userId);
-        LocalDate today = LocalDate.now();
-        return all.stream()
-                .filter(r -> r.getCheckOut() != null && !r.getCheckOut().isBefore(today))
-                .collect(Collectors.toList());
+    public List<ReservationDetailDto> findByUserOrdered(Integer userId) {
+        return reservationRepo.findDetailsByUser(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Reservation> findHistoryByUser(Integer userId) {
+    public List<ReservationDetailDto> findCurrentByUser(Integer userId) {
+        return reservationRepo.findCurrentDetails(LocalDate.now(), userId);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationDetailDto> findHistoryByUser(Integer userId) {
         return findByUser(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Reservation> findForToday() {
-        LocalDate today = LocalDate.now();
-        return reservationRepo.findAll().stream()
-                .filter(reservation -> {
-                    LocalDate checkIn = reservation.getCheckIn();
-                    LocalDate checkOut = reservation.getCheckOut();
-
-                    // Verificar que las fechas no sean null
-                    if (checkIn == null || checkOut == null) {
-                        return false;
-                    }
-
-                    // La reserva está activa hoy si: checkIn <= hoy < checkOut
-                    return !checkIn.isAfter(today) && today.isBefore(checkOut);
-                })
-                .collect(Collectors.toList());
+    public List<ReservationDetailDto> findForToday() {
+        // La reserva está activa hoy si: checkIn <= hoy < checkOut
+        return reservationRepo.findDetailsActiveOn(LocalDate.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationDetailDto> findCurrent() {
+        return reservationRepo.findCurrentDetails(LocalDate.now(), null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DayBookDto frontDesk(Long hotelId) {
+        return dayBook.view(hotelId);
     }
 
     @Override
     public Reservation activate(Integer id, String status) {
         Reservation res = reservationRepo.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Reservation not found: " + id));
+        ReservationCounterService.Entry before = counters.entryOf(res);
         res.setStatus(Reservation.Status.valueOf(status));
-        return reservationRepo.save(res);
+        Reservation saved = reservationRepo.save(res);
+        counters.replace(before, counters.entryOf(saved));
+        dayBook.record(saved);
+        return saved;
     }
 
     @Override
     public Reservation deactivate(Integer id) {
         Reservation res = reservationRepo.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Reservation not found: " + id));
-        lockRepo.deleteByReservationReservationId(id);
+        ReservationCounterService.Entry before = counters.entryOf(res);
+        releaseLocks(id);
         res.setStatus(Reservation.Status.FINISHED);
-        return reservationRepo.save(res);
+        Reservation saved = reservationRepo.save(res);
+        counters.replace(before, counters.entryOf(saved));
+        dayBook.record(saved);
+        return saved;
     }
 
     public Reservation updateStatus(Integer id, String status) {
         Reservation res = reservationRepo.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Reservation not found: " + id));
         Reservation.Status newStatus = Reservation.Status.valueOf(status.toUpperCase());
+        ReservationCounterService.Entry before = counters.entryOf(res);
         res.setStatus(newStatus);
-        return reservationRepo.save(res);
+        Reservation saved = reservationRepo.save(res);
+        counters.replace(before, counters.entryOf(saved));
+        dayBook.record(saved);
+        return saved;
     }
 
     @Override
@@ -245,77 +299,40 @@ public class ReservationServiceImpl implements ReservationService {
         return reservationService.stream().mapToDouble(rs -> rs.getUnitPrice() * rs.getQty()).sum();
     }
 
+    // KPIs servidos desde reservation_counters
     @Override
+    @Transactional(readOnly = true)
     public double[] count() {
-        LocalDateTime now = LocalDateTime.now();
-        YearMonth current = YearMonth.from(now);
-        YearMonth previous = current.minusMonths(1);
-
-        LocalDateTime curStart = current.atDay(1).atStartOfDay();
-        LocalDateTime curEnd = current.atEndOfMonth().atTime(23, 59, 59, 999_000_000);
-
-        LocalDateTime prevStart = previous.atDay(1).atStartOfDay();
-        LocalDateTime prevEnd = previous.atEndOfMonth().atTime(23, 59, 59, 999_000_000);
-
-        Timestamp tCurStart = Timestamp.valueOf(curStart);
-        Timestamp tCurEnd = Timestamp.valueOf(curEnd);
-        Timestamp tPrevStart = Timestamp.valueOf(prevStart);
-        Timestamp tPrevEnd = Timestamp.valueOf(prevEnd);
-
-        long currentConfirmed = reservationRepo.countByStatusAndCreatedAtBetween(
-                Reservation.Status.CONFIRMED, tCurStart, tCurEnd);
-        long previousConfirmed = reservationRepo.countByStatusAndCreatedAtBetween(
-                Reservation.Status.CONFIRMED, tPrevStart, tPrevEnd);
-
-        double delta;
-        if (previousConfirmed == 0) {
-            delta = currentConfirmed > 0 ? 100.0 : 0.0;
-        } else {
-            delta = ((currentConfirmed - (double) previousConfirmed) / previousConfirmed) * 100.0;
-        }
-
-        delta = Math.round(delta * 10.0) / 10.0;
-
-        return new double[] { currentConfirmed, delta };
+        return countConfirmed(null);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Long> countByRoomType() {
-        List<Object[]> rows = reservationRepo.countByRoomType();
-
-        return rows.stream()
-                .map(r -> Map.entry(
-                        (String) r[0],
-                        (r[1] instanceof Number n) ? n.longValue() : 0L))
-                .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (a, b) -> a,
-                        LinkedHashMap::new));
+        return toSortedMap(counters.countByRoomType(null));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public double[] countByHotel(Long hotelId) {
-        LocalDateTime now = LocalDateTime.now();
-        YearMonth current = YearMonth.from(now);
-        YearMonth previous = current.minusMonths(1);
-
-        LocalDateTime curStart = current.atDay(1).atStartOfDay();
-        LocalDateTime curEnd = current.atEndOfMonth().atTime(23, 59, 59, 999_000_000);
+        return countConfirmed(hotelId);
+    }
 
-        LocalDateTime prevStart = previous.atDay(1).atStartOfDay();
-        LocalDateTime prevEnd = previous.atEndOfMonth().atTime(23, 59, 59, 999_000_000);
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> countByRoomTypeAndHotel(Long hotelId) {
+        return toSortedMap(counters.countByRoomType(hotelId));
+    }
 
-        Timestamp tCurStart = Timestamp.valueOf(curStart);
-        Timestamp tCurEnd = Timestamp.valueOf(curEnd);
-        Timestamp tPrevStart = Timestamp.valueOf(prevStart);
-        Timestamp tPrevEnd = Timestamp.valueOf(prevEnd);
+    @Override
+    public int rebuildCounters() {
+        return counters.rebuild();
+    }
 
-        long currentConfirmed = reservationRepo.countByHotelHotelIdAndStatusAndCreatedAtBetween(hotelId,
-                Reservation.Status.CONFIRMED, tCurStart, tCurEnd);
-        long previousConfirmed = reservationRepo.countByHotelHotelIdAndStatusAndCreatedAtBetween(hotelId,
-                Reservation.Status.CONFIRMED, tPrevStart, tPrevEnd);
+    private double[] countConfirmed(Long hotelId) {
+        YearMonth current = YearMonth.now();
+        long currentConfirmed = counters.countFor(hotelId, Reservation.Status.CONFIRMED, current);
+        long previousConfirmed = counters.countFor(hotelId, Reservation.Status.CONFIRMED, current.minusMonths(1));
 
         double delta;
         if (previousConfirmed == 0) {
@@ -329,10 +346,7 @@ public class ReservationServiceImpl implements ReservationService {
         return new double[] { currentConfirmed, delta };
     }
 
-    @Override
-    public Map<String, Long> countByRoomTypeAndHotel(Long hotelId) {
-        List<Object[]> rows = reservationRepo.countByRoomTypeAndHotel(hotelId);
-
+    private static Map<String, Long> toSortedMap(List<Object[]> rows) {
         return rows.stream()
                 .map(r -> Map.entry(
                         (String) r[0],
@@ -9,6 +9,10 @@ public interface ReservationServiceService {
 
     List<ReservationServiceEntity> getAll();
 
+    // Página por cursor: id > after, filtros opcionales (null = sin filtro)
+    List<ReservationServiceEntity> findPage(Long after, ReservationServiceEntity.Status status,
+            Integer reservationId, Long hotelId, int limit);
+
     ReservationServiceEntity save(ReservationServiceEntity reservationService, Long reservationId, Long serviceId,
             Long scheduleId);
 
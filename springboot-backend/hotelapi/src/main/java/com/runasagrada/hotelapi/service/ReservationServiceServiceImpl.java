@@ -4,8 +4,13 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.runasagrada.hotelapi.config.PooledIdAllocator;
 import com.runasagrada.hotelapi.model.Reservation;
 import com.runasagrada.hotelapi.model.ReservationServiceEntity;
 import com.runasagrada.hotelapi.model.ServiceOffering;
@@ -13,7 +18,9 @@ import com.runasagrada.hotelapi.model.ServiceSchedule;
 import com.runasagrada.hotelapi.repository.ReservationRepository;
 import com.runasagrada.hotelapi.repository.ReservationServiceRepository;
 import com.runasagrada.hotelapi.repository.ServiceOfferingRepository;
+import com.runasagrada.hotelapi.repository.ServiceRatingRepository;
 import com.runasagrada.hotelapi.repository.ServiceScheduleRepository;
+import com.runasagrada.hotelapi.repository.TaskRepository;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -33,7 +40,16 @@ public class ReservationServiceServiceImpl implements ReservationServiceService
     private ServiceScheduleRepository serviceScheduleRepository;
 
     @Autowired
-    private ServiceHelper helper;
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ServiceRatingRepository serviceRatingRepository;
+
+    @Autowired
+    private PooledIdAllocator ids;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @Override
     public Optional<ReservationServiceEntity> searchById(Long id) {
@@ -42,97 +58,112 @@ public class ReservationServiceServiceImpl implements ReservationServiceService
 
     @Override
     public List<ReservationServiceEntity> getAll() {
-        return reservationServiceRepository.findAll();
+        return reservationServiceRepository.findAllWithRating();
     }
 
+    @Override
+    public List<ReservationServiceEntity> findPage(Long after, ReservationServiceEntity.Status status,
+            Integer reservationId, Long hotelId, int limit) {
+        return reservationServiceRepository.findPage(after == null ? 0L : after, status, reservationId, hotelId,
+                Limit.of(limit));
+    }
+
+    /**
+     * Alta: un MERGE sobre uq_res_service_line que inserta la línea o, si la reserva ya
+     * tenía ese servicio y horario, le suma qty (más la lectura de la fila resultante).
+     * Dos altas simultáneas de la misma línea: la que pierde la carrera choca con la
+     * restricción única y al repetir el MERGE ya la encuentra; por eso este método no
+     * abre transacción propia (cada sentencia va en la suya y el reintento no hereda
+     * una transacción marcada para rollback).
+     *
+     * Edición: si la línea queda igual a otra de la reserva, se suma en esa y se borra
+     * (ver {@link #mergeInto}).
+     */
     @Override
     public ReservationServiceEntity save(ReservationServiceEntity reservationService, Long reservationId,
             Long serviceId,
             Long scheduleId) {
-        Reservation targetReservation = reservationRepository
-                .findById(resolveReservationId(reservationService, reservationId))
-                .orElseThrow(() -> new EntityNotFoundException("Reservation not found"));
-
+        Integer targetReservationId = resolveReservationId(reservationService, reservationId);
         Long targetServiceId = resolveServiceId(reservationService, serviceId);
-        ServiceOffering targetService = serviceOfferingRepository.findById(targetServiceId)
-                .orElseThrow(() -> new EntityNotFoundException("Service offering not found"));
-
-        ServiceSchedule targetSchedule = null;
-        Long finalScheduleId = resolveScheduleId(reservationService, scheduleId);
-        if (finalScheduleId != null) {
-            targetSchedule = serviceScheduleRepository.findById(finalScheduleId)
-                    .orElseThrow(() -> new EntityNotFoundException("Service schedule not found"));
+        Long targetScheduleId = resolveScheduleId(reservationService, scheduleId);
+
+        if (reservationService.getId() == null) {
+            return addLine(reservationService, targetReservationId, targetServiceId, targetScheduleId);
         }
 
-        reservationService.setReservation(targetReservation);
-        reservationService.setService(targetService);
-        reservationService.setSchedule(targetSchedule);
-
-        // Before saving, check if there's an existing reservation service for the same
-        // reservation + service + schedule. If so, merge quantities into the existing
-        // row and avoid creating a duplicate.
-        Long rid = targetReservation.getReservationId() != null
-                ? targetReservation.getReservationId().longValue()
-                : null;
-
-        if (rid != null) {
-            List<ReservationServiceEntity> existingList = reservationServiceRepository
-                    .findByReservationReservationId(rid);
-
-            ReservationServiceEntity duplicate = null;
-            for (ReservationServiceEntity rs : existingList) {
-                Long sid = rs.getService() != null ? rs.getService().getId() : null;
-                Long targetSid = targetService != null ? targetService.getId() : null;
-                Long schedId = rs.getSchedule() != null ? rs.getSchedule().getId() : null;
-                Long targetSchedId = targetSchedule != null ? targetSchedule.getId() : null;
-
-                if (sid != null && sid.equals(targetSid)) {
-                    if (schedId == null && targetSchedId == null) {
-                        duplicate = rs;
-                        break;
-                    }
-                    if (schedId != null && targetSchedId != null && schedId.equals(targetSchedId)) {
-                        duplicate = rs;
-                        break;
-                    }
-                }
-            }
+        Optional<Long> mergeTarget = reservationServiceRepository
+                .findLine(targetReservationId, targetServiceId, targetScheduleId)
+                .map(ReservationServiceEntity::getId)
+                .filter(id -> !id.equals(reservationService.getId()));
+        if (mergeTarget.isPresent()) {
+            return new TransactionTemplate(transactionManager).execute(tx -> mergeInto(reservationService,
+                    mergeTarget.get(), targetReservationId, targetServiceId, targetScheduleId));
+        }
+
+        // Referencias (proxies) en vez de cargar reserva/servicio/horario: la FK valida la existencia
+        reservationService.setReservation(reservationRepository.getReferenceById(targetReservationId));
+        reservationService.setService(serviceOfferingRepository.getReferenceById(targetServiceId));
+        reservationService.setSchedule(
+                targetScheduleId == null ? null : serviceScheduleRepository.getReferenceById(targetScheduleId));
+        try {
+            return reservationServiceRepository.save(reservationService);
+        } catch (DataIntegrityViolationException e) {
+            throw notFound(targetReservationId, targetServiceId, targetScheduleId);
+        }
+    }
 
-            if (duplicate != null) {
-                // If duplicate is the same row (update in place), just update values below
-                if (reservationService.getId() == null || !duplicate.getId().equals(reservationService.getId())) {
-                    // Merge: sum quantities and update unit price/status to the incoming values
-                    int incomingQty = reservationService.getQty();
-                    duplicate.setQty(duplicate.getQty() + incomingQty);
-                    if (reservationService.getUnitPrice() != null)
-                        duplicate.setUnitPrice(reservationService.getUnitPrice());
-                    if (reservationService.getStatus() != null)
-                        duplicate.setStatus(reservationService.getStatus());
-
-                    helper.resyncIdentity("reservation_services", "res_service_id");
-                    ReservationServiceEntity saved = reservationServiceRepository.save(duplicate);
-
-                    // If we were updating a different existing row, remove it
-                    if (reservationService.getId() != null && !duplicate.getId().equals(reservationService.getId())) {
-                        try {
-                            reservationServiceRepository.deleteById(reservationService.getId());
-                        } catch (Exception ex) {
-                            // ignore deletion errors, we've already merged
-                        }
-                    }
-                    return saved;
-                }
-                // else duplicate is the same entity being saved; continue to update below
+    private ReservationServiceEntity addLine(ReservationServiceEntity line, Integer reservationId, Long serviceId,
+            Long scheduleId) {
+        long newId = ids.next("reservation_services", "res_service_id");
+        String status = line.getStatus() == null ? null : line.getStatus().name();
+        try {
+            reservationServiceRepository.upsertLine(newId, reservationId, serviceId, scheduleId, line.getQty(),
+                    line.getUnitPrice(), status);
+        } catch (DataIntegrityViolationException e) {
+            // o bien otra alta insertó la misma línea entre el ON y el INSERT (al repetir, el
+            // MERGE la encuentra), o bien una FK: reserva, servicio u horario inexistente
+            try {
+                reservationServiceRepository.upsertLine(newId, reservationId, serviceId, scheduleId, line.getQty(),
+                        line.getUnitPrice(), status);
+            } catch (DataIntegrityViolationException again) {
+                throw notFound(reservationId, serviceId, scheduleId);
             }
         }
+        return reservationServiceRepository.findLine(reservationId, serviceId, scheduleId)
+                .orElseThrow(() -> notFound(reservationId, serviceId, scheduleId));
+    }
+
+    /**
+     * Suma la línea editada en keeperId y la borra, todo en una transacción: si algo falla
+     * (FK, horario borrado) no queda la qty sumada con la línea vieja todavía en pie. Las
+     * tareas pasan a la línea que queda y la calificación también, salvo que esa ya tenga
+     * una, como en la migración V2. El MERGE usa keeperId como id de alta: si la línea
+     * desapareció entre la consulta y ahora, se vuelve a crear con ese id.
+     */
+    private ReservationServiceEntity mergeInto(ReservationServiceEntity line, Long keeperId, Integer reservationId,
+            Long serviceId, Long scheduleId) {
+        Long replacedId = line.getId();
+        try {
+            reservationServiceRepository.upsertLine(keeperId, reservationId, serviceId, scheduleId, line.getQty(),
+                    line.getUnitPrice(), line.getStatus() == null ? null : line.getStatus().name());
+        } catch (DataIntegrityViolationException e) {
+            throw notFound(reservationId, serviceId, scheduleId);
+        }
+        taskRepository.moveToReservationService(replacedId, keeperId);
+        serviceRatingRepository.deleteIfTargetRated(replacedId, keeperId);
+        serviceRatingRepository.moveToReservationService(replacedId, keeperId);
+        reservationServiceRepository.deleteLine(replacedId);
+        return reservationServiceRepository.findLine(reservationId, serviceId, scheduleId)
+                .orElseThrow(() -> notFound(reservationId, serviceId, scheduleId));
+    }
 
-        helper.resyncIdentity("reservation_services", "res_service_id");
-        return reservationServiceRepository.save(reservationService);
+    private static EntityNotFoundException notFound(Integer reservationId, Long serviceId, Long scheduleId) {
+        return new EntityNotFoundException("Reservation, service offering or schedule not found: reservationId="
+                + reservationId + ", serviceId=" + serviceId + ", scheduleId=" + scheduleId);
     }
 
     @Override
     public void delete(Long id) {
-        helper.resyncIdentity("reservation_services", "res_service_id");
         reservationServiceRepository.deleteById(id);
     }
 
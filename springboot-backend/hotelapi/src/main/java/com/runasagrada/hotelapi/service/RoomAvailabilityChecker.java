@@ -0,0 +1,61 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.repository.RoomLockRepository;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compara el índice de disponibilidad contra la tabla RoomLock.
+ * Reporta intervalos bloqueados en BD que el índice no tiene completos, y
+ * habitaciones donde el total de noches no cuadra (p.ej. intervalos solapados).
+ */
+@Service
+@RequiredArgsConstructor
+public class RoomAvailabilityChecker {
+
+    private static final int MAX_REPORTED = 50;
+
+    private final RoomLockRepository lockRepo;
+    private final RoomAvailabilityIndex availability;
+
+    @Transactional(readOnly = true)
+    public List<String> check() {
+        List<String> mismatches = new ArrayList<>();
+        Map<Integer, Integer> nightsPerRoom = new HashMap<>();
+
+        for (Object[] row : lockRepo.findAllIntervals()) {
+            Integer roomId = (Integer) row[0];
+            LocalDate start = (LocalDate) row[1];
+            LocalDate end = (LocalDate) row[2];
+            int nights = (int) ChronoUnit.DAYS.between(start, end);
+            nightsPerRoom.merge(roomId, nights, Integer::sum);
+            int indexed = availability.lockedNights(roomId, start, end);
+            if (indexed != nights) {
+                mismatches.add("room " + roomId + " locked " + start + ".." + end + " but index has "
+                        + indexed + " of " + nights + " nights");
+            }
+        }
+
+        Set<Integer> rooms = new HashSet<>(availability.indexedRooms());
+        rooms.addAll(nightsPerRoom.keySet());
+        for (Integer roomId : rooms) {
+            int expected = nightsPerRoom.getOrDefault(roomId, 0);
+            int indexed = availability.lockedNights(roomId);
+            if (indexed != expected) {
+                mismatches.add("room " + roomId + " has " + expected + " locked nights in the table but index has " + indexed);
+            }
+        }
+        return mismatches.size() > MAX_REPORTED ? mismatches.subList(0, MAX_REPORTED) : mismatches;
+    }
+}
@@ -0,0 +1,367 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.repository.RoomLockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de disponibilidad en memoria construido a partir de los intervalos de RoomLock.
+ *
+ * Cada habitación tiene un bitmap por año (un bit por noche, 6 longs por año),
+ * así que "¿está libre la habitación X entre checkIn y checkOut?" se responde
+ * con unas pocas operaciones de máscara, sin ir a la base de datos.
+ * ReservationServiceImpl y RoomServiceImpl lo mantienen sincronizado. Dentro de
+ * una transacción las noches liberadas siguen marcadas hasta el commit (así
+ * ninguna otra transacción las toma antes de tiempo) y las reservadas se
+ * desmarcan si hay rollback.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoomAvailabilityIndex {
+
+    private final RoomLockRepository lockRepo;
+
+    private volatile ConcurrentHashMap<Integer, RoomCalendar> calendars = new ConcurrentHashMap<>();
+
+    // Reconstruye el índice completo desde la tabla (al arrancar, después del seed)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        ConcurrentHashMap<Integer, RoomCalendar> fresh = new ConcurrentHashMap<>();
+        List<Object[]> rows = lockRepo.findAllIntervals();
+        for (Object[] row : rows) {
+            Integer roomId = (Integer) row[0];
+            fresh.computeIfAbsent(roomId, id -> new RoomCalendar()).set((LocalDate) row[1], (LocalDate) row[2], true);
+        }
+        calendars = fresh;
+        log.info("Room availability index rebuilt: {} rooms, {} lock intervals in {} ms",
+                fresh.size(), rows.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean isFree(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        return firstConflict(roomId, checkIn, checkOut).isEmpty();
+    }
+
+    // Primera noche ocupada dentro de [checkIn, checkOut), si existe
+    public Optional<LocalDate> firstConflict(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        validateRange(checkIn, checkOut);
+        RoomCalendar calendar = calendars.get(roomId);
+        return calendar == null ? Optional.empty() : Optional.ofNullable(calendar.firstSet(checkIn, checkOut));
+    }
+
+    public boolean isLocked(Integer roomId, LocalDate day) {
+        return !isFree(roomId, day, day.plusDays(1));
+    }
+
+    // Habitaciones (en el mismo orden recibido) libres para todo el rango
+    public List<Integer> freeRooms(Collection<Integer> roomIds, LocalDate checkIn, LocalDate checkOut) {
+        validateRange(checkIn, checkOut);
+        List<Integer> free = new ArrayList<>(roomIds.size());
+        for (Integer roomId : roomIds) {
+            RoomCalendar calendar = calendars.get(roomId);
+            if (calendar == null || calendar.firstSet(checkIn, checkOut) == null) {
+                free.add(roomId);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Bloquea el rango de forma atómica: o marca todas las noches o ninguna.
+     * Devuelve la primera noche en conflicto si no se pudo bloquear.
+     */
+    public Optional<LocalDate> reserve(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        validateRange(checkIn, checkOut);
+        return Optional.ofNullable(calendars.computeIfAbsent(roomId, id -> new RoomCalendar())
+                .setIfClear(checkIn, checkOut));
+    }
+
+    public void release(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        validateRange(checkIn, checkOut);
+        RoomCalendar calendar = calendars.get(roomId);
+        if (calendar != null) {
+            calendar.set(checkIn, checkOut, false);
+        }
+    }
+
+    public void releaseRoom(Integer roomId) {
+        calendars.remove(roomId);
+    }
+
+    /**
+     * Igual que reserve(), pero si la transacción actual hace rollback se libera.
+     * Las noches que esta misma transacción ya liberó (un update que mantiene
+     * parte del rango) no cuentan como conflicto.
+     */
+    public Optional<LocalDate> reserveInTransaction(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        Pending tx = pending();
+        if (tx == null) {
+            return reserve(roomId, checkIn, checkOut);
+        }
+        validateRange(checkIn, checkOut);
+        LocalDate conflict = calendars.computeIfAbsent(roomId, id -> new RoomCalendar())
+                .setIfClear(checkIn, checkOut, tx.released(roomId));
+        if (conflict == null) {
+            tx.reserved.add(new Range(roomId, checkIn, checkOut));
+        }
+        return Optional.ofNullable(conflict);
+    }
+
+    // Libera al hacer commit; hasta entonces solo esta transacción puede volver a reservar esas noches
+    public void releaseInTransaction(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        Pending tx = pending();
+        if (tx == null) {
+            release(roomId, checkIn, checkOut);
+            return;
+        }
+        validateRange(checkIn, checkOut);
+        tx.released.add(new Range(roomId, checkIn, checkOut));
+    }
+
+    public void releaseRoomAfterCommit(Integer roomId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseRoom(roomId);
+                }
+            });
+        } else {
+            releaseRoom(roomId);
+        }
+    }
+
+    // Noches bloqueadas de una habitación (lo usa el verificador de consistencia)
+    public int lockedNights(Integer roomId) {
+        RoomCalendar calendar = calendars.get(roomId);
+        return calendar == null ? 0 : calendar.cardinality();
+    }
+
+    public int lockedNights(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        validateRange(checkIn, checkOut);
+        RoomCalendar calendar = calendars.get(roomId);
+        return calendar == null ? 0 : calendar.countSet(checkIn, checkOut);
+    }
+
+    public Collection<Integer> indexedRooms() {
+        return List.copyOf(calendars.keySet());
+    }
+
+    // Cambios pendientes de la transacción en curso (una instancia por transacción)
+    private Pending pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof Pending tx && tx.index() == this) {
+                return tx;
+            }
+        }
+        Pending tx = new Pending();
+        TransactionSynchronizationManager.registerSynchronization(tx);
+        return tx;
+    }
+
+    private record Range(Integer roomId, LocalDate from, LocalDate to) {
+    }
+
+    private final class Pending implements TransactionSynchronization {
+
+        private final List<Range> reserved = new ArrayList<>();
+        private final List<Range> released = new ArrayList<>();
+
+        RoomAvailabilityIndex index() {
+            return RoomAvailabilityIndex.this;
+        }
+
+        List<Range> released(Integer roomId) {
+            return released.stream().filter(r -> r.roomId().equals(roomId)).toList();
+        }
+
+        // Commit: se borran las liberadas y se re-marcan las reservadas (pueden solaparse).
+        // Rollback: al revés. Todas esas noches son de esta transacción, nadie más las tocó.
+        @Override
+        public void afterCompletion(int status) {
+            boolean committed = status == STATUS_COMMITTED;
+            List<Range> clear = committed ? released : reserved;
+            List<Range> keep = committed ? reserved : released;
+            Set<Integer> rooms = new LinkedHashSet<>();
+            clear.forEach(r -> rooms.add(r.roomId()));
+            for (Integer roomId : rooms) {
+                RoomCalendar calendar = calendars.get(roomId);
+                if (calendar != null) {
+                    calendar.replace(forRoom(clear, roomId), forRoom(keep, roomId));
+                }
+            }
+        }
+
+        private List<Range> forRoom(List<Range> ranges, Integer roomId) {
+            return ranges.stream().filter(r -> r.roomId().equals(roomId)).toList();
+        }
+    }
+
+    private static void validateRange(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null || !checkIn.isBefore(checkOut)) {
+            throw new IllegalArgumentException("checkIn must be before checkOut");
+        }
+    }
+
+    /**
+     * Bitmap de una habitación: years[y - firstYear] son 6 longs (bit = día del
+     * año - 1). Se protege con el monitor propio; las operaciones son cortas.
+     */
+    static final class RoomCalendar {
+
+        private static final int WORDS_PER_YEAR = 6; // 366 bits
+
+        private int firstYear;
+        private long[][] years = new long[0][];
+
+        synchronized LocalDate firstSet(LocalDate from, LocalDate toExclusive) {
+            LocalDate last = toExclusive.minusDays(1);
+            for (int year = from.getYear(); year <= last.getYear(); year++) {
+                long[] words = words(year, false);
+                if (words == null) {
+                    continue;
+                }
+                int startBit = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+                int endBit = year == last.getYear() ? last.getDayOfYear() : LocalDate.of(year, 1, 1).lengthOfYear();
+                int bit = firstSetBit(words, startBit, endBit);
+                if (bit >= 0) {
+                    return LocalDate.ofYearDay(year, bit + 1);
+                }
+            }
+            return null;
+        }
+
+        synchronized LocalDate setIfClear(LocalDate from, LocalDate toExclusive) {
+            LocalDate conflict = firstSet(from, toExclusive);
+            if (conflict == null) {
+                set(from, toExclusive, true);
+            }
+            return conflict;
+        }
+
+        // setIfClear ignorando las noches ya tomadas por la propia transacción
+        synchronized LocalDate setIfClear(LocalDate from, LocalDate toExclusive, List<Range> owned) {
+            owned.forEach(r -> set(r.from(), r.to(), false));
+            LocalDate conflict = setIfClear(from, toExclusive);
+            owned.forEach(r -> set(r.from(), r.to(), true));
+            return conflict;
+        }
+
+        synchronized void replace(List<Range> clear, List<Range> keep) {
+            clear.forEach(r -> set(r.from(), r.to(), false));
+            keep.forEach(r -> set(r.from(), r.to(), true));
+        }
+
+        synchronized void set(LocalDate from, LocalDate toExclusive, boolean value) {
+            LocalDate last = toExclusive.minusDays(1);
+            for (int year = from.getYear(); year <= last.getYear(); year++) {
+                long[] words = words(year, value);
+                if (words == null) {
+                    continue;
+                }
+                int startBit = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+                int endBit = year == last.getYear() ? last.getDayOfYear() : LocalDate.of(year, 1, 1).lengthOfYear();
+                for (int i = startBit >>> 6; i <= (endBit - 1) >>> 6; i++) {
+                    long mask = mask(i, startBit, endBit);
+                    words[i] = value ? words[i] | mask : words[i] & ~mask;
+                }
+            }
+        }
+
+        synchronized int countSet(LocalDate from, LocalDate toExclusive) {
+            LocalDate last = toExclusive.minusDays(1);
+            int total = 0;
+            for (int year = from.getYear(); year <= last.getYear(); year++) {
+                long[] words = words(year, false);
+                if (words == null) {
+                    continue;
+                }
+                int startBit = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+                int endBit = year == last.getYear() ? last.getDayOfYear() : LocalDate.of(year, 1, 1).lengthOfYear();
+                for (int i = startBit >>> 6; i <= (endBit - 1) >>> 6; i++) {
+                    total += Long.bitCount(words[i] & mask(i, startBit, endBit));
+                }
+            }
+            return total;
+        }
+
+        synchronized int cardinality() {
+            int total = 0;
+            for (long[] words : years) {
+                if (words != null) {
+                    for (long w : words) {
+                        total += Long.bitCount(w);
+                    }
+                }
+            }
+            return total;
+        }
+
+        private long[] words(int year, boolean create) {
+            if (years.length == 0) {
+                if (!create) {
+                    return null;
+                }
+                firstYear = year;
+                years = new long[1][];
+            } else if (year < firstYear) {
+                if (!create) {
+                    return null;
+                }
+                long[][] grown = new long[years.length + (firstYear - year)][];
+                System.arraycopy(years, 0, grown, firstYear - year, years.length);
+                years = grown;
+                firstYear = year;
+            } else if (year - firstYear >= years.length) {
+                if (!create) {
+                    return null;
+                }
+                long[][] grown = new long[year - firstYear + 1][];
+                System.arraycopy(years, 0, grown, 0, years.length);
+                years = grown;
+            }
+            int slot = year - firstYear;
+            if (years[slot] == null && create) {
+                years[slot] = new long[WORDS_PER_YEAR];
+            }
+            return years[slot];
+        }
+
+        private static int firstSetBit(long[] words, int startBit, int endBit) {
+            for (int i = startBit >>> 6; i <= (endBit - 1) >>> 6; i++) {
+                long hit = words[i] & mask(i, startBit, endBit);
+                if (hit != 0) {
+                    return (i << 6) + Long.numberOfTrailingZeros(hit);
+                }
+            }
+            return -1;
+        }
+
+        // Máscara de los bits [startBit, endBit) que caen en la palabra i
+        private static long mask(int i, int startBit, int endBit) {
+            int lo = Math.max(startBit, i << 6) - (i << 6);
+            int hi = Math.min(endBit, (i + 1) << 6) - (i << 6);
+            long upper = hi == 64 ? -1L : (1L << hi) - 1;
+            return upper & (-1L << lo);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.runasagrada.hotelapi.service;
 
-import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.AvailableRoomDto;
+import com.runasagrada.hotelapi.model.ReservationDetailDto;
 import com.runasagrada.hotelapi.model.Room;
 import com.runasagrada.hotelapi.model.RoomLock;
 
@@ -11,6 +12,10 @@ import java.util.Optional;
 public interface RoomService {
     List<Room> findAll();
 
+    // Página por cursor: id > after, filtros opcionales (null = sin filtro)
+    List<Room> findPage(Integer after, Long hotelId, Integer roomTypeId, Room.ReservationStatus resStatus,
+            int limit);
+
     List<Room> findByHotel(Long hotelId);
 
     List<Room> findByType(Integer roomTypeId);
@@ -31,5 +36,8 @@ public interface RoomService {
 
     List<Room> listByHotelAndType(Long hotelId, Long roomTypeId);
 
-    List<Reservation> getReservations(String roomNum);
+    List<ReservationDetailDto> getReservations(String roomNum);
+
+    List<AvailableRoomDto> findAvailable(Long hotelId, Integer roomTypeId,
+            LocalDate checkIn, LocalDate checkOut, Integer guests);
 }
@@ -1,7 +1,9 @@
 package com.runasagrada.hotelapi.service;
 
+import com.runasagrada.hotelapi.model.AvailableRoomDto;
 import com.runasagrada.hotelapi.model.Hotel;
 import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.ReservationDetailDto;
 import com.runasagrada.hotelapi.model.Room;
 import com.runasagrada.hotelapi.model.RoomLock;
 import com.runasagrada.hotelapi.model.RoomType;
@@ -13,6 +15,7 @@ import com.runasagrada.hotelapi.repository.RoomTypeRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,28 +36,43 @@ public class RoomServiceImpl implements RoomService {
     private final ReservationRepository reservationRepository;
     private final ReservationService reservationService;
     private final PaymentService paymentService;
+    private final RoomAvailabilityIndex availability;
+    private final ReservationCounterService reservationCounters;
+    private final CatalogVersions catalogVersions;
 
     @Override
+    @Transactional(readOnly = true)
     public List<Room> findAll() {
         return roomRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Room> findPage(Integer after, Long hotelId, Integer roomTypeId, Room.ReservationStatus resStatus,
+            int limit) {
+        return roomRepository.findPage(after == null ? 0 : after, hotelId, roomTypeId, resStatus, Limit.of(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Room> findByHotel(Long hotelId) {
         return roomRepository.findByHotelHotelId(hotelId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Room> findByType(Integer roomTypeId) {
         return roomRepository.findByRoomTypeRoomTypeId(roomTypeId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public java.util.Optional<Room> findById(Integer id) {
         return roomRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Room> findByNumber(String number) {
         return roomRepository.findByNumber(number);
     }
@@ -82,6 +100,7 @@ public class RoomServiceImpl implements RoomService {
             room.setResStatus(Room.ReservationStatus.AVAILABLE);
         if (room.getCleStatus() == null)
             room.setCleStatus(Room.CleaningStatus.CLEAN);
+        catalogVersions.bump(CatalogVersions.Resource.ROOMS); // /room-types lista las habitaciones
         return roomRepository.save(room);
     }
 
@@ -99,6 +118,8 @@ public class RoomServiceImpl implements RoomService {
         if (roomTypeId != null && (r.getRoomType() == null || !roomTypeId.equals(r.getRoomType().getRoomTypeId()))) {
             RoomType t = roomTypeRepository.findById(roomTypeId)
                     .orElseThrow(() -> new EntityNotFoundException("RoomType not found: " + roomTypeId));
+            reservationCounters.moveRoom(id, r.getRoomType() != null ? r.getRoomType().getRoomTypeId() : null,
+                    roomTypeId);
             r.setRoomType(t);
         }
 
@@ -123,6 +144,7 @@ public class RoomServiceImpl implements RoomService {
             r.getImages().clear();
             r.getImages().addAll(data.getImages());
         }
+        catalogVersions.bump(CatalogVersions.Resource.ROOMS);
         return r; // dirty checking
     }
 
@@ -142,25 +164,50 @@ public class RoomServiceImpl implements RoomService {
 
         roomLockRepository.deleteByRoomId(id);
         roomRepository.delete(room);
+        availability.releaseRoomAfterCommit(id);
+        catalogVersions.bump(CatalogVersions.Resource.ROOMS);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Room> listByHotel(Long hotelId) {
         return roomRepository.findByHotelId(hotelId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Room> listByHotelAndType(Long hotelId, Long roomTypeId) {
         return roomRepository.findByHotelIdAndTypeId(hotelId, roomTypeId);
     }
 
     @Override
-    public List<Reservation> getReservations(String roomNum) {
-        Optional<Room> room = roomRepository.findByNumber(roomNum);
-        if (room.isPresent()) {
-            List<Reservation> res = roomLockRepository.findReservationsByRoomId(room.get().getRoomId());
-            return res;
+    public List<ReservationDetailDto> getReservations(String roomNum) {
+        return reservationRepository.findDetailsByRoomNumber(roomNum);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailableRoomDto> findAvailable(Long hotelId, Integer roomTypeId,
+            LocalDate checkIn, LocalDate checkOut, Integer guests) {
+        // 1 consulta por proyección para las candidatas; las noches ocupadas se
+        // resuelven contra el índice en memoria, sin tocar room_lock
+        List<AvailableRoomDto> candidates = roomRepository.findAvailabilityCandidates(
+                hotelId, roomTypeId, guests == null ? 1 : guests);
+        List<Integer> ids = new ArrayList<>(candidates.size());
+        for (AvailableRoomDto c : candidates) {
+            ids.add(c.getRoomId());
+        }
+        // freeRooms conserva el orden de ids: basta recorrer ambas listas a la par
+        List<Integer> free = availability.freeRooms(ids, checkIn, checkOut);
+
+        List<AvailableRoomDto> out = new ArrayList<>(free.size());
+        int next = 0;
+        for (AvailableRoomDto c : candidates) {
+            if (next < free.size() && free.get(next).equals(c.getRoomId())) {
+                out.add(c);
+                next++;
+            }
         }
-        return new ArrayList<>();
+        return out;
     }
 }
@@ -18,19 +18,23 @@ public class RoomTypeServiceImpl implements RoomTypeService {
 
     private final RoomTypeRepository roomTypeRepository;
     private final RoomService roomService;
+    private final CatalogVersions catalogVersions;
 
     @Override
+    @Transactional(readOnly = true)
     public List<RoomType> findAll() {
         return roomTypeRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<RoomType> findById(Integer id) {
         return roomTypeRepository.findById(id);
     }
 
     @Override
     public RoomType create(RoomType rt) {
+        catalogVersions.bump(CatalogVersions.Resource.ROOM_TYPES);
         return roomTypeRepository.save(rt);
     }
 
@@ -43,6 +47,7 @@ public class RoomTypeServiceImpl implements RoomTypeService {
         rt.setBasePrice(data.getBasePrice());
         rt.setDescription(data.getDescription());
         rt.setImage(data.getImage());
+        catalogVersions.bump(CatalogVersions.Resource.ROOM_TYPES);
         return rt; // dirty checking
     }
 
@@ -60,5 +65,6 @@ public class RoomTypeServiceImpl implements RoomTypeService {
             rt.getRooms().clear();
         }
         roomTypeRepository.delete(rt);
+        catalogVersions.bump(CatalogVersions.Resource.ROOM_TYPES);
     }
 }
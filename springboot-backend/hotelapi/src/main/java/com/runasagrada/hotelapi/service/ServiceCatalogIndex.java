@@ -0,0 +1,171 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.ServiceOffering;
+import com.runasagrada.hotelapi.repository.ServiceOfferingRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Catálogo de servicios en memoria para los endpoints de gastronomía, tours y
+ * amenities: listas inmutables por categoría, categoría + subcategoría, hotel
+ * y grupos derivados (bienestar, hospedaje, ...).
+ *
+ * Cada rebuild arma un snapshot nuevo y lo publica de una vez (campo volatile);
+ * los lectores nunca ven un catálogo a medias. Se reconstruye al arrancar y
+ * después del commit de cada alta/cambio/baja de servicio u horario.
+ */
+@Slf4j
+@Service
+public class ServiceCatalogIndex {
+
+    // Grupos que antes filtraba ServiceOfferingController por nombre/subcategoría
+    public static final String BIENESTAR = "bienestar";
+    public static final String HOSPEDAJE = "hospedaje";
+    public static final String SERVICIOS = "servicios";
+    public static final String OTROS_TOURS = "otrosTours";
+
+    private static final Map<String, Predicate<ServiceOffering>> GROUPS = Map.of(
+            BIENESTAR, s -> "Hotel".equals(s.getCategory()) && nameHasAny(s, "Spa", "Gimnasio"),
+            HOSPEDAJE, s -> "Hotel".equals(s.getCategory()) && nameHasAny(s, "Suite", "Cabañas"),
+            SERVICIOS, s -> "Hotel".equals(s.getCategory())
+                    && !nameHasAny(s, "Spa", "Gimnasio", "Suite", "Cabañas"),
+            OTROS_TOURS, s -> "Tours".equals(s.getCategory())
+                    && !"Cultural".equals(s.getSubcategory()) && !"Naturaleza".equals(s.getSubcategory()));
+
+    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final TransactionTemplate readTx;
+
+    private volatile Catalog catalog; // null hasta el primer rebuild
+
+    public ServiceCatalogIndex(ServiceOfferingRepository serviceOfferingRepository,
+            PlatformTransactionManager transactionManager) {
+        this.serviceOfferingRepository = serviceOfferingRepository;
+        // transacción propia: en afterCommit la del llamador ya no sirve para leer
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTx.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        List<ServiceOffering> all = readTx.execute(status -> serviceOfferingRepository.findAllForCatalog());
+        catalog = Catalog.of(all);
+        log.info("Service catalog index rebuilt: {} offerings in {} ms",
+                all.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Llamar dentro de la transacción que cambia servicios u horarios
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    public List<ServiceOffering> category(String category) {
+        return current().byCategory.getOrDefault(category, List.of());
+    }
+
+    public List<ServiceOffering> subcategory(String category, String subcategory) {
+        return current().bySubcategory.getOrDefault(category, Map.of()).getOrDefault(subcategory, List.of());
+    }
+
+    public List<ServiceOffering> hotel(Long hotelId) {
+        return current().byHotel.getOrDefault(hotelId, List.of());
+    }
+
+    public List<ServiceOffering> group(String group) {
+        return current().byGroup.getOrDefault(group, List.of());
+    }
+
+    private Catalog current() {
+        Catalog snapshot = catalog;
+        if (snapshot == null) {
+            rebuild(); // lectura antes de ApplicationReadyEvent
+            snapshot = catalog;
+        }
+        return snapshot;
+    }
+
+    private static boolean nameHasAny(ServiceOffering s, String... parts) {
+        String name = s.getName();
+        if (name == null)
+            return false;
+        for (String part : parts) {
+            if (name.contains(part))
+                return true;
+        }
+        return false;
+    }
+
+    private static final class Catalog {
+        final Map<String, List<ServiceOffering>> byCategory;
+        final Map<String, Map<String, List<ServiceOffering>>> bySubcategory;
+        final Map<Long, List<ServiceOffering>> byHotel;
+        final Map<String, List<ServiceOffering>> byGroup;
+
+        private Catalog(Map<String, List<ServiceOffering>> byCategory,
+                Map<String, Map<String, List<ServiceOffering>>> bySubcategory,
+                Map<Long, List<ServiceOffering>> byHotel,
+                Map<String, List<ServiceOffering>> byGroup) {
+            this.byCategory = byCategory;
+            this.bySubcategory = bySubcategory;
+            this.byHotel = byHotel;
+            this.byGroup = byGroup;
+        }
+
+        // Una pasada por la lista; las claves null (subcategoría/hotel) no se indexan
+        static Catalog of(List<ServiceOffering> offerings) {
+            Map<String, List<ServiceOffering>> byCategory = new LinkedHashMap<>();
+            Map<String, Map<String, List<ServiceOffering>>> bySubcategory = new LinkedHashMap<>();
+            Map<Long, List<ServiceOffering>> byHotel = new LinkedHashMap<>();
+            Map<String, List<ServiceOffering>> byGroup = new LinkedHashMap<>();
+            for (ServiceOffering s : offerings) {
+                if (s.getCategory() != null) {
+                    byCategory.computeIfAbsent(s.getCategory(), k -> new ArrayList<>()).add(s);
+                    if (s.getSubcategory() != null) {
+                        bySubcategory.computeIfAbsent(s.getCategory(), k -> new LinkedHashMap<>())
+                                .computeIfAbsent(s.getSubcategory(), k -> new ArrayList<>()).add(s);
+                    }
+                }
+                if (s.getHotel() != null && s.getHotel().getHotelId() != null) {
+                    byHotel.computeIfAbsent(s.getHotel().getHotelId(), k -> new ArrayList<>()).add(s);
+                }
+                GROUPS.forEach((group, test) -> {
+                    if (test.test(s))
+                        byGroup.computeIfAbsent(group, k -> new ArrayList<>()).add(s);
+                });
+            }
+            Map<String, Map<String, List<ServiceOffering>>> frozenSub = new LinkedHashMap<>();
+            bySubcategory.forEach((category, subs) -> frozenSub.put(category, freeze(subs)));
+            return new Catalog(freeze(byCategory), Map.copyOf(frozenSub), freeze(byHotel), freeze(byGroup));
+        }
+
+        private static <K> Map<K, List<ServiceOffering>> freeze(Map<K, List<ServiceOffering>> source) {
+            Map<K, List<ServiceOffering>> frozen = new LinkedHashMap<>();
+            source.forEach((key, list) -> frozen.put(key, List.copyOf(list)));
+            return Map.copyOf(frozen);
+        }
+    }
+}
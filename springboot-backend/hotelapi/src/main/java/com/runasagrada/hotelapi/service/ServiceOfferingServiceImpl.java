@@ -23,7 +23,10 @@ public class ServiceOfferingServiceImpl implements ServiceOfferingService {
     private HotelRepository hotelRepository;
 
     @Autowired
-    private ServiceHelper helper;
+    private ServiceCatalogIndex catalogIndex;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
 
     @Override
     public Optional<ServiceOffering> searchById(Long id) {
@@ -40,19 +43,21 @@ public class ServiceOfferingServiceImpl implements ServiceOfferingService {
         Hotel hotel = hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new EntityNotFoundException("Hotel not found"));
         serviceOffering.setHotel(hotel);
-        helper.resyncIdentity("service_offerings", "service_offering_id");
         serviceOfferingRepository.save(serviceOffering);
+        catalogIndex.refreshAfterCommit();
+        catalogVersions.bump(CatalogVersions.Resource.SERVICE_OFFERINGS);
     }
 
     @Override
     public void delete(Long id) {
-        helper.resyncIdentity("service_offerings", "service_offering_id");
         serviceOfferingRepository.deleteById(id);
+        catalogIndex.refreshAfterCommit();
+        catalogVersions.bump(CatalogVersions.Resource.SERVICE_OFFERINGS);
     }
 
     @Override
     public List<ServiceOffering> findByHotel(Long hotelId) {
-        return serviceOfferingRepository.findByHotel_HotelId(hotelId); // o findByHotel_HotelId(...)
+        return catalogIndex.hotel(hotelId);
     }
 
     @Override
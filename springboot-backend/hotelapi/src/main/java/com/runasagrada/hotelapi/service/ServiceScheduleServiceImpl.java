@@ -19,7 +19,7 @@ public class ServiceScheduleServiceImpl implements ServiceScheduleService {
     private ServiceScheduleRepository serviceScheduleRepository;
 
     @Autowired
-    private ServiceHelper helper;
+    private ServiceCatalogIndex catalogIndex;
 
     @Override
     public List<ServiceSchedule> findByService(ServiceOffering service) {
@@ -38,14 +38,14 @@ public class ServiceScheduleServiceImpl implements ServiceScheduleService {
 
     @Override
     public void save(ServiceSchedule serviceSchedule) {
-        helper.resyncIdentity("service_schedules", "service_schedule_id");
         serviceScheduleRepository.save(serviceSchedule);
+        catalogIndex.refreshAfterCommit();
     }
 
     @Override
     public void delete(Long id) {
-        helper.resyncIdentity("service_schedules", "service_schedule_id");
         serviceScheduleRepository.deleteById(id);
+        catalogIndex.refreshAfterCommit();
     }
 
     @Override
@@ -17,9 +17,6 @@ public class StaffMemberServiceImpl implements StaffMemberService {
 	@Autowired
 	private StaffMemberRepository staffMembers;
 
-	@Autowired
-	private ServiceHelper helper;
-
 	@Override
 	@Transactional(readOnly = true)
 	public List<StaffMember> findAll() {
@@ -42,7 +39,6 @@ public class StaffMemberServiceImpl implements StaffMemberService {
 		validate(staffMember);
 		if (staffMember.getStaffId() != null)
 			staffMember.setStaffId(null);
-		helper.resyncIdentity("staff_members", "staff_id");
 		return staffMembers.save(staffMember);
 	}
 
@@ -65,7 +61,6 @@ public class StaffMemberServiceImpl implements StaffMemberService {
 	public void delete(Long id) {
 		StaffMember db = findById(id);
 		staffMembers.delete(db);
-		helper.resyncIdentity("staff_members", "staff_id");
 	}
 
 	@Override
@@ -4,11 +4,16 @@ import com.runasagrada.hotelapi.model.Task;
 import com.runasagrada.hotelapi.model.Task.TaskStatus;
 import com.runasagrada.hotelapi.model.Task.TaskType;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface TaskService {
 	List<Task> findAll();
 
+	// Página por cursor: id > after, filtros opcionales (null = sin filtro)
+	List<Task> findPage(Long after, TaskStatus status, TaskType type, Long staffId, LocalDate from, LocalDate to,
+			int limit);
+
 	Task findById(Long id);
 
 	Task create(Task task, Long resServiceId);
@@ -9,10 +9,12 @@ import com.runasagrada.hotelapi.repository.RoomRepository;
 import com.runasagrada.hotelapi.repository.ReservationServiceRepository;
 import com.runasagrada.hotelapi.model.ReservationServiceEntity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -33,7 +35,7 @@ public class TaskServiceImpl implements TaskService {
 	private ReservationServiceRepository reservationServices;
 
 	@Autowired
-	private ServiceHelper helper;
+	private DomainMetrics metrics;
 
 	@Override
 	@Transactional(readOnly = true)
@@ -41,6 +43,14 @@ public class TaskServiceImpl implements TaskService {
 		return tasks.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public List<Task> findPage(Long after, TaskStatus status, TaskType type, Long staffId, LocalDate from,
+			LocalDate to, int limit) {
+		return tasks.findPage(after == null ? 0L : after, status, type, staffId,
+				from == null ? null : from.atStartOfDay(), to == null ? null : to.atStartOfDay(), Limit.of(limit));
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public Task findById(Long id) {
@@ -56,6 +66,7 @@ public class TaskServiceImpl implements TaskService {
 			task.setReservationService(reservationService);
 		}
 
+		boolean manual = task.getStaffId() != null;
 		if (task.getStaffId() == null) {
 			List<com.runasagrada.hotelapi.model.StaffMember> candidates = null;
 			if (task.getType() == TaskType.TO_DO) {
@@ -84,16 +95,20 @@ public class TaskServiceImpl implements TaskService {
 		validate(task);
 		if (task.getTaskId() != null)
 			task.setTaskId(null);
-		helper.resyncIdentity("tasks", "task_id");
-		return tasks.save(task);
+		Task saved = tasks.save(task);
+		if (saved.getStaffId() != null)
+			metrics.taskAssigned(!manual);
+		return saved;
 	}
 
 	@Override
 	public Task update(Long id, Task partial, Long resServiceId) {
 		Task db = findById(id);
 
-		if (partial.getStaffId() != null)
+		if (partial.getStaffId() != null && !partial.getStaffId().equals(db.getStaffId())) {
 			db.setStaffId(partial.getStaffId());
+			metrics.taskReassigned();
+		}
 		if (partial.getRoomId() != null)
 			db.setRoomId(partial.getRoomId());
 
@@ -119,7 +134,6 @@ public class TaskServiceImpl implements TaskService {
 	public void delete(Long id) {
 		Task db = findById(id);
 		tasks.delete(db);
-		helper.resyncIdentity("tasks", "task_id");
 	}
 
 	@Override
@@ -0,0 +1,83 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.RevokedToken;
+import com.runasagrada.hotelapi.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * jti de tokens revocados que todavía no vencieron. La verificación solo mira
+ * el mapa en memoria; la tabla revoked_tokens es lo que se comparte entre
+ * instancias: cada una guarda sus revocaciones ahí y cada tanto trae las de
+ * las demás y poda las vencidas.
+ */
+@Slf4j
+@Service
+public class TokenRevocationList {
+
+    // Margen al releer: una revocación con revoked_at anterior a la última
+    // sincronización pero que hizo commit después no se pierde
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository repository;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>(); // jti -> exp (epoch s)
+    private volatile Instant syncedFrom = Instant.EPOCH;
+
+    public TokenRevocationList(RevokedTokenRepository repository) {
+        this.repository = repository;
+    }
+
+    public boolean isRevoked(String jti) {
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * Revoca el jti con un INSERT sobre la PK de revoked_tokens. Devuelve false si ya
+     * estaba revocado (por esta u otra instancia): entre dos canjes simultáneos del
+     * mismo refresh token solo uno gana.
+     */
+    public boolean revoke(String jti, long expiresAt) {
+        Instant now = Instant.now();
+        if (expiresAt <= now.getEpochSecond())
+            return true; // ya vencido: la verificación lo rechaza igual
+        try {
+            repository.insert(jti, Instant.ofEpochSecond(expiresAt), now);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        } finally {
+            remember(jti, expiresAt);
+        }
+    }
+
+    // Solo memoria (lo usa sync con las filas de la tabla)
+    public void remember(String jti, long expiresAt) {
+        revoked.put(jti, expiresAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${hotelapi.auth.revocation-sync-ms:30000}")
+    public void sync() {
+        Instant now = Instant.now();
+        for (RevokedToken t : repository.findByRevokedAtGreaterThanEqual(syncedFrom.minus(SYNC_OVERLAP))) {
+            remember(t.getJti(), t.getExpiresAt().getEpochSecond());
+        }
+        syncedFrom = now;
+
+        long nowSeconds = now.getEpochSecond();
+        revoked.values().removeIf(exp -> exp <= nowSeconds);
+        int pruned = repository.deleteExpired(now);
+        if (pruned > 0)
+            log.debug("Revocation list: {} expired rows pruned, {} live", pruned, revoked.size());
+    }
+}
@@ -0,0 +1,164 @@
+package com.runasagrada.hotelapi.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.runasagrada.hotelapi.model.Role;
+import com.runasagrada.hotelapi.model.User;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tokens firmados con HMAC-SHA256 (formato JWT: header.payload.firma, base64url).
+ * El access token lleva userId, roles y vencimiento, y se verifica sin ir a la
+ * base: firma + exp + lista de revocados en memoria. El refresh token vive más
+ * y es de un solo uso (AuthController lo revoca al canjearlo).
+ *
+ * hotelapi.auth.secret tiene que ser el mismo en todas las instancias; si no
+ * se define se genera uno al arrancar (los tokens no sobreviven un reinicio).
+ */
+@Slf4j
+@Service
+public class TokenService {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64_DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = B64.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.US_ASCII));
+    // Mapper propio: los claims usan los nombres JWT, no el snake_case de la API
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs; // Mac no es thread-safe
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+    private final TokenRevocationList revocations;
+
+    @Autowired
+    public TokenService(@Value("${hotelapi.auth.secret:}") String secret,
+            @Value("${hotelapi.auth.access-ttl:15m}") Duration accessTtl,
+            @Value("${hotelapi.auth.refresh-ttl:7d}") Duration refreshTtl,
+            TokenRevocationList revocations) {
+        this(secretBytes(secret), accessTtl, refreshTtl, revocations);
+    }
+
+    public TokenService(byte[] secret, Duration accessTtl, Duration refreshTtl, TokenRevocationList revocations) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+        this.revocations = revocations;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Claims(String sub, String typ, List<String> roles, long iat, long exp, String jti) {
+        public Integer userId() {
+            return Integer.valueOf(sub);
+        }
+    }
+
+    public record TokenPair(String accessToken, String refreshToken, long expiresIn) {
+    }
+
+    public TokenPair issue(User user) {
+        long now = Instant.now().getEpochSecond();
+        String sub = user.getUserId().toString();
+        List<String> roles = user.getRoles().stream().map(Role::getName).sorted().toList();
+        String access = encode(new Claims(sub, ACCESS, roles, now, now + accessTtl.toSeconds(),
+                UUID.randomUUID().toString()));
+        String refresh = encode(new Claims(sub, REFRESH, null, now, now + refreshTtl.toSeconds(),
+                UUID.randomUUID().toString()));
+        return new TokenPair(access, refresh, accessTtl.toSeconds());
+    }
+
+    // SecurityException si la firma, el tipo, el vencimiento o la revocación no cuadran
+    public Claims verify(String token, String expectedType) {
+        int payloadStart = HEADER.length() + 1;
+        int signatureStart = token == null ? -1 : token.indexOf('.', payloadStart);
+        if (signatureStart < 0 || !token.startsWith(HEADER) || token.charAt(HEADER.length()) != '.')
+            throw new SecurityException("invalid token");
+
+        byte[] expected = sign(token.substring(0, signatureStart));
+        Claims claims;
+        try {
+            byte[] given = B64_DECODER.decode(token.substring(signatureStart + 1));
+            if (!MessageDigest.isEqual(expected, given))
+                throw new SecurityException("invalid token");
+            claims = JSON.readValue(B64_DECODER.decode(token.substring(payloadStart, signatureStart)),
+                    Claims.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new SecurityException("invalid token");
+        }
+
+        if (!expectedType.equals(claims.typ()) || claims.sub() == null || claims.jti() == null)
+            throw new SecurityException("invalid token");
+        if (claims.exp() <= Instant.now().getEpochSecond())
+            throw new SecurityException("expired token");
+        if (revocations.isRevoked(claims.jti()))
+            throw new SecurityException("revoked token");
+        return claims;
+    }
+
+    // false si otro ya lo había revocado
+    public boolean revoke(Claims claims) {
+        return revocations.revoke(claims.jti(), claims.exp());
+    }
+
+    private String encode(Claims claims) {
+        try {
+            String unsigned = HEADER + '.' + B64.encodeToString(JSON.writeValueAsBytes(claims));
+            return unsigned + '.' + B64.encodeToString(sign(unsigned));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] sign(String unsigned) {
+        return macs.get().doFinal(unsigned.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("hotelapi.auth.secret is not set: using a random key, tokens will not survive a restart "
+                    + "nor be accepted by other instances");
+            byte[] random = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES)
+            throw new IllegalStateException("hotelapi.auth.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        return bytes;
+    }
+}
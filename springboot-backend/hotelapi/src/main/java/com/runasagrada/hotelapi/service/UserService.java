@@ -1,6 +1,7 @@
 package com.runasagrada.hotelapi.service;
 
 import com.runasagrada.hotelapi.model.User;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface UserService {
@@ -14,6 +15,9 @@ public interface UserService {
 
     List<User> findAll();
 
+    // Página por cursor: id > after, filtros opcionales (null = sin filtro)
+    List<User> findPage(Integer after, Boolean enabled, String role, LocalDate from, LocalDate to, int limit);
+
     void delete(Integer id);
 
     User updateByAdmin(Integer id, User partial, List<String> roleNames);
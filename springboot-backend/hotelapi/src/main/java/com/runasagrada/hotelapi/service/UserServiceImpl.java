@@ -7,6 +7,7 @@ import com.runasagrada.hotelapi.repository.RoleRepository;
 import com.runasagrada.hotelapi.repository.UserRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
@@ -27,11 +28,11 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private RoleRepository roles;
     @Autowired
-    private ServiceHelper helper;
-    @Autowired
     private ReservationRepository reservationRepo;
     @Autowired
     private ReservationService reservationService;
+    @Autowired
+    private CredentialVerifier credentials;
 
     @Override
     public User register(User u, String roleName) {
@@ -39,15 +40,23 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("email in use");
         Role r = roles.findByName(roleName == null ? "CLIENT" : roleName).orElseThrow();
         u.getRoles().add(r);
-        helper.resyncIdentity("users", "user_id");
+        if (u.getPassword() != null)
+            u.setPassword(credentials.hash(u.getPassword()));
         return users.save(u);
     }
 
     @Override
     public User login(String email, String password) {
-        User u = users.findByEmail(email).orElseThrow(() -> new SecurityException("invalid credentials"));
-        if (!u.getPassword().equals(password))
+        User u = users.findByEmail(email).orElse(null);
+        // Email inexistente: igual se paga un hash (mismo tiempo que una clave incorrecta)
+        CredentialVerifier.Verification check = credentials.verify(password, u == null ? null : u.getPassword());
+        if (!check.matches())
             throw new SecurityException("invalid credentials");
+        if (check.upgradedHash() != null) {
+            // texto plano (filas viejas) o menos iteraciones: se reemplaza con el hash actual
+            u.setPassword(check.upgradedHash());
+            users.save(u);
+        }
         return u;
     }
 
@@ -77,10 +86,20 @@ public class UserServiceImpl implements UserService {
         return users.findAll(Sort.by(Sort.Direction.ASC, "userId"));
     }
 
+    @Override
+    public List<User> findPage(Integer after, Boolean enabled, String role, LocalDate from, LocalDate to,
+            int limit) {
+        return users.findPage(after == null ? 0 : after, enabled, role == null ? null : role.toUpperCase(),
+                startOf(from), startOf(to), Limit.of(limit));
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day == null ? null : day.atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
     @Override
     public void delete(Integer id) {
         users.deleteById(id);
-        helper.resyncIdentity("users", "user_id");
     }
 
     @Override
@@ -93,7 +112,7 @@ public class UserServiceImpl implements UserService {
             u.setEmail(p.getEmail());
         }
         if (p.getPassword() != null && !p.getPassword().isBlank()) {
-            u.setPassword(p.getPassword());
+            u.setPassword(credentials.hash(p.getPassword()));
         }
         if (p.getFullName() != null)
             u.setFullName(p.getFullName());
@@ -126,7 +145,6 @@ public class UserServiceImpl implements UserService {
         }
         // 2) Borrar el usuario
         users.deleteById(id);
-        helper.resyncIdentity("users", "user_id");
     }
 
     public boolean existsByEmail(String email) {
@@ -0,0 +1,343 @@
+-- Esquema inicial (antes lo generaba ddl-auto=update). Hibernate ahora solo lo valida:
+-- cualquier cambio de tablas, columnas o índices va en una migración nueva (V2__..., V3__...).
+-- Los @Index de las entidades quedan como referencia; los índices reales son los de acá.
+--
+-- Los índices van antes de las foreign keys para que H2 los reutilice en vez de crear
+-- uno propio por cada FK (solo reutiliza los que tienen exactamente las columnas de la
+-- FK; junto a los compuestos agrega el suyo). RepositoryQueryPlanTest hace EXPLAIN de cada consulta de los
+-- repositorios y falla si alguna recorre entera una tabla grande.
+
+-- ---------------------------------------------------------------- referencia
+
+create table hotels (
+    hotel_id bigint not null,
+    name varchar(120) not null,
+    latitude varchar(255),
+    longitude varchar(255),
+    description varchar(500),
+    check_in_after varchar(10),
+    check_out_before varchar(10),
+    image varchar(255),
+    primary key (hotel_id)
+);
+
+create table amenities (
+    amenity_id integer not null,
+    name varchar(60) not null unique,
+    image varchar(255),
+    type enum ('HOTEL','ROOM') not null,
+    primary key (amenity_id)
+);
+
+create table hotel_amenities (
+    hotel_id bigint not null,
+    amenity_id integer not null,
+    primary key (amenity_id, hotel_id)
+);
+
+create table room_types (
+    room_type_id integer not null,
+    name varchar(40) not null,
+    capacity integer not null,
+    base_price numeric(10,2) not null,
+    description varchar(300),
+    image varchar(255),
+    primary key (room_type_id),
+    constraint uk_roomtype_name unique (name)
+);
+
+create table rooms (
+    room_id integer not null,
+    hotel_id bigint not null,
+    room_type_id integer not null,
+    number varchar(10) not null,
+    floor integer not null,
+    res_status enum ('AVAILABLE','BOOKED','MAINTENANCE') not null,
+    cle_status enum ('CLEAN','DIRTY') not null,
+    theme_name varchar(255),
+    primary key (room_id),
+    constraint uk_room_hotel_number unique (hotel_id, number)
+);
+
+create table room_images (
+    room_id integer not null,
+    image_url varchar(500) not null
+);
+
+create table role (
+    role_id integer not null,
+    name varchar(20) not null unique,
+    primary key (role_id)
+);
+
+create table departments (
+    department_id bigint not null,
+    hotel_id bigint not null,
+    name varchar(120) not null,
+    primary key (department_id)
+);
+
+create table service_offerings (
+    service_offering_id bigint not null,
+    name varchar(120) not null,
+    category varchar(255) not null,
+    subcategory varchar(255) not null,
+    description varchar(500) not null,
+    base_price float(53) not null,
+    duration_minutes integer not null,
+    max_participants integer not null,
+    latitude float(53) not null,
+    longitude float(53) not null,
+    hotel_id bigint,
+    primary key (service_offering_id)
+);
+
+create table service_offering_images (
+    service_offering_id bigint not null,
+    image_url varchar(500) not null
+);
+
+create table service_schedules (
+    service_schedule_id bigint not null,
+    service_service_offering_id bigint not null,
+    start_time time(6) not null,
+    end_time time(6) not null,
+    is_active boolean not null,
+    primary key (service_schedule_id)
+);
+
+create table service_schedule_days (
+    service_schedule_id bigint not null,
+    day_of_week enum ('DAILY','FRIDAY','MONDAY','SATURDAY','SUNDAY','THURSDAY','TUESDAY','WEDNESDAY') not null,
+    primary key (service_schedule_id, day_of_week)
+);
+
+-- ---------------------------------------------------------------- usuarios y personal
+
+create table users (
+    user_id integer not null,
+    email varchar(120) not null unique,
+    password varchar(255) not null,
+    full_name varchar(120),
+    phone varchar(15),
+    national_id varchar(15),
+    selected_pet varchar(255),
+    created_at timestamp(6) with time zone,
+    enabled boolean,
+    primary key (user_id)
+);
+
+create table user_roles (
+    user_id integer not null,
+    role_id integer not null,
+    primary key (role_id, user_id)
+);
+
+create table staff_members (
+    staff_id bigint not null,
+    user_id integer not null,
+    hotel_id bigint not null,
+    department_id bigint not null,
+    primary key (staff_id)
+);
+
+create table payment_method (
+    payment_method_id integer not null,
+    user_id integer not null,
+    type varchar(255),
+    lastfour varchar(255),
+    holder_name varchar(255),
+    billing_address varchar(255),
+    active boolean,
+    primary key (payment_method_id)
+);
+
+create table revoked_tokens (
+    jti varchar(36) not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone not null,
+    primary key (jti)
+);
+
+-- ---------------------------------------------------------------- operación
+
+create table reservation (
+    reservation_id integer not null,
+    user_id integer not null,
+    hotel_id bigint not null,
+    room_id integer not null,
+    check_in date,
+    check_out date,
+    status enum ('CHECKIN','CONFIRMED','FINISHED','PENDING'),
+    created_at timestamp(6),
+    primary key (reservation_id)
+);
+
+create table room_lock_intervals (
+    lock_id bigint not null,
+    room_id integer not null,
+    start_date date not null,
+    end_date date not null,
+    reservation_id integer,
+    primary key (lock_id)
+);
+
+create table payment (
+    payment_id integer not null,
+    reservation_id integer not null,
+    payment_method_id integer not null,
+    created_at timestamp(6),
+    amount float(53) not null,
+    status varchar(255),
+    tx_reference varchar(255) not null,
+    primary key (payment_id)
+);
+
+create table reservation_services (
+    res_service_id bigint not null,
+    reservation_id integer not null,
+    service_id bigint not null,
+    schedule_id bigint,
+    qty integer not null,
+    unit_price float(53),
+    status enum ('CANCELED','DELIVERED','ORDERED') not null,
+    primary key (res_service_id)
+);
+
+create table service_ratings (
+    rating_id bigint not null,
+    res_service_id bigint not null unique,
+    user_id integer not null,
+    score integer not null,
+    comment varchar(500),
+    created_at timestamp(6) not null,
+    primary key (rating_id)
+);
+
+create table tasks (
+    task_id bigint not null,
+    staff_id bigint not null,
+    room_id integer,
+    res_service_id bigint,
+    type enum ('DELIVERY','GUIDING','TO_DO') not null,
+    status enum ('CANCELED','DONE','IN_PROGRESS','PENDING') not null,
+    created_at timestamp(6) not null,
+    primary key (task_id)
+);
+
+-- ---------------------------------------------------------------- agregados
+
+create table reservation_counters (
+    hotel_id bigint not null,
+    created_month integer not null,
+    room_type_id integer not null,
+    status enum ('CHECKIN','CONFIRMED','FINISHED','PENDING') not null,
+    reservations bigint not null,
+    primary key (created_month, room_type_id, hotel_id, status)
+);
+
+create table income_rollup (
+    hotel_id bigint not null,
+    income_month integer not null,
+    paid_total float(53) not null,
+    paid_count bigint not null,
+    primary key (income_month, hotel_id)
+);
+
+-- PooledIdAllocator también la crea si falta (puede arrancar antes que Flyway)
+create table if not exists id_allocator (
+    table_name varchar(64) not null primary key,
+    next_value bigint not null
+);
+
+-- ---------------------------------------------------------------- índices
+
+create index idx_room_hotel_id on rooms (hotel_id, room_id);
+create index idx_room_type on rooms (room_type_id);
+create index idx_room_number on rooms (number);
+create index idx_room_res_status_id on rooms (res_status, room_id);
+create index idx_room_images_room on room_images (room_id);
+create index idx_hotel_amenities_hotel on hotel_amenities (hotel_id);
+create index idx_department_hotel on departments (hotel_id);
+create index idx_service_offering_hotel on service_offerings (hotel_id);
+create index idx_service_offering_images_offering on service_offering_images (service_offering_id);
+create index idx_service_schedule_offering on service_schedules (service_service_offering_id);
+
+create index idx_users_created_at on users (created_at);
+create index idx_users_national_id on users (national_id);
+create index idx_user_roles_user on user_roles (user_id);
+create index idx_staff_user on staff_members (user_id);
+create index idx_staff_hotel on staff_members (hotel_id);
+create index idx_staff_department on staff_members (department_id);
+create index idx_payment_method_user on payment_method (user_id);
+create index idx_revoked_tokens_revoked_at on revoked_tokens (revoked_at);
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
+
+create index idx_reservation_check_out on reservation (check_out);
+create index idx_reservation_hotel_dates on reservation (hotel_id, check_in, check_out);
+create index idx_reservation_status_id on reservation (status, reservation_id);
+create index idx_reservation_hotel_id on reservation (hotel_id, reservation_id);
+create index idx_reservation_user_check_in on reservation (user_id, check_in);
+create index idx_reservation_room on reservation (room_id);
+create index idx_reservation_created_status on reservation (created_at, status);
+create index idx_room_lock_range on room_lock_intervals (room_id, start_date, end_date);
+create index idx_room_lock_reservation on room_lock_intervals (reservation_id);
+create index idx_payment_status_id on payment (status, payment_id);
+create index idx_payment_created_status on payment (created_at, status);
+create index idx_payment_reservation on payment (reservation_id);
+create index idx_payment_payment_method on payment (payment_method_id);
+create index idx_res_service_status_id on reservation_services (status, res_service_id);
+create index idx_res_service_reservation on reservation_services (reservation_id);
+create index idx_res_service_service on reservation_services (service_id);
+create index idx_res_service_schedule on reservation_services (schedule_id);
+create index idx_service_rating_user on service_ratings (user_id);
+create index idx_task_status_id on tasks (status, task_id);
+create index idx_task_type_id on tasks (type, task_id);
+create index idx_task_staff_status on tasks (staff_id, status);
+create index idx_task_room on tasks (room_id);
+create index idx_task_res_service on tasks (res_service_id);
+create index idx_task_created_at on tasks (created_at);
+
+-- ---------------------------------------------------------------- foreign keys
+
+alter table hotel_amenities add constraint fk_hotel_amenities_hotel foreign key (hotel_id) references hotels;
+alter table hotel_amenities add constraint fk_hotel_amenities_amenity foreign key (amenity_id) references amenities;
+alter table rooms add constraint fk_room_hotel foreign key (hotel_id) references hotels;
+alter table rooms add constraint fk_room_roomtype foreign key (room_type_id) references room_types;
+alter table room_images add constraint fk_room_images_room foreign key (room_id) references rooms;
+alter table departments add constraint fk_department_hotel foreign key (hotel_id) references hotels;
+alter table service_offerings add constraint fk_service_offering_hotel foreign key (hotel_id) references hotels;
+alter table service_offering_images add constraint fk_service_offering_images_offering
+    foreign key (service_offering_id) references service_offerings;
+alter table service_schedules add constraint fk_service_schedule_offering
+    foreign key (service_service_offering_id) references service_offerings;
+alter table service_schedule_days add constraint fk_service_schedule_days_schedule
+    foreign key (service_schedule_id) references service_schedules;
+
+alter table user_roles add constraint fk_user_roles_user foreign key (user_id) references users;
+alter table user_roles add constraint fk_user_roles_role foreign key (role_id) references role;
+alter table staff_members add constraint fk_staff_user foreign key (user_id) references users;
+alter table staff_members add constraint fk_staff_hotel foreign key (hotel_id) references hotels;
+alter table staff_members add constraint fk_staff_department foreign key (department_id) references departments;
+alter table payment_method add constraint fk_payment_method_user foreign key (user_id) references users;
+
+alter table reservation add constraint fk_reservation_user foreign key (user_id) references users;
+alter table reservation add constraint fk_reservation_hotel foreign key (hotel_id) references hotels;
+alter table reservation add constraint fk_reservation_room foreign key (room_id) references rooms;
+alter table room_lock_intervals add constraint fk_room_lock_reservation
+    foreign key (reservation_id) references reservation;
+alter table payment add constraint fk_payment_reservation foreign key (reservation_id) references reservation;
+alter table payment add constraint fk_payment_payment_method
+    foreign key (payment_method_id) references payment_method;
+alter table reservation_services add constraint fk_res_service_reservation
+    foreign key (reservation_id) references reservation;
+alter table reservation_services add constraint fk_res_service_service
+    foreign key (service_id) references service_offerings;
+alter table reservation_services add constraint fk_res_service_schedule
+    foreign key (schedule_id) references service_schedules;
+alter table service_ratings add constraint fk_service_rating_res_service
+    foreign key (res_service_id) references reservation_services;
+alter table service_ratings add constraint fk_service_rating_user foreign key (user_id) references users;
+alter table tasks add constraint fk_task_staff foreign key (staff_id) references staff_members;
+alter table tasks add constraint fk_task_room foreign key (room_id) references rooms;
+alter table tasks add constraint fk_task_res_service foreign key (res_service_id) references reservation_services;
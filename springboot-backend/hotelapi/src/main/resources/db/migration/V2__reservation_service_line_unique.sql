@@ -0,0 +1,49 @@
+-- Una sola línea por (reserva, servicio, horario): pedir de nuevo lo mismo suma qty sobre
+-- esa fila con un MERGE (ReservationServiceRepository.upsertLine) en vez de buscar el
+-- duplicado recorriendo las líneas de la reserva. Sin horario también cuenta como clave
+-- (nulls not distinct).
+--
+-- Antes se deduplicaba en Java y dos altas simultáneas podían dejar filas repetidas: se
+-- juntan en la de menor id (suma de qty), las tareas pasan a esa fila y las calificaciones
+-- de las repetidas se descartan si la que queda ya tiene una.
+
+create temporary table res_service_dupes as
+select d.res_service_id as dupe_id, k.keeper_id
+from reservation_services d
+join (select reservation_id, service_id, schedule_id, min(res_service_id) as keeper_id
+      from reservation_services
+      group by reservation_id, service_id, schedule_id
+      having count(*) > 1) k
+  on k.reservation_id = d.reservation_id and k.service_id = d.service_id
+ and k.schedule_id is not distinct from d.schedule_id
+where d.res_service_id <> k.keeper_id;
+
+update reservation_services r
+set qty = qty + (select sum(d.qty) from reservation_services d
+                 join res_service_dupes x on x.dupe_id = d.res_service_id
+                 where x.keeper_id = r.res_service_id)
+where r.res_service_id in (select keeper_id from res_service_dupes);
+
+update tasks t
+set res_service_id = (select x.keeper_id from res_service_dupes x where x.dupe_id = t.res_service_id)
+where t.res_service_id in (select dupe_id from res_service_dupes);
+
+delete from service_ratings s
+where s.res_service_id in (select dupe_id from res_service_dupes)
+  and (exists (select 1 from service_ratings k join res_service_dupes x on x.keeper_id = k.res_service_id
+               where x.dupe_id = s.res_service_id)
+       or s.rating_id <> (select min(o.rating_id) from service_ratings o
+                          join res_service_dupes xo on xo.dupe_id = o.res_service_id
+                          join res_service_dupes xs on xs.keeper_id = xo.keeper_id
+                          where xs.dupe_id = s.res_service_id));
+
+update service_ratings s
+set res_service_id = (select x.keeper_id from res_service_dupes x where x.dupe_id = s.res_service_id)
+where s.res_service_id in (select dupe_id from res_service_dupes);
+
+delete from reservation_services where res_service_id in (select dupe_id from res_service_dupes);
+
+drop table res_service_dupes;
+
+alter table reservation_services add constraint uq_res_service_line
+    unique nulls not distinct (reservation_id, service_id, schedule_id);
@@ -0,0 +1,5 @@
+-- Sin cambios de esquema: deja constancia de que los índices se declaran solo en las
+-- migraciones. Las entidades ya no llevan @Index; se habían desfasado de V1 (Payment decía
+-- idx_payment_created_at y la base tiene idx_payment_created_status). El comentario de V1
+-- que las daba como referencia queda viejo, pero V1 no se edita: cambiaría su checksum y
+-- validate-on-migrate (perfil durable) rechazaría las bases ya creadas.
@@ -0,0 +1,27 @@
+-- Antes los locks eran una fila por noche en room_lock (room_id, lock_date, reservation_id);
+-- ahora una por estadía en room_lock_intervals. Las noches seguidas de la misma habitación y
+-- reserva se juntan en un intervalo [inicio, fin) y se borra la tabla vieja. En una base que
+-- nunca tuvo room_lock se crea vacía y se borra: no migra nada.
+
+create table if not exists room_lock (
+    room_id integer not null,
+    lock_date date not null,
+    reservation_id integer,
+    primary key (room_id, lock_date)
+);
+
+-- gaps-and-islands: lock_date - row_number() es constante dentro de una racha de noches seguidas.
+-- lock_id sigue a MAX(lock_id); PooledIdAllocator se alinea con MAX(id) la primera vez que ve la tabla
+insert into room_lock_intervals (lock_id, room_id, start_date, end_date, reservation_id)
+select (select coalesce(max(lock_id), 0) from room_lock_intervals)
+           + row_number() over (order by room_id, start_date),
+       room_id, start_date, end_date, reservation_id
+from (select room_id, min(lock_date) as start_date, dateadd(day, 1, max(lock_date)) as end_date,
+             reservation_id
+      from (select room_id, lock_date, reservation_id,
+                   dateadd(day, -row_number() over (partition by room_id, reservation_id order by lock_date),
+                           lock_date) as streak
+            from room_lock) nights
+      group by room_id, reservation_id, streak) intervals;
+
+drop table room_lock;
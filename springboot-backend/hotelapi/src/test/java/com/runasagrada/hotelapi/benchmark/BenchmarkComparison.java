@@ -0,0 +1,90 @@
+package com.runasagrada.hotelapi.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara dos resultados JSON de JMH (-rf json), p.ej. el del commit base y el actual:
+ *
+ * java -cp target/test-classes:... com.runasagrada.hotelapi.benchmark.BenchmarkComparison \
+ * target/jmh-antes.json target/jmh-despues.json [umbral %, por defecto 10]
+ *
+ * Imprime score, error y cambio por benchmark (con sus @Param). Un cambio que empeora más
+ * que el umbral y que además supera la suma de los errores cuenta como regresión; si hay
+ * alguna, sale con código 1.
+ */
+public class BenchmarkComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkComparison <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> e : current.entrySet()) {
+            JsonNode now = e.getValue().get("primaryMetric");
+            JsonNode before = baseline.containsKey(e.getKey()) ? baseline.get(e.getKey()).get("primaryMetric") : null;
+            String unit = now.get("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14s %9s%n", e.getKey(), "-", format(now, unit), "new");
+                continue;
+            }
+            double a = before.get("score").asDouble();
+            double b = now.get("score").asDouble();
+            double change = a == 0 ? 0 : (b - a) / a * 100;
+            // throughput: más es mejor; tiempos (avgt, sample, ss): menos es mejor
+            boolean higherIsBetter = e.getValue().get("mode").asText().equals("thrpt");
+            double worse = higherIsBetter ? -change : change;
+            boolean beyondNoise = Math.abs(b - a) > error(before) + error(now);
+            boolean regression = worse > threshold && beyondNoise;
+            if (regression)
+                regressions++;
+            System.out.printf("%-70s %14s %14s %+8.1f%%%s%n", e.getKey(), format(before, unit), format(now, unit),
+                    change, regression ? "  REGRESSION" : "");
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing))
+                System.out.printf("%-70s %14s %14s %9s%n", missing, "", "-", "removed");
+        }
+        if (regressions > 0) {
+            System.out.printf("%d regression(s) beyond %.0f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    // clave: nombre corto del benchmark + sus parámetros
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String name = result.get("benchmark").asText();
+            StringBuilder key = new StringBuilder(name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1));
+            JsonNode params = result.get("params");
+            if (params != null) {
+                for (Map.Entry<String, JsonNode> p : params.properties()) {
+                    key.append(' ').append(p.getKey()).append('=').append(p.getValue().asText());
+                }
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String format(JsonNode metric, String unit) {
+        return String.format("%.3f %s", metric.get("score").asDouble(), unit);
+    }
+}
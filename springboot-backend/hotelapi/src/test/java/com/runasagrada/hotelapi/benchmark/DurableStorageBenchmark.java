@@ -0,0 +1,114 @@
+package com.runasagrada.hotelapi.benchmark;
+
+import com.runasagrada.hotelapi.HotelapiApplication;
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.Room;
+import com.runasagrada.hotelapi.repository.RoomRepository;
+import com.runasagrada.hotelapi.repository.UserRepository;
+import com.runasagrada.hotelapi.service.ReservationService;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reservas por milisegundo (create() en su propia transacción) según dónde vive la base:
+ *
+ * mem       = jdbc:h2:mem, lo de siempre
+ * file      = perfil durable tal cual (WRITE_DELAY=500: el commit no espera al disco)
+ * file-sync = perfil durable con WRITE_DELAY=0: cada commit se escribe antes de volver
+ *
+ * Levanta el contexto completo (sin servidor web) con el seed de dev; los modos de
+ * archivo usan un directorio temporal que se borra al terminar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DurableStorageBenchmark {
+
+    private static final LocalDate BASE = LocalDate.of(2040, 1, 1);
+
+    @Param({ "mem", "file", "file-sync" })
+    String storage;
+
+    private Path dataDir;
+    private ConfigurableApplicationContext context;
+    private ReservationService reservations;
+    private TransactionTemplate tx;
+    private List<Room> rooms;
+    private Integer userId;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=WARN"));
+        if (storage.equals("mem")) {
+            args.add("--spring.datasource.url=jdbc:h2:mem:durable_bench;DB_CLOSE_DELAY=-1");
+        } else {
+            dataDir = Files.createTempDirectory("hotelapi-durable-bench");
+            args.add("--spring.profiles.active=dev,durable");
+            args.add("--hotelapi.data-dir=" + dataDir);
+            if (storage.equals("file-sync"))
+                args.add("--hotelapi.durable.write-delay-ms=0");
+        }
+        context = new SpringApplicationBuilder(HotelapiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        reservations = context.getBean(ReservationService.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        rooms = context.getBean(RoomRepository.class).findAll();
+        userId = context.getBean(UserRepository.class).findAll().get(0).getUserId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        if (dataDir != null) {
+            try (Stream<Path> files = Files.walk(dataDir)) {
+                for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Reservation book() {
+        // una noche por reserva: recorre las habitaciones y luego avanza un día
+        Room room = rooms.get(cursor % rooms.size());
+        LocalDate checkIn = BASE.plusDays(cursor / rooms.size());
+        cursor++;
+        return tx.execute(status -> reservations.create(userId, room.getHotelId(), room.getRoomId(),
+                checkIn, checkIn.plusDays(1), null));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DurableStorageBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
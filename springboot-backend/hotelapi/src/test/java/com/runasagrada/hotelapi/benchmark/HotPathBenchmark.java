@@ -0,0 +1,180 @@
+package com.runasagrada.hotelapi.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.runasagrada.hotelapi.HotelapiApplication;
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.ReservationServiceEntity;
+import com.runasagrada.hotelapi.model.Room;
+import com.runasagrada.hotelapi.model.Task;
+import com.runasagrada.hotelapi.repository.ReservationRepository;
+import com.runasagrada.hotelapi.repository.RoomRepository;
+import com.runasagrada.hotelapi.service.PaymentService;
+import com.runasagrada.hotelapi.service.ReservationService;
+import com.runasagrada.hotelapi.service.ReservationServiceService;
+import com.runasagrada.hotelapi.service.TaskService;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminos calientes de reservas, cobros y asignación, contra H2 en memoria con los datos
+ * del perfil loadtest (escala reducida: 5 hoteles, 200 habitaciones, ~16k reservas en un año).
+ *
+ * Cada operación de escritura corre en su propia transacción, como la haría un request.
+ * Ejecutar todo y guardar el JSON para comparar entre commits:
+ * mvn -Pbenchmark verify -Djmh.result=target/jmh-antes.json
+ * y luego BenchmarkComparison (ver esa clase).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotPathBenchmark {
+
+    private static final LocalDate BASE = LocalDate.of(2040, 1, 1);
+    private static final int JSON_LIST_SIZE = 200;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate tx;
+    private ReservationService reservations;
+    private PaymentService payments;
+    private ReservationServiceService reservationServices;
+    private TaskService tasks;
+    private ObjectMapper objectMapper;
+
+    private List<Room> rooms;
+    private Integer userId;
+    private List<Long> hotelIds;
+    private List<Long> reservationsWithServices;
+    // reserva futura + servicio y horario de su hotel: el segundo save de cada una ya es merge
+    private List<Object[]> serviceTargets;
+    private List<Reservation> jsonList;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(HotelapiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=loadtest",
+                        "--spring.datasource.url=jdbc:h2:mem:hot_path_bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--hotelapi.loadtest.hotels=5",
+                        "--hotelapi.loadtest.rooms-per-hotel=40",
+                        "--hotelapi.loadtest.users=2000",
+                        "--hotelapi.loadtest.days=365",
+                        "--spring.devtools.restart.enabled=false",
+                        "--logging.level.root=WARN");
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        reservations = context.getBean(ReservationService.class);
+        payments = context.getBean(PaymentService.class);
+        reservationServices = context.getBean(ReservationServiceService.class);
+        tasks = context.getBean(TaskService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        rooms = context.getBean(RoomRepository.class).findAll();
+        userId = jdbc.queryForObject("select min(user_id) from reservation", Integer.class);
+        hotelIds = jdbc.queryForList("select hotel_id from hotels order by hotel_id", Long.class);
+        reservationsWithServices = jdbc.queryForList(
+                "select distinct reservation_id from reservation_services order by reservation_id "
+                        + "fetch first 256 rows only", Long.class);
+        serviceTargets = jdbc.query("""
+                select r.reservation_id, min(s.service_offering_id), min(sc.service_schedule_id)
+                from reservation r
+                join service_offerings s on s.hotel_id = r.hotel_id
+                join service_schedules sc on sc.service_service_offering_id = s.service_offering_id
+                where r.status = 'CONFIRMED'
+                group by r.reservation_id
+                order by r.reservation_id fetch first 64 rows only
+                """, (rs, i) -> new Object[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) });
+
+        // se serializa una vez dentro de la transacción para inicializar las colecciones lazy
+        ReservationRepository reservationRepo = context.getBean(ReservationRepository.class);
+        jsonList = tx.execute(status -> {
+            List<Reservation> list = reservationRepo.findAll(PageRequest.of(0, JSON_LIST_SIZE)).getContent();
+            try {
+                objectMapper.writeValueAsBytes(list);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+            return list;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Reservation createReservation() {
+        // una noche por reserva: recorre las habitaciones y luego avanza un día
+        Room room = rooms.get(cursor % rooms.size());
+        LocalDate checkIn = BASE.plusDays(cursor / rooms.size());
+        cursor++;
+        return tx.execute(status -> reservations.create(userId, room.getHotelId(), room.getRoomId(),
+                checkIn, checkIn.plusDays(1), null));
+    }
+
+    @Benchmark
+    public double[] calculateIncomeAllHotels() {
+        return payments.calculateIncome();
+    }
+
+    @Benchmark
+    public double[] calculateIncomeOneHotel() {
+        return payments.calculateIncome(hotelIds.get(cursor++ % hotelIds.size()));
+    }
+
+    @Benchmark
+    public ReservationServiceEntity saveReservationServiceMerge() {
+        Object[] target = serviceTargets.get(cursor++ % serviceTargets.size());
+        ReservationServiceEntity rs = new ReservationServiceEntity();
+        rs.setQty(1);
+        rs.setUnitPrice(50000.0);
+        return tx.execute(status -> reservationServices.save(rs, (Long) target[0], (Long) target[1],
+                (Long) target[2]));
+    }
+
+    @Benchmark
+    public Task createTaskWithAssignment() {
+        Task task = new Task();
+        task.setType(Task.TaskType.TO_DO);
+        task.setStatus(Task.TaskStatus.PENDING);
+        task.setRoomId(rooms.get(cursor++ % rooms.size()).getRoomId());
+        return tx.execute(status -> tasks.create(task, null));
+    }
+
+    @Benchmark
+    public Double findLumpSumById() {
+        return reservations.findLumpSumById(reservationsWithServices.get(cursor++ % reservationsWithServices.size()));
+    }
+
+    @Benchmark
+    public byte[] serializeReservationList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(jsonList);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(HotPathBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,404 @@
+package com.runasagrada.hotelapi.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga HTTP contra una instancia ya levantada (p.ej. perfil loadtest):
+ *
+ * mvn -Pbenchmark test-compile exec:exec@loadgen -Dloadgen.args="--rate=100 --duration=120"
+ *
+ * Lazo abierto: las llegadas se programan a tasa fija (Poisson) sin esperar respuestas, y la
+ * latencia se mide desde el instante programado, no desde el envío. Así un servidor lento no
+ * frena al generador ni esconde la cola (omisión coordinada); la columna "svc p99" es la
+ * medición ingenua desde el envío, para comparar. Se registran también las respuestas con error.
+ *
+ * Escenarios (--mix=nombre:peso,...):
+ * catalog = GET de hoteles, servicios y horarios
+ * booking = POST /api/reservations, una noche por habitación a partir de --book-from
+ * order   = POST /api/reservservice/add sobre reservas confirmadas o creadas en la corrida
+ * tasks   = GET /api/task/staff/{id}/status/{status}, como el panel del operador
+ * availability = GET /api/availability de 1-7 noches en los próximos --availability-days días,
+ *                la mitad filtrando por tipo de habitación
+ *
+ * Las reservas quedan en la base: para repetir contra la misma instancia, mover --book-from.
+ * --hgrm-dir escribe la distribución completa de cada endpoint (formato .hgrm de HdrHistogram).
+ */
+public class HttpLoadGenerator {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("base-url", "http://localhost:8080");
+        DEFAULTS.put("rate", "50");
+        DEFAULTS.put("duration", "60");
+        DEFAULTS.put("warmup", "10");
+        DEFAULTS.put("mix", "catalog:60,booking:10,order:10,tasks:20");
+        DEFAULTS.put("book-from", "2045-01-01");
+        DEFAULTS.put("availability-days", "90");
+        DEFAULTS.put("timeout", "30");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("hgrm-dir", "");
+    }
+
+    private static final String[] TASK_STATUSES = { "PENDING", "IN_PROGRESS" };
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Duration timeout;
+    private final LocalDate bookFrom;
+    private final int availabilityDays;
+    private final SplittableRandom random;
+    private final HttpClient client;
+    private final ExecutorService executor;
+
+    // datos descubiertos al arrancar
+    private final List<Long> hotelIds = new ArrayList<>();
+    private final List<long[]> rooms = new ArrayList<>(); // room_id, hotel_id, room_type_id
+    private final List<Long> clientIds = new ArrayList<>();
+    private final List<Long> staffIds = new ArrayList<>();
+    private final List<Long> serviceIds = new ArrayList<>();
+    private final Map<Long, List<long[]>> servicesByHotel = new TreeMap<>(); // service_id, precio
+    private final Map<Long, List<Long>> schedulesByService = new TreeMap<>();
+    // reserva confirmada: reservation_id, hotel_id; crece con las reservas de la corrida
+    private final List<long[]> reservations = Collections.synchronizedList(new ArrayList<>());
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private int bookings;
+
+    HttpLoadGenerator(Map<String, String> options) {
+        this.baseUrl = options.get("base-url").replaceAll("/+$", "");
+        this.timeout = Duration.ofSeconds(Long.parseLong(options.get("timeout")));
+        this.bookFrom = LocalDate.parse(options.get("book-from"));
+        this.availabilityDays = Integer.parseInt(options.get("availability-days"));
+        this.random = new SplittableRandom(Long.parseLong(options.get("seed")));
+        this.executor = executor();
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        HttpLoadGenerator generator = new HttpLoadGenerator(options);
+        try {
+            generator.discover();
+            generator.run(Double.parseDouble(options.get("rate")), parseMix(options.get("mix")),
+                    Long.parseLong(options.get("warmup")), Long.parseLong(options.get("duration")));
+            generator.report(System.out, Long.parseLong(options.get("duration")));
+            if (!options.get("hgrm-dir").isBlank())
+                generator.writeDistributions(Path.of(options.get("hgrm-dir")));
+        } finally {
+            generator.executor.shutdownNow();
+        }
+    }
+
+    // --clave=valor; las claves desconocidas son error para no correr con un typo
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = arg.startsWith("--") && eq > 2 ? arg.substring(2, eq) : null;
+            if (key == null || !DEFAULTS.containsKey(key))
+                throw new IllegalArgumentException("unknown option " + arg + ", expected --key=value with key in "
+                        + DEFAULTS.keySet());
+            options.put(key, arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0)
+                weights.put(Scenario.valueOf(kv[0].trim().toUpperCase()), weight);
+        }
+        if (weights.isEmpty())
+            throw new IllegalArgumentException("empty mix: " + mix);
+        return weights;
+    }
+
+    enum Scenario {
+        CATALOG, BOOKING, ORDER, TASKS, AVAILABILITY
+    }
+
+    // Hilos virtuales si la JVM los tiene (21+); el proyecto compila para 17, por eso la reflexión
+    private static ExecutorService executor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger seq = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "loadgen-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    void discover() throws IOException, InterruptedException {
+        for (JsonNode h : get("/api/hotels"))
+            hotelIds.add(h.get("hotel_id").asLong());
+        for (JsonNode r : get("/api/rooms?unpaged=true"))
+            rooms.add(new long[] { r.get("room_id").asLong(), r.get("hotel_id").asLong(),
+                    r.path("room_type_id").asLong() });
+        for (JsonNode s : get("/api/staff-members"))
+            staffIds.add(s.get("staff_id").asLong());
+        for (JsonNode s : get("/api/servoffering")) {
+            long id = s.get("id").asLong();
+            serviceIds.add(id);
+            servicesByHotel.computeIfAbsent(s.get("hotel_id").asLong(), k -> new ArrayList<>())
+                    .add(new long[] { id, Math.round(s.path("base_price").asDouble(50000)) });
+            List<Long> schedules = new ArrayList<>();
+            for (JsonNode sc : get("/api/servoffering/services/" + id + "/schedules"))
+                schedules.add(sc.get("id").asLong());
+            schedulesByService.put(id, schedules);
+        }
+        // los clientes salen de las reservas: /api/users con volumen de loadtest es enorme
+        for (JsonNode r : get("/api/reservations?status=CONFIRMED&limit=500")) {
+            reservations.add(new long[] { r.get("reservation_id").asLong(), r.get("hotel_id").asLong() });
+            clientIds.add(r.get("user_id").asLong());
+        }
+        if (hotelIds.isEmpty() || rooms.isEmpty() || clientIds.isEmpty())
+            throw new IllegalStateException("no hotels, rooms or reservations at " + baseUrl + ", is the data seeded?");
+        System.out.printf("discovered %d hotels, %d rooms, %d services, %d staff, %d reservations%n",
+                hotelIds.size(), rooms.size(), serviceIds.size(), staffIds.size(), reservations.size());
+    }
+
+    private JsonNode get(String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200)
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        return mapper.readTree(response.body());
+    }
+
+    void run(double rate, Map<Scenario, Integer> mix, long warmupSeconds, long durationSeconds)
+            throws InterruptedException {
+        Scenario[] wheel = mix.entrySet().stream()
+                .flatMap(e -> Collections.nCopies(e.getValue(), e.getKey()).stream())
+                .toArray(Scenario[]::new);
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        System.out.printf("open loop at %.0f req/s: %ds warmup + %ds measured, mix %s%n", rate, warmupSeconds,
+                durationSeconds, mix);
+
+        double intended = start;
+        while (intended < end) {
+            long due = (long) intended;
+            for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime())
+                LockSupport.parkNanos(wait);
+            fire(wheel[random.nextInt(wheel.length)], due, due >= measureFrom);
+            // llegadas Poisson: huecos exponenciales con media 1/rate
+            intended += -Math.log(1 - random.nextDouble()) * meanGapNanos;
+        }
+        long drainUntil = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil)
+            Thread.sleep(10);
+    }
+
+    private void fire(Scenario scenario, long intendedNanos, boolean measured) {
+        Call call = switch (scenario) {
+            case CATALOG -> catalog();
+            case BOOKING -> booking();
+            case ORDER -> order();
+            case TASKS -> new Call("GET /api/task/staff/{id}/status/{status}", "/api/task/staff/"
+                    + pick(staffIds) + "/status/" + TASK_STATUSES[random.nextInt(TASK_STATUSES.length)], null);
+            case AVAILABILITY -> availability();
+        };
+        if (call == null)
+            return;
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + call.path)).timeout(timeout);
+        if (call.body == null) {
+            request.GET();
+        } else {
+            request.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(call.body));
+        }
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        long sent = System.nanoTime();
+        client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            long now = System.nanoTime();
+            inFlight.decrementAndGet();
+            int status = response != null ? response.statusCode() : 0;
+            if (measured) {
+                stats.computeIfAbsent(call.endpoint, k -> new Stats())
+                        .record(now - intendedNanos, now - sent, status);
+            }
+            if (scenario == Scenario.BOOKING && status == 201)
+                remember(response.body());
+        });
+    }
+
+    private Call catalog() {
+        Long hotelId = pick(hotelIds);
+        Long serviceId = pick(serviceIds);
+        return switch (serviceId == null ? 0 : random.nextInt(5)) {
+            case 0 -> new Call("GET /api/hotels", "/api/hotels", null);
+            case 1 -> new Call("GET /api/servoffering", "/api/servoffering", null);
+            case 2 -> new Call("GET /api/servoffering/{id}", "/api/servoffering/" + serviceId, null);
+            case 3 -> new Call("GET /api/servoffering/hotels/{hotelId}/services",
+                    "/api/servoffering/hotels/" + hotelId + "/services", null);
+            default -> new Call("GET /api/servoffering/services/{serviceId}/schedules",
+                    "/api/servoffering/services/" + serviceId + "/schedules", null);
+        };
+    }
+
+    private Call booking() {
+        // una noche por reserva: recorre las habitaciones y luego avanza un día
+        long[] room = rooms.get(bookings % rooms.size());
+        LocalDate checkIn = bookFrom.plusDays(bookings / rooms.size());
+        bookings++;
+        String body = String.format(
+                "{\"userId\":%d,\"hotelId\":%d,\"roomId\":%d,\"checkIn\":\"%s\",\"checkOut\":\"%s\"}",
+                pick(clientIds), room[1], room[0], checkIn, checkIn.plusDays(1));
+        return new Call("POST /api/reservations", "/api/reservations", body);
+    }
+
+    private Call availability() {
+        long[] room = rooms.get(random.nextInt(rooms.size()));
+        LocalDate checkIn = LocalDate.now().plusDays(random.nextInt(Math.max(1, availabilityDays)));
+        String path = "/api/availability?hotelId=" + room[1]
+                + (random.nextBoolean() ? "&roomTypeId=" + room[2] : "")
+                + "&checkIn=" + checkIn + "&checkOut=" + checkIn.plusDays(1 + random.nextInt(7))
+                + "&guests=" + (1 + random.nextInt(2));
+        return new Call("GET /api/availability", path, null);
+    }
+
+    private Call order() {
+        long[] reservation;
+        synchronized (reservations) {
+            if (reservations.isEmpty())
+                return null;
+            reservation = reservations.get(random.nextInt(reservations.size()));
+        }
+        List<long[]> services = servicesByHotel.get(reservation[1]);
+        if (services == null)
+            return null;
+        long[] service = services.get(random.nextInt(services.size()));
+        Long schedule = pick(schedulesByService.get(service[0]));
+        String body = String.format(
+                "{\"reservation_id\":%d,\"service_id\":%d,%s\"qty\":%d,\"unit_price\":%d}",
+                reservation[0], service[0], schedule == null ? "" : "\"schedule_id\":" + schedule + ",",
+                1 + random.nextInt(3), service[1]);
+        return new Call("POST /api/reservservice/add", "/api/reservservice/add", body);
+    }
+
+    private void remember(byte[] body) {
+        try {
+            JsonNode created = mapper.readTree(body);
+            reservations.add(new long[] { created.get("reservation_id").asLong(), created.get("hotel_id").asLong() });
+        } catch (IOException | RuntimeException e) {
+            // la reserva ya se contó; solo no se usa para pedir servicios
+        }
+    }
+
+    private <T> T pick(List<T> list) {
+        return list == null || list.isEmpty() ? null : list.get(random.nextInt(list.size()));
+    }
+
+    void report(PrintStream out, long durationSeconds) {
+        out.printf("%nlatency in ms from the scheduled start (coordinated omission corrected), max in flight %d%n",
+                maxInFlight.get());
+        out.printf("%-56s %8s %7s %8s %8s %8s %8s %8s %8s %9s  %s%n", "endpoint", "count", "errors", "req/s", "p50",
+                "p90", "p99", "p99.9", "max", "svc p99", "status");
+        Stats total = new Stats();
+        for (Map.Entry<String, Stats> e : new TreeMap<>(stats).entrySet()) {
+            row(out, e.getKey(), e.getValue(), durationSeconds);
+            total.add(e.getValue());
+        }
+        row(out, "total", total, durationSeconds);
+    }
+
+    private static void row(PrintStream out, String endpoint, Stats s, long durationSeconds) {
+        Histogram h = s.response;
+        out.printf("%-56s %8d %7d %8.1f %8.2f %8.2f %8.2f %8.2f %8.2f %9.2f  %s%n", endpoint, h.getTotalCount(),
+                s.errors.sum(), h.getTotalCount() / (double) durationSeconds, ms(h.getValueAtPercentile(50)),
+                ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)),
+                ms(h.getMaxValue()), ms(s.service.getValueAtPercentile(99)), s.statusSummary());
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    void writeDistributions(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (Map.Entry<String, Stats> e : stats.entrySet()) {
+            String name = e.getKey().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(name + ".hgrm")))) {
+                e.getValue().response.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println("distributions written to " + dir.toAbsolutePath());
+    }
+
+    private record Call(String endpoint, String path, String body) {
+    }
+
+    // en microsegundos; status 0 = sin respuesta (timeout, conexión rechazada)
+    private static final class Stats {
+        final Histogram response = new ConcurrentHistogram(3);
+        final Histogram service = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(long responseNanos, long serviceNanos, int status) {
+            response.recordValue(TimeUnit.NANOSECONDS.toMicros(responseNanos));
+            service.recordValue(TimeUnit.NANOSECONDS.toMicros(serviceNanos));
+            statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+            if (status < 200 || status >= 300)
+                errors.increment();
+        }
+
+        void add(Stats other) {
+            response.add(other.response);
+            service.add(other.service);
+            errors.add(other.errors.sum());
+            other.statuses.forEach((k, v) -> statuses.computeIfAbsent(k, x -> new LongAdder()).add(v.sum()));
+        }
+
+        String statusSummary() {
+            StringBuilder sb = new StringBuilder();
+            new TreeMap<>(statuses).forEach((k, v) -> sb.append(sb.length() == 0 ? "" : " ").append(k).append('x')
+                    .append(v.sum()));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.runasagrada.hotelapi.benchmark;
+
+import com.runasagrada.hotelapi.config.PooledIdAllocator;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts concurrentes: IDENTITY + el antiguo resyncIdentity (SELECT MAX + ALTER TABLE ... RESTART)
+ * antes de cada insert vs ids tomados de PooledIdAllocator.
+ *
+ * Con varios hilos el resync reinicia la secuencia a un MAX ya obsoleto y algunos
+ * inserts chocan por PK; se cuentan aparte (duplicateKeys) y no como inserts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class IdAllocationBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:id_bench;DB_CLOSE_DELAY=-1";
+
+    private JdbcDataSource dataSource;
+    private PooledIdAllocator allocator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL(URL);
+        try (Connection con = dataSource.getConnection(); Statement st = con.createStatement()) {
+            st.execute("drop table if exists bench_identity");
+            st.execute("drop table if exists bench_pooled");
+            st.execute("drop table if exists id_allocator");
+            st.execute("create table bench_identity (id bigint generated by default as identity primary key, "
+                    + "payload varchar(40))");
+            st.execute("create table bench_pooled (id bigint primary key, payload varchar(40))");
+            // en la aplicación la crea Flyway (V1)
+            st.execute("create table id_allocator (table_name varchar(64) not null primary key, "
+                    + "next_value bigint not null)");
+        }
+        allocator = new PooledIdAllocator(dataSource, 50);
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        Connection connection;
+        PreparedStatement insertIdentity;
+        PreparedStatement insertPooled;
+
+        @Setup(Level.Trial)
+        public void open(IdAllocationBenchmark bench) throws SQLException {
+            connection = bench.dataSource.getConnection();
+            insertIdentity = connection.prepareStatement("insert into bench_identity (payload) values (?)");
+            insertPooled = connection.prepareStatement("insert into bench_pooled (id, payload) values (?, ?)");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long inserts;
+        public long duplicateKeys;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            inserts = 0;
+            duplicateKeys = 0;
+        }
+    }
+
+    @Benchmark
+    public void identityWithResync(Session s, Outcome outcome) throws SQLException {
+        // lo que hacía ServiceHelper.resyncIdentity antes de cada save
+        try (Statement st = s.connection.createStatement()) {
+            long max;
+            try (ResultSet rs = st.executeQuery("select coalesce(max(id), 0) from bench_identity")) {
+                rs.next();
+                max = rs.getLong(1);
+            }
+            st.execute("alter table bench_identity alter column id restart with " + (max + 1));
+        } catch (SQLException ignored) {
+            // igual que antes: si el ALTER falla se ignora
+        }
+        s.insertIdentity.setString(1, "payload");
+        try {
+            outcome.inserts += s.insertIdentity.executeUpdate();
+        } catch (SQLIntegrityConstraintViolationException e) {
+            outcome.duplicateKeys++;
+        }
+    }
+
+    @Benchmark
+    public void pooledAllocator(Session s, Outcome outcome) throws SQLException {
+        s.insertPooled.setLong(1, allocator.next("bench_pooled", "id"));
+        s.insertPooled.setString(2, "payload");
+        outcome.inserts += s.insertPooled.executeUpdate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(IdAllocationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.runasagrada.hotelapi.benchmark;
+
+import com.runasagrada.hotelapi.service.PasswordHasher;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins por segundo y por hilo según el costo de PBKDF2. 310000 es el valor
+ * por defecto (hotelapi.auth.pbkdf2-iterations); la capacidad del pool de
+ * CredentialVerifier es aproximadamente este número por hash-threads.
+ *
+ * verifyPlaintext es el camino de una fila vieja antes de su primer login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({ "100000", "310000", "600000" })
+    int iterations;
+
+    private PasswordHasher hasher;
+    private String stored;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hasher = new PasswordHasher(iterations);
+        stored = hasher.hash("client123");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return hasher.matches("client123", stored);
+    }
+
+    @Benchmark
+    public String hash() {
+        return hasher.hash("client123");
+    }
+
+    @Benchmark
+    public boolean verifyPlaintext() {
+        return hasher.matches("client123", "client123");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.runasagrada.hotelapi.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.runasagrada.hotelapi.HotelapiApplication;
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.Room;
+import com.runasagrada.hotelapi.repository.RoomRepository;
+import com.runasagrada.hotelapi.repository.UserRepository;
+import com.runasagrada.hotelapi.service.ReservationService;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino de una reserva tal como lo hace POST /api/reservations: create() y luego
+ * serializar la reserva a JSON (lo que inicializa hotel + amenities, usuario y
+ * habitación), con y sin la caché de segundo nivel.
+ *
+ * statements / bookings = sentencias SQL por reserva. Levanta el contexto completo
+ * (sin servidor web) con el seed de dev; cada valor del parámetro corre en su fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReferenceDataCacheBenchmark {
+
+    private static final LocalDate BASE = LocalDate.of(2040, 1, 1);
+
+    @Param({ "true", "false" })
+    boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private ReservationService reservations;
+    private TransactionTemplate tx;
+    private ObjectMapper mapper;
+    private Statistics stats;
+    private List<Room> rooms;
+    private Integer userId;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // argumentos de línea de comando: pisan application.properties
+        context = new SpringApplicationBuilder(HotelapiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:cache_bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache);
+        reservations = context.getBean(ReservationService.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        mapper = context.getBean(ObjectMapper.class);
+        stats = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        rooms = context.getBean(RoomRepository.class).findAll();
+        userId = context.getBean(UserRepository.class).findAll().get(0).getUserId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long bookings;
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bookings = 0;
+            statements = 0;
+        }
+    }
+
+    @Benchmark
+    public String book(Outcome outcome) {
+        // una noche por reserva: recorre las habitaciones y luego avanza un día
+        Room room = rooms.get(cursor % rooms.size());
+        LocalDate checkIn = BASE.plusDays(cursor / rooms.size());
+        cursor++;
+
+        long before = stats.getPrepareStatementCount();
+        String json = tx.execute(status -> {
+            Reservation saved = reservations.create(userId, room.getHotelId(), room.getRoomId(),
+                    checkIn, checkIn.plusDays(1), null);
+            try {
+                return mapper.writeValueAsString(saved);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        outcome.statements += stats.getPrepareStatementCount() - before;
+        outcome.bookings++;
+        return json;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ReferenceDataCacheBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,149 @@
+package com.runasagrada.hotelapi.benchmark;
+
+import com.runasagrada.hotelapi.service.RoomAvailabilityIndex;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disponibilidad de una habitación para N noches:
+ * un SELECT por noche contra room_lock (como hacía createLocks) vs el bitmap en memoria.
+ *
+ * Ejecutar: mvn test-compile y luego la clase main desde el IDE / classpath de test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomAvailabilityBenchmark {
+
+    private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+
+    @Param({ "1000" })
+    int rooms;
+
+    @Param({ "1", "14" })
+    int nights;
+
+    private Connection connection;
+    private PreparedStatement existsLock;
+    private RoomAvailabilityIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:availability_bench;DB_CLOSE_DELAY=-1");
+        try (Statement st = connection.createStatement()) {
+            st.execute("drop table if exists room_lock");
+            st.execute("create table room_lock (room_id int not null, lock_date date not null, "
+                    + "reservation_id int, primary key (room_id, lock_date))");
+        }
+        index = new RoomAvailabilityIndex(null);
+
+        // ~50% de ocupación durante un año, estancias de 1 a 7 noches
+        SplittableRandom random = new SplittableRandom(42);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into room_lock (room_id, lock_date, reservation_id) values (?, ?, ?)")) {
+            int reservationId = 1;
+            for (int room = 1; room <= rooms; room++) {
+                LocalDate day = BASE.plusDays(random.nextInt(7));
+                while (day.getYear() == BASE.getYear()) {
+                    int stay = 1 + random.nextInt(7);
+                    LocalDate checkOut = day.plusDays(stay);
+                    index.reserve(room, day, checkOut);
+                    for (LocalDate d = day; d.isBefore(checkOut); d = d.plusDays(1)) {
+                        insert.setInt(1, room);
+                        insert.setDate(2, Date.valueOf(d));
+                        insert.setInt(3, reservationId);
+                        insert.addBatch();
+                    }
+                    reservationId++;
+                    day = checkOut.plusDays(1 + random.nextInt(stay + 1));
+                }
+                insert.executeBatch();
+            }
+        }
+        existsLock = connection.prepareStatement(
+                "select 1 from room_lock where room_id = ? and lock_date = ? fetch first 1 rows only");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        existsLock.close();
+        try (Statement st = connection.createStatement()) {
+            st.execute("drop table room_lock");
+        }
+        connection.close();
+    }
+
+    // Consultas pregeneradas (evita Level.Invocation, que distorsiona tiempos de ns)
+    @State(Scope.Thread)
+    public static class Query {
+        private static final int SIZE = 4096;
+        private final int[] roomIds = new int[SIZE];
+        private final LocalDate[] checkIns = new LocalDate[SIZE];
+        private int cursor;
+        int roomId;
+        LocalDate checkIn;
+
+        @Setup(Level.Trial)
+        public void generate(RoomAvailabilityBenchmark bench) {
+            SplittableRandom random = new SplittableRandom(7);
+            for (int i = 0; i < SIZE; i++) {
+                roomIds[i] = 1 + random.nextInt(bench.rooms);
+                checkIns[i] = BASE.plusDays(random.nextInt(350));
+            }
+        }
+
+        Query next() {
+            int i = cursor++ & (SIZE - 1);
+            roomId = roomIds[i];
+            checkIn = checkIns[i];
+            return this;
+        }
+    }
+
+    @Benchmark
+    public boolean perNightQueries(Query query) throws SQLException {
+        Query q = query.next();
+        LocalDate checkOut = q.checkIn.plusDays(nights);
+        for (LocalDate d = q.checkIn; d.isBefore(checkOut); d = d.plusDays(1)) {
+            existsLock.setInt(1, q.roomId);
+            existsLock.setDate(2, Date.valueOf(d));
+            try (ResultSet rs = existsLock.executeQuery()) {
+                if (rs.next()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean bitmapIndex(Query query) {
+        Query q = query.next();
+        return index.isFree(q.roomId, q.checkIn, q.checkIn.plusDays(nights));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RoomAvailabilityBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,91 @@
+package com.runasagrada.hotelapi.benchmark;
+
+import com.runasagrada.hotelapi.model.Role;
+import com.runasagrada.hotelapi.model.User;
+import com.runasagrada.hotelapi.service.TokenRevocationList;
+import com.runasagrada.hotelapi.service.TokenService;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por petición de autenticar un Bearer: verificar el token firmado
+ * (HMAC + JSON + exp + lista de revocados) contra el mapa de sesiones que había
+ * antes en AuthController. revoked = tamaño de la lista de revocados.
+ *
+ * Sin Spring: verify solo usa la parte en memoria de TokenRevocationList.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenVerificationBenchmark {
+
+    @Param({ "0", "10000" })
+    int revoked;
+
+    private TokenService tokens;
+    private User user;
+    private String accessToken;
+    private final Map<String, Integer> sessions = new ConcurrentHashMap<>();
+    private String sessionToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TokenRevocationList revocations = new TokenRevocationList(null); // verify no toca el repositorio
+        long exp = Instant.now().plus(Duration.ofHours(1)).getEpochSecond();
+        for (int i = 0; i < revoked; i++) {
+            revocations.remember(UUID.randomUUID().toString(), exp);
+        }
+        byte[] secret = "benchmark-secret-benchmark-secret".getBytes();
+        tokens = new TokenService(secret, Duration.ofMinutes(15), Duration.ofDays(7), revocations);
+
+        user = new User();
+        user.setUserId(42);
+        user.setRoles(Set.of(new Role(1, "CLIENT")));
+        accessToken = tokens.issue(user).accessToken();
+
+        for (int i = 0; i < 1000; i++) {
+            sessions.put("dev-" + UUID.randomUUID(), i);
+        }
+        sessionToken = "dev-" + UUID.randomUUID();
+        sessions.put(sessionToken, 42);
+    }
+
+    @Benchmark
+    public Integer verifyAccessToken() {
+        return tokens.verify(accessToken, TokenService.ACCESS).userId();
+    }
+
+    // Lo que costaba antes: una búsqueda en el mapa compartido
+    @Benchmark
+    public Integer sessionMapLookup() {
+        return sessions.get(sessionToken);
+    }
+
+    // login / refresh: firma de access + refresh
+    @Benchmark
+    public TokenService.TokenPair issuePair() {
+        return tokens.issue(user);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TokenVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.runasagrada.hotelapi.config;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * V4 sobre una H2 sin Spring: las filas por noche de la tabla vieja room_lock quedan como
+ * intervalos [inicio, fin) en room_lock_intervals, y en una base sin room_lock no hace nada.
+ */
+class RoomLockIntervalsMigrationTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void legacyNightsAreFoldedIntoIntervals() {
+        JdbcDataSource ds = dataSource("legacy");
+        flyway(ds, "3").migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("set referential_integrity false");
+        // como la dejaba ddl-auto=update con el RoomLock de clave (room_id, lock_date)
+        jdbc.execute("create table room_lock (room_id integer not null, lock_date date not null, "
+                + "reservation_id integer, primary key (room_id, lock_date))");
+        jdbc.update("insert into room_lock_intervals (lock_id, room_id, start_date, end_date, reservation_id) "
+                + "values (7, 9, ?, ?, 99)", JAN_1, JAN_1.plusDays(2));
+        nights(jdbc, 1, 10, 0, 1, 2);
+        nights(jdbc, 1, 11, 4, 5);
+        nights(jdbc, 1, 10, 7); // misma reserva después de un hueco: otro intervalo
+        nights(jdbc, 2, 12, 0);
+        nights(jdbc, 3, null, 1, 2);
+
+        flyway(ds, "latest").migrate();
+
+        assertThat(jdbc.queryForObject("select count(*) from information_schema.tables "
+                + "where upper(table_name) = 'ROOM_LOCK'", Integer.class)).isZero();
+        List<String> intervals = jdbc.query("select room_id, start_date, end_date, reservation_id "
+                + "from room_lock_intervals order by room_id, start_date",
+                (rs, i) -> rs.getInt(1) + " " + rs.getObject(2, LocalDate.class) + " "
+                        + rs.getObject(3, LocalDate.class) + " " + rs.getObject(4));
+        assertThat(intervals).containsExactly(
+                "1 2025-01-01 2025-01-04 10",
+                "1 2025-01-05 2025-01-07 11",
+                "1 2025-01-08 2025-01-09 10",
+                "2 2025-01-01 2025-01-02 12",
+                "3 2025-01-02 2025-01-04 null",
+                "9 2025-01-01 2025-01-03 99");
+        assertThat(jdbc.queryForList("select lock_id from room_lock_intervals where room_id <> 9 order by lock_id",
+                Long.class)).containsExactly(8L, 9L, 10L, 11L, 12L);
+    }
+
+    @Test
+    void databaseWithoutLegacyTableIsUnchanged() {
+        JdbcDataSource ds = dataSource("fresh");
+        flyway(ds, "latest").migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+
+        assertThat(jdbc.queryForObject("select count(*) from room_lock_intervals", Integer.class)).isZero();
+        assertThat(jdbc.queryForObject("select count(*) from information_schema.tables "
+                + "where upper(table_name) = 'ROOM_LOCK'", Integer.class)).isZero();
+    }
+
+    private static void nights(JdbcTemplate jdbc, int roomId, Integer reservationId, int... dayOffsets) {
+        for (int offset : dayOffsets) {
+            jdbc.update("insert into room_lock (room_id, lock_date, reservation_id) values (?, ?, ?)", roomId,
+                    JAN_1.plusDays(offset), reservationId);
+        }
+    }
+
+    private static JdbcDataSource dataSource(String name) {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:room_lock_" + name + ";DB_CLOSE_DELAY=-1");
+        ds.setUser("sa");
+        return ds;
+    }
+
+    private static Flyway flyway(JdbcDataSource ds, String target) {
+        return Flyway.configure().dataSource(ds).locations("classpath:db/migration").target(target).load();
+    }
+}
@@ -0,0 +1,67 @@
+package com.runasagrada.hotelapi.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presupuesto de sentencias por request: en el perfil test (lo activa surefire) pasarse
+ * hace fallar el request; los listados que tenían N+1 entran en su presupuesto.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "hotelapi.sql-budget.limit.RoomTypeController.get=1")
+class SqlBudgetFilterTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Value("${hotelapi.sql-budget.mode}")
+    private String mode;
+
+    @Test
+    void testProfileFailsOverBudget() {
+        assertThat(mode).isEqualTo("fail");
+        assertThatThrownBy(() -> mvc.perform(get("/api/room-types/1")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("RoomTypeController.get")
+                .hasMessageContaining("(budget 1)");
+    }
+
+    @Test
+    void catalogListingsStayWithinBudget() throws Exception {
+        mvc.perform(get("/api/servoffering")).andExpect(status().isOk());
+        mvc.perform(get("/api/room-types")).andExpect(status().isOk());
+        mvc.perform(get("/api/rooms").param("unpaged", "true")).andExpect(status().isOk());
+        mvc.perform(get("/api/users")).andExpect(status().isOk());
+    }
+
+    @Test
+    void inListsCollapseIntoOneShape() {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            SqlRequestStats.Inspector inspector = new SqlRequestStats.Inspector(null);
+            inspector.inspect("select * from room_images where room_id in (?,?,?)");
+            inspector.inspect("select * from room_images where room_id in (?, ?)");
+            inspector.inspect("select * from rooms where room_id=?");
+        } finally {
+            SqlRequestStats.end();
+        }
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        assertThat(stats.statements()).isEqualTo(3);
+        assertThat(repeated.getKey()).isEqualTo("select * from room_images where room_id in (?)");
+        assertThat(repeated.getValue()).isEqualTo(2);
+    }
+}
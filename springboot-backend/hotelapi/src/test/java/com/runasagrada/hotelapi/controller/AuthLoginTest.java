@@ -0,0 +1,104 @@
+package com.runasagrada.hotelapi.controller;
+
+import com.runasagrada.hotelapi.model.User;
+import com.runasagrada.hotelapi.repository.UserRepository;
+import com.runasagrada.hotelapi.service.PasswordHasher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Login contra el pool de credenciales real, con un hilo y cola de uno: una fila vieja en
+ * texto plano queda con hash después del login, y una ráfaga que llena la cola recibe 503
+ * con Retry-After en vez de esperar en los hilos de Tomcat.
+ */
+@SpringBootTest(properties = { "hotelapi.auth.hash-threads=1", "hotelapi.auth.hash-queue=1" })
+@AutoConfigureMockMvc
+class AuthLoginTest {
+
+    private static final int BURST = 8;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private PasswordHasher hasher;
+
+    @Test
+    void legacyPlaintextPasswordIsHashedOnLogin() throws Exception {
+        User legacy = user("legacy-login@example.com", "clave-vieja"); // texto plano, como antes del hashing
+
+        mvc.perform(login("legacy-login@example.com", "clave-vieja")).andExpect(status().isOk());
+
+        String stored = users.findById(legacy.getUserId()).orElseThrow().getPassword();
+        assertThat(stored).startsWith(PasswordHasher.PREFIX);
+        assertThat(hasher.matches("clave-vieja", stored)).isTrue();
+        assertThat(hasher.needsRehash(stored)).isFalse();
+        // con el hash nuevo el login sigue funcionando
+        mvc.perform(login("legacy-login@example.com", "clave-vieja")).andExpect(status().isOk());
+    }
+
+    @Test
+    void burstBeyondQueueGets503WithRetryAfter() throws Exception {
+        user("burst-login@example.com", hasher.hash("clave"));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(BURST);
+        try {
+            List<Future<MockHttpServletResponse>> results = new ArrayList<>();
+            for (int i = 0; i < BURST; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    // hash actual: cada intento paga un PBKDF2 completo
+                    return mvc.perform(login("burst-login@example.com", "clave")).andReturn().getResponse();
+                }));
+            }
+            start.countDown();
+
+            List<MockHttpServletResponse> rejected = new ArrayList<>();
+            for (Future<MockHttpServletResponse> r : results) {
+                MockHttpServletResponse response = r.get(30, TimeUnit.SECONDS);
+                if (response.getStatus() == 503)
+                    rejected.add(response);
+                else
+                    assertThat(response.getStatus()).isEqualTo(200);
+            }
+            // un hilo y una tarea en cola: con BURST simultáneos alguno encuentra la cola llena
+            assertThat(rejected).isNotEmpty();
+            assertThat(rejected).allSatisfy(r -> assertThat(r.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private User user(String email, String password) {
+        User u = new User();
+        u.setEmail(email);
+        u.setPassword(password);
+        u.setFullName("Login Test");
+        return users.save(u);
+    }
+
+    private static RequestBuilder login(String email, String password) {
+        return post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}");
+    }
+}
@@ -0,0 +1,89 @@
+package com.runasagrada.hotelapi.controller;
+
+import com.runasagrada.hotelapi.model.User;
+import com.runasagrada.hotelapi.repository.UserRepository;
+import com.runasagrada.hotelapi.service.TokenService;
+import com.runasagrada.hotelapi.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Un refresh token se canjea una sola vez, también si llegan dos canjes a la vez:
+ * la revocación es un INSERT sobre la PK de revoked_tokens y el que pierde recibe 401.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class AuthRefreshTest {
+
+    private static final int CONCURRENT_REFRESHES = 8;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TokenService tokens;
+    @Autowired
+    private UserService users;
+    @Autowired
+    private UserRepository userRepo;
+
+    @Test
+    void refreshTokenIsSingleUse() throws Exception {
+        String refreshToken = issueRefreshToken();
+
+        assertThat(refresh(refreshToken)).isEqualTo(200);
+        assertThat(refresh(refreshToken)).isEqualTo(401);
+    }
+
+    @Test
+    void concurrentRefreshesWithSameTokenHaveOneWinner() throws Exception {
+        String refreshToken = issueRefreshToken();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_REFRESHES);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REFRESHES; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return refresh(refreshToken);
+                }));
+            }
+            start.countDown();
+
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> r : results)
+                statuses.add(r.get(30, TimeUnit.SECONDS));
+            assertThat(statuses).filteredOn(s -> s == 200).hasSize(1);
+            assertThat(statuses).filteredOn(s -> s == 401).hasSize(CONCURRENT_REFRESHES - 1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private String issueRefreshToken() {
+        User user = userRepo.findAll().stream()
+                .filter(u -> !Boolean.FALSE.equals(u.getEnabled()))
+                .findFirst().orElseThrow();
+        return tokens.issue(users.me(user.getUserId())).refreshToken();
+    }
+
+    private int refresh(String refreshToken) throws Exception {
+        return mvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refresh_token\":\"" + refreshToken + "\"}"))
+                .andReturn().getResponse().getStatus();
+    }
+}
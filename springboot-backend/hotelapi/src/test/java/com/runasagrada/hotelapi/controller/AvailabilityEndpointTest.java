@@ -0,0 +1,116 @@
+package com.runasagrada.hotelapi.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.runasagrada.hotelapi.model.AvailableRoomDto;
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.Room;
+import com.runasagrada.hotelapi.repository.RoomRepository;
+import com.runasagrada.hotelapi.repository.UserRepository;
+import com.runasagrada.hotelapi.service.ReservationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/availability: las habitaciones con noches bloqueadas en el rango no salen,
+ * el check-out es exclusivo, se respeta el orden por precio de las candidatas y se
+ * resuelve con una sola consulta (el resto va contra el índice en memoria).
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class AvailabilityEndpointTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2063, 3, 1);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(4);
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ReservationService reservations;
+    @Autowired
+    private RoomRepository rooms;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void bookedRoomIsExcludedOnlyForOverlappingNights() throws Exception {
+        Room room = rooms.findAll().get(0);
+        Long hotelId = room.getHotelId();
+        Integer roomTypeId = room.getRoomType().getRoomTypeId();
+        List<Integer> candidates = rooms.findAvailabilityCandidates(hotelId, roomTypeId, 1).stream()
+                .map(AvailableRoomDto::getRoomId).toList();
+        assertThat(candidates).contains(room.getRoomId());
+
+        Reservation booking = reservations.create(users.findAll().get(0).getUserId(), hotelId,
+                room.getRoomId(), CHECK_IN, CHECK_OUT, null);
+        try {
+            List<Integer> expected = candidates.stream().filter(id -> !id.equals(room.getRoomId())).toList();
+            assertThat(available(hotelId, roomTypeId, CHECK_IN, CHECK_OUT)).isEqualTo(expected);
+            assertThat(available(hotelId, roomTypeId, CHECK_IN.plusDays(3), CHECK_OUT.plusDays(2)))
+                    .isEqualTo(expected);
+            // adyacentes: salir el día que entra la reserva, o entrar el día que sale
+            assertThat(available(hotelId, roomTypeId, CHECK_IN.minusDays(2), CHECK_IN)).isEqualTo(candidates);
+            assertThat(available(hotelId, roomTypeId, CHECK_OUT, CHECK_OUT.plusDays(1))).isEqualTo(candidates);
+        } finally {
+            reservations.delete(booking.getReservationId());
+        }
+        assertThat(available(hotelId, roomTypeId, CHECK_IN, CHECK_OUT)).isEqualTo(candidates);
+    }
+
+    @Test
+    void guestsFilterByCapacity() throws Exception {
+        Long hotelId = rooms.findAll().get(0).getHotelId();
+        AvailableRoomDto room = rooms.findAvailabilityCandidates(hotelId, null, 1).get(0);
+        String url = "/api/availability?hotelId=" + hotelId + "&checkIn=" + CHECK_IN
+                + "&checkOut=" + CHECK_OUT + "&guests=";
+
+        assertThat(roomIds(url + room.getCapacity())).contains(room.getRoomId());
+        assertThat(roomIds(url + (room.getCapacity() + 1))).doesNotContain(room.getRoomId());
+    }
+
+    @Test
+    void singleStatementPerRequest() throws Exception {
+        Room room = rooms.findAll().get(0);
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        available(room.getHotelId(), null, CHECK_IN, CHECK_OUT);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidRangeIsBadRequest() throws Exception {
+        mvc.perform(get("/api/availability?hotelId=1&checkIn=" + CHECK_OUT + "&checkOut=" + CHECK_IN))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/availability?hotelId=1&checkIn=" + CHECK_IN + "&checkOut=" + CHECK_IN))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/availability?hotelId=1&checkIn=" + CHECK_IN + "&checkOut=" + CHECK_OUT
+                + "&guests=0")).andExpect(status().isBadRequest());
+    }
+
+    private List<Integer> available(Long hotelId, Integer roomTypeId, LocalDate checkIn, LocalDate checkOut)
+            throws Exception {
+        return roomIds("/api/availability?hotelId=" + hotelId
+                + (roomTypeId == null ? "" : "&roomTypeId=" + roomTypeId)
+                + "&checkIn=" + checkIn + "&checkOut=" + checkOut);
+    }
+
+    private List<Integer> roomIds(String url) throws Exception {
+        String body = mvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$[*].room_id");
+    }
+}
@@ -0,0 +1,84 @@
+package com.runasagrada.hotelapi.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET condicional de los listados de catálogo: un If-None-Match vigente
+ * responde 304 sin tocar la base (ni sentencias ni conexión), y una escritura
+ * por el servicio cambia el ETag.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class CatalogConditionalGetTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/api/hotels", "/api/hotels/id-name", "/api/room-types", "/api/amenities",
+            "/api/servoffering" })
+    void notModifiedSkipsTheDatabase(String url) throws Exception {
+        Statistics stats = stats();
+        stats.clear();
+        MvcResult first = mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"").doesNotStartWith("W/");
+        assertThat(stats.getPrepareStatementCount()).isPositive();
+
+        stats.clear();
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertThat(stats.getPrepareStatementCount()).isZero();
+        assertThat(stats.getConnectCount()).isZero();
+    }
+
+    @Test
+    void writeChangesTheEtag() throws Exception {
+        String hotels = etag("/api/hotels");
+        String amenities = etag("/api/amenities");
+        String idName = etag("/api/hotels/id-name");
+
+        mvc.perform(post("/api/amenities").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Sauna ETag\",\"type\":\"HOTEL\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(etag("/api/amenities")).isNotEqualTo(amenities);
+        assertThat(etag("/api/hotels")).isNotEqualTo(hotels); // los hoteles serializan sus amenities
+        assertThat(etag("/api/hotels/id-name")).isEqualTo(idName);
+        mvc.perform(get("/api/amenities").header(HttpHeaders.IF_NONE_MATCH, amenities))
+                .andExpect(status().isOk());
+    }
+
+    private String etag(String url) throws Exception {
+        return mvc.perform(get(url)).andExpect(status().isOk()).andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private Statistics stats() {
+        return emf.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,192 @@
+package com.runasagrada.hotelapi.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.runasagrada.hotelapi.model.Payment;
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.Room;
+import com.runasagrada.hotelapi.repository.PaymentMethodRepository;
+import com.runasagrada.hotelapi.repository.RoomRepository;
+import com.runasagrada.hotelapi.repository.UserRepository;
+import com.runasagrada.hotelapi.service.PaymentService;
+import com.runasagrada.hotelapi.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Listados paginados por cursor: se recorren las páginas siguiendo X-Next-Cursor y cada
+ * fila sale exactamente una vez; limit se acota a [1, MAX_LIMIT]; unpaged=true devuelve
+ * todo sin cabecera. Filtros: solapamiento de estadías con [from, to) en reservas y
+ * createdAt en [from, to) en pagos, con filas justo en los bordes.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class KeysetPagingTest {
+
+    private static final LocalDate FROM = LocalDate.of(2071, 3, 10);
+    private static final LocalDate TO = LocalDate.of(2071, 3, 20);
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ReservationService reservations;
+    @Autowired
+    private PaymentService payments;
+    @Autowired
+    private PaymentMethodRepository paymentMethods;
+    @Autowired
+    private RoomRepository rooms;
+    @Autowired
+    private UserRepository users;
+
+    @Test
+    void reservationPagesWalkOverlappingStaysExactlyOnce() throws Exception {
+        List<Room> hotelRooms = roomsOfOneHotel(8);
+        Long hotelId = hotelRooms.get(0).getHotelId();
+        Room elsewhere = rooms.findAll().stream()
+                .filter(r -> !Objects.equals(r.getHotelId(), hotelId)).findFirst().orElseThrow();
+
+        book(hotelRooms.get(0), FROM.minusDays(5), FROM, Reservation.Status.CONFIRMED); // sale el día from
+        Integer before = book(hotelRooms.get(1), FROM.minusDays(2), FROM.plusDays(2), Reservation.Status.CONFIRMED);
+        Integer inside = book(hotelRooms.get(2), FROM.plusDays(2), FROM.plusDays(5), Reservation.Status.CONFIRMED);
+        Integer after = book(hotelRooms.get(3), TO.minusDays(2), TO.plusDays(5), Reservation.Status.CONFIRMED);
+        book(hotelRooms.get(4), TO, TO.plusDays(2), Reservation.Status.CONFIRMED); // entra el día to
+        Integer spanning = book(hotelRooms.get(5), FROM.minusDays(9), TO.plusDays(9), Reservation.Status.CONFIRMED);
+        book(hotelRooms.get(6), FROM.plusDays(1), FROM.plusDays(3), Reservation.Status.PENDING); // otro estado
+        book(elsewhere, FROM.plusDays(1), FROM.plusDays(3), Reservation.Status.CONFIRMED); // otro hotel
+
+        List<List<Long>> pages = walk("/api/reservations?status=CONFIRMED&hotelId=" + hotelId + "&from=" + FROM
+                + "&to=" + TO + "&limit=2", "reservation_id");
+
+        assertThat(pages).hasSize(2);
+        assertThat(pages.get(0)).hasSize(2);
+        assertThat(pages.stream().flatMap(List::stream).toList())
+                .containsExactly(ids(before, inside, after, spanning));
+    }
+
+    @Test
+    void paymentPagesUseHalfOpenCreatedAtRange() throws Exception {
+        Integer reservationId = book(roomsOfOneHotel(8).get(7), LocalDate.of(2071, 5, 1), LocalDate.of(2071, 5, 3),
+                Reservation.Status.CONFIRMED);
+        LocalDate day = LocalDate.of(2071, 4, 1);
+
+        pay(reservationId, day.atStartOfDay().minusSeconds(1), "PAID"); // antes de from
+        Integer atFrom = pay(reservationId, day.atStartOfDay(), "PAID");
+        Integer lastSecond = pay(reservationId, day.plusDays(2).atStartOfDay().minusSeconds(1), "PAID");
+        pay(reservationId, day.plusDays(2).atStartOfDay(), "PAID"); // justo en to: fuera
+        pay(reservationId, day.atTime(12, 0), "PENDING"); // otro estado
+
+        List<List<Long>> pages = walk("/api/payments?status=paid&from=" + day + "&to=" + day.plusDays(2)
+                + "&limit=1", "payment_id");
+
+        assertThat(pages).hasSize(2);
+        assertThat(pages.stream().flatMap(List::stream).toList()).containsExactly(ids(atFrom, lastSecond));
+    }
+
+    @Test
+    void everyPagedListWalksToTheUnpagedRows() throws Exception {
+        String[][] lists = {
+                { "/api/reservations", "reservation_id" },
+                { "/api/payments", "payment_id" },
+                { "/api/users", "user_id" },
+                { "/api/task", "task_id" },
+                { "/api/rooms", "room_id" },
+                { "/api/reservservice", "res_service_id" } };
+        for (String[] list : lists) {
+            List<Long> unpaged = idsOf(mvc.perform(get(list[0] + "?unpaged=true")).andReturn().getResponse(),
+                    list[1]);
+            List<Long> walked = walk(list[0] + "?limit=" + KeysetPaging.MAX_LIMIT, list[1]).stream()
+                    .flatMap(List::stream).toList();
+            assertThat(walked).as(list[0]).doesNotHaveDuplicates().isSorted()
+                    .containsExactlyInAnyOrderElementsOf(unpaged);
+        }
+    }
+
+    @Test
+    void limitIsClampedAndDefaulted() throws Exception {
+        MockHttpServletResponse unpaged = mvc.perform(get("/api/rooms?unpaged=true")).andReturn().getResponse();
+        int total = idsOf(unpaged, "room_id").size();
+        assertThat(unpaged.getHeader(KeysetPaging.NEXT_CURSOR)).isNull();
+        assertThat(total).isGreaterThan(KeysetPaging.DEFAULT_LIMIT);
+
+        MockHttpServletResponse byDefault = mvc.perform(get("/api/rooms")).andReturn().getResponse();
+        assertThat(idsOf(byDefault, "room_id")).hasSize(KeysetPaging.DEFAULT_LIMIT);
+        assertThat(byDefault.getHeader(KeysetPaging.NEXT_CURSOR)).isNotNull();
+
+        MockHttpServletResponse huge = mvc.perform(get("/api/rooms?limit=100000")).andReturn().getResponse();
+        assertThat(idsOf(huge, "room_id")).hasSize(Math.min(total, KeysetPaging.MAX_LIMIT));
+        assertThat(huge.getHeader(KeysetPaging.NEXT_CURSOR) != null).isEqualTo(total > KeysetPaging.MAX_LIMIT);
+
+        MockHttpServletResponse zero = mvc.perform(get("/api/rooms?limit=0")).andReturn().getResponse();
+        List<Long> one = idsOf(zero, "room_id");
+        assertThat(one).hasSize(1);
+        assertThat(zero.getHeader(KeysetPaging.NEXT_CURSOR)).isEqualTo(String.valueOf(one.get(0)));
+    }
+
+    // Sigue X-Next-Cursor hasta la última página; la última no trae cabecera
+    private List<List<Long>> walk(String url, String idField) throws Exception {
+        List<List<Long>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletResponse response = mvc
+                    .perform(get(cursor == null ? url : url + (url.contains("?") ? "&" : "?") + "after=" + cursor))
+                    .andReturn().getResponse();
+            assertThat(response.getStatus()).as(url).isEqualTo(200);
+            List<Long> page = idsOf(response, idField);
+            cursor = response.getHeader(KeysetPaging.NEXT_CURSOR);
+            if (cursor != null)
+                assertThat(cursor).isEqualTo(String.valueOf(page.get(page.size() - 1)));
+            pages.add(page);
+            assertThat(pages).as("pages of " + url).hasSizeLessThan(1000);
+        } while (cursor != null);
+        return pages;
+    }
+
+    private static List<Long> idsOf(MockHttpServletResponse response, String idField) throws Exception {
+        List<Number> ids = JsonPath.read(response.getContentAsString(), "$[*]." + idField);
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    private static Long[] ids(Integer... ids) {
+        return Arrays.stream(ids).map(Integer::longValue).toArray(Long[]::new);
+    }
+
+    private List<Room> roomsOfOneHotel(int count) {
+        Long hotelId = rooms.findAll().get(0).getHotelId();
+        List<Room> same = rooms.findAll().stream().filter(r -> Objects.equals(r.getHotelId(), hotelId)).toList();
+        assertThat(same).hasSizeGreaterThanOrEqualTo(count);
+        return same;
+    }
+
+    private Integer book(Room room, LocalDate checkIn, LocalDate checkOut, Reservation.Status status) {
+        Integer userId = users.findAll().get(0).getUserId();
+        return reservations.create(userId, room.getHotelId(), room.getRoomId(), checkIn, checkOut, status)
+                .getReservationId();
+    }
+
+    private Integer pay(Integer reservationId, LocalDateTime createdAt, String status) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(reservationId);
+        Payment p = new Payment();
+        p.setReservationId(reservation);
+        p.setPaymentMethodId(paymentMethods.findAll().get(0));
+        p.setAmount(1000);
+        p.setStatus(status);
+        p.setCreatedAt(Timestamp.valueOf(createdAt));
+        return payments.create(p).getPaymentId();
+    }
+}
@@ -0,0 +1,110 @@
+package com.runasagrada.hotelapi.controller;
+
+import com.runasagrada.hotelapi.model.Payment;
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.Room;
+import com.runasagrada.hotelapi.model.Task;
+import com.runasagrada.hotelapi.repository.PaymentMethodRepository;
+import com.runasagrada.hotelapi.repository.RoomRepository;
+import com.runasagrada.hotelapi.repository.UserRepository;
+import com.runasagrada.hotelapi.service.PaymentService;
+import com.runasagrada.hotelapi.service.ReservationService;
+import com.runasagrada.hotelapi.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /actuator/prometheus: latencia HTTP por handler, pools de Hikari (también el del
+ * asignador de ids), Hibernate, JVM y los contadores de dominio, que se mueven solo
+ * cuando la operación confirma.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+
+    private static final LocalDate FAR = LocalDate.of(2060, 3, 1);
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private ReservationService reservations;
+    @Autowired
+    private PaymentService payments;
+    @Autowired
+    private TaskService tasks;
+    @Autowired
+    private RoomRepository rooms;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private PaymentMethodRepository paymentMethods;
+
+    @Test
+    void domainCountersFollowCommittedWork() {
+        double bookings = count("hotelapi.bookings");
+        double conflicts = registry.get("hotelapi.bookings.lock.conflicts").tag("source", "index").counter().count();
+        double paid = registry.get("hotelapi.payments").tag("status", "PAID").counter().count();
+        double auto = registry.get("hotelapi.tasks.assigned").tag("mode", "auto").counter().count();
+
+        Room room = rooms.findAll().get(0);
+        Integer userId = users.findAll().get(0).getUserId();
+        Reservation booked = reservations.create(userId, room.getHotelId(), room.getRoomId(), FAR, FAR.plusDays(2),
+                null);
+        assertThatThrownBy(() -> reservations.create(userId, room.getHotelId(), room.getRoomId(), FAR.plusDays(1),
+                FAR.plusDays(3), null)).isInstanceOf(IllegalStateException.class);
+
+        Payment payment = new Payment();
+        payment.setReservationId(booked);
+        payment.setPaymentMethodId(paymentMethods.findAll().get(0));
+        payment.setAmount(1000);
+        payment.setStatus("paid");
+        payments.create(payment);
+
+        Task task = new Task();
+        task.setType(Task.TaskType.TO_DO);
+        task.setRoomId(room.getRoomId());
+        tasks.create(task, null);
+
+        assertThat(count("hotelapi.bookings")).isEqualTo(bookings + 1);
+        assertThat(registry.get("hotelapi.bookings.lock.conflicts").tag("source", "index").counter().count())
+                .isEqualTo(conflicts + 1);
+        assertThat(registry.get("hotelapi.payments").tag("status", "PAID").counter().count()).isEqualTo(paid + 1);
+        assertThat(registry.get("hotelapi.tasks.assigned").tag("mode", "auto").counter().count())
+                .isEqualTo(auto + 1);
+    }
+
+    @Test
+    void prometheusScrape() throws Exception {
+        mvc.perform(get("/api/hotels")).andExpect(status().isOk());
+        String body = mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body)
+                .containsPattern("http_server_requests_seconds_bucket\\{[^}]*handler=\"HotelController.list\"")
+                .contains("hikaricp_connections_pending{pool=\"id-allocator\"}")
+                .contains("hibernate_second_level_cache_requests_total")
+                .contains("jvm_gc_memory_allocated_bytes_total")
+                .contains("hotelapi_bookings_total")
+                .contains("hotelapi_payments_total{status=\"OTHER\"}");
+    }
+
+    private double count(String name) {
+        return registry.get(name).counter().count();
+    }
+}
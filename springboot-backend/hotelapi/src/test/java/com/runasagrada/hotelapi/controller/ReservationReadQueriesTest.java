@@ -0,0 +1,93 @@
+package com.runasagrada.hotelapi.controller;
+
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.repository.ReservationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cada lectura de reservas es una sola consulta (proyección ReservationDetailDto),
+ * sin importar cuántas reservas, usuarios u hoteles devuelva. Si vuelve el N+1
+ * por las relaciones EAGER, el conteo sube con los datos del seed y esto falla.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ReservationReadQueriesTest {
+
+    private static final long STATEMENTS_PER_READ = 1;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ReservationRepository reservationRepo;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Reservation sample;
+
+    @BeforeEach
+    void pickSample() {
+        // user, hotel y room son EAGER: quedan cargados antes de medir
+        sample = reservationRepo.findAll().get(0);
+    }
+
+    @Test
+    void pagedList() throws Exception {
+        assertThat(statements("/api/reservations?limit=200")).isEqualTo(STATEMENTS_PER_READ);
+    }
+
+    @Test
+    void unpagedList() throws Exception {
+        assertThat(statements("/api/reservations?unpaged=true")).isEqualTo(STATEMENTS_PER_READ);
+    }
+
+    @Test
+    void byUser() throws Exception {
+        Integer userId = sample.getUser().getUserId();
+        assertThat(statements("/api/reservations?userId=" + userId)).isEqualTo(STATEMENTS_PER_READ);
+        assertThat(statements("/api/reservations/user/" + userId)).isEqualTo(STATEMENTS_PER_READ);
+        assertThat(statements("/api/reservations/history?userId=" + userId)).isEqualTo(STATEMENTS_PER_READ);
+        assertThat(statements("/api/reservations/current?userId=" + userId)).isEqualTo(STATEMENTS_PER_READ);
+    }
+
+    @Test
+    void byHotel() throws Exception {
+        assertThat(statements("/api/reservations/hotel/" + sample.getHotel().getHotelId()))
+                .isEqualTo(STATEMENTS_PER_READ);
+    }
+
+    @Test
+    void one() throws Exception {
+        assertThat(statements("/api/reservations/" + sample.getReservationId())).isEqualTo(STATEMENTS_PER_READ);
+    }
+
+    @Test
+    void currentAndToday() throws Exception {
+        assertThat(statements("/api/reservations/current")).isEqualTo(STATEMENTS_PER_READ);
+        assertThat(statements("/api/reservations/today")).isEqualTo(STATEMENTS_PER_READ);
+    }
+
+    @Test
+    void reservationsForRoom() throws Exception {
+        assertThat(statements("/api/rooms/reservations/" + sample.getRoom().getNumber()))
+                .isEqualTo(STATEMENTS_PER_READ);
+    }
+
+    private long statements(String url) throws Exception {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        mvc.perform(get(url)).andExpect(status().isOk());
+        return stats.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,182 @@
+package com.runasagrada.hotelapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.runasagrada.hotelapi.model.ServiceOffering;
+import com.runasagrada.hotelapi.model.ServiceSchedule;
+import com.runasagrada.hotelapi.repository.HotelRepository;
+import com.runasagrada.hotelapi.repository.ServiceOfferingRepository;
+import com.runasagrada.hotelapi.service.ServiceCatalogIndex;
+import com.runasagrada.hotelapi.service.ServiceOfferingService;
+import com.runasagrada.hotelapi.service.ServiceScheduleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Los endpoints de catálogo servidos desde ServiceCatalogIndex devuelven el mismo
+ * JSON, byte a byte, que el filtrado anterior sobre findAll(); y el índice se
+ * reconstruye tras el commit de altas, cambios y bajas de servicios u horarios.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ServiceCatalogIndexTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private ServiceCatalogIndex catalogIndex;
+    @Autowired
+    private ServiceOfferingService offerings;
+    @Autowired
+    private ServiceScheduleService schedules;
+    @Autowired
+    private ServiceOfferingRepository offeringRepo;
+    @Autowired
+    private HotelRepository hotelRepo;
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Test
+    void payloadsMatchPreviousFilteringByteForByte() throws Exception {
+        assertMatchesLegacy();
+    }
+
+    @Test
+    void indexRefreshesAfterOfferingSaveAndDelete() throws Exception {
+        Long hotelId = hotelRepo.findAll().get(0).getHotelId();
+        ServiceOffering dessert = offering("Torta de prueba", "Comida", "Postre");
+        offerings.save(dessert, hotelId);
+        assertThat(catalogIndex.subcategory("Comida", "Postre")).extracting(ServiceOffering::getId)
+                .contains(dessert.getId());
+        assertMatchesLegacy();
+
+        // pasa a ser un tour con "Spa" en el nombre: cambia de categoría y de grupos
+        ServiceOffering moved = offeringRepo.findById(dessert.getId()).orElseThrow();
+        moved.setName("Spa flotante");
+        moved.setCategory("Tours");
+        moved.setSubcategory("Aventura");
+        offerings.save(moved, hotelId);
+        assertThat(catalogIndex.category("Comida")).extracting(ServiceOffering::getId)
+                .doesNotContain(dessert.getId());
+        assertThat(catalogIndex.group(ServiceCatalogIndex.OTROS_TOURS)).extracting(ServiceOffering::getId)
+                .contains(dessert.getId());
+        assertMatchesLegacy();
+
+        offerings.delete(dessert.getId());
+        assertThat(catalogIndex.category("Tours")).extracting(ServiceOffering::getId)
+                .doesNotContain(dessert.getId());
+        assertMatchesLegacy();
+    }
+
+    @Test
+    void indexRefreshesAfterScheduleSaveAndDelete() {
+        ServiceOffering service = catalogIndex.category("Tours").get(0);
+        List<ServiceOffering> before = catalogIndex.category("Tours");
+
+        ServiceSchedule schedule = new ServiceSchedule();
+        schedule.setService(offeringRepo.findById(service.getId()).orElseThrow());
+        schedule.setDaysOfWeek(EnumSet.of(ServiceSchedule.DayWeek.values()[0]));
+        schedule.setStartTime(LocalTime.of(6, 0));
+        schedule.setEndTime(LocalTime.of(7, 0));
+        schedule.setActive(true);
+        schedules.save(schedule);
+        List<ServiceOffering> afterSave = catalogIndex.category("Tours");
+        assertThat(afterSave).isNotSameAs(before);
+
+        schedules.delete(schedule.getId());
+        assertThat(catalogIndex.category("Tours")).isNotSameAs(afterSave);
+    }
+
+    private void assertMatchesLegacy() throws Exception {
+        Map<String, String> legacy = new TransactionTemplate(txManager).execute(tx -> legacyPayloads());
+        for (Map.Entry<String, String> e : legacy.entrySet()) {
+            String body = mvc.perform(get(e.getKey())).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertThat(body).as(e.getKey()).isEqualTo(e.getValue());
+        }
+    }
+
+    // Lo que hacía ServiceOfferingController antes del índice: filtrar findAll() en cada petición
+    private Map<String, String> legacyPayloads() {
+        List<ServiceOffering> all = offerings.getAllServiceOfferings();
+        Map<String, List<ServiceOffering>> gastronomy = new HashMap<>();
+        gastronomy.put("gastronomy", filter(all, s -> "Comida".equals(s.getCategory())));
+        gastronomy.put("platosFuertes", filter(all,
+                s -> "Comida".equals(s.getCategory()) && "Plato Principal".equals(s.getSubcategory())));
+        gastronomy.put("postres", filter(all,
+                s -> "Comida".equals(s.getCategory()) && "Postre".equals(s.getSubcategory())));
+        gastronomy.put("bebidas", filter(all,
+                s -> "Comida".equals(s.getCategory()) && "Bebida".equals(s.getSubcategory())));
+
+        Map<String, List<ServiceOffering>> tours = new HashMap<>();
+        tours.put("tours", filter(all, s -> "Tours".equals(s.getCategory())));
+        tours.put("toursCulturales", filter(all,
+                s -> "Tours".equals(s.getCategory()) && "Cultural".equals(s.getSubcategory())));
+        tours.put("toursNaturaleza", filter(all,
+                s -> "Tours".equals(s.getCategory()) && "Naturaleza".equals(s.getSubcategory())));
+        tours.put("otrosTours", filter(all, s -> "Tours".equals(s.getCategory())
+                && (s.getSubcategory() == null
+                        || (!"Cultural".equals(s.getSubcategory()) && !"Naturaleza".equals(s.getSubcategory())))));
+
+        Map<String, List<ServiceOffering>> amenities = new HashMap<>();
+        amenities.put("amenities", filter(all, s -> "Hotel".equals(s.getCategory())));
+        amenities.put("bienestar", filter(all, s -> "Hotel".equals(s.getCategory())
+                && (s.getName().contains("Spa") || s.getName().contains("Gimnasio"))));
+        amenities.put("hospedaje", filter(all, s -> "Hotel".equals(s.getCategory())
+                && (s.getName().contains("Suite") || s.getName().contains("Cabañas"))));
+        amenities.put("servicios", filter(all, s -> "Hotel".equals(s.getCategory())
+                && !s.getName().contains("Spa") && !s.getName().contains("Gimnasio")
+                && !s.getName().contains("Suite") && !s.getName().contains("Cabañas")));
+
+        Map<String, String> out = new HashMap<>();
+        try {
+            out.put("/api/servoffering/gastronomy", mapper.writeValueAsString(gastronomy));
+            out.put("/api/servoffering/tours", mapper.writeValueAsString(tours));
+            out.put("/api/servoffering/amenities", mapper.writeValueAsString(amenities));
+            for (Long hotelId : all.stream().map(ServiceOffering::getHotelId).distinct().toList()) {
+                out.put("/api/servoffering/hotels/" + hotelId + "/services",
+                        mapper.writeValueAsString(filter(all, s -> hotelId.equals(s.getHotelId()))));
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return out;
+    }
+
+    private static List<ServiceOffering> filter(List<ServiceOffering> source, Predicate<ServiceOffering> p) {
+        return source.stream().filter(p).collect(Collectors.toList());
+    }
+
+    private static ServiceOffering offering(String name, String category, String subcategory) {
+        ServiceOffering s = new ServiceOffering();
+        s.setName(name);
+        s.setCategory(category);
+        s.setSubcategory(subcategory);
+        s.setDescription("Servicio de prueba");
+        s.setBasePrice(12000);
+        s.setDurationMinutes(60);
+        s.setImageUrls(List.of("https://example.com/prueba.jpg"));
+        s.setMaxParticipants(4);
+        s.setLatitude(4.6);
+        s.setLongitude(-74.1);
+        return s;
+    }
+}
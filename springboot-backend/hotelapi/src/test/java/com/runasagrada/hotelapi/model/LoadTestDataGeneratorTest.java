@@ -0,0 +1,59 @@
+package com.runasagrada.hotelapi.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Generador del perfil loadtest a escala chica: ocupación cerca del objetivo, sin solapes y
+// con las referencias entre tablas bien armadas
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest_generator;DB_CLOSE_DELAY=-1",
+        "hotelapi.loadtest.hotels=2",
+        "hotelapi.loadtest.rooms-per-hotel=40",
+        "hotelapi.loadtest.users=500",
+        "hotelapi.loadtest.staff-per-hotel=4",
+        "hotelapi.loadtest.days=365",
+        "hotelapi.loadtest.threads=2",
+        "hotelapi.loadtest.batch-rooms=7" })
+@ActiveProfiles("loadtest")
+class LoadTestDataGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void generatesNonOverlappingStaysAtTargetOccupancy() {
+        long rooms = count("select count(*) from rooms");
+        long nights = count("select coalesce(sum(datediff(day, check_in, check_out)), 0) from reservation");
+        assertThat(rooms).isEqualTo(80);
+        assertThat((double) nights / (rooms * 365)).isBetween(0.65, 0.75);
+
+        assertThat(count("select count(*) from room_lock_intervals"))
+                .isEqualTo(count("select count(*) from reservation"));
+        assertThat(count("""
+                select count(*) from room_lock_intervals a join room_lock_intervals b
+                  on a.room_id = b.room_id and a.lock_id < b.lock_id
+                 and a.start_date < b.end_date and b.start_date < a.end_date
+                """)).isZero();
+        assertThat(count("select count(*) from reservation where created_at > localtimestamp")).isZero();
+        assertThat(count("select count(*) from payment where tx_reference <> concat('Cobro#', payment_id)"))
+                .isZero();
+        assertThat(count("""
+                select count(*) from tasks t join reservation_services s on s.res_service_id = t.res_service_id
+                 join reservation r on r.reservation_id = s.reservation_id
+                where t.type = 'DELIVERY' and t.room_id <> r.room_id
+                """)).isZero();
+
+        // los contadores se reconstruyeron después de la carga
+        assertThat(count("select coalesce(sum(reservations), 0) from reservation_counters"))
+                .isEqualTo(count("select count(*) from reservation"));
+    }
+
+    private long count(String sql) {
+        return jdbc.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,254 @@
+package com.runasagrada.hotelapi.repository;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAIN de todas las consultas derivadas y @Query de los repositorios (un test por
+ * método). Cada método se ejecuta en una transacción que se deshace, se capturan sus
+ * sentencias SQL y se pide el plan a H2: falla si alguna recorre entera una tabla de
+ * LARGE_TABLES, ya sea con tableScan o con un índice sin condición.
+ *
+ * Las tablas de referencia (hoteles, tipos, roles, servicios...) tienen decenas de
+ * filas y se pueden recorrer. Los métodos que leen una tabla grande completa a
+ * propósito van en FULL_SCAN_ALLOWED con el motivo.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.runasagrada.hotelapi.repository.RepositoryQueryPlanTest$SqlRecorder")
+class RepositoryQueryPlanTest {
+
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "USERS", "USER_ROLES", "STAFF_MEMBERS", "PAYMENT_METHOD", "REVOKED_TOKENS", "ROOMS", "ROOM_IMAGES",
+            "RESERVATION", "ROOM_LOCK_INTERVALS", "PAYMENT", "RESERVATION_SERVICES", "SERVICE_RATINGS", "TASKS");
+
+    private static final Map<String, String> FULL_SCAN_ALLOWED = Map.of(
+            "ReservationRepository.findAllDetails", "listado sin paginar (unpaged=true)",
+            "ReservationServiceRepository.findAllWithRating", "listado sin paginar (unpaged=true)",
+            "ReservationRepository.countByRoomType", "agregado global; el dashboard usa reservation_counters",
+            "RoomLockRepository.findAllIntervals", "carga completa de RoomAvailabilityIndex al arrancar",
+            "IncomeRollupRepository.rebuildFromPayments", "reconstrucción completa del rollup",
+            "ReservationCounterRepository.rebuildFromReservations", "reconstrucción completa de los contadores");
+
+    // /* PUBLIC.TABLA.tableScan */ o /* PUBLIC.INDICE */ (índice recorrido sin condición)
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan");
+    private static final Pattern UNBOUNDED_INDEX = Pattern.compile("/\\* PUBLIC\\.(\\w+) \\*/");
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private EntityManagerFactory emf;
+    @Autowired
+    private PlatformTransactionManager txManager;
+    @PersistenceContext
+    private EntityManager em;
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesAvoidFullScansOfLargeTables() throws SQLException {
+        Map<String, String> indexTables = indexTables();
+        Repositories repositories = new Repositories(context);
+        return StreamSupport.stream(repositories.spliterator(), false)
+                .map(domain -> repositories.getRequiredRepositoryInformation(domain).getRepositoryInterface())
+                .sorted(Comparator.comparing(Class::getSimpleName))
+                .flatMap(repo -> Stream.of(repo.getDeclaredMethods())
+                        .filter(m -> !m.isDefault() && !Modifier.isStatic(m.getModifiers()) && !m.isSynthetic())
+                        .sorted(Comparator.comparing(Method::getName)
+                                .thenComparing(m -> m.getParameterCount()))
+                        .map(m -> DynamicTest.dynamicTest(repo.getSimpleName() + "." + m.getName(),
+                                () -> checkPlans(repo, m, indexTables))));
+    }
+
+    private void checkPlans(Class<?> repo, Method method, Map<String, String> indexTables) throws Exception {
+        List<String> statements = record(context.getBean(repo), method);
+        assertThat(statements).as("SQL de %s", method.getName()).isNotEmpty();
+
+        Set<String> scanned = new TreeSet<>();
+        List<String> plans = new ArrayList<>();
+        for (String sql : statements) {
+            if (sql.regionMatches(true, 0, "insert", 0, 6))
+                continue;
+            String plan = explain(sql);
+            plans.add(sql + "\n" + plan);
+            scanned.addAll(fullScans(plan, indexTables));
+        }
+        scanned.retainAll(LARGE_TABLES);
+
+        String key = repo.getSimpleName() + "." + method.getName();
+        if (FULL_SCAN_ALLOWED.containsKey(key))
+            return;
+        assertThat(scanned).as("%s recorre tablas grandes completas:%n%s", key, String.join("\n", plans))
+                .isEmpty();
+    }
+
+    // Ejecuta el método con argumentos de ejemplo y devuelve el SQL que emitió Hibernate
+    private List<String> record(Object repository, Method method) {
+        emf.getCache().evictAll(); // si no, la caché de consultas (RoleRepository.findByName) no llega a la base
+        List<String> statements = new ArrayList<>();
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Object[] args = Stream.of(method.getParameters()).map(this::sampleArgument).toArray();
+            SqlRecorder.start(statements);
+            try {
+                method.invoke(repository, args);
+                em.flush();
+            } catch (InvocationTargetException e) {
+                // un resultado no único o similar no importa: interesa el SQL, que ya se capturó
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                SqlRecorder.stop();
+            }
+        });
+        return statements;
+    }
+
+    // Con parámetros sin valor H2 planifica igual que con cualquier valor: el plan se fija al preparar
+    private String explain(String sql) throws SQLException {
+        try (Connection con = dataSource.getConnection();
+                PreparedStatement ps = con.prepareStatement("explain " + sql)) {
+            for (int i = 1; i <= ps.getParameterMetaData().getParameterCount(); i++) {
+                ps.setObject(i, null);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    private static Set<String> fullScans(String plan, Map<String, String> indexTables) {
+        Set<String> tables = new TreeSet<>();
+        Matcher m = TABLE_SCAN.matcher(plan);
+        while (m.find()) {
+            tables.add(m.group(1));
+        }
+        m = UNBOUNDED_INDEX.matcher(plan);
+        while (m.find()) {
+            String table = indexTables.get(m.group(1));
+            if (table != null)
+                tables.add(table);
+        }
+        return tables;
+    }
+
+    private Map<String, String> indexTables() throws SQLException {
+        Map<String, String> tables = new HashMap<>();
+        try (Connection con = dataSource.getConnection();
+                PreparedStatement ps = con.prepareStatement("select index_name, table_name "
+                        + "from information_schema.indexes where table_schema = 'PUBLIC'");
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                tables.put(rs.getString(1), rs.getString(2));
+            }
+        }
+        return tables;
+    }
+
+    private Object sampleArgument(Parameter parameter) {
+        Class<?> type = parameter.getType();
+        if (type == Integer.class || type == int.class)
+            return 1;
+        if (type == Long.class || type == long.class)
+            return 1L;
+        if (type == Double.class || type == double.class)
+            return 1.0;
+        if (type == Boolean.class || type == boolean.class)
+            return true;
+        if (type == String.class)
+            return "x";
+        if (type == BigDecimal.class)
+            return BigDecimal.ONE;
+        if (type == LocalDate.class)
+            return LocalDate.now();
+        if (type == LocalDateTime.class)
+            return LocalDateTime.now();
+        if (type == LocalTime.class)
+            return LocalTime.NOON;
+        if (type == Instant.class)
+            return Instant.now();
+        if (type == Timestamp.class)
+            return Timestamp.from(Instant.now());
+        if (type == Limit.class)
+            return Limit.of(20);
+        if (type.isEnum())
+            return type.getEnumConstants()[0];
+        if (type == List.class && parameter.getParameterizedType() instanceof ParameterizedType p
+                && p.getActualTypeArguments()[0] == String.class)
+            return List.of("x");
+        if (type.isAnnotationPresent(Entity.class))
+            return em.createQuery("select e from " + type.getSimpleName() + " e", type)
+                    .setMaxResults(1).getSingleResult();
+        throw new IllegalArgumentException("Sin valor de ejemplo para " + parameter + " ("
+                + type.getName().toLowerCase(Locale.ROOT) + ")");
+    }
+
+    /** Captura el SQL del hilo que está grabando; el de otros hilos (tareas programadas) se ignora. */
+    public static class SqlRecorder implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> TARGET = new ThreadLocal<>();
+
+        static void start(List<String> target) {
+            TARGET.set(target);
+        }
+
+        static void stop() {
+            TARGET.remove();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> target = TARGET.get();
+            if (target != null)
+                target.add(sql);
+            return sql;
+        }
+    }
+}
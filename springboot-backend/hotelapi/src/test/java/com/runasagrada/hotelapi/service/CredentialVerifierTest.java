@@ -0,0 +1,107 @@
+package com.runasagrada.hotelapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pool de credenciales sin Spring: las claves en texto plano salen con su hash nuevo, y
+ * con la cola llena o pasado el timeout se rechaza (RejectedExecutionException => 503).
+ */
+class CredentialVerifierTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Thread> callers = new ArrayList<>();
+    private CredentialVerifier verifier;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        callers.forEach(Thread::interrupt);
+        if (verifier != null)
+            verifier.shutdown();
+    }
+
+    @Test
+    void plaintextPasswordComesBackWithUpgradedHash() {
+        PasswordHasher hasher = new PasswordHasher(10_000);
+        verifier = new CredentialVerifier(hasher, 1, 4, Duration.ofSeconds(10));
+
+        CredentialVerifier.Verification legacy = verifier.verify("clave", "clave");
+        assertThat(legacy.matches()).isTrue();
+        assertThat(hasher.matches("clave", legacy.upgradedHash())).isTrue();
+        assertThat(hasher.needsRehash(legacy.upgradedHash())).isFalse();
+
+        CredentialVerifier.Verification current = verifier.verify("clave", legacy.upgradedHash());
+        assertThat(current.matches()).isTrue();
+        assertThat(current.upgradedHash()).isNull();
+
+        assertThat(verifier.verify("otra", legacy.upgradedHash()).matches()).isFalse();
+        assertThat(verifier.verify("clave", null).matches()).isFalse(); // usuario inexistente
+    }
+
+    @Test
+    void fullQueueIsRejected() throws Exception {
+        verifier = new CredentialVerifier(blockingHasher(), 1, 1, Duration.ofSeconds(10));
+        awaitSubmitted(caller("a")); // ocupa el único hilo
+        awaitSubmitted(caller("b")); // ocupa la cola
+
+        assertThatThrownBy(() -> verifier.verify("c", "stored"))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("busy");
+    }
+
+    @Test
+    void callerGivesUpAfterTimeout() {
+        verifier = new CredentialVerifier(blockingHasher(), 1, 4, Duration.ofMillis(100));
+
+        assertThatThrownBy(() -> verifier.verify("a", "stored"))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("timed out");
+    }
+
+    // matches() se queda bloqueado hasta el final del test
+    private PasswordHasher blockingHasher() {
+        PasswordHasher hasher = spy(new PasswordHasher(10_000));
+        when(hasher.matches(any(), any())).thenAnswer(inv -> {
+            release.await(10, TimeUnit.SECONDS);
+            return false;
+        });
+        return hasher;
+    }
+
+    private Thread caller(String raw) {
+        Thread t = new Thread(() -> {
+            try {
+                verifier.verify(raw, "stored");
+            } catch (RejectedExecutionException e) {
+                // el test terminó antes
+            }
+        });
+        t.setDaemon(true);
+        t.start();
+        callers.add(t);
+        return t;
+    }
+
+    // Esperando en future.get(timeout): la tarea ya entró al pool (en ejecución o en cola)
+    private static void awaitSubmitted(Thread caller) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (caller.getState() != Thread.State.TIMED_WAITING) {
+            assertThat(System.nanoTime()).as("timed out").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.DashboardSummaryDto;
+import com.runasagrada.hotelapi.model.Hotel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Snapshot del dashboard sin Spring: dentro del TTL no se recalcula, entre TTL y
+ * TTL + max-stale se sirve el viejo mientras se recalcula, y las peticiones
+ * simultáneas comparten un solo cálculo. users[0] lleva el número de cálculo.
+ */
+class DashboardServiceTest {
+
+    private final UserService users = mock(UserService.class);
+    private final ReservationService reservations = mock(ReservationService.class);
+    private final PaymentService payments = mock(PaymentService.class);
+    private final HotelService hotels = mock(HotelService.class);
+
+    private final AtomicInteger computations = new AtomicInteger();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private DashboardServiceImpl service;
+
+    @BeforeEach
+    void stubQueries() {
+        when(users.usersSummary()).thenAnswer(inv -> {
+            int n = computations.incrementAndGet();
+            gate.await(10, TimeUnit.SECONDS);
+            return new double[] { n, 0 };
+        });
+        when(reservations.count()).thenReturn(new double[] { 0, 0 });
+        when(reservations.countByHotel(1L)).thenReturn(new double[] { 0, 0 });
+        when(reservations.countByRoomType()).thenReturn(Map.of());
+        when(reservations.countByRoomTypeAndHotel(1L)).thenReturn(Map.of());
+        when(payments.calculateIncome()).thenReturn(new double[] { 0, 0 });
+        when(payments.calculateIncome(1L)).thenReturn(new double[] { 0, 0 });
+        when(hotels.amenitiesCountByHotel()).thenReturn(Map.of());
+        when(hotels.get(1L)).thenReturn(new Hotel());
+        when(hotels.get(99L)).thenThrow(new NoSuchElementException("Hotel not found"));
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (service != null)
+            service.shutdown();
+    }
+
+    @Test
+    void freshSnapshotIsServedWithinTtl() {
+        service = service(Duration.ofHours(1), Duration.ofHours(1));
+        DashboardSummaryDto first = service.summary(null);
+        DashboardSummaryDto second = service.summary(null);
+
+        assertThat(second).isSameAs(first);
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void staleSnapshotIsServedWhileOneRefreshRuns() throws Exception {
+        service = service(Duration.ofMillis(50), Duration.ofHours(1));
+        DashboardSummaryDto first = service.summary(null);
+        Thread.sleep(100);
+
+        gate = new CountDownLatch(1);
+        assertThat(service.summary(null)).isSameAs(first);
+        await(() -> computations.get() == 2);
+        // el refresco sigue bloqueado: se sigue sirviendo el viejo sin lanzar otro cálculo
+        assertThat(service.summary(null)).isSameAs(first);
+        assertThat(computations).hasValue(2);
+
+        gate.countDown();
+        await(() -> service.summary(null).getUsers()[0] >= 2);
+    }
+
+    @Test
+    void concurrentCallersWithoutSnapshotShareOneComputation() throws Exception {
+        service = service(Duration.ofHours(1), Duration.ofHours(1));
+        gate = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<DashboardSummaryDto>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++)
+                results.add(callers.submit(() -> service.summary(null)));
+            await(() -> computations.get() == 1);
+            Thread.sleep(50);
+            gate.countDown();
+
+            DashboardSummaryDto first = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<DashboardSummaryDto> r : results)
+                assertThat(r.get(10, TimeUnit.SECONDS)).isSameAs(first);
+            assertThat(computations).hasValue(1);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void snapshotOlderThanMaxStaleWaitsForNewValue() throws Exception {
+        service = service(Duration.ofMillis(10), Duration.ofMillis(10));
+        service.summary(null);
+        Thread.sleep(50);
+
+        assertThat(service.summary(null).getUsers()[0]).isEqualTo(2);
+    }
+
+    @Test
+    void unknownHotelIsRejectedWithoutComputing() {
+        service = service(Duration.ofHours(1), Duration.ofHours(1));
+
+        assertThatThrownBy(() -> service.summary(99L)).isInstanceOf(NoSuchElementException.class);
+        verify(users, never()).usersSummary();
+
+        // un hotel conocido se valida una sola vez, al crear su snapshot
+        service.summary(1L);
+        service.summary(1L);
+        verify(hotels, times(1)).get(1L);
+    }
+
+    private DashboardServiceImpl service(Duration ttl, Duration maxStale) {
+        return new DashboardServiceImpl(users, reservations, payments, hotels, ttl, maxStale, 4);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timed out").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
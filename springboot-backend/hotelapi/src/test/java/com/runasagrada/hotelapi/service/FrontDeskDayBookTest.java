@@ -0,0 +1,144 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.DayBookDto;
+import com.runasagrada.hotelapi.model.Hotel;
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.ReservationSummaryDto;
+import com.runasagrada.hotelapi.model.Room;
+import com.runasagrada.hotelapi.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Libro del día sin Spring: clasificación en llegadas, en casa y salidas, cambios
+ * aplicados tras el commit, y un cambio registrado antes de medianoche que se
+ * confirma después del rebuild del día nuevo.
+ */
+class FrontDeskDayBookTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final ReservationRepository repo = mock(ReservationRepository.class);
+    private final FrontDeskDayBook dayBook = new FrontDeskDayBook(repo);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void classifiesArrivalsInHouseAndDepartures() {
+        when(repo.findSummariesTouching(TODAY)).thenReturn(List.of(
+                summary(1, 1L, "101", TODAY, TODAY.plusDays(2), Reservation.Status.CONFIRMED),
+                summary(2, 1L, "102", TODAY.minusDays(3), TODAY.plusDays(1), Reservation.Status.CHECKIN),
+                summary(3, 1L, "103", TODAY.minusDays(2), TODAY, Reservation.Status.CHECKIN),
+                summary(4, 2L, "201", TODAY.minusDays(1), TODAY.plusDays(1), Reservation.Status.FINISHED),
+                summary(5, 2L, "202", TODAY.minusDays(1), TODAY, Reservation.Status.FINISHED)));
+        dayBook.rebuild(TODAY);
+
+        DayBookDto all = dayBook.view(null);
+        assertThat(ids(all.getArrivals())).containsExactly(1);
+        assertThat(ids(all.getInHouse())).containsExactly(1, 2);
+        assertThat(ids(all.getDepartures())).containsExactly(3, 5);
+
+        DayBookDto hotel2 = dayBook.view(2L);
+        assertThat(hotel2.getArrivals()).isEmpty();
+        assertThat(hotel2.getInHouse()).isEmpty();
+        assertThat(ids(hotel2.getDepartures())).containsExactly(5);
+    }
+
+    @Test
+    void recordAppliesAfterCommitOnly() {
+        when(repo.findSummariesTouching(TODAY)).thenReturn(List.of());
+        dayBook.rebuild(TODAY);
+
+        TransactionSynchronizationManager.initSynchronization();
+        dayBook.record(reservation(10, "301", TODAY, TODAY.plusDays(1)));
+        assertThat(dayBook.view(null).getArrivals()).isEmpty();
+        commit();
+        assertThat(ids(dayBook.view(null).getArrivals())).containsExactly(10);
+
+        // se mueve a la semana que viene: sale del libro
+        TransactionSynchronizationManager.initSynchronization();
+        dayBook.record(reservation(10, "301", TODAY.plusDays(7), TODAY.plusDays(8)));
+        commit();
+        assertThat(dayBook.view(null).getInHouse()).isEmpty();
+    }
+
+    @Test
+    void changeRecordedBeforeMidnightCountsForTheNewDay() {
+        LocalDate yesterday = TODAY.minusDays(1);
+        when(repo.findSummariesTouching(any())).thenReturn(List.of());
+        dayBook.rebuild(yesterday);
+
+        // ayer a las 23:59 se registra una llegada para hoy; el commit llega después del rebuild
+        TransactionSynchronizationManager.initSynchronization();
+        dayBook.record(reservation(20, "401", TODAY, TODAY.plusDays(2)));
+        dayBook.rebuild(TODAY); // la consulta no veía la fila sin confirmar
+        commit();
+
+        assertThat(ids(dayBook.view(null).getArrivals())).containsExactly(20);
+    }
+
+    @Test
+    void departureRecordedBeforeMidnightIsDroppedForTheNewDay() {
+        LocalDate yesterday = TODAY.minusDays(1);
+        ReservationSummaryDto leaving = summary(30, 1L, "501", yesterday.minusDays(2), yesterday,
+                Reservation.Status.CHECKIN);
+        when(repo.findSummariesTouching(yesterday)).thenReturn(List.of(leaving));
+        when(repo.findSummariesTouching(TODAY)).thenReturn(List.of());
+        dayBook.rebuild(yesterday);
+
+        TransactionSynchronizationManager.initSynchronization();
+        dayBook.record(reservation(30, "501", yesterday.minusDays(2), yesterday));
+        dayBook.rebuild(TODAY);
+        commit();
+
+        DayBookDto view = dayBook.view(null);
+        assertThat(view.getInHouse()).isEmpty();
+        assertThat(view.getDepartures()).isEmpty();
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        syncs.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static List<Integer> ids(List<ReservationSummaryDto> rows) {
+        return rows.stream().map(ReservationSummaryDto::getReservationId).toList();
+    }
+
+    private static ReservationSummaryDto summary(int id, Long hotelId, String room, LocalDate checkIn,
+            LocalDate checkOut, Reservation.Status status) {
+        return new ReservationSummaryDto(id, hotelId, id, room, 1, "Guest " + id, checkIn, checkOut, status);
+    }
+
+    private static Reservation reservation(int id, String roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        Hotel hotel = new Hotel();
+        hotel.setHotelId(1L);
+        Room room = new Room();
+        room.setRoomId(id);
+        room.setNumber(roomNumber);
+        Reservation r = new Reservation();
+        r.setReservationId(id);
+        r.setHotel(hotel);
+        r.setRoom(room);
+        r.setCheckIn(checkIn);
+        r.setCheckOut(checkOut);
+        r.setStatus(Reservation.Status.CONFIRMED);
+        return r;
+    }
+}
@@ -0,0 +1,133 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.Hotel;
+import com.runasagrada.hotelapi.model.Payment;
+import com.runasagrada.hotelapi.model.PaymentMethod;
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.Room;
+import com.runasagrada.hotelapi.repository.HotelRepository;
+import com.runasagrada.hotelapi.repository.PaymentMethodRepository;
+import com.runasagrada.hotelapi.repository.RoomRepository;
+import com.runasagrada.hotelapi.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// income_rollup debe dar lo mismo que el SUM sobre payment (pagos "paid" de reservas con hotel)
+@SpringBootTest
+@Transactional
+class IncomeRollupTest {
+
+    @Autowired
+    private PaymentService paymentService;
+    @Autowired
+    private IncomeRollupService incomeRollups;
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private PaymentMethodRepository paymentMethodRepo;
+    @Autowired
+    private RoomRepository roomRepo;
+    @Autowired
+    private HotelRepository hotelRepo;
+    @Autowired
+    private UserRepository userRepo;
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void rollupMatchesLiveSumAcrossPaymentLifecycle() {
+        assertMatchesLiveSum();
+
+        Integer userId = userRepo.findAll().get(0).getUserId();
+        Room room = roomRepo.findAll().get(0);
+        Room elsewhere = roomRepo.findAll().stream()
+                .filter(r -> !Objects.equals(r.getHotelId(), room.getHotelId()))
+                .findFirst().orElseThrow();
+        LocalDate checkIn = LocalDate.of(2034, 2, 1);
+        Reservation res = reservationService.create(userId, room.getHotelId(), room.getRoomId(),
+                checkIn, checkIn.plusDays(2), Reservation.Status.CONFIRMED);
+
+        Payment paid = paymentService.create(payment(res, 120_000, "PAID", YearMonth.now()));
+        Payment spaced = paymentService.create(payment(res, 35_500, " paid ", YearMonth.now()));
+        Payment lastMonth = paymentService.create(payment(res, 80_000, "Paid", YearMonth.now().minusMonths(1)));
+        Payment pending = paymentService.create(payment(res, 50_000, "PENDING", YearMonth.now()));
+        assertMatchesLiveSum();
+
+        // pendiente -> pagado, cambio de monto, pagado -> reembolsado
+        paymentService.update(pending.getPaymentId(), partial(0, "PAID"));
+        paymentService.update(paid.getPaymentId(), partial(99_000, null));
+        paymentService.update(spaced.getPaymentId(), partial(0, "REFUNDED"));
+        assertMatchesLiveSum();
+
+        paymentService.delete(lastMonth.getPaymentId());
+        assertMatchesLiveSum();
+
+        // la reserva cambia de hotel: sus pagos cuentan para el nuevo
+        reservationService.update(res.getReservationId(), null, elsewhere.getHotelId(), elsewhere.getRoomId(),
+                null, null, null);
+        assertMatchesLiveSum();
+
+        paymentService.create(payment(res, 10_000, "PAID", YearMonth.now().minusMonths(1)));
+        paymentService.deleteByReservationId(res.getReservationId());
+        assertMatchesLiveSum();
+
+        // el rebuild desde cero deja los mismos totales que los incrementos
+        incomeRollups.rebuild();
+        assertMatchesLiveSum();
+    }
+
+    private void assertMatchesLiveSum() {
+        em.flush();
+        for (YearMonth month : List.of(YearMonth.now(), YearMonth.now().minusMonths(1))) {
+            assertThat(incomeRollups.incomeFor(null, month)).isCloseTo(liveSum(null, month), within(1e-6));
+            for (Hotel hotel : hotelRepo.findAll()) {
+                assertThat(incomeRollups.incomeFor(hotel.getHotelId(), month))
+                        .as("hotel %d, %s", hotel.getHotelId(), month)
+                        .isCloseTo(liveSum(hotel.getHotelId(), month), within(1e-6));
+            }
+        }
+    }
+
+    private double liveSum(Long hotelId, YearMonth month) {
+        TypedQuery<Double> q = em.createQuery("select coalesce(sum(p.amount), 0) from Payment p "
+                + "join p.reservationId r join r.hotel h "
+                + "where lower(trim(p.status)) = 'paid' and p.createdAt >= :start and p.createdAt < :end "
+                + "and (:hotelId is null or h.hotelId = :hotelId)", Double.class);
+        q.setParameter("start", Timestamp.valueOf(month.atDay(1).atStartOfDay()));
+        q.setParameter("end", Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+        q.setParameter("hotelId", hotelId);
+        return q.getSingleResult();
+    }
+
+    private Payment payment(Reservation res, double amount, String status, YearMonth month) {
+        PaymentMethod method = paymentMethodRepo.findAll().get(0);
+        Payment p = new Payment();
+        p.setReservationId(res);
+        p.setPaymentMethodId(method);
+        p.setAmount(amount);
+        p.setStatus(status);
+        p.setCreatedAt(Timestamp.valueOf(month.atDay(Math.min(15, LocalDate.now().getDayOfMonth()))
+                .atTime(10, 0)));
+        return p;
+    }
+
+    private static Payment partial(double amount, String status) {
+        Payment p = new Payment();
+        p.setAmount(amount);
+        p.setStatus(status);
+        return p;
+    }
+}
@@ -0,0 +1,56 @@
+package com.runasagrada.hotelapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Hash con sal y parámetros propios; las filas en texto plano validan pero piden rehash
+class PasswordHasherTest {
+
+    private final PasswordHasher hasher = new PasswordHasher(10_000);
+
+    @Test
+    void hashRoundTripsAndRejectsWrongPassword() {
+        String stored = hasher.hash("s3creto");
+
+        assertThat(stored).startsWith(PasswordHasher.PREFIX + "10000$");
+        assertThat(hasher.matches("s3creto", stored)).isTrue();
+        assertThat(hasher.matches("s3cretO", stored)).isFalse();
+        assertThat(hasher.matches(null, stored)).isFalse();
+        // sal aleatoria: la misma clave no da el mismo hash
+        assertThat(hasher.hash("s3creto")).isNotEqualTo(stored);
+    }
+
+    @Test
+    void legacyPlaintextMatchesButNeedsRehash() {
+        assertThat(hasher.matches("clave", "clave")).isTrue();
+        assertThat(hasher.matches("otra", "clave")).isFalse();
+        assertThat(hasher.needsRehash("clave")).isTrue();
+        assertThat(hasher.needsRehash(null)).isTrue();
+    }
+
+    @Test
+    void needsRehashOnlyWhenBelowConfiguredIterations() {
+        String stored = hasher.hash("s3creto");
+        PasswordHasher stronger = new PasswordHasher(20_000);
+
+        assertThat(hasher.needsRehash(stored)).isFalse();
+        assertThat(stronger.needsRehash(stored)).isTrue();
+        // subir las iteraciones no invalida los hashes existentes
+        assertThat(stronger.matches("s3creto", stored)).isTrue();
+        assertThat(hasher.needsRehash(stronger.hash("s3creto"))).isFalse();
+    }
+
+    @Test
+    void corruptHashDoesNotMatch() {
+        assertThat(hasher.matches("s3creto", PasswordHasher.PREFIX + "10000$no-base64!$x")).isFalse();
+        assertThat(hasher.matches("s3creto", PasswordHasher.PREFIX + "10000")).isFalse();
+        assertThat(hasher.needsRehash(PasswordHasher.PREFIX + "abc$x$y")).isTrue();
+    }
+
+    @Test
+    void tooFewIterationsAreRejected() {
+        assertThatThrownBy(() -> new PasswordHasher(1_000)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,124 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.Room;
+import com.runasagrada.hotelapi.repository.RoomRepository;
+import com.runasagrada.hotelapi.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ReservationBookingStatementsTest {
+
+    // insert de la reserva + lock de la habitación + consulta de solapamiento + insert del intervalo
+    // + MERGE en reservation_counters
+    private static final long MAX_STATEMENTS_PER_BOOKING = 5;
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory emf;
+    @Autowired
+    private PlatformTransactionManager txManager;
+    @Autowired
+    private RoomAvailabilityIndex availability;
+    @Autowired
+    private MockMvc mvc;
+    @PersistenceContext
+    private EntityManager em;
+
+    @Test
+    void bookingStatementCountDoesNotGrowWithStayLength() {
+        List<Room> rooms = roomRepository.findAll();
+        Integer userId = userRepository.findAll().get(0).getUserId();
+        LocalDate checkIn = LocalDate.of(2031, 3, 1);
+
+        long oneNight = statementsForBooking(userId, rooms.get(0), checkIn, 1).total();
+        long twoWeeks = statementsForBooking(userId, rooms.get(1), checkIn, 14).total();
+        long sixWeeks = statementsForBooking(userId, rooms.get(2), checkIn, 42).total();
+
+        assertThat(oneNight).isLessThanOrEqualTo(MAX_STATEMENTS_PER_BOOKING);
+        assertThat(twoWeeks).isEqualTo(oneNight);
+        assertThat(sixWeeks).isEqualTo(oneNight);
+    }
+
+    // Una llegada de hoy entra al libro de recepción: su resumen se lee después del commit,
+    // no cargando habitación y huésped dentro de la transacción de escritura
+    @Test
+    void sameDayBookingAddsNoStatementsToTheWriteTransaction() {
+        Integer userId = userRepository.findAll().get(0).getUserId();
+        LocalDate today = LocalDate.now();
+        Room room = roomRepository.findAll().stream().skip(4)
+                .filter(r -> availability.isFree(r.getRoomId(), today, today.plusDays(1)))
+                .findFirst().orElseThrow();
+
+        Statements future = statementsForBooking(userId, room, LocalDate.of(2031, 5, 1), 1);
+        Statements sameDay = statementsForBooking(userId, room, today, 1);
+
+        assertThat(future.total()).isEqualTo(future.inTransaction());
+        assertThat(sameDay.inTransaction()).isEqualTo(future.inTransaction());
+        assertThat(sameDay.total()).isEqualTo(sameDay.inTransaction() + 1);
+        assertThat(reservationService.frontDesk(room.getHotelId()).getArrivals())
+                .anySatisfy(r -> {
+                    assertThat(r.getRoomId()).isEqualTo(room.getRoomId());
+                    assertThat(r.getRoomNumber()).isEqualTo(room.getNumber());
+                    assertThat(r.getGuestName()).isNotNull();
+                });
+    }
+
+    @Test
+    void unknownUserIsNotFoundAndLeavesNoLock() throws Exception {
+        Room room = roomRepository.findAll().get(3);
+        LocalDate checkIn = LocalDate.of(2031, 4, 1);
+
+        assertThatThrownBy(() -> reservationService.create(-1, room.getHotelId(), room.getRoomId(),
+                checkIn, checkIn.plusDays(2), null)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(availability.isFree(room.getRoomId(), checkIn, checkIn.plusDays(2))).isTrue();
+
+        String body = String.format(
+                "{\"userId\":-1,\"hotelId\":%d,\"roomId\":%d,\"checkIn\":\"%s\",\"checkOut\":\"%s\"}",
+                room.getHotelId(), room.getRoomId(), checkIn, checkIn.plusDays(2));
+        mvc.perform(post("/api/reservations").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isNotFound());
+    }
+
+    // Sentencias hasta el flush previo al commit y en total (incluye lo que corre tras el commit)
+    private Statements statementsForBooking(Integer userId, Room room, LocalDate checkIn, int nights) {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        long inTransaction = new TransactionTemplate(txManager).execute(tx -> {
+            reservationService.create(userId, room.getHotelId(), room.getRoomId(), checkIn,
+                    checkIn.plusDays(nights), null);
+            em.flush();
+            return stats.getPrepareStatementCount();
+        });
+        return new Statements(inTransaction, stats.getPrepareStatementCount());
+    }
+
+    private record Statements(long inTransaction, long total) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.Hotel;
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.Room;
+import com.runasagrada.hotelapi.repository.HotelRepository;
+import com.runasagrada.hotelapi.repository.ReservationRepository;
+import com.runasagrada.hotelapi.repository.RoomRepository;
+import com.runasagrada.hotelapi.repository.RoomTypeRepository;
+import com.runasagrada.hotelapi.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Los contadores deben dar lo mismo que los COUNT/GROUP BY sobre la tabla de reservas
+@SpringBootTest
+@Transactional
+class ReservationCountersTest {
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private ReservationRepository reservationRepo;
+    @Autowired
+    private RoomRepository roomRepo;
+    @Autowired
+    private RoomTypeRepository roomTypeRepo;
+    @Autowired
+    private HotelRepository hotelRepo;
+    @Autowired
+    private UserRepository userRepo;
+
+    @Test
+    void countersMatchLiveQueriesAcrossReservationLifecycle() {
+        assertMatchesLiveQueries();
+
+        Integer userId = userRepo.findAll().get(0).getUserId();
+        Room first = roomRepo.findAll().get(0);
+        Room otherType = roomRepo.findByHotelId(first.getHotelId()).stream()
+                .filter(r -> !Objects.equals(r.getRoomTypeId(), first.getRoomTypeId()))
+                .findFirst().orElseThrow();
+        LocalDate checkIn = LocalDate.of(2033, 5, 1);
+
+        Reservation a = reservationService.create(userId, first.getHotelId(), first.getRoomId(),
+                checkIn, checkIn.plusDays(3), Reservation.Status.CONFIRMED);
+        Reservation b = reservationService.create(userId, first.getHotelId(), first.getRoomId(),
+                checkIn.plusDays(10), checkIn.plusDays(12), null);
+        assertMatchesLiveQueries();
+
+        reservationService.update(b.getReservationId(), null, null, otherType.getRoomId(), null, null,
+                Reservation.Status.CONFIRMED);
+        assertMatchesLiveQueries();
+
+        reservationService.updateStatus(a.getReservationId(), "checkin");
+        reservationService.activate(b.getReservationId(), "PENDING");
+        reservationService.deactivate(a.getReservationId());
+        assertMatchesLiveQueries();
+
+        // cambiar el tipo de la habitación mueve sus reservas a ese tipo
+        Integer newTypeId = roomTypeRepo.findAll().stream()
+                .map(t -> t.getRoomTypeId())
+                .filter(id -> !id.equals(first.getRoomTypeId()))
+                .findFirst().orElseThrow();
+        roomService.update(first.getRoomId(), new Room(), null, newTypeId);
+        assertMatchesLiveQueries();
+
+        reservationService.delete(b.getReservationId());
+        assertMatchesLiveQueries();
+    }
+
+    private void assertMatchesLiveQueries() {
+        reservationRepo.flush();
+        assertThat(reservationService.countByRoomType()).isEqualTo(toMap(reservationRepo.countByRoomType()));
+        assertThat(reservationService.count()[0]).isEqualTo(liveConfirmed(null, YearMonth.now()));
+
+        for (Hotel hotel : hotelRepo.findAll()) {
+            Long hotelId = hotel.getHotelId();
+            assertThat(reservationService.countByRoomTypeAndHotel(hotelId))
+                    .isEqualTo(toMap(reservationRepo.countByRoomTypeAndHotel(hotelId)));
+            assertThat(reservationService.countByHotel(hotelId)[0]).isEqualTo(liveConfirmed(hotelId, YearMonth.now()));
+        }
+    }
+
+    private double liveConfirmed(Long hotelId, YearMonth month) {
+        Timestamp start = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp end = Timestamp.valueOf(month.atEndOfMonth().atTime(23, 59, 59, 999_000_000));
+        return hotelId == null
+                ? reservationRepo.countByStatusAndCreatedAtBetween(Reservation.Status.CONFIRMED, start, end)
+                : reservationRepo.countByHotelHotelIdAndStatusAndCreatedAtBetween(hotelId,
+                        Reservation.Status.CONFIRMED, start, end);
+    }
+
+    private static Map<String, Long> toMap(List<Object[]> rows) {
+        Map<String, Long> out = new HashMap<>();
+        for (Object[] r : rows) {
+            out.put((String) r[0], ((Number) r[1]).longValue());
+        }
+        return out;
+    }
+}
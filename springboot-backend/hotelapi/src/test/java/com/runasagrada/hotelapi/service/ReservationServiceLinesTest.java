@@ -0,0 +1,206 @@
+package com.runasagrada.hotelapi.service;
+
+import com.runasagrada.hotelapi.model.Reservation;
+import com.runasagrada.hotelapi.model.ReservationServiceEntity;
+import com.runasagrada.hotelapi.model.Room;
+import com.runasagrada.hotelapi.model.ServiceRating;
+import com.runasagrada.hotelapi.model.ServiceSchedule;
+import com.runasagrada.hotelapi.model.Task;
+import com.runasagrada.hotelapi.repository.ReservationServiceRepository;
+import com.runasagrada.hotelapi.repository.RoomRepository;
+import com.runasagrada.hotelapi.repository.ServiceRatingRepository;
+import com.runasagrada.hotelapi.repository.ServiceScheduleRepository;
+import com.runasagrada.hotelapi.repository.StaffMemberRepository;
+import com.runasagrada.hotelapi.repository.TaskRepository;
+import com.runasagrada.hotelapi.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Líneas de servicio de una reserva: pedir otra vez el mismo servicio y horario suma qty
+ * en la misma fila (MERGE sobre uq_res_service_line), con las mismas sentencias sin
+ * importar cuántas líneas tenga ya la reserva, y sin duplicados con altas simultáneas.
+ * Editar una línea para que quede igual a otra las junta, con sus tareas y calificación.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ReservationServiceLinesTest {
+
+    // MERGE + lectura de la línea resultante
+    private static final long MAX_STATEMENTS_PER_ADD = 2;
+
+    @Autowired
+    private ReservationServiceService lines;
+    @Autowired
+    private ReservationService reservations;
+    @Autowired
+    private ReservationServiceRepository lineRepository;
+    @Autowired
+    private ServiceScheduleRepository schedules;
+    @Autowired
+    private RoomRepository rooms;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private TaskRepository tasks;
+    @Autowired
+    private ServiceRatingRepository ratings;
+    @Autowired
+    private StaffMemberRepository staff;
+    @Autowired
+    private EntityManagerFactory emf;
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void repeatedAddMergesIntoOneLineWithConstantStatements() {
+        Reservation reservation = book(0);
+        Long reservationId = reservation.getReservationId().longValue();
+        List<ServiceSchedule> all = schedules.findAll();
+        ServiceSchedule target = all.get(0);
+        Long serviceId = target.getService().getId();
+
+        long firstAdd = statementsFor(() -> lines.save(line(1, 20000.0), reservationId, serviceId, target.getId()));
+        for (ServiceSchedule other : all.subList(1, 9)) {
+            lines.save(line(1, null), reservationId, other.getService().getId(), other.getId());
+        }
+        long repeatAdd = statementsFor(() -> lines.save(line(2, 25000.0), reservationId, serviceId, target.getId()));
+        lines.save(line(4, null), reservationId, serviceId, null);
+        ReservationServiceEntity noSchedule = lines.save(line(1, null), reservationId, serviceId, null);
+
+        assertThat(firstAdd).isLessThanOrEqualTo(MAX_STATEMENTS_PER_ADD);
+        assertThat(repeatAdd).isEqualTo(firstAdd);
+        ReservationServiceEntity merged = lineRepository
+                .findLine(reservation.getReservationId(), serviceId, target.getId()).orElseThrow();
+        assertThat(merged.getQty()).isEqualTo(3);
+        assertThat(merged.getUnitPrice()).isEqualTo(25000.0);
+        assertThat(noSchedule.getQty()).isEqualTo(5);
+        assertThat(lines.findByReservation(reservationId)).hasSize(10);
+    }
+
+    @Test
+    void concurrentAddsOfTheSameLineSumUp() throws Exception {
+        Reservation reservation = book(1);
+        Long reservationId = reservation.getReservationId().longValue();
+        ServiceSchedule target = schedules.findAll().get(0);
+        Long serviceId = target.getService().getId();
+        int adds = 8;
+
+        ExecutorService pool = Executors.newFixedThreadPool(adds);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ReservationServiceEntity>> results = new ArrayList<>();
+            for (int i = 0; i < adds; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return lines.save(line(1, null), reservationId, serviceId, target.getId());
+                }));
+            }
+            start.countDown();
+            for (Future<ReservationServiceEntity> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(lines.findByReservation(reservationId))
+                .singleElement()
+                .extracting(ReservationServiceEntity::getQty)
+                .isEqualTo(adds);
+    }
+
+    @Test
+    void unknownServiceIsNotFound() {
+        Long reservationId = book(2).getReservationId().longValue();
+        assertThatThrownBy(() -> lines.save(line(1, null), reservationId, -1L, null))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void editIntoExistingLineWithTaskMovesTasksAndRating() throws Exception {
+        Long reservationId = book(3).getReservationId().longValue();
+        List<ServiceSchedule> all = schedules.findAll();
+        ServiceSchedule kept = all.get(0);
+        ServiceSchedule other = all.get(1);
+        ReservationServiceEntity keeper = lines.save(line(2, null), reservationId, kept.getService().getId(),
+                kept.getId());
+        ReservationServiceEntity edited = lines.save(line(3, null), reservationId, other.getService().getId(),
+                other.getId());
+        Task keeperTask = tasks.save(task(keeper));
+        Task editedTask = tasks.save(task(edited));
+        ServiceRating rating = new ServiceRating();
+        rating.setReservationService(lineRepository.getReferenceById(edited.getId()));
+        rating.setUser(users.findAll().get(0));
+        rating.setScore(5);
+        rating = ratings.save(rating);
+
+        // la línea editada pasa al servicio y horario de keeper: se suma en esa y se borra
+        mvc.perform(put("/api/reservservice/update/" + edited.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"service_id\":" + kept.getService().getId() + ",\"schedule_id\":" + kept.getId() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.res_service_id").value(keeper.getId()))
+                .andExpect(jsonPath("$.qty").value(5));
+
+        assertThat(lineRepository.existsById(edited.getId())).isFalse();
+        assertThat(lines.findByReservation(reservationId)).singleElement()
+                .extracting(ReservationServiceEntity::getQty).isEqualTo(5);
+        for (Task t : List.of(keeperTask, editedTask)) {
+            assertThat(tasks.findById(t.getTaskId()).orElseThrow().getReservationService().getId())
+                    .isEqualTo(keeper.getId());
+        }
+        assertThat(ratings.findById(rating.getId()).orElseThrow().getReservationService().getId())
+                .isEqualTo(keeper.getId());
+    }
+
+    private Task task(ReservationServiceEntity line) {
+        Task task = new Task();
+        task.setStaffId(staff.findAll().get(0).getStaffId());
+        task.setType(Task.TaskType.DELIVERY);
+        task.setReservationService(lineRepository.getReferenceById(line.getId()));
+        return task;
+    }
+
+    private Reservation book(int roomIndex) {
+        Room room = rooms.findAll().get(roomIndex);
+        Integer userId = users.findAll().get(0).getUserId();
+        LocalDate checkIn = LocalDate.of(2062, 5, 1);
+        return reservations.create(userId, room.getHotelId(), room.getRoomId(), checkIn, checkIn.plusDays(3), null);
+    }
+
+    private static ReservationServiceEntity line(int qty, Double unitPrice) {
+        ReservationServiceEntity line = new ReservationServiceEntity();
+        line.setQty(qty);
+        line.setUnitPrice(unitPrice);
+        return line;
+    }
+
+    private long statementsFor(Runnable action) {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        action.run();
+        return stats.getPrepareStatementCount();
+    }
+}
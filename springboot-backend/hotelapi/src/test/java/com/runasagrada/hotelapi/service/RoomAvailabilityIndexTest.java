@@ -0,0 +1,150 @@
+package com.runasagrada.hotelapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bitmap de disponibilidad sin Spring: rangos de una noche, de varios años, en los
+ * bordes de las palabras de 64 bits, conflictos, y commit/rollback simulados con
+ * TransactionSynchronizationManager.
+ */
+class RoomAvailabilityIndexTest {
+
+    private static final Integer ROOM = 7;
+
+    private final RoomAvailabilityIndex index = new RoomAvailabilityIndex(null);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void singleNight() {
+        LocalDate night = LocalDate.of(2025, 3, 10);
+        assertThat(index.reserve(ROOM, night, night.plusDays(1))).isEmpty();
+
+        assertThat(index.isLocked(ROOM, night)).isTrue();
+        assertThat(index.isLocked(ROOM, night.minusDays(1))).isFalse();
+        assertThat(index.isLocked(ROOM, night.plusDays(1))).isFalse();
+        assertThat(index.lockedNights(ROOM)).isEqualTo(1);
+    }
+
+    @Test
+    void multiYearRangeIncludingLeapYear() {
+        LocalDate from = LocalDate.of(2023, 12, 20);
+        LocalDate to = LocalDate.of(2026, 1, 5);
+        assertThat(index.reserve(ROOM, from, to)).isEmpty();
+
+        assertThat(index.lockedNights(ROOM)).isEqualTo(ChronoUnit.DAYS.between(from, to));
+        assertThat(index.isLocked(ROOM, LocalDate.of(2024, 12, 31))).isTrue();
+        assertThat(index.isLocked(ROOM, to.minusDays(1))).isTrue();
+        assertThat(index.isFree(ROOM, to, to.plusDays(30))).isTrue();
+        assertThat(index.firstConflict(ROOM, LocalDate.of(2022, 1, 1), LocalDate.of(2030, 1, 1)))
+                .contains(from);
+    }
+
+    @Test
+    void rangesOnWordEdges() {
+        // bits [0, 64): exactamente la primera palabra
+        LocalDate start = LocalDate.ofYearDay(2025, 1);
+        assertThat(index.reserve(ROOM, start, LocalDate.ofYearDay(2025, 65))).isEmpty();
+        assertThat(index.lockedNights(ROOM)).isEqualTo(64);
+        assertThat(index.isLocked(ROOM, LocalDate.ofYearDay(2025, 64))).isTrue();
+        assertThat(index.isLocked(ROOM, LocalDate.ofYearDay(2025, 65))).isFalse();
+
+        // bits 127 y 128: cruza de la palabra 1 a la 2
+        LocalDate cross = LocalDate.ofYearDay(2025, 128);
+        assertThat(index.reserve(ROOM, cross, cross.plusDays(2))).isEmpty();
+        assertThat(index.lockedNights(ROOM, cross.minusDays(1), cross.plusDays(3))).isEqualTo(2);
+        assertThat(index.firstConflict(ROOM, LocalDate.ofYearDay(2025, 66), LocalDate.ofYearDay(2025, 200)))
+                .contains(cross);
+
+        // bit 365 (31/12 de un bisiesto) es el último bit útil de la palabra 5
+        LocalDate leapEnd = LocalDate.of(2024, 12, 31);
+        assertThat(index.reserve(ROOM, leapEnd, leapEnd.plusDays(1))).isEmpty();
+        assertThat(index.isLocked(ROOM, leapEnd)).isTrue();
+        assertThat(index.isLocked(ROOM, leapEnd.minusDays(1))).isFalse();
+        assertThat(index.lockedNights(ROOM)).isEqualTo(64 + 2 + 1);
+    }
+
+    @Test
+    void conflictingReserveSetsNothing() {
+        LocalDate from = LocalDate.of(2025, 6, 10);
+        assertThat(index.reserve(ROOM, from, from.plusDays(3))).isEmpty();
+
+        assertThat(index.reserve(ROOM, from.minusDays(2), from.plusDays(1))).contains(from);
+        assertThat(index.lockedNights(ROOM)).isEqualTo(3);
+        assertThat(index.isLocked(ROOM, from.minusDays(2))).isFalse();
+
+        // check-out exclusivo: el día de salida puede ser la entrada de otra reserva
+        assertThat(index.reserve(ROOM, from.plusDays(3), from.plusDays(5))).isEmpty();
+        assertThat(index.reserve(ROOM, from.minusDays(2), from)).isEmpty();
+        assertThat(index.freeRooms(List.of(ROOM, 8), from, from.plusDays(1))).containsExactly(8);
+    }
+
+    @Test
+    void rollbackRestoresReleasedBitsAndDropsReservedOnes() {
+        LocalDate from = LocalDate.ofYearDay(2025, 60);
+        LocalDate to = from.plusDays(10);
+        index.reserve(ROOM, from, to);
+
+        TransactionSynchronizationManager.initSynchronization();
+        // update que corre la reserva 5 noches: libera la vieja y reserva la nueva (se solapan)
+        index.releaseInTransaction(ROOM, from, to);
+        assertThat(index.reserveInTransaction(ROOM, from.plusDays(5), to.plusDays(5))).isEmpty();
+        // otra transacción no puede tomar las noches liberadas antes del commit
+        assertThat(index.reserve(ROOM, from, from.plusDays(1))).contains(from);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(index.lockedNights(ROOM)).isEqualTo(10);
+        assertThat(index.isFree(ROOM, to, to.plusDays(5))).isTrue();
+        assertThat(index.lockedNights(ROOM, from, to)).isEqualTo(10);
+    }
+
+    @Test
+    void commitAppliesReleaseAndKeepsOverlapReserved() {
+        LocalDate from = LocalDate.ofYearDay(2025, 60);
+        LocalDate to = from.plusDays(10);
+        index.reserve(ROOM, from, to);
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.releaseInTransaction(ROOM, from, to);
+        assertThat(index.reserveInTransaction(ROOM, from.plusDays(5), to.plusDays(5))).isEmpty();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(index.isFree(ROOM, from, from.plusDays(5))).isTrue();
+        assertThat(index.lockedNights(ROOM, from.plusDays(5), to.plusDays(5))).isEqualTo(10);
+        assertThat(index.lockedNights(ROOM)).isEqualTo(10);
+    }
+
+    @Test
+    void rollbackOfReserveFreesOnlyItsNights() {
+        LocalDate from = LocalDate.of(2025, 8, 1);
+        index.reserve(ROOM, from, from.plusDays(2));
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(index.reserveInTransaction(ROOM, from.plusDays(1), from.plusDays(4))).contains(from.plusDays(1));
+        assertThat(index.reserveInTransaction(ROOM, from.plusDays(2), from.plusDays(4))).isEmpty();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(index.lockedNights(ROOM)).isEqualTo(2);
+        assertThat(index.isFree(ROOM, from.plusDays(2), from.plusDays(4))).isTrue();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        syncs.forEach(sync -> sync.afterCompletion(status));
+    }
+}